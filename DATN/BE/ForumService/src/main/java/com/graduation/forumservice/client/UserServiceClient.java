@@ -4,10 +4,14 @@ import com.graduation.forumservice.payload.response.UserBatchDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -59,4 +63,45 @@ public class UserServiceClient {
             return Optional.empty();
         }
     }
+
+    /**
+     * Fetches several users in one call. Users that do not exist are absent from the result.
+     *
+     * @return The users, or empty if the User Service could not be reached
+     */
+    public Optional<List<UserBatchDTO>> getUsersByIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Optional.of(Collections.emptyList());
+        }
+
+        String url = userServiceUrl + "/api/internal/users/batch-by-ids";
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Internal-API-Key", internalApiKey);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<List<Long>> entity = new HttpEntity<>(List.copyOf(userIds), headers);
+
+            ResponseEntity<List<UserBatchDTO>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    entity,
+                    new ParameterizedTypeReference<List<UserBatchDTO>>() {
+                    }
+            );
+
+            if (response.getStatusCode() == HttpStatus.OK) {
+                log.info("Successfully fetched user info for {} IDs", userIds.size());
+                return Optional.of(response.getBody() != null ? response.getBody() : Collections.emptyList());
+            }
+
+            log.warn("User Service returned status {} for batch of {} users", response.getStatusCode(), userIds.size());
+            return Optional.empty();
+
+        } catch (Exception e) {
+            log.error("Error calling User Service for batch of {} users: {}", userIds.size(), e.getMessage());
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package com.graduation.forumservice.config;
+
+import com.graduation.forumservice.event.UserUpdatedEvent;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka configuration for ForumService (Consumer).
+ * Consumes user updated events from UserService to refresh cached author info.
+ */
+@EnableKafka
+@Configuration
+public class UserProfileKafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    /**
+     * Every instance holds its own in-process author cache, so every instance needs every event
+     * and subscribes in a group of its own, named after its host so it is the same across restarts.
+     */
+    @Value("${app.author-cache.consumer-group-id:forum-service.author-cache-${HOSTNAME:local}}")
+    private String groupId;
+
+    /**
+     * Topic name for user updated events.
+     * Published by UserService when a user changes their display name or avatar.
+     */
+    public static final String TOPIC_USER_UPDATED = "pm.user-service.user.updated.v1";
+
+    /**
+     * Get resource from filesystem if exists (Docker), otherwise from classpath
+     * (local).
+     */
+    private Resource getResource(String filename) {
+        File dockerFile = new File("/app/" + filename);
+        if (dockerFile.exists()) {
+            return new FileSystemResource(dockerFile);
+        }
+        return new ClassPathResource(filename);
+    }
+
+    @Bean
+    public ConsumerFactory<String, UserUpdatedEvent> userUpdatedConsumerFactory() throws IOException {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+
+        // SSL/mTLS Configuration for Aiven
+        props.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SSL");
+
+        Resource keyResource = getResource("service.key");
+        String serviceKey = new String(keyResource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        props.put(SslConfigs.SSL_KEYSTORE_KEY_CONFIG, serviceKey);
+
+        Resource certResource = getResource("service.cert");
+        String serviceCert = new String(certResource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        props.put(SslConfigs.SSL_KEYSTORE_CERTIFICATE_CHAIN_CONFIG, serviceCert);
+
+        props.put(SslConfigs.SSL_KEYSTORE_TYPE_CONFIG, "PEM");
+
+        Resource caResource = getResource("ca.pem");
+        String caCertificate = new String(caResource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        props.put(SslConfigs.SSL_TRUSTSTORE_CERTIFICATES_CONFIG, caCertificate);
+        props.put(SslConfigs.SSL_TRUSTSTORE_TYPE_CONFIG, "PEM");
+
+        props.put(SslConfigs.SSL_ENDPOINT_IDENTIFICATION_ALGORITHM_CONFIG, "");
+
+        // Consumer settings: a fresh instance starts with an empty cache, so older events are not needed
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        // Specific Deserializer for UserUpdatedEvent
+        JsonDeserializer<UserUpdatedEvent> deserializer = new JsonDeserializer<>(UserUpdatedEvent.class);
+        deserializer.setUseTypeHeaders(false);
+        deserializer.setRemoveTypeHeaders(false);
+        deserializer.addTrustedPackages("*");
+
+        ErrorHandlingDeserializer<UserUpdatedEvent> errorDeserializer = new ErrorHandlingDeserializer<>(deserializer);
+
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), errorDeserializer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserUpdatedEvent> userUpdatedKafkaListenerContainerFactory()
+            throws IOException {
+        ConcurrentKafkaListenerContainerFactory<String, UserUpdatedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userUpdatedConsumerFactory());
+        factory.setConcurrency(1);
+        return factory;
+    }
+}
@@ -1,12 +1,17 @@
 package com.graduation.forumservice.controller;
 
+import com.graduation.forumservice.constant.Constant;
 import com.graduation.forumservice.payload.response.BaseResponse;
+import com.graduation.forumservice.service.ForumFeedService;
 import com.graduation.forumservice.service.PostService;
+import com.graduation.forumservice.service.VoteTallyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/internal/forum")
@@ -14,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
 public class ForumInternalController {
 
     private final PostService postService;
+    private final ForumFeedService forumFeedService;
+    private final VoteTallyService voteTallyService;
 
     /**
      * GET /api/internal/forum/projects/{projectId}
@@ -29,4 +36,37 @@ public class ForumInternalController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * POST /api/internal/forum/feed/rebuild
+     * Rebuilds the feed read model from forum_posts and post_stats.
+     */
+    @PostMapping("/feed/rebuild")
+    public ResponseEntity<BaseResponse<?>> rebuildFeed() {
+        log.info("Internal request: Rebuilding forum feed");
+        try {
+            int entries = forumFeedService.rebuild();
+            return ResponseEntity.ok(new BaseResponse<>(Constant.SUCCESS_STATUS, "Forum feed rebuilt", Map.of("entries", entries)));
+        } catch (Exception e) {
+            log.error("Forum feed rebuild failed", e);
+            return ResponseEntity.ok(new BaseResponse<>(Constant.ERROR_STATUS, "Forum feed rebuild failed", null));
+        }
+    }
+
+    /**
+     * POST /api/internal/forum/votes/recount
+     * Recounts post scores and post/answer vote counters from post_votes and answer_votes.
+     */
+    @PostMapping("/votes/recount")
+    public ResponseEntity<BaseResponse<?>> recountVotes() {
+        log.info("Internal request: Recounting vote tallies");
+        try {
+            int corrected = voteTallyService.recount();
+            return ResponseEntity.ok(new BaseResponse<>(Constant.SUCCESS_STATUS, "Vote tallies recounted",
+                    Map.of("corrected", corrected)));
+        } catch (Exception e) {
+            log.error("Vote tally recount failed", e);
+            return ResponseEntity.ok(new BaseResponse<>(Constant.ERROR_STATUS, "Vote tally recount failed", null));
+        }
+    }
+}
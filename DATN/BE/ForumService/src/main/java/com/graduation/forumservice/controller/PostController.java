@@ -32,9 +32,10 @@ public class PostController {
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(defaultValue = "ALL") String filter,
             @RequestParam(defaultValue = "NEWEST") String sort,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor) {
         log.info("GET /api/forum/posts - userId={}, filter={}, sort={}, search={}", userId, filter, sort, search);
-        return ResponseEntity.ok(postService.getPostFeed(userId, page, limit, filter, sort, search));
+        return ResponseEntity.ok(postService.getPostFeed(userId, page, limit, filter, sort, search, cursor));
     }
 
     @PostMapping("/posts")
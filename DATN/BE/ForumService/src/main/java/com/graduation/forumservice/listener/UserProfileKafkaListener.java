@@ -0,0 +1,32 @@
+package com.graduation.forumservice.listener;
+
+import com.graduation.forumservice.config.UserProfileKafkaConfig;
+import com.graduation.forumservice.event.UserUpdatedEvent;
+import com.graduation.forumservice.service.helper.UserInfoResolverService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka listener for user profile update events.
+ * Refreshes the cached author info when a user changes their name or avatar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileKafkaListener {
+
+    private final UserInfoResolverService userInfoResolverService;
+
+    @KafkaListener(topics = UserProfileKafkaConfig.TOPIC_USER_UPDATED, containerFactory = "userUpdatedKafkaListenerContainerFactory")
+    public void handleUserUpdatedEvent(UserUpdatedEvent event) {
+        if (event == null || event.getUserId() == null) {
+            log.warn("Skipping UserUpdatedEvent without userId");
+            return;
+        }
+
+        log.info("Received UserUpdatedEvent for userId={}", event.getUserId());
+        userInfoResolverService.applyUserUpdate(event);
+    }
+}
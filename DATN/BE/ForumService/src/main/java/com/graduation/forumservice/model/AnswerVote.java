@@ -7,7 +7,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "answer_votes")
+@Table(name = "answer_votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_answer_votes_answer_user", columnNames = {"answer_id", "user_id"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,69 @@
+package com.graduation.forumservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Denormalized feed row per post: the post columns shown in the feed plus its stats, so a feed
+ * page is read from one table. Maintained by ForumFeedService on every post and stats write.
+ */
+@Entity
+@Table(name = "forum_feed_entries", indexes = {
+        @Index(name = "idx_feed_status_created", columnList = "status, created_at DESC, post_id DESC"),
+        @Index(name = "idx_feed_user_status_created", columnList = "user_id, status, created_at DESC, post_id DESC"),
+        @Index(name = "idx_feed_helpful_status_created", columnList = "is_helpful, status, created_at DESC, post_id DESC")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForumFeedEntry {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(length = 1000)
+    private String title;
+
+    @Column(name = "preview", length = 700)
+    private String preview;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "tags", columnDefinition = "text[]")
+    private List<String> tags;
+
+    @Column(name = "is_solved")
+    private Boolean isSolved;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private PostStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "score", nullable = false)
+    private Integer score;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+
+    @Column(name = "answer_count", nullable = false)
+    private Integer answerCount;
+
+    /**
+     * score > 0, stored so the MOST_HELPFUL feed has its own index.
+     */
+    @Column(name = "is_helpful", nullable = false)
+    private Boolean isHelpful;
+}
@@ -34,6 +34,18 @@ public class PostStats {
     @Column(name = "answer_count")
     private Integer answerCount = 0; // Matches integer default 0 in image_617ba9.png
 
+    /**
+     * Number of upvotes, maintained together with the score by each vote.
+     */
+    @Column(name = "upvote_count", columnDefinition = "integer not null default 0")
+    private Integer upvoteCount = 0;
+
+    /**
+     * Number of downvotes, maintained together with the score by each vote.
+     */
+    @Column(name = "downvote_count", columnDefinition = "integer not null default 0")
+    private Integer downvoteCount = 0;
+
     // Optional: Reference back to the main Post if you need bidirectional navigation
     @OneToOne
     @MapsId // Ensures post_id is used as the PK here
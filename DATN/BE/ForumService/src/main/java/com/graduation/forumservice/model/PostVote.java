@@ -7,7 +7,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "post_votes")
+@Table(name = "post_votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_votes_post_user", columnNames = {"post_id", "user_id"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
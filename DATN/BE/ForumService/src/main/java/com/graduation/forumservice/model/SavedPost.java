@@ -7,7 +7,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "saved_posts")
+@Table(name = "saved_posts", indexes = {
+        @Index(name = "idx_saved_posts_user_post", columnList = "user_id, post_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.graduation.forumservice.payload.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,14 @@ import lombok.NoArgsConstructor;
 public class PaginationDTO {
     private Integer currentPage;
     private Boolean hasMore;
+
+    /**
+     * Keyset cursor for the next page, on lists that support it.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public PaginationDTO(Integer currentPage, Boolean hasMore) {
+        this(currentPage, hasMore, null);
+    }
 }
@@ -2,8 +2,11 @@ package com.graduation.forumservice.repository;
 
 import com.graduation.forumservice.model.AnswerVote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,56 @@ public interface AnswerVoteRepository extends JpaRepository<AnswerVote, Long> {
     void deleteByAnswerId(Long answerId);
 
     Optional<AnswerVote> findByAnswerIdAndUserId(Long answerId, Long userId);
+
+    /**
+     * Holds a lock on one user's vote on one answer until the transaction ends. Toggles of the
+     * same vote run one after the other, so two concurrent first votes cannot both count as new.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('answer_vote:' || :answerId || ':' || :userId))",
+            nativeQuery = true)
+    Integer lockVote(@Param("answerId") Long answerId, @Param("userId") Long userId);
+
+    /**
+     * Toggles a user's vote on an answer and applies the change to the answer's counters in one
+     * statement: the same type again removes the vote, the other type flips it.
+     * Index 0: the user's vote after the toggle (1, -1 or 0)
+     * Index 1: post id
+     * Index 2: upvote count
+     * Index 3: downvote count
+     * Index 4: answer status
+     * Returns no row if the answer does not exist.
+     */
+    @Query(value = """
+    WITH prev AS (
+        SELECT v.type FROM answer_votes v
+        WHERE v.answer_id = :answerId AND v.user_id = :userId
+        FOR UPDATE
+    ),
+    removed AS (
+        DELETE FROM answer_votes v
+        WHERE v.answer_id = :answerId AND v.user_id = :userId AND v.type = :voteType
+        RETURNING v.type
+    ),
+    written AS (
+        INSERT INTO answer_votes (answer_id, user_id, type, created_at)
+        SELECT :answerId, :userId, :voteType, now()
+        WHERE NOT EXISTS (SELECT 1 FROM removed)
+        ON CONFLICT (answer_id, user_id) DO UPDATE SET type = EXCLUDED.type
+        RETURNING type
+    ),
+    delta AS (
+        SELECT COALESCE((SELECT type FROM prev), 0) AS old_type,
+               COALESCE((SELECT type FROM written), 0) AS new_type
+    )
+    UPDATE forum_answers a
+    SET upvote_count = a.upvote_count
+            + CASE WHEN d.new_type = 1 THEN 1 ELSE 0 END - CASE WHEN d.old_type = 1 THEN 1 ELSE 0 END,
+        downvote_count = a.downvote_count
+            + CASE WHEN d.new_type = -1 THEN 1 ELSE 0 END - CASE WHEN d.old_type = -1 THEN 1 ELSE 0 END
+    FROM delta d
+    WHERE a.answer_id = :answerId
+    RETURNING d.new_type, a.post_id, a.upvote_count, a.downvote_count, a.status
+    """, nativeQuery = true)
+    List<Object[]> toggleAnswerVote(@Param("answerId") Long answerId, @Param("userId") Long userId,
+                                    @Param("voteType") Integer voteType);
 }
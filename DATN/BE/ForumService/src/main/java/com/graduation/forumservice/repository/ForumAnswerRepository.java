@@ -50,22 +50,41 @@ public interface ForumAnswerRepository extends JpaRepository<ForumAnswer, Long>
     void unmarkAcceptedAnswersForPost(@Param("postId") Long postId);
 
     /**
-     * Atomically updates vote counts for an answer.
-     * Prevents race conditions during high-frequency voting.
-     * * @param answerId The ID of the answer to update
-     * @param upChange The amount to add to upvotes (e.g., +1, -1)
-     * @param downChange The amount to add to downvotes (e.g., +1, -1)
+     * Sets the status of an answer unless it already has it.
+     *
+     * @return Number of rows changed (0 if the answer already had the status)
      */
     @Modifying
     @Transactional
-    @Query("UPDATE ForumAnswer a " +
-            "SET a.upvoteCount = a.upvoteCount + :upChange, " +
-            "    a.downvoteCount = a.downvoteCount + :downChange " +
-            "WHERE a.answerId = :answerId")
-    void updateAnswerVoteCounts(
+    @Query("UPDATE ForumAnswer a SET a.status = :status " +
+            "WHERE a.answerId = :answerId AND a.status <> :status")
+    int updateStatus(
             @Param("answerId") Long answerId,
-            @Param("upChange") int upChange,
-            @Param("downChange") int downChange);
+            @Param("status") ForumAnswer.AnswerStatus status);
+
+    /**
+     * Recounts the up/down vote counters of every answer from answer_votes, writing only rows
+     * that differ.
+     *
+     * @return Number of rows corrected
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+    UPDATE forum_answers a
+    SET upvote_count = c.up, downvote_count = c.down
+    FROM (
+        SELECT an.answer_id,
+               COUNT(v.vote_id) FILTER (WHERE v.type = 1) AS up,
+               COUNT(v.vote_id) FILTER (WHERE v.type = -1) AS down
+        FROM forum_answers an
+        LEFT JOIN answer_votes v ON v.answer_id = an.answer_id
+        GROUP BY an.answer_id
+    ) c
+    WHERE a.answer_id = c.answer_id
+      AND (a.upvote_count IS DISTINCT FROM c.up OR a.downvote_count IS DISTINCT FROM c.down)
+    """, nativeQuery = true)
+    int recountVotes();
 
     /**
      * Retrieves the vote type (1 for upvote, -1 for downvote, 0 if none)
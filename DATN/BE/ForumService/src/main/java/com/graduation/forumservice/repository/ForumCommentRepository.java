@@ -3,8 +3,11 @@ package com.graduation.forumservice.repository;
 import com.graduation.forumservice.model.ForumComment;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -27,4 +30,20 @@ public interface ForumCommentRepository extends JpaRepository<ForumComment, Long
     List<ForumComment> findByPostIdOrderByCreatedAtAsc(Long answerId, Pageable limits);
 
     List<ForumComment> findByAnswerIdOrderByCreatedAtAsc(Long answerId, Pageable pageable);
+
+    /**
+     * The oldest {@code perAnswer} comments of each answer, for several answers in one query.
+     */
+    @Query(value = """
+    SELECT ranked.comment_id, ranked.user_id, ranked.post_id, ranked.answer_id, ranked.parent_comment_id,
+           ranked.content_text, ranked.reply_preview_snapshot, ranked.created_at, ranked.updated_at
+    FROM (
+        SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.answer_id ORDER BY c.created_at ASC) AS rn
+        FROM forum_comments c
+        WHERE c.answer_id IN (:answerIds)
+    ) ranked
+    WHERE ranked.rn <= :perAnswer
+    """, nativeQuery = true)
+    List<ForumComment> findOldestByAnswerIdIn(@Param("answerIds") Collection<Long> answerIds,
+                                              @Param("perAnswer") int perAnswer);
 }
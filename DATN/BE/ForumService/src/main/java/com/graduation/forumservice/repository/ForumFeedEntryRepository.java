@@ -0,0 +1,129 @@
+package com.graduation.forumservice.repository;
+
+import com.graduation.forumservice.model.ForumFeedEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Feed pages are keyset-paginated on (created_at, post_id): each query returns the entries
+ * strictly older than the cursor, newest first, and walks one of the entity's indexes.
+ */
+@Repository
+public interface ForumFeedEntryRepository extends JpaRepository<ForumFeedEntry, Long> {
+
+    @Query(value = """
+    SELECT f.* FROM forum_feed_entries f
+    WHERE f.status = 'ACTIVE'
+      AND (f.created_at, f.post_id) < (:cursorCreatedAt, :cursorPostId)
+    ORDER BY f.created_at DESC, f.post_id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<ForumFeedEntry> findAllFeedPage(
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorPostId") Long cursorPostId,
+            @Param("limit") int limit);
+
+    @Query(value = """
+    SELECT f.* FROM forum_feed_entries f
+    WHERE f.user_id = :userId
+      AND f.status = 'ACTIVE'
+      AND (f.created_at, f.post_id) < (:cursorCreatedAt, :cursorPostId)
+    ORDER BY f.created_at DESC, f.post_id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<ForumFeedEntry> findUserFeedPage(
+            @Param("userId") Long userId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorPostId") Long cursorPostId,
+            @Param("limit") int limit);
+
+    @Query(value = """
+    SELECT f.* FROM forum_feed_entries f
+    JOIN saved_posts sp ON sp.post_id = f.post_id AND sp.user_id = :userId
+    WHERE f.status = 'ACTIVE'
+      AND (f.created_at, f.post_id) < (:cursorCreatedAt, :cursorPostId)
+    ORDER BY f.created_at DESC, f.post_id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<ForumFeedEntry> findSavedFeedPage(
+            @Param("userId") Long userId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorPostId") Long cursorPostId,
+            @Param("limit") int limit);
+
+    @Query(value = """
+    SELECT f.* FROM forum_feed_entries f
+    WHERE f.is_helpful = true
+      AND f.status = 'ACTIVE'
+      AND (f.created_at, f.post_id) < (:cursorCreatedAt, :cursorPostId)
+    ORDER BY f.created_at DESC, f.post_id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<ForumFeedEntry> findHelpfulFeedPage(
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorPostId") Long cursorPostId,
+            @Param("limit") int limit);
+
+    /**
+     * Copies the current post_stats values of a post onto its feed entry.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+    UPDATE forum_feed_entries f
+    SET score = s.score, view_count = s.view_count, answer_count = s.answer_count, is_helpful = s.score > 0
+    FROM post_stats s
+    WHERE s.post_id = f.post_id AND f.post_id = :postId
+    """, nativeQuery = true)
+    void refreshStats(@Param("postId") Long postId);
+
+    /**
+     * Copies the score of every post whose post_stats score differs from its entry.
+     *
+     * @return Number of entries changed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+    UPDATE forum_feed_entries f
+    SET score = s.score, is_helpful = s.score > 0
+    FROM post_stats s
+    WHERE s.post_id = f.post_id AND f.score IS DISTINCT FROM s.score
+    """, nativeQuery = true)
+    int refreshScores();
+
+    /**
+     * Upserts an entry for every post from forum_posts and post_stats.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+    INSERT INTO forum_feed_entries (post_id, user_id, title, preview, tags, is_solved, status, created_at,
+                                    score, view_count, answer_count, is_helpful)
+    SELECT p.post_id, p.user_id, p.title, p.plain_text_preview, p.tags, p.is_solved, p.status, p.created_at,
+           COALESCE(s.score, 0), COALESCE(s.view_count, 0), COALESCE(s.answer_count, 0), COALESCE(s.score, 0) > 0
+    FROM forum_posts p
+    LEFT JOIN post_stats s ON s.post_id = p.post_id
+    ON CONFLICT (post_id) DO UPDATE SET
+        user_id = EXCLUDED.user_id, title = EXCLUDED.title, preview = EXCLUDED.preview, tags = EXCLUDED.tags,
+        is_solved = EXCLUDED.is_solved, status = EXCLUDED.status, created_at = EXCLUDED.created_at,
+        score = EXCLUDED.score, view_count = EXCLUDED.view_count, answer_count = EXCLUDED.answer_count,
+        is_helpful = EXCLUDED.is_helpful
+    """, nativeQuery = true)
+    int upsertAllFromPosts();
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+    DELETE FROM forum_feed_entries f
+    WHERE NOT EXISTS (SELECT 1 FROM forum_posts p WHERE p.post_id = f.post_id)
+    """, nativeQuery = true)
+    int deleteOrphans();
+}
@@ -5,6 +5,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -12,4 +14,7 @@ import java.util.Optional;
 public interface MongoContentRepository extends MongoRepository<MongoContent, Integer> {
     @Query("{ 'id' : ?0 }")
     Optional<MongoContent> findByIntId(int id);
+
+    @Query("{ 'id' : { $in : ?0 } }")
+    List<MongoContent> findAllByIntIdIn(Collection<Integer> ids);
 }
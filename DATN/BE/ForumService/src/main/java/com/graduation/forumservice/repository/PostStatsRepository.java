@@ -25,15 +25,29 @@ public interface PostStatsRepository extends JpaRepository<PostStats, Long> {
     Integer findAnswerCountByPostId(@Param("postId") Long postId);
 
     /**
-     * Atomically updates the score of a post.
-     * Use this to avoid race conditions during concurrent voting.
-     * * @param postId The ID of the post
-     * @param change The amount to add (e.g., +1, -1, +2, -2)
+     * Recounts the score and up/down vote counters from post_votes, writing only rows that differ.
+     *
+     * @return Number of rows corrected
      */
     @Modifying
     @Transactional
-    @Query("UPDATE PostStats s SET s.score = s.score + :change WHERE s.postId = :postId")
-    void updateScore(@Param("postId") Long postId, @Param("change") int change);
+    @Query(value = """
+    UPDATE post_stats s
+    SET score = c.up - c.down, upvote_count = c.up, downvote_count = c.down
+    FROM (
+        SELECT st.post_id,
+               COUNT(v.vote_id) FILTER (WHERE v.type = 1) AS up,
+               COUNT(v.vote_id) FILTER (WHERE v.type = -1) AS down
+        FROM post_stats st
+        LEFT JOIN post_votes v ON v.post_id = st.post_id
+        GROUP BY st.post_id
+    ) c
+    WHERE s.post_id = c.post_id
+      AND (s.score IS DISTINCT FROM c.up - c.down
+           OR s.upvote_count IS DISTINCT FROM c.up
+           OR s.downvote_count IS DISTINCT FROM c.down)
+    """, nativeQuery = true)
+    int recountVotes();
 
     /**
      * Atomically increments the answer count for a specific post.
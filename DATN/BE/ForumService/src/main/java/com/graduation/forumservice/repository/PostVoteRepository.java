@@ -6,17 +6,86 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostVoteRepository extends JpaRepository<PostVote, Long> {
     Optional<PostVote> findPostVoteByPostIdAndUserId(Long postId, Long userId);
 
-    @Query("SELECT COUNT(v) FROM PostVote v WHERE v.postId = :postId AND v.type = 1")
-    long countUpvotes(@Param("postId") Long postId);
+    /**
+     * Holds a lock on one user's vote on one post until the transaction ends. Toggles of the
+     * same vote run one after the other, so two concurrent first votes cannot both count as new.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('post_vote:' || :postId || ':' || :userId))",
+            nativeQuery = true)
+    Integer lockVote(@Param("postId") Long postId, @Param("userId") Long userId);
 
-    @Query("SELECT COUNT(v) FROM PostVote v WHERE v.postId = :postId AND v.type = -1")
-    long countDownvotes(@Param("postId") Long postId);
+    /**
+     * Toggles a user's vote on a post and applies the change to post_stats in one statement:
+     * the same type again removes the vote, the other type flips it.
+     * Index 0: the user's vote after the toggle (1, -1 or 0)
+     * Index 1: score
+     * Index 2: upvote count
+     * Index 3: downvote count
+     * Returns no row if the post has no stats row.
+     */
+    @Query(value = """
+    WITH prev AS (
+        SELECT v.type FROM post_votes v
+        WHERE v.post_id = :postId AND v.user_id = :userId
+        FOR UPDATE
+    ),
+    removed AS (
+        DELETE FROM post_votes v
+        WHERE v.post_id = :postId AND v.user_id = :userId AND v.type = :voteType
+        RETURNING v.type
+    ),
+    written AS (
+        INSERT INTO post_votes (post_id, user_id, type, created_at)
+        SELECT :postId, :userId, :voteType, now()
+        WHERE NOT EXISTS (SELECT 1 FROM removed)
+        ON CONFLICT (post_id, user_id) DO UPDATE SET type = EXCLUDED.type
+        RETURNING type
+    ),
+    delta AS (
+        SELECT COALESCE((SELECT type FROM prev), 0) AS old_type,
+               COALESCE((SELECT type FROM written), 0) AS new_type
+    )
+    UPDATE post_stats s
+    SET score = s.score + d.new_type - d.old_type,
+        upvote_count = s.upvote_count
+            + CASE WHEN d.new_type = 1 THEN 1 ELSE 0 END - CASE WHEN d.old_type = 1 THEN 1 ELSE 0 END,
+        downvote_count = s.downvote_count
+            + CASE WHEN d.new_type = -1 THEN 1 ELSE 0 END - CASE WHEN d.old_type = -1 THEN 1 ELSE 0 END
+    FROM delta d
+    WHERE s.post_id = :postId
+    RETURNING d.new_type, s.score, s.upvote_count, s.downvote_count
+    """, nativeQuery = true)
+    List<Object[]> togglePostVote(@Param("postId") Long postId, @Param("userId") Long userId,
+                                  @Param("voteType") Integer voteType);
 
     void deleteByPostId(Long postId);
+
+    /**
+     * Everything about a post that is specific to one user, in one round trip.
+     * Index 0: kind (POST_VOTE, SAVED or ANSWER_VOTE)
+     * Index 1: post or answer id
+     * Index 2: vote type (1 for SAVED)
+     */
+    @Query(value = """
+    SELECT 'POST_VOTE' AS kind, v.post_id AS target_id, v.type AS value
+    FROM post_votes v
+    WHERE v.post_id = :postId AND v.user_id = :userId
+    UNION ALL
+    SELECT 'SAVED', sp.post_id, 1
+    FROM saved_posts sp
+    WHERE sp.post_id = :postId AND sp.user_id = :userId
+    UNION ALL
+    SELECT 'ANSWER_VOTE', av.answer_id, av.type
+    FROM answer_votes av
+    JOIN forum_answers a ON a.answer_id = av.answer_id
+    WHERE a.post_id = :postId AND av.user_id = :userId
+    """, nativeQuery = true)
+    List<Object[]> findUserFlagsForPost(@Param("postId") Long postId, @Param("userId") Long userId);
 }
@@ -0,0 +1,111 @@
+package com.graduation.forumservice.service;
+
+import com.graduation.forumservice.model.ForumFeedEntry;
+import com.graduation.forumservice.model.ForumPost;
+import com.graduation.forumservice.repository.ForumFeedEntryRepository;
+import com.graduation.forumservice.service.helper.FeedCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Maintains the {@link ForumFeedEntry} read model and serves keyset-paginated feed pages from it.
+ * <p>
+ * Post writes call {@link #syncPost}, stats writes call {@link #syncStats}, both inside the
+ * caller's transaction so the feed never shows a state that was rolled back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ForumFeedService {
+
+    private final ForumFeedEntryRepository feedEntryRepository;
+
+    @Transactional(readOnly = true)
+    public List<ForumFeedEntry> getFeedPage(String filter, Long userId, FeedCursor after, int limit) {
+        return switch (filter) {
+            case "MY_POSTS" -> feedEntryRepository.findUserFeedPage(userId, after.createdAt(), after.postId(), limit);
+            case "SAVED_POSTS" -> feedEntryRepository.findSavedFeedPage(userId, after.createdAt(), after.postId(), limit);
+            case "MOST_HELPFUL" -> feedEntryRepository.findHelpfulFeedPage(after.createdAt(), after.postId(), limit);
+            default -> feedEntryRepository.findAllFeedPage(after.createdAt(), after.postId(), limit);
+        };
+    }
+
+    /**
+     * Copy the feed columns of a created or edited post onto its entry.
+     */
+    @Transactional
+    public void syncPost(ForumPost post) {
+        ForumFeedEntry entry = feedEntryRepository.findById(post.getPostId()).orElse(null);
+        boolean isNew = entry == null;
+        if (isNew) {
+            entry = ForumFeedEntry.builder()
+                    .postId(post.getPostId())
+                    .score(0)
+                    .viewCount(0L)
+                    .answerCount(0)
+                    .isHelpful(false)
+                    .build();
+        }
+
+        entry.setUserId(post.getUserId());
+        entry.setTitle(post.getTitle());
+        entry.setPreview(post.getPlainTextPreview());
+        entry.setTags(post.getTags());
+        entry.setIsSolved(post.getIsSolved());
+        entry.setStatus(post.getStatus());
+        entry.setCreatedAt(post.getCreatedAt());
+        if (isNew) {
+            // The post may already have stats if its entry was missing (e.g. before the first rebuild)
+            feedEntryRepository.saveAndFlush(entry);
+            feedEntryRepository.refreshStats(post.getPostId());
+        } else {
+            feedEntryRepository.save(entry);
+        }
+    }
+
+    /**
+     * Refresh the score, view and answer counts of a post after its post_stats row changed.
+     */
+    @Transactional
+    public void syncStats(Long postId) {
+        feedEntryRepository.refreshStats(postId);
+    }
+
+    @Transactional
+    public void removePost(Long postId) {
+        feedEntryRepository.deleteById(postId);
+    }
+
+    /**
+     * Rebuild every entry from forum_posts and post_stats and drop entries of deleted posts.
+     *
+     * @return Number of entries written
+     */
+    @Transactional
+    public int rebuild() {
+        int upserted = feedEntryRepository.upsertAllFromPosts();
+        int removed = feedEntryRepository.deleteOrphans();
+        log.info("Forum feed rebuilt: upserted={}, removed={}", upserted, removed);
+        return upserted;
+    }
+
+    /**
+     * Populate the feed the first time the service starts with an empty table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (feedEntryRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Initial forum feed rebuild failed", e);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.graduation.forumservice.service;
+
+import com.graduation.forumservice.model.FileUploadDTO;
+import com.graduation.forumservice.model.ForumComment;
+import com.graduation.forumservice.model.MongoContent;
+import com.graduation.forumservice.payload.response.*;
+import com.graduation.forumservice.repository.*;
+import com.graduation.forumservice.service.helper.ForumDTOMapper;
+import com.graduation.forumservice.service.helper.UserInfoResolverService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Assembles the post detail page.
+ * <p>
+ * The part shared by all users (post, files, top answers, root comments, contents, authors,
+ * project links) is loaded with the independent Postgres reads running in parallel, Mongo
+ * contents in one $in query and authors in one batch, and is cached per post for a short TTL.
+ * The user's own post vote, saved flag and answer votes come from one query on every request
+ * and are applied on top. Writes on this instance evict the post once they commit; other
+ * instances see the change once the TTL expires.
+ * <p>
+ * Every loader thread can hold a connection, so the pool is capped at half the Hikari pool to
+ * leave connections for request threads and the scheduled writers.
+ */
+@Slf4j
+@Service
+public class PostDetailLoader {
+
+    private static final int TOP_ANSWERS = 5;
+    private static final int COMMENTS_PER_TARGET = 2;
+
+    private final ForumPostRepository forumPostRepository;
+    private final ForumPostFileRepository forumPostFileRepository;
+    private final ForumAnswerRepository forumAnswerRepository;
+    private final ForumCommentRepository forumCommentRepository;
+    private final ProjectSavedPostRepository projectSavedPostRepository;
+    private final PostVoteRepository postVoteRepository;
+    private final MongoContentRepository mongoContentRepository;
+    private final UserInfoResolverService userInfoResolverService;
+    private final ForumDTOMapper forumDTOMapper;
+    private final PostViewCounter postViewCounter;
+
+    private final ExecutorService executor;
+    private final long cacheTtlMs;
+    private final Map<Long, PostSnapshot> cache;
+    // Bumped by every eviction, so a snapshot read while a write committed is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PostDetailLoader(ForumPostRepository forumPostRepository,
+                            ForumPostFileRepository forumPostFileRepository,
+                            ForumAnswerRepository forumAnswerRepository,
+                            ForumCommentRepository forumCommentRepository,
+                            ProjectSavedPostRepository projectSavedPostRepository,
+                            PostVoteRepository postVoteRepository,
+                            MongoContentRepository mongoContentRepository,
+                            UserInfoResolverService userInfoResolverService,
+                            ForumDTOMapper forumDTOMapper,
+                            PostViewCounter postViewCounter,
+                            @Value("${app.post-detail.loader-threads:8}") int loaderThreads,
+                            @Value("${app.post-detail.cache-ttl-ms:5000}") long cacheTtlMs,
+                            @Value("${app.post-detail.cache-max-size:1000}") int cacheMaxSize,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.forumPostRepository = forumPostRepository;
+        this.forumPostFileRepository = forumPostFileRepository;
+        this.forumAnswerRepository = forumAnswerRepository;
+        this.forumCommentRepository = forumCommentRepository;
+        this.projectSavedPostRepository = projectSavedPostRepository;
+        this.postVoteRepository = postVoteRepository;
+        this.mongoContentRepository = mongoContentRepository;
+        this.userInfoResolverService = userInfoResolverService;
+        this.forumDTOMapper = forumDTOMapper;
+        this.postViewCounter = postViewCounter;
+        this.cacheTtlMs = cacheTtlMs;
+
+        int threads = Math.max(1, Math.min(loaderThreads, connectionPoolSize / 2));
+        if (threads < loaderThreads) {
+            log.warn("Post detail loader limited to {} threads by a connection pool of {}", threads, connectionPoolSize);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "post-detail-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Access-ordered, so the least recently read post is evicted first
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PostSnapshot> eldest) {
+                return size() > cacheMaxSize;
+            }
+        });
+    }
+
+    /**
+     * @return The post detail as seen by the user, or empty if the post does not exist
+     */
+    public Optional<PostDetailDTO> load(Long postId, Long userId) {
+        CompletableFuture<List<Object[]>> userFlags = async(() -> postVoteRepository.findUserFlagsForPost(postId, userId));
+
+        PostSnapshot snapshot = cache.get(postId);
+        if (snapshot == null || snapshot.loadedAt() + cacheTtlMs < System.currentTimeMillis()) {
+            long evictionsBefore = evictions.get();
+            snapshot = loadSnapshot(postId);
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+            if (evictions.get() == evictionsBefore) {
+                cache.put(postId, snapshot);
+            }
+        }
+
+        return Optional.of(assemble(snapshot, userFlags.join()));
+    }
+
+    /**
+     * Drop the cached detail of a post after a write to it, its answers or its comments. Inside a
+     * transaction the post is dropped after commit, so a concurrent read cannot cache the old state.
+     */
+    public void evict(Long postId) {
+        if (postId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(postId);
+                }
+            });
+        } else {
+            evictNow(postId);
+        }
+    }
+
+    private void evictNow(Long postId) {
+        evictions.incrementAndGet();
+        cache.remove(postId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private PostSnapshot loadSnapshot(Long postId) {
+        CompletableFuture<Optional<Object[]>> detailFuture = async(() -> forumPostRepository
+                .findPostDetailByIdNative(postId)
+                .map(result -> (Object[]) result[0]));
+        CompletableFuture<List<FileUploadDTO>> filesFuture = async(() -> forumPostFileRepository.findAllByPostId(postId)
+                .stream()
+                .map(forumDTOMapper::mapToFileDTO)
+                .toList());
+        CompletableFuture<List<Object[]>> answersFuture = async(() -> forumAnswerRepository
+                .findAnswersByPostIdNative(postId, "MOST_HELPFUL", PageRequest.of(0, TOP_ANSWERS)).stream()
+                .map(row -> (row[0] instanceof Object[]) ? (Object[]) row[0] : row)
+                .toList());
+        CompletableFuture<List<ForumComment>> postCommentsFuture = async(() -> forumCommentRepository
+                .findByPostIdOrderByCreatedAtAsc(postId, PageRequest.of(0, COMMENTS_PER_TARGET)));
+        CompletableFuture<List<Long>> projectsFuture = async(() -> projectSavedPostRepository.findByPostId(postId)
+                .stream()
+                .map(item -> item.getId().getProjectId())
+                .collect(Collectors.toList()));
+
+        Optional<Object[]> detail = detailFuture.join();
+        if (detail.isEmpty()) {
+            return null;
+        }
+        Object[] data = detail.get();
+        Long authorUserId = ((Number) data[1]).longValue();
+        int postContentId = Integer.parseInt(String.valueOf(data[4]));
+
+        // Second wave: reads that need the answer ids or content ids
+        List<Object[]> answerRows = answersFuture.join();
+        List<Long> answerIds = answerRows.stream().map(a -> ((Number) a[0]).longValue()).toList();
+        CompletableFuture<List<ForumComment>> answerCommentsFuture = answerIds.isEmpty()
+                ? CompletableFuture.completedFuture(List.of())
+                : async(() -> forumCommentRepository.findOldestByAnswerIdIn(answerIds, COMMENTS_PER_TARGET));
+
+        Set<Integer> contentIds = new HashSet<>();
+        contentIds.add(postContentId);
+        answerRows.forEach(a -> contentIds.add(Integer.parseInt(String.valueOf(a[3]))));
+        CompletableFuture<Map<Integer, Map<String, Object>>> contentsFuture = async(() -> mongoContentRepository
+                .findAllByIntIdIn(contentIds).stream()
+                .filter(content -> content.getContent() != null)
+                .collect(Collectors.toMap(MongoContent::getId, MongoContent::getContent, (a, b) -> a)));
+
+        // Root comments of the post and of each answer, oldest first (an answer comment also carries the post id)
+        Map<Long, ForumComment> commentsById = new LinkedHashMap<>();
+        Stream.concat(postCommentsFuture.join().stream(), answerCommentsFuture.join().stream())
+                .forEach(comment -> commentsById.putIfAbsent(comment.getCommentId(), comment));
+        List<ForumComment> rootComments = commentsById.values().stream()
+                .sorted(Comparator.comparing(ForumComment::getCreatedAt))
+                .toList();
+
+        Set<Long> authorIds = new HashSet<>();
+        authorIds.add(authorUserId);
+        answerRows.forEach(a -> authorIds.add(((Number) a[1]).longValue()));
+        rootComments.forEach(comment -> authorIds.add(comment.getUserId()));
+        Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(authorIds);
+
+        Map<Integer, Map<String, Object>> contents = contentsFuture.join();
+        List<AnswerDTO> answers = answerRows.stream().map(a -> AnswerDTO.builder()
+                        .answerId(((Number) a[0]).longValue())
+                        .author(authors.get(((Number) a[1]).longValue()))
+                        .content(contents.get(Integer.parseInt(String.valueOf(a[3]))))
+                        .score(((Number) a[9]).intValue())
+                        .isAccepted((Boolean) a[6])
+                        .createdAt(((java.sql.Timestamp) a[7]).toLocalDateTime())
+                        .build())
+                .toList();
+        List<CommentDTO> comments = rootComments.stream()
+                .map(comment -> forumDTOMapper.toCommentDTO(comment, authors))
+                .toList();
+
+        String tagsStr = (String) data[8];
+        List<String> tags = (tagsStr != null && !tagsStr.isEmpty())
+                ? Arrays.asList(tagsStr.split(","))
+                : Collections.emptyList();
+
+        return new PostSnapshot(
+                postId,
+                (String) data[2],
+                contents.get(postContentId),
+                authors.get(authorUserId),
+                tags,
+                filesFuture.join(),
+                answers,
+                comments,
+                projectsFuture.join(),
+                ((Number) data[9]).intValue(),
+                ((Number) data[10]).longValue(),
+                ((Number) data[11]).intValue(),
+                (Boolean) data[5],
+                ((java.sql.Timestamp) data[6]).toLocalDateTime(),
+                data[7] != null ? ((java.sql.Timestamp) data[7]).toLocalDateTime() : null,
+                System.currentTimeMillis());
+    }
+
+    private PostDetailDTO assemble(PostSnapshot snapshot, List<Object[]> userFlags) {
+        int userVote = 0;
+        boolean isSaved = false;
+        Map<Long, Integer> answerVotes = new HashMap<>();
+        for (Object[] flag : userFlags) {
+            String kind = String.valueOf(flag[0]);
+            long targetId = ((Number) flag[1]).longValue();
+            int value = ((Number) flag[2]).intValue();
+            switch (kind) {
+                case "POST_VOTE" -> userVote = value;
+                case "SAVED" -> isSaved = true;
+                case "ANSWER_VOTE" -> answerVotes.put(targetId, value);
+                default -> log.warn("Unknown user flag kind: {}", kind);
+            }
+        }
+
+        List<AnswerDTO> answers = snapshot.answers().stream().map(answer -> AnswerDTO.builder()
+                        .answerId(answer.getAnswerId())
+                        .author(answer.getAuthor())
+                        .content(answer.getContent())
+                        .score(answer.getScore())
+                        .isAccepted(answer.getIsAccepted())
+                        .voteType(answerVotes.get(answer.getAnswerId()))
+                        .createdAt(answer.getCreatedAt())
+                        .build())
+                .toList();
+
+        return PostDetailDTO.builder()
+                .postId(snapshot.postId())
+                .title(snapshot.title())
+                .content(snapshot.content())
+                .author(snapshot.author())
+                .tags(snapshot.tags())
+                .files(snapshot.files())
+                .stats(PostStatsDTO.builder()
+                        .score(snapshot.score())
+                        .viewCount(snapshot.viewCount() + postViewCounter.pendingViews(snapshot.postId()))
+                        .isSolved(snapshot.isSolved())
+                        .answerCount(snapshot.answerCount())
+                        .build())
+                .answers(answers)
+                .savedToProjectIds(snapshot.savedToProjectIds())
+                .comments(snapshot.comments())
+                .userVote(userVote)
+                .isSaved(isSaved)
+                .createdAt(snapshot.createdAt())
+                .updatedAt(snapshot.updatedAt())
+                .build();
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, executor);
+    }
+
+    /**
+     * The user-independent part of a post detail.
+     */
+    private record PostSnapshot(
+            Long postId,
+            String title,
+            Map<String, Object> content,
+            PostAuthorDTO author,
+            List<String> tags,
+            List<FileUploadDTO> files,
+            List<AnswerDTO> answers,
+            List<CommentDTO> comments,
+            List<Long> savedToProjectIds,
+            Integer score,
+            Long viewCount,
+            Integer answerCount,
+            Boolean isSolved,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            long loadedAt) {
+    }
+}
@@ -13,8 +13,10 @@ public interface PostService {
 
     /**
      * Retrieves a paginated feed of posts based on filters and search keywords.
+     * Without a search, pages after the first are read with the keyset cursor of the previous page.
      */
-    BaseResponse<?> getPostFeed(Long userId, int page, int limit, String filter, String sort, String search);
+    BaseResponse<?> getPostFeed(Long userId, int page, int limit, String filter, String sort, String search,
+                                String cursor);
 
     /**
      * Creates a new post with optional file attachments.
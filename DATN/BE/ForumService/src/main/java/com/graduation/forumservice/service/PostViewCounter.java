@@ -0,0 +1,145 @@
+package com.graduation.forumservice.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind view counter for posts.
+ * <p>
+ * Views are added to per-post counters in memory (ConcurrentHashMap locks per bin, so
+ * concurrent views of different posts do not contend) and written every flush interval as one
+ * batched UPDATE of post_stats and forum_feed_entries, instead of one row update per view.
+ * Each instance flushes its own deltas, so several instances can count the same post.
+ * Optionally a user's repeat views of a post within the dedup window count once.
+ * <p>
+ * Pending counts are flushed on shutdown and are put back if a flush fails; a crash can lose
+ * at most one flush interval of views.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostViewCounter {
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.view-counter.dedup-window-seconds:0}")
+    private long dedupWindowSeconds;
+
+    @Value("${app.view-counter.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final Map<ViewKey, Long> recentViews = new ConcurrentHashMap<>();
+
+    // Simple counters so the reduction is visible in logs
+    private final AtomicLong viewsRecorded = new AtomicLong();
+    private final AtomicLong rowsFlushed = new AtomicLong();
+
+    /**
+     * Count one view of a post.
+     *
+     * @return false if the view was a repeat within the dedup window and was not counted
+     */
+    public boolean record(Long postId, Long userId) {
+        if (dedupWindowSeconds > 0 && userId != null) {
+            long now = System.currentTimeMillis();
+            boolean[] counted = new boolean[1];
+            recentViews.compute(new ViewKey(postId, userId), (key, expiresAt) -> {
+                if (expiresAt != null && expiresAt > now) {
+                    return expiresAt;
+                }
+                counted[0] = true;
+                return now + dedupWindowSeconds * 1000;
+            });
+            if (!counted[0]) {
+                return false;
+            }
+        }
+
+        pending.merge(postId, 1L, Long::sum);
+        viewsRecorded.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Views of a post counted by this instance but not yet written, to add to the stored count.
+     */
+    public long pendingViews(Long postId) {
+        return pending.getOrDefault(postId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-counter.flush-interval-ms:5000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        recentViews.entrySet().removeIf(entry -> entry.getValue() <= now);
+
+        // remove() is atomic per key: a view recorded after it starts a new counter for the next flush
+        Map<Long, Long> batch = new HashMap<>();
+        for (Long postId : pending.keySet()) {
+            Long delta = pending.remove(postId);
+            if (delta != null) {
+                batch.put(postId, delta);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(batch);
+            rowsFlushed.addAndGet(batch.size());
+            log.debug("Flushed view counts of {} posts", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush view counts of {} posts, keeping them for the next flush: {}",
+                    batch.size(), e.getMessage());
+            batch.forEach((postId, delta) -> pending.merge(postId, delta, Long::sum));
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush();
+        log.info("Post view counter: {} views written as {} row updates", viewsRecorded.get(), rowsFlushed.get());
+    }
+
+    private void write(Map<Long, Long> batch) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(batch.entrySet());
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        template.executeWithoutResult(status -> {
+            for (int from = 0; from < entries.size(); from += flushBatchSize) {
+                // Ids and deltas are longs, so they are safe to inline as literals
+                String values = entries.subList(from, Math.min(from + flushBatchSize, entries.size())).stream()
+                        .map(entry -> "(" + entry.getKey() + ", " + entry.getValue() + ")")
+                        .collect(Collectors.joining(", "));
+
+                entityManager.createNativeQuery("""
+                        UPDATE post_stats s SET view_count = s.view_count + v.delta
+                        FROM (VALUES %s) AS v(post_id, delta)
+                        WHERE s.post_id = v.post_id
+                        """.formatted(values)).executeUpdate();
+                entityManager.createNativeQuery("""
+                        UPDATE forum_feed_entries f SET view_count = f.view_count + v.delta
+                        FROM (VALUES %s) AS v(post_id, delta)
+                        WHERE f.post_id = v.post_id
+                        """.formatted(values)).executeUpdate();
+            }
+        });
+    }
+
+    private record ViewKey(Long postId, Long userId) {
+    }
+}
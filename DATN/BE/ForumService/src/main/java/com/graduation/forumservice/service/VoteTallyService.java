@@ -0,0 +1,91 @@
+package com.graduation.forumservice.service;
+
+import com.graduation.forumservice.repository.ForumAnswerRepository;
+import com.graduation.forumservice.repository.ForumFeedEntryRepository;
+import com.graduation.forumservice.repository.PostStatsRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the vote tallies (post score and up/down counters, answer up/down counters) in line
+ * with post_votes and answer_votes.
+ * <p>
+ * Votes update the tallies incrementally. The one-off backfill brings votes cast before that
+ * in line by recounting every tally. It runs once per database, recorded in forum_backfills.
+ * The unique keys the vote upserts rely on are added with the schema (schema.sql), before
+ * the service takes traffic.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoteTallyService {
+
+    static final String VOTE_TALLY_BACKFILL = "vote_tallies";
+
+    private final PostStatsRepository postStatsRepository;
+    private final ForumAnswerRepository forumAnswerRepository;
+    private final ForumFeedEntryRepository feedEntryRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Recount every tally from the votes, e.g. after manual changes to the vote tables.
+     *
+     * @return Number of posts and answers whose tallies were corrected
+     */
+    @Transactional
+    public int recount() {
+        int posts = postStatsRepository.recountVotes();
+        int answers = forumAnswerRepository.recountVotes();
+        feedEntryRepository.refreshScores();
+        log.info("Vote tallies recounted: posts={}, answers={}", posts, answers);
+        return posts + answers;
+    }
+
+    /**
+     * Runs in a transaction of its own, so the backfill is recorded only if all of it committed.
+     *
+     * @return false if the backfill had already run
+     */
+    public boolean backfill() {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> backfillVotes()));
+    }
+
+    private boolean backfillVotes() {
+        entityManager.createNativeQuery("""
+                CREATE TABLE IF NOT EXISTS forum_backfills (
+                    name varchar(100) PRIMARY KEY,
+                    applied_at timestamp NOT NULL DEFAULT now()
+                )
+                """).executeUpdate();
+        // Another instance running the backfill holds this row until it commits
+        int claimed = entityManager.createNativeQuery(
+                        "INSERT INTO forum_backfills (name) VALUES (:name) ON CONFLICT DO NOTHING")
+                .setParameter("name", VOTE_TALLY_BACKFILL)
+                .executeUpdate();
+        if (claimed == 0) {
+            return false;
+        }
+
+        int corrected = recount();
+
+        log.info("Vote tally backfill done: corrected={}", corrected);
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.error("Vote tally backfill failed", e);
+        }
+    }
+}
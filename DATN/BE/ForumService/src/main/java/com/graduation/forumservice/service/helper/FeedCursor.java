@@ -0,0 +1,40 @@
+package com.graduation.forumservice.service.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Keyset position in the feed: the (createdAt, postId) of the last post on the previous page.
+ * Sent to clients as an opaque URL-safe string.
+ */
+public record FeedCursor(LocalDateTime createdAt, Long postId) {
+
+    /**
+     * Position before the newest post, used for the first page.
+     */
+    public static final FeedCursor FIRST = new FeedCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = createdAt + "|" + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The decoded cursor, or empty if the value was not produced by {@link #encode()}
+     */
+    public static Optional<FeedCursor> decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
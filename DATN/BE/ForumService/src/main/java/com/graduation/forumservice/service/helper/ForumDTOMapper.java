@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Centralized DTO mapper for Forum entities.
@@ -27,6 +28,14 @@ public class ForumDTOMapper {
      * Maps raw SQL result array to PostFeedDTO.
      */
     public PostFeedDTO toPostFeedDTO(Object[] row) {
+        Long userId = ((Number) row[1]).longValue();
+        return toPostFeedDTO(row, userInfoResolverService.fetchAuthorInfos(List.of(userId)));
+    }
+
+    /**
+     * Maps raw SQL result array to PostFeedDTO, with the author taken from pre-resolved authors.
+     */
+    public PostFeedDTO toPostFeedDTO(Object[] row, Map<Long, PostAuthorDTO> authors) {
         // Safe handling for Tags (Index 7)
         Object tagsRaw = row[7];
         List<String> tags = Collections.emptyList();
@@ -55,9 +64,8 @@ public class ForumDTOMapper {
             createdAt = ts.toLocalDateTime();
         }
 
-        // Resolve Author (cached)
         Long userId = ((Number) row[1]).longValue();
-        PostAuthorDTO author = userInfoResolverService.fetchAuthorInfo(userId);
+        PostAuthorDTO author = authors.get(userId);
 
         return PostFeedDTO.builder()
                 .postId(((Number) row[0]).longValue())
@@ -99,10 +107,34 @@ public class ForumDTOMapper {
                 .build();
     }
 
+    /**
+     * Maps a feed read-model entry to PostFeedDTO.
+     */
+    public PostFeedDTO toPostFeedDTO(ForumFeedEntry entry, Map<Long, PostAuthorDTO> authors) {
+        PostAuthorDTO author = authors.get(entry.getUserId());
+
+        return PostFeedDTO.builder()
+                .postId(entry.getPostId())
+                .userId(entry.getUserId())
+                .authorId(author.getUserId())
+                .authorName(author.getName())
+                .authorAvatar(author.getAvatar())
+                .title(entry.getTitle())
+                .preview(entry.getPreview())
+                .isSolved(entry.getIsSolved())
+                .status(entry.getStatus())
+                .tags(entry.getTags() != null ? entry.getTags() : Collections.emptyList())
+                .createdAt(entry.getCreatedAt())
+                .score(entry.getScore())
+                .viewCount(entry.getViewCount())
+                .answerCount(entry.getAnswerCount())
+                .build();
+    }
+
     /**
      * Maps raw SQL result array to AnswerDTO.
      */
-    public AnswerDTO toAnswerDTO(Object[] row) {
+    public AnswerDTO toAnswerDTO(Object[] row, Map<Long, PostAuthorDTO> authors) {
         Long answerId = ((Number) row[0]).longValue();
         Long userId = ((Number) row[1]).longValue();
         int mongoContentId = Integer.parseInt(String.valueOf(row[3]));
@@ -114,7 +146,7 @@ public class ForumDTOMapper {
         return AnswerDTO.builder()
                 .answerId(answerId)
                 .content(mongoContent.getContent())
-                .author(userInfoResolverService.fetchAuthorInfo(userId))
+                .author(authors.get(userId))
                 .score(((Number) row[9]).intValue())
                 .isAccepted(isAccepted)
                 .createdAt(((java.sql.Timestamp) row[7]).toLocalDateTime())
@@ -126,12 +158,19 @@ public class ForumDTOMapper {
      * Maps ForumComment entity to CommentDTO.
      */
     public CommentDTO toCommentDTO(ForumComment comment) {
+        return toCommentDTO(comment, userInfoResolverService.fetchAuthorInfos(List.of(comment.getUserId())));
+    }
+
+    /**
+     * Maps ForumComment entity to CommentDTO, with the author taken from pre-resolved authors.
+     */
+    public CommentDTO toCommentDTO(ForumComment comment, Map<Long, PostAuthorDTO> authors) {
         log.debug("Mapping ForumComment entity to DTO: commentId={}", comment.getCommentId());
 
         return CommentDTO.builder()
                 .commentId(comment.getCommentId())
                 .content(comment.getContentText())
-                .author(userInfoResolverService.fetchAuthorInfo(comment.getUserId()))
+                .author(authors.get(comment.getUserId()))
                 .parentCommentId(comment.getParentCommentId())
                 .replyPreview(comment.getReplyPreviewSnapshot())
                 .postId(comment.getPostId())
@@ -1,68 +1,143 @@
 package com.graduation.forumservice.service.helper;
 
 import com.graduation.forumservice.client.UserServiceClient;
+import com.graduation.forumservice.event.UserUpdatedEvent;
 import com.graduation.forumservice.model.UserInfoCache;
 import com.graduation.forumservice.payload.response.PostAuthorDTO;
+import com.graduation.forumservice.payload.response.UserBatchDTO;
 import com.graduation.forumservice.repository.UserInfoCacheRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
 /**
  * Service for resolving user information with caching strategy.
  * Uses a tiered approach:
- * 1. Check local UserInfoCache (PostgresSQL).
- * 2. If missing, call User Service and update the local cache.
- * 3. Fallback to placeholder if User Service also fails.
+ * 1. Check the in-process author cache.
+ * 2. Check local UserInfoCache (PostgresSQL), in one query for all remaining users.
+ * 3. If missing, call User Service in one batch call and update the local cache.
+ * 4. Fallback to placeholder if User Service also fails.
+ * <p>
+ * Entries are dropped from the in-process cache when a user-updated event arrives, and are
+ * re-read after {@code app.author-cache.ttl-ms} in case an event was missed.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class UserInfoResolverService {
 
     private final UserInfoCacheRepository userInfoCacheRepository;
     private final UserServiceClient userServiceClient;
+    private final long ttlMs;
+    private final Map<Long, CachedAuthor> authorCache;
+
+    public UserInfoResolverService(UserInfoCacheRepository userInfoCacheRepository,
+                                   UserServiceClient userServiceClient,
+                                   @Value("${app.author-cache.max-size:10000}") int maxSize,
+                                   @Value("${app.author-cache.ttl-ms:600000}") long ttlMs) {
+        this.userInfoCacheRepository = userInfoCacheRepository;
+        this.userServiceClient = userServiceClient;
+        this.ttlMs = ttlMs;
+        // Access-ordered, so the least recently read author is evicted first
+        this.authorCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedAuthor> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 
     /**
      * Resolves a userId into a PostAuthorDTO using a tiered caching approach.
      */
     public PostAuthorDTO fetchAuthorInfo(Long userId) {
-        log.debug("Resolving author info for userId: {}", userId);
+        return fetchAuthorInfos(List.of(userId)).get(userId);
+    }
+
+    /**
+     * Resolves every userId of a response at once. The result has an entry (possibly a
+     * placeholder) for each non-null id.
+     */
+    public Map<Long, PostAuthorDTO> fetchAuthorInfos(Collection<Long> userIds) {
+        Map<Long, PostAuthorDTO> authors = new HashMap<>();
+        Set<Long> pending = new HashSet<>();
+        long now = System.currentTimeMillis();
+        for (Long userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            CachedAuthor cached = authorCache.get(userId);
+            if (cached != null && now - cached.loadedAt() < ttlMs) {
+                authors.put(userId, cached.author());
+            } else {
+                pending.add(userId);
+            }
+        }
+        if (pending.isEmpty()) {
+            return authors;
+        }
+        log.debug("Resolving author info for {} users not cached in process", pending.size());
 
-        // 1. Try to find in local cache first
-        return userInfoCacheRepository.findById(userId).map(cache -> {
-            log.debug("Cache hit for userId: {}", userId);
-            return PostAuthorDTO.builder()
+        // 1. Local cache table, one query
+        for (UserInfoCache cache : userInfoCacheRepository.findAllById(pending)) {
+            PostAuthorDTO author = PostAuthorDTO.builder()
                     .userId(cache.getUserId())
                     .name(cache.getDisplayName())
                     .email(cache.getEmail())
                     .avatar(cache.getAvatarUrl()).build();
-        })
-                // 2. Cache miss: Call Remote User Service
-                .orElseGet(() -> {
-                    log.info("Cache miss for userId: {}. Fetching from User Service.", userId);
+            authors.put(cache.getUserId(), author);
+            authorCache.put(cache.getUserId(), new CachedAuthor(author, now));
+            pending.remove(cache.getUserId());
+        }
+        if (pending.isEmpty()) {
+            return authors;
+        }
 
-                    return userServiceClient.getUserById(userId).map(user -> {
-                        // Update local cache for next time
-                        UserInfoCache newCache = new UserInfoCache(
-                                user.getUserId(),
-                                user.getName(),
-                                user.getAvatarUrl(),
-                                user.getEmail());
-                        userInfoCacheRepository.save(newCache);
+        // 2. Cache miss: one batch call to the User Service
+        log.info("Cache miss for {} users. Fetching from User Service.", pending.size());
+        List<UserBatchDTO> users = userServiceClient.getUsersByIds(pending).orElse(Collections.emptyList());
+        List<UserInfoCache> newCaches = new ArrayList<>();
+        for (UserBatchDTO user : users) {
+            if (user.getUserId() == null || !pending.remove(user.getUserId())) {
+                continue;
+            }
+            newCaches.add(new UserInfoCache(user.getUserId(), user.getName(), user.getAvatarUrl(), user.getEmail()));
+
+            PostAuthorDTO author = PostAuthorDTO.builder()
+                    .userId(user.getUserId())
+                    .name(user.getName())
+                    .avatar(user.getAvatarUrl())
+                    .email(user.getEmail())
+                    .build();
+            authors.put(user.getUserId(), author);
+            authorCache.put(user.getUserId(), new CachedAuthor(author, now));
+        }
+        if (!newCaches.isEmpty()) {
+            userInfoCacheRepository.saveAll(newCaches);
+        }
+
+        // 3. Ultimate Fallback: not cached, so the user is looked up again next time
+        for (Long userId : pending) {
+            log.warn("User ID {} not found in User Service. Returning placeholder.", userId);
+            authors.put(userId, PostAuthorDTO.builder().userId(userId).name("Unknown User").avatar(null).build());
+        }
+        return authors;
+    }
+
+    /**
+     * Applies a profile change from the User Service to the local cache table and drops the
+     * in-process entry, so the next read picks up the new name and avatar.
+     */
+    public void applyUserUpdate(UserUpdatedEvent event) {
+        userInfoCacheRepository.findById(event.getUserId()).ifPresent(cache -> {
+            cache.setDisplayName(event.getDisplayName());
+            cache.setAvatarUrl(event.getAvatarUrl());
+            userInfoCacheRepository.save(cache);
+        });
+        authorCache.remove(event.getUserId());
+    }
 
-                        return PostAuthorDTO.builder()
-                                .userId(user.getUserId())
-                                .name(user.getName())
-                                .avatar(user.getAvatarUrl())
-                                .email(user.getEmail())
-                                .build();
-                    })
-                            // 3. Ultimate Fallback: User doesn't exist in system
-                            .orElseGet(() -> {
-                                log.warn("User ID {} not found in User Service. Returning placeholder.", userId);
-                                return PostAuthorDTO.builder().userId(userId).name("Unknown User").avatar(null).build();
-                            });
-                });
+    private record CachedAuthor(PostAuthorDTO author, long loadedAt) {
     }
 }
@@ -10,6 +10,8 @@ import com.graduation.forumservice.payload.request.EditAnswerRequest;
 import com.graduation.forumservice.payload.response.*;
 import com.graduation.forumservice.repository.*;
 import com.graduation.forumservice.service.AnswerService;
+import com.graduation.forumservice.service.ForumFeedService;
+import com.graduation.forumservice.service.PostDetailLoader;
 import com.graduation.forumservice.service.SearchSyncService;
 import com.graduation.forumservice.service.SequenceGeneratorService;
 import com.graduation.forumservice.service.helper.ContentHelperService;
@@ -43,6 +45,8 @@ public class AnswerServiceImpl implements AnswerService {
     private final ForumDTOMapper forumDTOMapper;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final SearchSyncService searchSyncService;
+    private final ForumFeedService forumFeedService;
+    private final PostDetailLoader postDetailLoader;
 
     @Override
     public BaseResponse<?> getAnswersForPost(Long postId, int page, int limit, String sort) {
@@ -61,9 +65,13 @@ public class AnswerServiceImpl implements AnswerService {
             rawResults = rawResults.subList(0, limit);
         }
 
+        Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(rawResults.stream()
+                .map(row -> ((Number) row[1]).longValue())
+                .toList());
+
         List<AnswerDTO> answerDTOs = new ArrayList<>();
         for (Object[] row : rawResults) {
-            answerDTOs.add(forumDTOMapper.toAnswerDTO(row));
+            answerDTOs.add(forumDTOMapper.toAnswerDTO(row, authors));
         }
 
         PaginationDTO pagination = new PaginationDTO(page, hasMore);
@@ -116,6 +124,8 @@ public class AnswerServiceImpl implements AnswerService {
             Long answerId = answer.getAnswerId();
 
             postStatsRepository.incrementAnswerCount(postId);
+            forumFeedService.syncStats(postId);
+            postDetailLoader.evict(postId);
 
             if (!post.getUserId().equals(userId)) {
                 PostAuthorDTO actor = userInfoResolverService.fetchAuthorInfo(userId);
@@ -185,6 +195,7 @@ public class AnswerServiceImpl implements AnswerService {
             answer.setUpdatedAt(LocalDateTime.now());
 
             forumAnswerRepository.save(answer);
+            postDetailLoader.evict(answer.getPostId());
             // === 3. UPDATE SEARCH INDEX ===
             searchSyncService.syncAnswer(
                     answerId,
@@ -232,6 +243,8 @@ public class AnswerServiceImpl implements AnswerService {
 
             post.setIsSolved(targetState);
             forumPostRepository.save(post);
+            forumFeedService.syncPost(post);
+            postDetailLoader.evict(post.getPostId());
 
             log.info("Answer {} is now isAccepted={} for post {}", answerId, targetState, post.getPostId());
             return new BaseResponse<>(Constant.SUCCESS_STATUS,
@@ -269,6 +282,8 @@ public class AnswerServiceImpl implements AnswerService {
             }
 
             postStatsRepository.decrementAnswerCount(answer.getPostId());
+            forumFeedService.syncStats(answer.getPostId());
+            postDetailLoader.evict(answer.getPostId());
 
             forumAnswerRepository.delete(answer);
 
@@ -288,71 +303,39 @@ public class AnswerServiceImpl implements AnswerService {
     public BaseResponse<?> voteAnswer(Long userId, Long answerId, Integer voteType) {
         log.info("Processing answer vote: answerId={}, userId={}, voteType={}", answerId, userId, voteType);
 
-        Optional<AnswerVote> existingVote = answerVoteRepository.findByAnswerIdAndUserId(answerId, userId);
-
-        int upvoteChange = 0;
-        int downvoteChange = 0;
-
-        if (existingVote.isPresent()) {
-            AnswerVote vote = existingVote.get();
-
-            if (vote.getType().equals(voteType)) {
-                if (voteType == 1)
-                    upvoteChange = -1;
-                else
-                    downvoteChange = -1;
-
-                answerVoteRepository.delete(vote);
-                voteType = 0;
-            } else {
-                if (voteType == 1) {
-                    upvoteChange = 1;
-                    downvoteChange = -1;
-                } else {
-                    upvoteChange = -1;
-                    downvoteChange = 1;
-                }
-                vote.setType(voteType);
-                answerVoteRepository.save(vote);
-            }
-        } else {
-            if (voteType == 1)
-                upvoteChange = 1;
-            else
-                downvoteChange = 1;
-
-            AnswerVote newVote = AnswerVote.builder().answerId(answerId).userId(userId).type(voteType).build();
-            answerVoteRepository.save(newVote);
-        }
-
-        forumAnswerRepository.updateAnswerVoteCounts(answerId, upvoteChange, downvoteChange);
-
-        Optional<ForumAnswer> optionalUpdatedAnswer = forumAnswerRepository.findById(answerId);
-        if (optionalUpdatedAnswer.isEmpty()) {
+        // Concurrent toggles by the same user would both see no vote and both insert one
+        answerVoteRepository.lockVote(answerId, userId);
+        // One statement writes the vote and the counters and returns the new counters
+        List<Object[]> rows = answerVoteRepository.toggleAnswerVote(answerId, userId, voteType);
+        if (rows.isEmpty()) {
             throw new NotFoundException("Answer not found!");
         }
-        ForumAnswer updatedAnswer = optionalUpdatedAnswer.get();
-        checkAndHideAnswer(updatedAnswer);
+        Object[] row = rows.get(0);
+        int userVote = ((Number) row[0]).intValue();
+        Long postId = ((Number) row[1]).longValue();
+        int upvotes = ((Number) row[2]).intValue();
+        int downvotes = ((Number) row[3]).intValue();
+        ForumAnswer.AnswerStatus status = ForumAnswer.AnswerStatus.valueOf(String.valueOf(row[4]));
+
+        checkAndHideAnswer(answerId, status, upvotes, downvotes);
+        postDetailLoader.evict(postId);
 
         return new BaseResponse<>(Constant.SUCCESS_STATUS, "Vote recorded",
-                Map.of("newScore", updatedAnswer.getScore(),
-                        "upvoteCount", updatedAnswer.getUpvoteCount(),
-                        "downvoteCount", updatedAnswer.getDownvoteCount(),
-                        "userVote", voteType));
+                Map.of("newScore", upvotes - downvotes,
+                        "upvoteCount", upvotes,
+                        "downvoteCount", downvotes,
+                        "userVote", userVote));
     }
 
     // =========== Private Helper Methods ===========
 
-    private void checkAndHideAnswer(ForumAnswer answer) {
-        long upvotes = answer.getUpvoteCount();
-        long downvotes = answer.getDownvoteCount();
+    private void checkAndHideAnswer(Long answerId, ForumAnswer.AnswerStatus status, long upvotes, long downvotes) {
         long totalVotes = upvotes + downvotes;
 
         if (totalVotes >= 10 && downvotes > upvotes) {
-            if (answer.getStatus() != ForumAnswer.AnswerStatus.HIDDEN) {
-                log.info("Auto-hiding Answer {} due to negative community feedback.", answer.getAnswerId());
-                answer.setStatus(ForumAnswer.AnswerStatus.HIDDEN);
-                forumAnswerRepository.save(answer);
+            if (status != ForumAnswer.AnswerStatus.HIDDEN) {
+                log.info("Auto-hiding Answer {} due to negative community feedback.", answerId);
+                forumAnswerRepository.updateStatus(answerId, ForumAnswer.AnswerStatus.HIDDEN);
             }
         }
     }
@@ -10,6 +10,7 @@ import com.graduation.forumservice.payload.request.UpdateCommentRequest;
 import com.graduation.forumservice.payload.response.*;
 import com.graduation.forumservice.repository.*;
 import com.graduation.forumservice.service.CommentService;
+import com.graduation.forumservice.service.PostDetailLoader;
 import com.graduation.forumservice.service.helper.ForumDTOMapper;
 import com.graduation.forumservice.service.helper.UserInfoResolverService;
 import jakarta.transaction.Transactional;
@@ -32,6 +33,7 @@ public class CommentServiceImpl implements CommentService {
     private final ForumPostRepository forumPostRepository;
     private final ForumAnswerRepository forumAnswerRepository;
     private final UserInfoResolverService userInfoResolverService;
+    private final PostDetailLoader postDetailLoader;
     private final ForumDTOMapper forumDTOMapper;
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
@@ -55,7 +57,12 @@ public class CommentServiceImpl implements CommentService {
             rawComments = rawComments.subList(0, limit);
         }
 
-        List<CommentDTO> commentDTOs = rawComments.stream().map(forumDTOMapper::toCommentDTO).toList();
+        Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(rawComments.stream()
+                .map(ForumComment::getUserId)
+                .toList());
+        List<CommentDTO> commentDTOs = rawComments.stream()
+                .map(comment -> forumDTOMapper.toCommentDTO(comment, authors))
+                .toList();
 
         PaginationDTO pagination = new PaginationDTO(page, hasMore);
         return new BaseResponse<>(Constant.SUCCESS_STATUS, "Comments retrieved successfully",
@@ -134,6 +141,7 @@ public class CommentServiceImpl implements CommentService {
                     .build();
 
             comment = forumCommentRepository.save(comment);
+            postDetailLoader.evict(postId);
 
             if (recipientId != null && !recipientId.equals(userId)) {
                 PostAuthorDTO actor = userInfoResolverService.fetchAuthorInfo(userId);
@@ -179,6 +187,7 @@ public class CommentServiceImpl implements CommentService {
             comment.setUpdatedAt(LocalDateTime.now());
 
             ForumComment updatedComment = forumCommentRepository.save(comment);
+            postDetailLoader.evict(updatedComment.getPostId());
 
             log.info("Successfully updated comment ID: {}", commentId);
             return new BaseResponse<>(Constant.SUCCESS_STATUS, "Comment updated successfully",
@@ -211,6 +220,7 @@ public class CommentServiceImpl implements CommentService {
             log.debug("Deleted {} child replies for comment {}", deletedReplies, commentId);
 
             forumCommentRepository.delete(comment);
+            postDetailLoader.evict(comment.getPostId());
 
             log.info("Successfully deleted comment {}", commentId);
             return new BaseResponse<>(Constant.SUCCESS_STATUS, "Comment and its replies deleted successfully", null);
@@ -7,10 +7,14 @@ import com.graduation.forumservice.model.*;
 import com.graduation.forumservice.payload.request.*;
 import com.graduation.forumservice.payload.response.*;
 import com.graduation.forumservice.repository.*;
+import com.graduation.forumservice.service.ForumFeedService;
+import com.graduation.forumservice.service.PostDetailLoader;
 import com.graduation.forumservice.service.PostService;
+import com.graduation.forumservice.service.PostViewCounter;
 import com.graduation.forumservice.service.SearchSyncService;
 import com.graduation.forumservice.service.SequenceGeneratorService;
 import com.graduation.forumservice.service.helper.ContentHelperService;
+import com.graduation.forumservice.service.helper.FeedCursor;
 import com.graduation.forumservice.service.helper.ForumDTOMapper;
 import com.graduation.forumservice.service.helper.UserInfoResolverService;
 import jakarta.transaction.Transactional;
@@ -44,11 +48,14 @@ public class PostServiceImpl implements PostService {
     private final UserInfoResolverService userInfoResolverService;
     private final ContentHelperService contentHelperService;
     private final ForumDTOMapper forumDTOMapper;
-    private final ForumCommentRepository forumCommentRepository;
     private final SearchSyncService searchSyncService;
+    private final ForumFeedService forumFeedService;
+    private final PostViewCounter postViewCounter;
+    private final PostDetailLoader postDetailLoader;
 
     @Override
-    public BaseResponse<?> getPostFeed(Long userId, int page, int limit, String filter, String sort, String search) {
+    public BaseResponse<?> getPostFeed(Long userId, int page, int limit, String filter, String sort, String search,
+                                       String cursor) {
         log.info("Fetching forum feed for userId={}, filter={}, sort={}, page={}, limit={}", userId, filter, sort, page,
                 limit);
 
@@ -57,22 +64,58 @@ public class PostServiceImpl implements PostService {
             return new BaseResponse<>(Constant.ERROR_STATUS, Constant.INVALID_PARAM, null);
         }
 
-        Pageable pageable = PageRequest.of(page - 1, limit + 1);
-        List<Object[]> rawResults = forumPostRepository.findFeedPostsNative(userId, filter.toUpperCase(), search,
-                pageable);
-        log.debug("Retrieved {} raw records from database", rawResults.size());
+        boolean isSearch = search != null && !search.isBlank();
+        List<PostFeedDTO> postDTOs = new ArrayList<>();
+        boolean hasMore;
+
+        if (isSearch || (cursor == null && page > 1)) {
+            // Relevance-ranked search, and numbered pages from clients that do not send a cursor
+            Pageable pageable = PageRequest.of(page - 1, limit + 1);
+            List<Object[]> rawResults = forumPostRepository.findFeedPostsNative(userId, filter.toUpperCase(), search,
+                    pageable);
+            log.debug("Retrieved {} raw records from database", rawResults.size());
+
+            hasMore = rawResults.size() > limit;
+            if (hasMore) {
+                rawResults = rawResults.subList(0, limit);
+            }
+            Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(rawResults.stream()
+                    .map(row -> ((Number) row[1]).longValue())
+                    .toList());
+            for (Object[] row : rawResults) {
+                postDTOs.add(forumDTOMapper.toPostFeedDTO(row, authors));
+            }
+        } else {
+            Optional<FeedCursor> after = cursor == null ? Optional.of(FeedCursor.FIRST) : FeedCursor.decode(cursor);
+            if (after.isEmpty()) {
+                log.warn("Invalid feed cursor: {}", cursor);
+                return new BaseResponse<>(Constant.ERROR_STATUS, Constant.INVALID_PARAM, null);
+            }
 
-        boolean hasMore = rawResults.size() > limit;
-        if (hasMore) {
-            rawResults = rawResults.subList(0, limit);
+            List<ForumFeedEntry> entries = forumFeedService.getFeedPage(filter.toUpperCase(), userId, after.get(),
+                    limit + 1);
+            hasMore = entries.size() > limit;
+            if (hasMore) {
+                entries = entries.subList(0, limit);
+            }
+            Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(entries.stream()
+                    .map(ForumFeedEntry::getUserId)
+                    .toList());
+            for (ForumFeedEntry entry : entries) {
+                postDTOs.add(forumDTOMapper.toPostFeedDTO(entry, authors));
+            }
         }
 
-        List<PostFeedDTO> postDTOs = new ArrayList<>();
-        for (Object[] row : rawResults) {
-            postDTOs.add(forumDTOMapper.toPostFeedDTO(row));
+        // Add views not yet flushed to post_stats
+        postDTOs.forEach(dto -> dto.setViewCount(dto.getViewCount() + postViewCounter.pendingViews(dto.getPostId())));
+
+        String nextCursor = null;
+        if (hasMore && !isSearch && !postDTOs.isEmpty()) {
+            PostFeedDTO last = postDTOs.get(postDTOs.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getPostId()).encode();
         }
 
-        PaginationDTO pagination = new PaginationDTO(page, hasMore);
+        PaginationDTO pagination = new PaginationDTO(page, hasMore, nextCursor);
         PostListResponse data = new PostListResponse(postDTOs, pagination);
 
         log.info("Successfully retrieved {} posts for feed", postDTOs.size());
@@ -111,6 +154,7 @@ public class PostServiceImpl implements PostService {
 
             post = forumPostRepository.save(post);
             Long postId = post.getPostId();
+            forumFeedService.syncPost(post);
 
             if (files != null && !files.isEmpty()) {
                 BaseResponse<?> uploadResponse = projectServiceClient.uploadMultipleFiles(userId, 0L, files);
@@ -254,6 +298,8 @@ public class PostServiceImpl implements PostService {
             post.setUpdatedAt(LocalDateTime.now());
 
             forumPostRepository.save(post);
+            forumFeedService.syncPost(post);
+            postDetailLoader.evict(postId);
 
             PostAuthorDTO author = userInfoResolverService.fetchAuthorInfo(userId);
 
@@ -278,61 +324,15 @@ public class PostServiceImpl implements PostService {
     public BaseResponse<?> getPostDetail(Long userId, Long postId) {
         log.info("Fetching post detail with files: postId={}", postId);
 
-        Optional<Object[]> optionalResult = forumPostRepository.findPostDetailByIdNative(postId);
-        if (optionalResult.isEmpty()) {
+        Optional<PostDetailDTO> detail = postDetailLoader.load(postId, userId);
+        if (detail.isEmpty()) {
             return new BaseResponse<>(Constant.ERROR_STATUS, "Post not found!", null);
         }
 
-        Object[] data = (Object[]) optionalResult.get()[0];
-        Long authorUserId = ((Number) data[1]).longValue();
-        int mongoContentId = Integer.parseInt(String.valueOf(data[4]));
-        String tagsStr = (String) data[8];
-        List<String> tags = (tagsStr != null && !tagsStr.isEmpty())
-                ? Arrays.asList(tagsStr.split(","))
-                : Collections.emptyList();
-
-        List<FileUploadDTO> attachedFiles = forumPostFileRepository.findAllByPostId(postId)
-                .stream()
-                .map(forumDTOMapper::mapToFileDTO)
-                .toList();
-
-        List<AnswerDTO> answers = fetchTopAnswers(postId, userId);
-        List<Long> answerIds = answers.stream().map(AnswerDTO::getAnswerId).toList();
-        List<CommentDTO> rootComments = fetchRootComments(postId, answerIds);
-
-        MongoContent postContent = mongoContentRepository.findByIntId(mongoContentId).orElse(new MongoContent());
-        PostAuthorDTO postAuthor = userInfoResolverService.fetchAuthorInfo(authorUserId);
-
-        Integer userVote = postVoteRepository.findPostVoteByPostIdAndUserId(postId, userId)
-                .map(PostVote::getType).orElse(0);
-        boolean isSaved = savedPostRepository.existsByPostIdAndUserId(postId, userId);
-        List<Long> savedToProjectIds = projectSavedPostRepository.findByPostId(postId)
-                .stream().map(item -> item.getId().getProjectId())
-                .collect(Collectors.toList());
-
-        PostDetailDTO detailDTO = PostDetailDTO.builder()
-                .postId(postId)
-                .title((String) data[2])
-                .content(postContent.getContent())
-                .author(postAuthor)
-                .tags(tags)
-                .files(attachedFiles)
-                .stats(PostStatsDTO.builder()
-                        .score(((Number) data[9]).intValue())
-                        .viewCount(((Number) data[10]).longValue() + 1)
-                        .isSolved((Boolean) data[5])
-                        .answerCount(((Number) data[11]).intValue())
-                        .build())
-                .answers(answers)
-                .savedToProjectIds(savedToProjectIds)
-                .comments(rootComments)
-                .userVote(userVote)
-                .isSaved(isSaved)
-                .createdAt(((java.sql.Timestamp) data[6]).toLocalDateTime())
-                .updatedAt(data[7] != null ? ((java.sql.Timestamp) data[7]).toLocalDateTime() : null)
-                .build();
-
-        postStatsRepository.incrementViewCount(postId);
+        PostDetailDTO detailDTO = detail.get();
+        if (postViewCounter.record(postId, userId)) {
+            detailDTO.getStats().setViewCount(detailDTO.getStats().getViewCount() + 1);
+        }
         return new BaseResponse<>(Constant.SUCCESS_STATUS, "Success", detailDTO);
     }
 
@@ -341,36 +341,25 @@ public class PostServiceImpl implements PostService {
     public BaseResponse<?> votePost(Long userId, Long postId, Integer voteType) {
         log.info("Processing vote: postId={}, userId={}, voteType={}", postId, userId, voteType);
 
-        Optional<PostVote> existingVote = postVoteRepository.findPostVoteByPostIdAndUserId(postId, userId);
-        int scoreChange;
-
-        if (existingVote.isPresent()) {
-            PostVote vote = existingVote.get();
-            if (vote.getType().equals(voteType)) {
-                scoreChange = -vote.getType();
-                postVoteRepository.delete(vote);
-                voteType = 0;
-            } else {
-                scoreChange = voteType - vote.getType();
-                vote.setType(voteType);
-                postVoteRepository.save(vote);
-            }
-        } else {
-            scoreChange = voteType;
-            PostVote newVote = PostVote.builder().postId(postId).userId(userId).type(voteType).build();
-            postVoteRepository.save(newVote);
-        }
-
-        if (scoreChange != 0) {
-            postStatsRepository.updateScore(postId, scoreChange);
+        // Concurrent toggles by the same user would both see no vote and both insert one
+        postVoteRepository.lockVote(postId, userId);
+        // One statement writes the vote and the counters and returns the new counters
+        List<Object[]> rows = postVoteRepository.togglePostVote(postId, userId, voteType);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Post not found!");
         }
+        Object[] row = rows.get(0);
+        int userVote = ((Number) row[0]).intValue();
+        int newTotalScore = ((Number) row[1]).intValue();
+        long upvotes = ((Number) row[2]).longValue();
+        long downvotes = ((Number) row[3]).longValue();
 
-        checkAndHidePost(postId);
-
-        Integer newTotalScore = postStatsRepository.findByPostId(postId).getScore();
+        forumFeedService.syncStats(postId);
+        checkAndHidePost(postId, upvotes, downvotes);
+        postDetailLoader.evict(postId);
 
         return new BaseResponse<>(Constant.SUCCESS_STATUS, "Your vote has been recorded",
-                Map.of("newScore", newTotalScore, "userVote", voteType));
+                Map.of("newScore", newTotalScore, "userVote", userVote));
     }
 
     @Override
@@ -388,6 +377,8 @@ public class PostServiceImpl implements PostService {
 
         post.setIsSolved(isSolved);
         forumPostRepository.save(post);
+        forumFeedService.syncPost(post);
+        postDetailLoader.evict(postId);
 
         log.info("Successfully updated solve status for post {}", postId);
         return new BaseResponse<>(Constant.SUCCESS_STATUS, "Post solve status updated successfully",
@@ -429,6 +420,8 @@ public class PostServiceImpl implements PostService {
             }
 
             forumPostRepository.delete(post);
+            forumFeedService.removePost(postId);
+            postDetailLoader.evict(postId);
 
             searchSyncService.deletePostIndex(postId);
 
@@ -460,6 +453,7 @@ public class PostServiceImpl implements PostService {
                     return new BaseResponse<>(Constant.ERROR_STATUS, "Project ID is required for project save", null);
                 }
                 handleProjectSave(userId, postId, request.getProjectId(), wannaSave);
+                postDetailLoader.evict(postId);
             } else {
                 handlePrivateSave(userId, postId, wannaSave);
             }
@@ -518,12 +512,17 @@ public class PostServiceImpl implements PostService {
                 .map(record -> record.getId().getPostId())
                 .toList();
 
-        List<PostFeedDTO> sharedPosts = postIds.stream()
-                .map(pId -> {
-                    Optional<Object[]> rawResult = forumPostRepository.findPostDetailByIdNative(pId);
-                    return rawResult.map(result -> forumDTOMapper.toPostFeedDTO((Object[]) result[0])).orElse(null);
-                })
+        List<Object[]> rows = postIds.stream()
+                .map(pId -> forumPostRepository.findPostDetailByIdNative(pId)
+                        .map(result -> (Object[]) result[0])
+                        .orElse(null))
                 .filter(Objects::nonNull)
+                .toList();
+        Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(rows.stream()
+                .map(row -> ((Number) row[1]).longValue())
+                .toList());
+        List<PostFeedDTO> sharedPosts = rows.stream()
+                .map(row -> forumDTOMapper.toPostFeedDTO(row, authors))
                 .collect(Collectors.toList());
 
         log.info("Successfully retrieved {} shared posts for project {}", sharedPosts.size(), projectId);
@@ -563,52 +562,7 @@ public class PostServiceImpl implements PostService {
         }
     }
 
-    private List<AnswerDTO> fetchTopAnswers(Long postId, Long userId) {
-        Pageable answerPageable = PageRequest.of(0, 5);
-        List<Object[]> answerRows = forumAnswerRepository.findAnswersByPostIdNative(postId, "MOST_HELPFUL",
-                answerPageable);
-
-        return answerRows.stream().map(row -> {
-            Object[] a = (row[0] instanceof Object[]) ? (Object[]) row[0] : row;
-            Long answerId = ((Number) a[0]).longValue();
-
-            return AnswerDTO.builder()
-                    .answerId(answerId)
-                    .author(userInfoResolverService.fetchAuthorInfo(((Number) a[1]).longValue()))
-                    .content(mongoContentRepository.findByIntId(Integer.parseInt(String.valueOf(a[3])))
-                            .map(MongoContent::getContent).orElse(null))
-                    .score(((Number) a[9]).intValue())
-                    .isAccepted((Boolean) a[6])
-                    .voteType(forumAnswerRepository.findUserVoteTypeOnAnswer(answerId, userId))
-                    .createdAt(((java.sql.Timestamp) a[7]).toLocalDateTime())
-                    .build();
-        }).toList();
-    }
-
-    private List<CommentDTO> fetchRootComments(Long postId, List<Long> answerIds) {
-        Pageable limit = PageRequest.of(0, 2);
-
-        // Fetch comments belonging directly to the Post
-        List<CommentDTO> postComments = forumCommentRepository.findByPostIdOrderByCreatedAtAsc(postId, limit)
-                .stream().map(forumDTOMapper::toCommentDTO).toList();
-        List<CommentDTO> allComments = new ArrayList<>(postComments);
-
-        // Fetch comments for each Answer
-        for (Long answerId : answerIds) {
-            List<CommentDTO> answerComments = forumCommentRepository.findByAnswerIdOrderByCreatedAtAsc(answerId, limit)
-                    .stream().map(forumDTOMapper::toCommentDTO).toList();
-            allComments.addAll(answerComments);
-        }
-
-        // Sort the final flat list by creation date
-        return allComments.stream()
-                .sorted(Comparator.comparing(CommentDTO::getCreatedAt))
-                .toList();
-    }
-
-    private void checkAndHidePost(Long postId) {
-        long upvotes = postVoteRepository.countUpvotes(postId);
-        long downvotes = postVoteRepository.countDownvotes(postId);
+    private void checkAndHidePost(Long postId, long upvotes, long downvotes) {
         long totalVotes = upvotes + downvotes;
 
         if (totalVotes >= 10 && downvotes > upvotes) {
@@ -622,6 +576,7 @@ public class PostServiceImpl implements PostService {
                     log.info("Auto-hiding Post {} due to negative feedback and no helpful answers.", postId);
                     post.setStatus(PostStatus.HIDDEN);
                     forumPostRepository.save(post);
+                    forumFeedService.syncPost(post);
                 }
             }
         }
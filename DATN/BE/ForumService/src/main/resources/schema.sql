@@ -0,0 +1,17 @@
+-- Runs after Hibernate's schema update and before the service takes traffic
+-- (spring.sql.init with spring.jpa.defer-datasource-initialization).
+
+-- The vote upserts rely on one vote per user and post or answer. Schema update cannot add the
+-- entities' unique keys to tables that still hold duplicate votes from before them: keep each
+-- user's latest vote, then add the key. Both statements are skipped once the key exists.
+DELETE FROM post_votes v
+USING post_votes newer
+WHERE to_regclass('uk_post_votes_post_user') IS NULL
+  AND newer.post_id = v.post_id AND newer.user_id = v.user_id AND newer.vote_id > v.vote_id;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_post_votes_post_user ON post_votes (post_id, user_id);
+
+DELETE FROM answer_votes v
+USING answer_votes newer
+WHERE to_regclass('uk_answer_votes_answer_user') IS NULL
+  AND newer.answer_id = v.answer_id AND newer.user_id = v.user_id AND newer.vote_id > v.vote_id;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_answer_votes_answer_user ON answer_votes (answer_id, user_id);
@@ -0,0 +1,20 @@
+package com.graduation.forumservice;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * PostgreSQL for tests of the native queries (row comparisons, text[], ON CONFLICT) that H2
+ * cannot run. Test classes importing it are marked {@code @Testcontainers(disabledWithoutDocker = true)}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfig {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
@@ -0,0 +1,137 @@
+package com.graduation.forumservice.repository;
+
+import com.graduation.forumservice.PostgresTestConfig;
+import com.graduation.forumservice.model.ForumFeedEntry;
+import com.graduation.forumservice.service.helper.FeedCursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Feed page 1 against page 500 over 1M entries. Keyset pages read the same number of index
+ * entries at any depth; the OFFSET query the feed used before is timed on the same data for reference.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+class ForumFeedPagingBenchmarkTest {
+
+    private static final int POSTS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 500;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 100;
+
+    @Autowired
+    private ForumFeedEntryRepository feedEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deepKeysetPageCostsAboutTheSameAsTheFirst() {
+        seed();
+
+        FeedCursor deepCursor = cursorBefore((DEEP_PAGE - 1) * PAGE_SIZE);
+        List<ForumFeedEntry> deepPage = page(deepCursor);
+        assertEquals(PAGE_SIZE, deepPage.size());
+        assertEquals(postIdAt((DEEP_PAGE - 1) * PAGE_SIZE), deepPage.get(0).getPostId());
+
+        double firstMs = medianMs(() -> page(FeedCursor.FIRST));
+        double deepMs = medianMs(() -> page(deepCursor));
+        double offsetMs = medianMs(this::offsetPage);
+
+        System.out.printf("Feed over %,d posts, median of %d runs: keyset page 1 %.3f ms, "
+                        + "keyset page %d %.3f ms, OFFSET page %d %.3f ms%n",
+                POSTS, MEASURED_RUNS, firstMs, DEEP_PAGE, deepMs, DEEP_PAGE, offsetMs);
+        assertTrue(deepMs < firstMs * 3 + 2, "keyset page " + DEEP_PAGE + " took " + deepMs + " ms");
+    }
+
+    /**
+     * 1M entries, one in ten hidden, with posts created in pairs so the post_id tiebreak is exercised.
+     */
+    private void seed() {
+        entityManager.createNativeQuery("""
+                INSERT INTO forum_feed_entries (post_id, user_id, title, preview, tags, is_solved, status,
+                                                created_at, score, view_count, answer_count, is_helpful)
+                SELECT i, i % 5000, 'Post ' || i, 'Preview of post ' || i, ARRAY['java', 'spring'], i % 3 = 0,
+                       CASE WHEN i % 10 = 0 THEN 'HIDDEN' ELSE 'ACTIVE' END,
+                       TIMESTAMP '2020-01-01' + (i / 2) * INTERVAL '1 second',
+                       i % 7 - 3, i % 1000, i % 5, i % 7 - 3 > 0
+                FROM generate_series(1, :posts) AS i
+                """).setParameter("posts", POSTS).executeUpdate();
+        entityManager.createNativeQuery("ANALYZE forum_feed_entries").executeUpdate();
+    }
+
+    private List<ForumFeedEntry> page(FeedCursor cursor) {
+        entityManager.clear();
+        return feedEntryRepository.findAllFeedPage(cursor.createdAt(), cursor.postId(), PAGE_SIZE);
+    }
+
+    private List<?> offsetPage() {
+        entityManager.clear();
+        return entityManager.createNativeQuery("""
+                SELECT f.* FROM forum_feed_entries f
+                WHERE f.status = 'ACTIVE'
+                ORDER BY f.created_at DESC, f.post_id DESC
+                LIMIT :limit OFFSET :offset
+                """, ForumFeedEntry.class)
+                .setParameter("limit", PAGE_SIZE)
+                .setParameter("offset", (DEEP_PAGE - 1) * PAGE_SIZE)
+                .getResultList();
+    }
+
+    /**
+     * The cursor a client holds after reading the first {@code rowsRead} active entries.
+     */
+    private FeedCursor cursorBefore(int rowsRead) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("""
+                SELECT f.created_at, f.post_id FROM forum_feed_entries f
+                WHERE f.status = 'ACTIVE'
+                ORDER BY f.created_at DESC, f.post_id DESC
+                OFFSET :offset LIMIT 1
+                """).setParameter("offset", rowsRead - 1).getSingleResult();
+        LocalDateTime createdAt = row[0] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[0];
+        return new FeedCursor(createdAt, ((Number) row[1]).longValue());
+    }
+
+    private Long postIdAt(int offset) {
+        return ((Number) entityManager.createNativeQuery("""
+                SELECT f.post_id FROM forum_feed_entries f
+                WHERE f.status = 'ACTIVE'
+                ORDER BY f.created_at DESC, f.post_id DESC
+                OFFSET :offset LIMIT 1
+                """).setParameter("offset", offset).getSingleResult()).longValue();
+    }
+
+    private static double medianMs(Supplier<List<?>> query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+}
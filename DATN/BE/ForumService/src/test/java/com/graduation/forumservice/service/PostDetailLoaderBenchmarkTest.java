@@ -0,0 +1,189 @@
+package com.graduation.forumservice.service;
+
+import com.graduation.forumservice.PostgresTestConfig;
+import com.graduation.forumservice.client.UserServiceClient;
+import com.graduation.forumservice.payload.response.PostDetailDTO;
+import com.graduation.forumservice.repository.*;
+import com.graduation.forumservice.service.helper.ForumDTOMapper;
+import com.graduation.forumservice.service.helper.UserInfoResolverService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * p50/p99 of post detail loads over a seeded forum, with every read going to PostgreSQL and
+ * with the per-post cache warm. Mongo contents are stubbed, so the Mongo round trip is not
+ * included.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+// Loader threads read on their own connections, so the seed data has to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostDetailLoaderBenchmarkTest {
+
+    private static final int POSTS = 10_000;
+    private static final int ANSWERS_PER_POST = 8;
+    private static final int USERS = 2_000;
+    private static final int WARMUP_RUNS = 500;
+    private static final int MEASURED_RUNS = 5_000;
+
+    @Autowired
+    private ForumPostRepository forumPostRepository;
+
+    @Autowired
+    private ForumPostFileRepository forumPostFileRepository;
+
+    @Autowired
+    private ForumAnswerRepository forumAnswerRepository;
+
+    @Autowired
+    private ForumCommentRepository forumCommentRepository;
+
+    @Autowired
+    private ProjectSavedPostRepository projectSavedPostRepository;
+
+    @Autowired
+    private PostVoteRepository postVoteRepository;
+
+    @Autowired
+    private UserInfoCacheRepository userInfoCacheRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MongoContentRepository mongoContentRepository = mock(MongoContentRepository.class);
+    private final PostViewCounter postViewCounter = mock(PostViewCounter.class);
+
+    private PostDetailLoader uncachedLoader;
+    private PostDetailLoader cachedLoader;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed());
+
+        UserInfoResolverService authors = new UserInfoResolverService(userInfoCacheRepository,
+                mock(UserServiceClient.class), USERS, 600000);
+        ForumDTOMapper mapper = new ForumDTOMapper(authors, mongoContentRepository);
+        // A negative TTL makes every load read the whole post again
+        uncachedLoader = loader(authors, mapper, -1);
+        cachedLoader = loader(authors, mapper, 600000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        uncachedLoader.shutdown();
+        cachedLoader.shutdown();
+    }
+
+    @Test
+    void postDetailLatency() {
+        PostDetailDTO detail = uncachedLoader.load(1L, 3L).orElseThrow();
+        assertEquals(5, detail.getAnswers().size());
+        assertFalse(detail.getComments().isEmpty());
+
+        long[] uncached = measure(uncachedLoader);
+        long[] cached = measure(cachedLoader);
+
+        System.out.printf("Post detail over %,d posts, %,d loads each: "
+                        + "all reads p50 %.3f ms p99 %.3f ms, cached p50 %.3f ms p99 %.3f ms%n",
+                POSTS, MEASURED_RUNS, percentileMs(uncached, 50), percentileMs(uncached, 99),
+                percentileMs(cached, 50), percentileMs(cached, 99));
+        assertTrue(percentileMs(cached, 50) <= percentileMs(uncached, 50));
+    }
+
+    private PostDetailLoader loader(UserInfoResolverService authors, ForumDTOMapper mapper, long cacheTtlMs) {
+        return new PostDetailLoader(forumPostRepository, forumPostFileRepository, forumAnswerRepository,
+                forumCommentRepository, projectSavedPostRepository, postVoteRepository, mongoContentRepository,
+                authors, mapper, postViewCounter, 8, cacheTtlMs, POSTS, 20);
+    }
+
+    /**
+     * Posts with answers, three comments on each post and answer, votes and authors.
+     */
+    private void seed() {
+        entityManager.createNativeQuery("""
+                INSERT INTO user_info_cache (user_id, display_name, email)
+                SELECT u, 'User ' || u, 'user' || u || '@example.com' FROM generate_series(1, :users) AS u
+                """).setParameter("users", USERS).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO forum_posts (post_id, user_id, title, plain_text_preview, mongo_content_id,
+                                         is_solved, status, created_at, tags)
+                SELECT p, 1 + p % :users, 'Post ' || p, 'Preview ' || p, p, false, 'ACTIVE',
+                       now() - p * INTERVAL '1 minute', ARRAY['java', 'spring']
+                FROM generate_series(1, :posts) AS p
+                """).setParameter("users", USERS).setParameter("posts", POSTS).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO post_stats (post_id, score, view_count, answer_count, upvote_count, downvote_count)
+                SELECT p, 0, p, :answers, 0, 0 FROM generate_series(1, :posts) AS p
+                """).setParameter("answers", ANSWERS_PER_POST).setParameter("posts", POSTS).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO forum_answers (post_id, user_id, plain_text_preview, mongo_content_id, is_accepted,
+                                           upvote_count, downvote_count, created_at, status)
+                SELECT p, 1 + (p * 7 + a) % :users, 'Answer', :posts + p * :answers + a, a = 0,
+                       (p + a) % 11, (p * a) % 3, now() - a * INTERVAL '1 second', 'ACTIVE'
+                FROM generate_series(1, :posts) AS p, generate_series(0, :answers - 1) AS a
+                """).setParameter("users", USERS).setParameter("posts", POSTS)
+                .setParameter("answers", ANSWERS_PER_POST).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO forum_comments (user_id, post_id, answer_id, content_text, created_at)
+                SELECT 1 + (t.post_id * 3 + n) % :users, t.post_id, t.answer_id, 'Comment', now() - n * INTERVAL '1 second'
+                FROM (SELECT post_id, CAST(NULL AS bigint) AS answer_id FROM forum_posts
+                      UNION ALL
+                      SELECT post_id, answer_id FROM forum_answers) t,
+                     generate_series(1, 3) AS n
+                """).setParameter("users", USERS).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO post_votes (post_id, user_id, type)
+                SELECT p, 1 + (p + v) % :users, 1 FROM generate_series(1, :posts) AS p, generate_series(0, 4) AS v
+                """).setParameter("users", USERS).setParameter("posts", POSTS).executeUpdate();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    private static long[] measure(PostDetailLoader loader) {
+        Random random = new Random(42);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            loader.load(1L + random.nextInt(POSTS), 1L + random.nextInt(USERS));
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            // Requests go to the most recent tenth of the posts, as on a real forum
+            long postId = 1L + random.nextInt(POSTS / 10);
+            long userId = 1L + random.nextInt(USERS);
+            long start = System.nanoTime();
+            loader.load(postId, userId);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double percentileMs(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(sortedNanos.length * percentile / 100.0) - 1);
+        return sortedNanos[index] / 1_000_000.0;
+    }
+}
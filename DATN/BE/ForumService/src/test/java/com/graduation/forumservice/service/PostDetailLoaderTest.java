@@ -0,0 +1,188 @@
+package com.graduation.forumservice.service;
+
+import com.graduation.forumservice.payload.response.PostAuthorDTO;
+import com.graduation.forumservice.payload.response.PostDetailDTO;
+import com.graduation.forumservice.repository.*;
+import com.graduation.forumservice.service.helper.ForumDTOMapper;
+import com.graduation.forumservice.service.helper.UserInfoResolverService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostDetailLoaderTest {
+
+    private static final Long POST_ID = 5L;
+    private static final Long AUTHOR_ID = 7L;
+
+    @Mock
+    private ForumPostRepository forumPostRepository;
+
+    @Mock
+    private ForumPostFileRepository forumPostFileRepository;
+
+    @Mock
+    private ForumAnswerRepository forumAnswerRepository;
+
+    @Mock
+    private ForumCommentRepository forumCommentRepository;
+
+    @Mock
+    private ProjectSavedPostRepository projectSavedPostRepository;
+
+    @Mock
+    private PostVoteRepository postVoteRepository;
+
+    @Mock
+    private MongoContentRepository mongoContentRepository;
+
+    @Mock
+    private UserInfoResolverService userInfoResolverService;
+
+    @Mock
+    private ForumDTOMapper forumDTOMapper;
+
+    @Mock
+    private PostViewCounter postViewCounter;
+
+    private PostDetailLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = loader(8, 20);
+        lenient().when(forumPostRepository.findPostDetailByIdNative(POST_ID)).thenReturn(Optional.of(detailRow("Title")));
+        lenient().when(userInfoResolverService.fetchAuthorInfos(anyCollection()))
+                .thenReturn(Map.of(AUTHOR_ID, PostAuthorDTO.builder().userId(AUTHOR_ID).name("Author").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sharedPartIsCachedAndUserFlagsAreReadEveryTime() {
+        when(postVoteRepository.findUserFlagsForPost(POST_ID, 1L)).thenReturn(List.<Object[]>of(
+                new Object[]{"POST_VOTE", POST_ID, 1}, new Object[]{"SAVED", POST_ID, 1}));
+
+        loader.load(POST_ID, 2L);
+        PostDetailDTO detail = loader.load(POST_ID, 1L).orElseThrow();
+
+        assertEquals("Title", detail.getTitle());
+        assertEquals("Author", detail.getAuthor().getName());
+        assertEquals(1, detail.getUserVote());
+        assertTrue(detail.getIsSaved());
+        verify(forumPostRepository, times(1)).findPostDetailByIdNative(POST_ID);
+        verify(postVoteRepository).findUserFlagsForPost(POST_ID, 2L);
+    }
+
+    @Test
+    void pendingViewsAreAddedToTheStoredCount() {
+        when(postViewCounter.pendingViews(POST_ID)).thenReturn(3L);
+
+        PostDetailDTO detail = loader.load(POST_ID, 1L).orElseThrow();
+
+        assertEquals(103L, detail.getStats().getViewCount());
+    }
+
+    @Test
+    void missingPostIsNotCached() {
+        when(forumPostRepository.findPostDetailByIdNative(99L)).thenReturn(Optional.empty());
+
+        assertTrue(loader.load(99L, 1L).isEmpty());
+        assertTrue(loader.load(99L, 1L).isEmpty());
+
+        verify(forumPostRepository, times(2)).findPostDetailByIdNative(99L);
+    }
+
+    @Test
+    void evictionInsideATransactionWaitsForCommit() {
+        loader.load(POST_ID, 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        loader.evict(POST_ID);
+        loader.load(POST_ID, 1L);
+        verify(forumPostRepository, times(1)).findPostDetailByIdNative(POST_ID);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        loader.load(POST_ID, 1L);
+        verify(forumPostRepository, times(2)).findPostDetailByIdNative(POST_ID);
+    }
+
+    @Test
+    void rolledBackWriteKeepsTheCachedPost() {
+        loader.load(POST_ID, 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        loader.evict(POST_ID);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        loader.load(POST_ID, 1L);
+
+        verify(forumPostRepository, times(1)).findPostDetailByIdNative(POST_ID);
+    }
+
+    @Test
+    void snapshotReadWhileAWriteCommittedIsNotCached() {
+        when(forumPostRepository.findPostDetailByIdNative(POST_ID)).thenAnswer(invocation -> {
+            // A write commits while the old row is being read
+            loader.evict(POST_ID);
+            return Optional.of(detailRow("Old title"));
+        }).thenReturn(Optional.of(detailRow("New title")));
+
+        assertEquals("Old title", loader.load(POST_ID, 1L).orElseThrow().getTitle());
+        assertEquals("New title", loader.load(POST_ID, 1L).orElseThrow().getTitle());
+        assertEquals("New title", loader.load(POST_ID, 1L).orElseThrow().getTitle());
+
+        verify(forumPostRepository, times(2)).findPostDetailByIdNative(POST_ID);
+    }
+
+    @Test
+    void loaderThreadsLeaveHalfTheConnectionPool() {
+        PostDetailLoader small = loader(8, 10);
+        PostDetailLoader large = loader(8, 40);
+
+        assertEquals(5, ((ThreadPoolExecutor) ReflectionTestUtils.getField(small, "executor")).getCorePoolSize());
+        assertEquals(8, ((ThreadPoolExecutor) ReflectionTestUtils.getField(large, "executor")).getCorePoolSize());
+        small.shutdown();
+        large.shutdown();
+    }
+
+    private PostDetailLoader loader(int loaderThreads, int connectionPoolSize) {
+        return new PostDetailLoader(forumPostRepository, forumPostFileRepository, forumAnswerRepository,
+                forumCommentRepository, projectSavedPostRepository, postVoteRepository, mongoContentRepository,
+                userInfoResolverService, forumDTOMapper, postViewCounter, loaderThreads, 60000, 100,
+                connectionPoolSize);
+    }
+
+    /**
+     * The native detail query wraps its row in an outer array.
+     */
+    private static Object[] detailRow(String title) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2025, 6, 2, 9, 0));
+        return new Object[]{new Object[]{
+                POST_ID, AUTHOR_ID, title, "Preview", 11, false, createdAt, null, "java,spring", 4, 100L, 0}};
+    }
+}
@@ -0,0 +1,94 @@
+package com.graduation.forumservice.service;
+
+import com.graduation.forumservice.PostgresTestConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The batched view-count UPDATEs against PostgreSQL.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+class PostViewCounterFlushTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PostViewCounter postViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        postViewCounter = new PostViewCounter(entityManager, transactionManager);
+        ReflectionTestUtils.setField(postViewCounter, "flushBatchSize", 2);
+        for (long postId = 1; postId <= 3; postId++) {
+            seedPost(postId, 100);
+        }
+    }
+
+    @Test
+    void flushAddsTheViewsToStatsAndFeed() {
+        for (int i = 0; i < 5; i++) {
+            postViewCounter.record(1L, null);
+        }
+        postViewCounter.record(2L, null);
+        postViewCounter.record(3L, null);
+
+        postViewCounter.flush();
+        entityManager.clear();
+
+        assertEquals(105, viewCount("post_stats", 1L));
+        assertEquals(105, viewCount("forum_feed_entries", 1L));
+        assertEquals(101, viewCount("post_stats", 2L));
+        assertEquals(101, viewCount("forum_feed_entries", 3L));
+        assertEquals(0, postViewCounter.pendingViews(1L));
+    }
+
+    @Test
+    void viewsOfDeletedPostsAreDropped() {
+        postViewCounter.record(1L, null);
+        postViewCounter.record(99L, null);
+
+        postViewCounter.flush();
+
+        assertEquals(101, viewCount("post_stats", 1L));
+        assertEquals(0, postViewCounter.pendingViews(99L));
+    }
+
+    private void seedPost(long postId, long views) {
+        entityManager.createNativeQuery("""
+                INSERT INTO forum_posts (post_id, user_id, title, status, is_solved, created_at)
+                VALUES (:postId, 1, 'Post', 'ACTIVE', false, now())
+                """).setParameter("postId", postId).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO post_stats (post_id, score, view_count, answer_count, upvote_count, downvote_count)
+                VALUES (:postId, 0, :views, 0, 0, 0)
+                """).setParameter("postId", postId).setParameter("views", views).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO forum_feed_entries (post_id, user_id, title, status, created_at,
+                                                score, view_count, answer_count, is_helpful)
+                VALUES (:postId, 1, 'Post', 'ACTIVE', now(), 0, :views, 0, false)
+                """).setParameter("postId", postId).setParameter("views", views).executeUpdate();
+    }
+
+    private long viewCount(String table, long postId) {
+        return ((Number) entityManager.createNativeQuery(
+                        "SELECT view_count FROM " + table + " WHERE post_id = :postId")
+                .setParameter("postId", postId)
+                .getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,175 @@
+package com.graduation.forumservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostViewCounterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Query query;
+
+    @InjectMocks
+    private PostViewCounter postViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postViewCounter, "dedupWindowSeconds", 0L);
+        ReflectionTestUtils.setField(postViewCounter, "flushBatchSize", 1000);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+    }
+
+    @Test
+    void viewsArePendingUntilFlushed() {
+        postViewCounter.record(1L, 10L);
+        postViewCounter.record(1L, 11L);
+        postViewCounter.record(2L, null);
+
+        assertEquals(2, postViewCounter.pendingViews(1L));
+        assertEquals(1, postViewCounter.pendingViews(2L));
+        assertEquals(0, postViewCounter.pendingViews(3L));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void flushWritesOneBatchedUpdatePerTable() {
+        postViewCounter.record(1L, 10L);
+        postViewCounter.record(1L, 11L);
+        postViewCounter.record(2L, 10L);
+
+        postViewCounter.flush();
+
+        List<String> statements = capturedStatements(2);
+        assertTrue(statements.get(0).contains("UPDATE post_stats"));
+        assertTrue(statements.get(1).contains("UPDATE forum_feed_entries"));
+        statements.forEach(sql -> {
+            assertTrue(sql.contains("(1, 2)"), sql);
+            assertTrue(sql.contains("(2, 1)"), sql);
+        });
+        assertEquals(0, postViewCounter.pendingViews(1L));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void largeFlushIsSplitIntoBatches() {
+        ReflectionTestUtils.setField(postViewCounter, "flushBatchSize", 2);
+        for (long postId = 1; postId <= 5; postId++) {
+            postViewCounter.record(postId, null);
+        }
+
+        postViewCounter.flush();
+
+        // Three batches of at most two posts, each updating both tables, in one transaction
+        capturedStatements(6);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void nothingPendingMeansNoStatements() {
+        postViewCounter.flush();
+
+        verifyNoInteractions(entityManager, transactionManager);
+    }
+
+    @Test
+    void failedFlushKeepsTheViewsForTheNextOne() {
+        postViewCounter.record(1L, 10L);
+        when(query.executeUpdate()).thenThrow(new PersistenceException("connection reset"));
+
+        postViewCounter.flush();
+        postViewCounter.record(1L, 11L);
+
+        assertEquals(2, postViewCounter.pendingViews(1L));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void repeatViewsWithinTheWindowCountOnce() {
+        ReflectionTestUtils.setField(postViewCounter, "dedupWindowSeconds", 60L);
+
+        assertTrue(postViewCounter.record(1L, 10L));
+        assertFalse(postViewCounter.record(1L, 10L));
+        assertTrue(postViewCounter.record(1L, 11L));
+        assertTrue(postViewCounter.record(2L, 10L));
+        // Anonymous views cannot be deduplicated
+        assertTrue(postViewCounter.record(1L, null));
+        assertTrue(postViewCounter.record(1L, null));
+
+        assertEquals(4, postViewCounter.pendingViews(1L));
+    }
+
+    @Test
+    void concurrentViewsAreAllCounted() throws Exception {
+        int threads = 16;
+        int viewsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < viewsPerThread; i++) {
+                    postViewCounter.record(i % 2 == 0 ? 1L : 2L, null);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(threads * viewsPerThread / 2, postViewCounter.pendingViews(1L));
+        assertEquals(threads * viewsPerThread / 2, postViewCounter.pendingViews(2L));
+    }
+
+    @Test
+    void viewsRecordedDuringAFlushAreKeptForTheNextOne() {
+        postViewCounter.record(1L, null);
+        when(query.executeUpdate()).thenAnswer(invocation -> {
+            postViewCounter.record(1L, null);
+            return 1;
+        }).thenReturn(1);
+
+        postViewCounter.flush();
+
+        assertEquals(1, postViewCounter.pendingViews(1L));
+    }
+
+    private List<String> capturedStatements(int expected) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(expected)).createNativeQuery(sql.capture());
+        return sql.getAllValues();
+    }
+}
@@ -0,0 +1,157 @@
+package com.graduation.forumservice.service;
+
+import com.graduation.forumservice.PostgresTestConfig;
+import com.graduation.forumservice.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The vote key schema script, the vote tally backfill and the recount against PostgreSQL,
+ * starting from a database created before the vote tables had their unique keys.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+class VoteTallyServiceTest {
+
+    @Autowired
+    private PostStatsRepository postStatsRepository;
+
+    @Autowired
+    private ForumAnswerRepository forumAnswerRepository;
+
+    @Autowired
+    private ForumFeedEntryRepository feedEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private VoteTallyService voteTallyService;
+
+    @BeforeEach
+    void setUp() {
+        voteTallyService = new VoteTallyService(postStatsRepository, forumAnswerRepository, feedEntryRepository,
+                entityManager, transactionManager);
+        execute("ALTER TABLE post_votes DROP CONSTRAINT uk_post_votes_post_user");
+        execute("ALTER TABLE answer_votes DROP CONSTRAINT uk_answer_votes_answer_user");
+
+        execute("""
+                INSERT INTO forum_posts (post_id, user_id, title, status, is_solved, created_at)
+                VALUES (1, 1, 'Post', 'ACTIVE', false, now())
+                """);
+        // Counters written before score was kept in step with them
+        execute("""
+                INSERT INTO post_stats (post_id, score, view_count, answer_count, upvote_count, downvote_count)
+                VALUES (1, 0, 0, 1, 5, 0)
+                """);
+        execute("""
+                INSERT INTO forum_feed_entries (post_id, user_id, title, status, created_at,
+                                                score, view_count, answer_count, is_helpful)
+                VALUES (1, 1, 'Post', 'ACTIVE', now(), 0, 0, 1, false)
+                """);
+        execute("""
+                INSERT INTO forum_answers (answer_id, post_id, user_id, is_accepted, upvote_count, downvote_count,
+                                           created_at, status)
+                VALUES (10, 1, 2, false, 0, 4, now(), 'ACTIVE')
+                """);
+        // User 2 voted twice on the post, the later vote is the one that counts
+        execute("""
+                INSERT INTO post_votes (post_id, user_id, type, created_at) VALUES
+                    (1, 2, -1, now()), (1, 2, 1, now()), (1, 3, 1, now()), (1, 4, -1, now()), (1, 5, 1, now())
+                """);
+        execute("""
+                INSERT INTO answer_votes (answer_id, user_id, type, created_at) VALUES
+                    (10, 3, 1, now()), (10, 3, 1, now()), (10, 4, 1, now())
+                """);
+    }
+
+    @Test
+    void schemaScriptRemovesDuplicatesAndAddsTheKeysOnce() {
+        runSchemaScript();
+
+        assertEquals(4, single("SELECT COUNT(*) FROM post_votes WHERE post_id = 1"));
+        assertEquals(1, single("SELECT type FROM post_votes WHERE post_id = 1 AND user_id = 2"));
+        assertEquals(2, single("SELECT COUNT(*) FROM answer_votes WHERE answer_id = 10"));
+        assertEquals(2, single("""
+                SELECT COUNT(*) FROM pg_indexes
+                WHERE indexname IN ('uk_post_votes_post_user', 'uk_answer_votes_answer_user')
+                """));
+
+        // Every start runs it again; with the keys in place it changes nothing
+        runSchemaScript();
+        assertEquals(4, single("SELECT COUNT(*) FROM post_votes"));
+        assertEquals(2, single("SELECT COUNT(*) FROM answer_votes"));
+    }
+
+    @Test
+    void backfillRecountsOnce() {
+        runSchemaScript();
+
+        assertTrue(voteTallyService.backfill());
+        entityManager.clear();
+
+        assertEquals(List.of(2L, 3L, 1L), row("SELECT score, upvote_count, downvote_count FROM post_stats WHERE post_id = 1"));
+        assertEquals(List.of(2L, 0L), row("SELECT upvote_count, downvote_count FROM forum_answers WHERE answer_id = 10"));
+        assertEquals(2, single("SELECT score FROM forum_feed_entries WHERE post_id = 1"));
+        assertEquals(1, single("SELECT COUNT(*) FROM forum_feed_entries WHERE post_id = 1 AND is_helpful"));
+
+        // The second run finds its marker and leaves later changes to the incremental updates
+        execute("UPDATE post_stats SET score = 0");
+        assertFalse(voteTallyService.backfill());
+        assertEquals(0, single("SELECT score FROM post_stats WHERE post_id = 1"));
+    }
+
+    @Test
+    void recountOnlyTouchesTalliesThatAreWrong() {
+        runSchemaScript();
+        voteTallyService.backfill();
+
+        execute("UPDATE forum_answers SET upvote_count = 7 WHERE answer_id = 10");
+        assertEquals(1, voteTallyService.recount());
+        assertEquals(0, voteTallyService.recount());
+        entityManager.clear();
+
+        assertEquals(List.of(2L, 0L), row("SELECT upvote_count, downvote_count FROM forum_answers WHERE answer_id = 10"));
+    }
+
+    // The test transaction's connection, so the script sees the rows inserted above
+    private void runSchemaScript() {
+        ScriptUtils.executeSqlScript(DataSourceUtils.getConnection(dataSource), new ClassPathResource("schema.sql"));
+    }
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private long single(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    private List<Long> row(String sql) {
+        Object[] columns = (Object[]) entityManager.createNativeQuery(sql).getSingleResult();
+        return Arrays.stream(columns).map(value -> ((Number) value).longValue()).toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.graduation.forumservice.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        FeedCursor cursor = new FeedCursor(LocalDateTime.of(2025, 6, 2, 9, 30, 15, 123_456_000), 42L);
+
+        assertEquals(Optional.of(cursor), FeedCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new FeedCursor(LocalDateTime.of(2025, 6, 2, 9, 30), Long.MAX_VALUE).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void firstPageCursorIsAfterAnyRealPost() {
+        FeedCursor newest = new FeedCursor(LocalDateTime.now().plusYears(100), Long.MAX_VALUE - 1);
+
+        assertTrue(FeedCursor.FIRST.createdAt().isAfter(newest.createdAt()));
+        assertEquals(Optional.of(FeedCursor.FIRST), FeedCursor.decode(FeedCursor.FIRST.encode()));
+    }
+
+    @Test
+    void valuesNotProducedByEncodeAreRejected() {
+        assertTrue(FeedCursor.decode("").isEmpty());
+        assertTrue(FeedCursor.decode("not base64!").isEmpty());
+        assertTrue(FeedCursor.decode(encodeRaw("2025-06-02T09:30")).isEmpty());
+        assertTrue(FeedCursor.decode(encodeRaw("yesterday|42")).isEmpty());
+        assertTrue(FeedCursor.decode(encodeRaw("2025-06-02T09:30|forty-two")).isEmpty());
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
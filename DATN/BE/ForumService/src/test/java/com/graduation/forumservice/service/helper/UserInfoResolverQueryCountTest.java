@@ -0,0 +1,101 @@
+package com.graduation.forumservice.service.helper;
+
+import com.graduation.forumservice.PostgresTestConfig;
+import com.graduation.forumservice.client.UserServiceClient;
+import com.graduation.forumservice.model.UserInfoCache;
+import com.graduation.forumservice.payload.response.PostAuthorDTO;
+import com.graduation.forumservice.payload.response.UserBatchDTO;
+import com.graduation.forumservice.repository.UserInfoCacheRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Statements issued to resolve the authors of a feed page.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+class UserInfoResolverQueryCountTest {
+
+    private static final List<Long> PAGE_AUTHORS = LongStream.rangeClosed(1, 20).boxed().toList();
+
+    @Autowired
+    private UserInfoCacheRepository userInfoCacheRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UserServiceClient userServiceClient = mock(UserServiceClient.class);
+
+    private UserInfoResolverService userInfoResolverService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // A new resolver per test, so every test starts with an empty in-process cache
+        userInfoResolverService = new UserInfoResolverService(userInfoCacheRepository, userServiceClient, 100, 600000);
+        userInfoCacheRepository.saveAll(PAGE_AUTHORS.stream()
+                .map(userId -> new UserInfoCache(userId, "User " + userId, null, null))
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageOfAuthorsIsReadInOneStatement() {
+        Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(PAGE_AUTHORS);
+
+        assertEquals(20, authors.size());
+        assertEquals("User 20", authors.get(20L).getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        verifyNoInteractions(userServiceClient);
+    }
+
+    @Test
+    void repeatedPageIsServedWithoutStatements() {
+        userInfoResolverService.fetchAuthorInfos(PAGE_AUTHORS);
+        statistics.clear();
+
+        userInfoResolverService.fetchAuthorInfos(PAGE_AUTHORS);
+        PAGE_AUTHORS.forEach(userInfoResolverService::fetchAuthorInfo);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void unknownAuthorsAreFetchedInOneCall() {
+        when(userServiceClient.getUsersByIds(anyCollection())).thenReturn(Optional.of(List.of(
+                new UserBatchDTO(21L, "User 21", null, null),
+                new UserBatchDTO(22L, "User 22", null, null))));
+
+        Map<Long, PostAuthorDTO> authors = userInfoResolverService.fetchAuthorInfos(List.of(1L, 21L, 22L));
+        entityManager.flush();
+
+        assertEquals("User 22", authors.get(22L).getName());
+        verify(userServiceClient, times(1)).getUsersByIds(anyCollection());
+        assertTrue(userInfoCacheRepository.existsById(21L));
+    }
+}
@@ -0,0 +1,144 @@
+package com.graduation.forumservice.service.helper;
+
+import com.graduation.forumservice.client.UserServiceClient;
+import com.graduation.forumservice.event.UserUpdatedEvent;
+import com.graduation.forumservice.model.UserInfoCache;
+import com.graduation.forumservice.payload.response.PostAuthorDTO;
+import com.graduation.forumservice.payload.response.UserBatchDTO;
+import com.graduation.forumservice.repository.UserInfoCacheRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserInfoResolverServiceTest {
+
+    private static final long TTL_MS = 600000;
+
+    @Mock
+    private UserInfoCacheRepository userInfoCacheRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Test
+    void hitsAndMissesAreResolvedInOneLookupEach() {
+        UserInfoResolverService resolver = resolver(10, TTL_MS);
+        when(userInfoCacheRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(row(1L, "Alice")));
+        when(userServiceClient.getUsersByIds(Set.of(2L, 3L)))
+                .thenReturn(Optional.of(List.of(new UserBatchDTO(2L, "Bob", "bob@example.com", null))));
+
+        Map<Long, PostAuthorDTO> authors = resolver.fetchAuthorInfos(Arrays.asList(1L, 2L, 3L, 1L, null));
+
+        assertEquals("Alice", authors.get(1L).getName());
+        assertEquals("Bob", authors.get(2L).getName());
+        assertEquals("Unknown User", authors.get(3L).getName());
+        assertEquals(3, authors.size());
+        verify(userInfoCacheRepository, times(1)).findAllById(any());
+        verify(userServiceClient, times(1)).getUsersByIds(any());
+        verify(userInfoCacheRepository).saveAll(List.of(new UserInfoCache(2L, "Bob", null, "bob@example.com")));
+    }
+
+    @Test
+    void cachedAuthorsAreNotLookedUpAgain() {
+        UserInfoResolverService resolver = resolver(10, TTL_MS);
+        when(userInfoCacheRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(row(1L, "Alice"), row(2L, "Bob")));
+        resolver.fetchAuthorInfos(List.of(1L, 2L));
+
+        Map<Long, PostAuthorDTO> authors = resolver.fetchAuthorInfos(List.of(2L, 1L));
+
+        assertEquals("Alice", authors.get(1L).getName());
+        verify(userInfoCacheRepository, times(1)).findAllById(any());
+        verifyNoInteractions(userServiceClient);
+    }
+
+    @Test
+    void placeholdersAreNotCached() {
+        UserInfoResolverService resolver = resolver(10, TTL_MS);
+        when(userServiceClient.getUsersByIds(Set.of(9L))).thenReturn(Optional.empty());
+
+        resolver.fetchAuthorInfo(9L);
+        resolver.fetchAuthorInfo(9L);
+
+        verify(userServiceClient, times(2)).getUsersByIds(Set.of(9L));
+    }
+
+    @Test
+    void expiredEntriesAreReadAgain() {
+        UserInfoResolverService resolver = resolver(10, 0);
+        List<Long> lookups = recordLookups(row(1L, "Alice"));
+
+        resolver.fetchAuthorInfo(1L);
+        resolver.fetchAuthorInfo(1L);
+
+        assertEquals(List.of(1L, 1L), lookups);
+    }
+
+    @Test
+    void leastRecentlyReadAuthorIsEvictedFirst() {
+        UserInfoResolverService resolver = resolver(2, TTL_MS);
+        List<Long> lookups = recordLookups(row(1L, "Alice"), row(2L, "Bob"), row(3L, "Carol"));
+        resolver.fetchAuthorInfo(1L);
+        resolver.fetchAuthorInfo(2L);
+        resolver.fetchAuthorInfo(1L);
+
+        // 2 is the least recently read when 3 comes in
+        resolver.fetchAuthorInfo(3L);
+        resolver.fetchAuthorInfo(1L);
+        resolver.fetchAuthorInfo(2L);
+
+        assertEquals(List.of(1L, 2L, 3L, 2L), lookups);
+    }
+
+    @Test
+    void userUpdateRefreshesTheRowAndEvictsTheAuthor() {
+        UserInfoResolverService resolver = resolver(10, TTL_MS);
+        UserInfoCache cached = row(1L, "Alice");
+        List<Long> lookups = recordLookups(cached);
+        when(userInfoCacheRepository.findById(1L)).thenReturn(Optional.of(cached));
+        resolver.fetchAuthorInfo(1L);
+
+        resolver.applyUserUpdate(new UserUpdatedEvent(1L, "Alice Nguyen", "https://cdn/a.png", LocalDateTime.now()));
+        PostAuthorDTO author = resolver.fetchAuthorInfo(1L);
+
+        assertEquals("Alice Nguyen", author.getName());
+        assertEquals("https://cdn/a.png", author.getAvatar());
+        verify(userInfoCacheRepository).save(cached);
+        assertEquals(List.of(1L, 1L), lookups);
+    }
+
+    private UserInfoResolverService resolver(int maxSize, long ttlMs) {
+        return new UserInfoResolverService(userInfoCacheRepository, userServiceClient, maxSize, ttlMs);
+    }
+
+    /**
+     * Serves single-user lookups from the given rows and records which user each one was for.
+     */
+    private List<Long> recordLookups(UserInfoCache... rows) {
+        List<Long> lookups = new ArrayList<>();
+        when(userInfoCacheRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            Long userId = ids.iterator().next();
+            lookups.add(userId);
+            return Arrays.stream(rows).filter(row -> row.getUserId().equals(userId)).toList();
+        });
+        return lookups;
+    }
+
+    private static UserInfoCache row(Long userId, String name) {
+        return new UserInfoCache(userId, name, null, null);
+    }
+}
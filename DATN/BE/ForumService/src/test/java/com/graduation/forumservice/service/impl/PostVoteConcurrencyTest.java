@@ -0,0 +1,197 @@
+package com.graduation.forumservice.service.impl;
+
+import com.graduation.forumservice.PostgresTestConfig;
+import com.graduation.forumservice.client.ProjectServiceClient;
+import com.graduation.forumservice.repository.*;
+import com.graduation.forumservice.service.ForumFeedService;
+import com.graduation.forumservice.service.PostDetailLoader;
+import com.graduation.forumservice.service.PostViewCounter;
+import com.graduation.forumservice.service.SearchSyncService;
+import com.graduation.forumservice.service.SequenceGeneratorService;
+import com.graduation.forumservice.service.helper.ContentHelperService;
+import com.graduation.forumservice.service.helper.ForumDTOMapper;
+import com.graduation.forumservice.service.helper.UserInfoResolverService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Votes cast at the same time on one post against PostgreSQL: every vote is counted once and
+ * the counters always match the vote rows.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+// Every vote runs in its own transaction on its own connection, so the post has to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostVoteConcurrencyTest {
+
+    private static final Long POST_ID = 1L;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ForumPostRepository forumPostRepository;
+
+    @Autowired
+    private PostVoteRepository postVoteRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    private ProjectSavedPostRepository projectSavedPostRepository;
+
+    @Autowired
+    private PostStatsRepository postStatsRepository;
+
+    @Autowired
+    private ForumTagRepository forumTagRepository;
+
+    @Autowired
+    private ForumPostFileRepository forumPostFileRepository;
+
+    @Autowired
+    private ForumAnswerRepository forumAnswerRepository;
+
+    @Autowired
+    private ForumFeedEntryRepository feedEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PostServiceImpl postService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        postService = new PostServiceImpl(forumPostRepository, postVoteRepository, savedPostRepository,
+                projectSavedPostRepository, postStatsRepository, forumTagRepository,
+                mock(MongoContentRepository.class), forumPostFileRepository, forumAnswerRepository,
+                mock(ProjectServiceClient.class), mock(SequenceGeneratorService.class),
+                mock(UserInfoResolverService.class), mock(ContentHelperService.class), mock(ForumDTOMapper.class),
+                mock(SearchSyncService.class), new ForumFeedService(feedEntryRepository),
+                mock(PostViewCounter.class), mock(PostDetailLoader.class));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("""
+                    INSERT INTO forum_posts (post_id, user_id, title, status, is_solved, created_at)
+                    VALUES (:postId, 1, 'Post', 'ACTIVE', false, now())
+                    """).setParameter("postId", POST_ID).executeUpdate();
+            entityManager.createNativeQuery("""
+                    INSERT INTO post_stats (post_id, score, view_count, answer_count, upvote_count, downvote_count)
+                    VALUES (:postId, 0, 0, 0, 0, 0)
+                    """).setParameter("postId", POST_ID).executeUpdate();
+            entityManager.createNativeQuery("""
+                    INSERT INTO forum_feed_entries (post_id, user_id, title, status, created_at,
+                                                    score, view_count, answer_count, is_helpful)
+                    VALUES (:postId, 1, 'Post', 'ACTIVE', now(), 0, 0, 0, false)
+                    """).setParameter("postId", POST_ID).executeUpdate();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String table : List.of("post_votes", "forum_feed_entries", "post_stats", "forum_posts")) {
+                entityManager.createNativeQuery("DELETE FROM " + table + " WHERE post_id = :postId")
+                        .setParameter("postId", POST_ID).executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    void thousandUsersVotingAtOnceAreAllCounted() throws Exception {
+        int votes = 1000;
+
+        long elapsedNanos = runConcurrently(votes, i -> i % 4 == 0 ? -1 : 1, i -> 100L + i);
+
+        System.out.printf("%,d concurrent votes on one post on %d threads: %.0f votes/s%n",
+                votes, THREADS, votes / (elapsedNanos / 1_000_000_000.0));
+        assertEquals(List.of(500L, 750L, 250L), stats());
+        assertEquals(votes, voteRows());
+        assertEquals(500L, feedScore());
+    }
+
+    @Test
+    void repeatedFirstVotesByOneUserKeepTheCountersInStep() throws Exception {
+        // Each vote toggles the previous one, so an even number of them ends with no vote
+        runConcurrently(20, i -> 1, i -> 42L);
+
+        assertEquals(0, voteRows());
+        assertEquals(List.of(0L, 0L, 0L), stats());
+    }
+
+    private long runConcurrently(int votes, IntFunction<Integer> voteType,
+                                 IntFunction<Long> userId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < votes; i++) {
+            int vote = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                transactionTemplate.executeWithoutResult(status ->
+                        postService.votePost(userId.apply(vote), POST_ID, voteType.apply(vote)));
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        return elapsedNanos;
+    }
+
+    /**
+     * Score, upvotes and downvotes of the post.
+     */
+    private List<Long> stats() {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "SELECT score, upvote_count, downvote_count FROM post_stats WHERE post_id = :postId")
+                .setParameter("postId", POST_ID)
+                .getSingleResult();
+        return Arrays.stream(row).map(value -> ((Number) value).longValue()).toList();
+    }
+
+    private long voteRows() {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM post_votes WHERE post_id = :postId")
+                .setParameter("postId", POST_ID)
+                .getSingleResult()).longValue();
+    }
+
+    private long feedScore() {
+        return ((Number) entityManager.createNativeQuery("SELECT score FROM forum_feed_entries WHERE post_id = :postId")
+                .setParameter("postId", POST_ID)
+                .getSingleResult()).longValue();
+    }
+}
@@ -1,6 +1,9 @@
 package com.graduation.notificationservice.config;
 
 import com.graduation.notificationservice.event.ForumActivityEvent;
+import com.graduation.notificationservice.model.ProcessedMessage;
+import com.graduation.notificationservice.repository.ProcessedMessageRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 
@@ -18,11 +21,14 @@ import org.springframework.kafka.core.ConsumerFactory;
 
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,6 +36,7 @@ import java.util.Map;
  * Kafka configuration for NotificationService (Consumer).
  * Configured for Aiven Kafka with SASL_SSL authentication.
  */
+@Slf4j
 @EnableKafka
 @Configuration
 public class KafkaConfig {
@@ -46,6 +53,9 @@ public class KafkaConfig {
     @Value("${KAFKA_PASSWORD}")
     private String kafkaPassword;
 
+    @Value("${app.notification.task-update.max-retries:6}")
+    private int taskUpdateMaxRetries;
+
     /**
      * Topic name for user updated events.
      * Following convention: domain.service.entity.event.version
@@ -221,12 +231,22 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, TaskUpdateEvent> taskUpdateKafkaListenerContainerFactory()
-            throws IOException {
+    public ConcurrentKafkaListenerContainerFactory<String, TaskUpdateEvent> taskUpdateKafkaListenerContainerFactory(
+            ProcessedMessageRepository processedMessageRepository) throws IOException {
         ConcurrentKafkaListenerContainerFactory<String, TaskUpdateEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(taskUpdateConsumerFactory());
         factory.setConcurrency(1);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+
+        // The listener rethrows instead of acknowledging a failed record: redeliver it with a
+        // backoff, then record it as FAILED so it can be found and replayed
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler((record, e) -> {
+            String messageId = String.format("%s-%d-%d", record.topic(), record.partition(), record.offset());
+            log.error("Task update message {} failed after retries: {}", messageId, e.getMessage(), e);
+            processedMessageRepository.save(new ProcessedMessage(
+                    messageId, record.topic(), Instant.now(), ProcessedMessage.ProcessStatus.FAILED));
+        }, new ExponentialBackOffWithMaxRetries(taskUpdateMaxRetries));
+        factory.setCommonErrorHandler(errorHandler);
         return factory;
     }
 
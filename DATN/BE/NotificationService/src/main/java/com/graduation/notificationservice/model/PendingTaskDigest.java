@@ -0,0 +1,83 @@
+package com.graduation.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Open coalescing window of task update events for one (task, recipient) pair.
+ * Events are folded into the counters in the same transaction that marks the Kafka message
+ * processed, so a window survives restarts. The row is deleted when its digest notification
+ * is written.
+ */
+@Entity
+@Table(name = "pending_task_digests", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_pending_task_digests_task_recipient", columnNames = {"task_id", "recipient_id"})
+}, indexes = {
+        @Index(name = "idx_pending_task_digests_opened", columnList = "opened_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTaskDigest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "digest_id")
+    private Long digestId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    /**
+     * When the first event of the window arrived; the digest is due window-ms later.
+     */
+    @Column(name = "opened_at", nullable = false)
+    private LocalDateTime openedAt;
+
+    @Column(name = "last_sender_id")
+    private Long lastSenderId;
+
+    @Column(name = "update_count", nullable = false)
+    private Integer updateCount = 0;
+
+    @Column(name = "comment_add_count", nullable = false)
+    private Integer commentAddCount = 0;
+
+    @Column(name = "comment_update_count", nullable = false)
+    private Integer commentUpdateCount = 0;
+
+    @Column(name = "comment_delete_count", nullable = false)
+    private Integer commentDeleteCount = 0;
+
+    @Column(name = "total_count", nullable = false)
+    private Integer totalCount = 0;
+
+    /**
+     * Failed attempts to write the digest; retried with backoff until max-attempts.
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * Set once the digest reached max-attempts. It is kept for inspection and retried once
+     * more when a new event arrives for the same pair.
+     */
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+}
@@ -0,0 +1,98 @@
+package com.graduation.notificationservice.repository;
+
+import com.graduation.notificationservice.model.PendingTaskDigest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for PendingTaskDigest entity.
+ * Holds the open task update windows until their digest notification is written.
+ */
+@Repository
+public interface PendingTaskDigestRepository extends JpaRepository<PendingTaskDigest, Long> {
+
+    /**
+     * Folds one event into the window of its (task, recipient) pair, opening the window if there
+     * is none. A dead digest gets a fresh round of attempts.
+     *
+     * @return Number of events in the window after this one
+     */
+    @Query(value = """
+        INSERT INTO pending_task_digests (task_id, project_id, recipient_id, opened_at, last_sender_id,
+                                          update_count, comment_add_count, comment_update_count,
+                                          comment_delete_count, total_count, attempts)
+        VALUES (:taskId, :projectId, :recipientId, :now, :senderId,
+                :updates, :commentAdds, :commentUpdates, :commentDeletes, 1, 0)
+        ON CONFLICT (task_id, recipient_id) DO UPDATE SET
+            project_id = EXCLUDED.project_id,
+            last_sender_id = EXCLUDED.last_sender_id,
+            update_count = pending_task_digests.update_count + EXCLUDED.update_count,
+            comment_add_count = pending_task_digests.comment_add_count + EXCLUDED.comment_add_count,
+            comment_update_count = pending_task_digests.comment_update_count + EXCLUDED.comment_update_count,
+            comment_delete_count = pending_task_digests.comment_delete_count + EXCLUDED.comment_delete_count,
+            total_count = pending_task_digests.total_count + 1,
+            attempts = CASE WHEN pending_task_digests.dead_at IS NULL THEN pending_task_digests.attempts ELSE 0 END,
+            next_attempt_at = CASE WHEN pending_task_digests.dead_at IS NULL
+                                   THEN pending_task_digests.next_attempt_at END,
+            dead_at = NULL
+        RETURNING total_count
+        """, nativeQuery = true)
+    int addEvent(@Param("taskId") Long taskId,
+                 @Param("projectId") Long projectId,
+                 @Param("recipientId") Long recipientId,
+                 @Param("senderId") Long senderId,
+                 @Param("updates") int updates,
+                 @Param("commentAdds") int commentAdds,
+                 @Param("commentUpdates") int commentUpdates,
+                 @Param("commentDeletes") int commentDeletes,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Windows opened before the cutoff whose digest is due, oldest first.
+     */
+    @Query(value = """
+        SELECT d.digest_id FROM pending_task_digests d
+        WHERE d.dead_at IS NULL AND d.opened_at <= :cutoff
+          AND (d.next_attempt_at IS NULL OR d.next_attempt_at <= :now)
+        ORDER BY d.opened_at
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findDueIds(@Param("cutoff") LocalDateTime cutoff,
+                          @Param("now") LocalDateTime now,
+                          @Param("limit") int limit);
+
+    /**
+     * Locks a live digest for writing; empty if another instance is writing it or it is gone.
+     */
+    @Query(value = """
+        SELECT * FROM pending_task_digests
+        WHERE digest_id = :id AND dead_at IS NULL
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    Optional<PendingTaskDigest> lockById(@Param("id") Long id);
+
+    /**
+     * Records a failed digest write. The digest is dead-lettered once it reaches maxAttempts.
+     */
+    @Modifying
+    @Query("UPDATE PendingTaskDigest d SET d.attempts = d.attempts + 1, d.lastError = :error, " +
+            "d.nextAttemptAt = :nextAttemptAt, " +
+            "d.deadAt = CASE WHEN d.attempts + 1 >= :maxAttempts THEN :now ELSE NULL END " +
+            "WHERE d.digestId = :id")
+    int recordFailure(@Param("id") Long id,
+                      @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("maxAttempts") int maxAttempts,
+                      @Param("now") LocalDateTime now);
+
+    Optional<PendingTaskDigest> findByTaskIdAndRecipientId(Long taskId, Long recipientId);
+
+    long countByDeadAtIsNotNull();
+}
@@ -0,0 +1,320 @@
+package com.graduation.notificationservice.service;
+
+import com.graduation.notificationservice.client.UserServiceClient;
+import com.graduation.notificationservice.event.TaskUpdateEvent;
+import com.graduation.notificationservice.model.Notification;
+import com.graduation.notificationservice.model.PendingTaskDigest;
+import com.graduation.notificationservice.model.UserInfoCache;
+import com.graduation.notificationservice.model.enums.NotificationType;
+import com.graduation.notificationservice.payload.response.NotificationDTO;
+import com.graduation.notificationservice.payload.response.SenderDTO;
+import com.graduation.notificationservice.payload.response.UserBatchDTO;
+import com.graduation.notificationservice.repository.NotificationRepository;
+import com.graduation.notificationservice.repository.PendingTaskDigestRepository;
+import com.graduation.notificationservice.repository.UserInfoCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Folds bursts of TaskUpdateEvents into one digest notification per (task, recipient).
+ * <p>
+ * The first event for a pair opens a window; further events within the window only bump
+ * counters. Windows are rows in pending_task_digests, written in the listener's transaction
+ * together with the processed-message marker, so an acknowledged event is never lost. The
+ * digest is written (one row + one SSE push) when the window closes or once it has absorbed
+ * {@code max-actions} events. A failed write is retried with backoff and dead-lettered after
+ * {@code max-attempts}.
+ */
+@Slf4j
+@Service
+public class TaskUpdateCoalescer {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PendingTaskDigestRepository pendingTaskDigestRepository;
+    private final NotificationRepository notificationRepository;
+    private final SseService sseService;
+    private final UserInfoCacheRepository userInfoCacheRepository;
+    private final UserServiceClient userServiceClient;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    @Value("${app.notification.task-digest.window-ms:10000}")
+    private long windowMs;
+
+    @Value("${app.notification.task-digest.max-actions:20}")
+    private int maxActions;
+
+    @Value("${app.notification.task-digest.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${app.notification.task-digest.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.notification.task-digest.retry-base-ms:1000}")
+    private long retryBaseMs;
+
+    @Value("${app.notification.task-digest.retry-max-ms:300000}")
+    private long retryMaxMs;
+
+    // Simple counters so the reduction is visible in logs
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong notificationsWritten = new AtomicLong();
+
+    public TaskUpdateCoalescer(PendingTaskDigestRepository pendingTaskDigestRepository,
+                               NotificationRepository notificationRepository,
+                               SseService sseService,
+                               UserInfoCacheRepository userInfoCacheRepository,
+                               UserServiceClient userServiceClient,
+                               PlatformTransactionManager transactionManager) {
+        this.pendingTaskDigestRepository = pendingTaskDigestRepository;
+        this.notificationRepository = notificationRepository;
+        this.sseService = sseService;
+        this.userInfoCacheRepository = userInfoCacheRepository;
+        this.userServiceClient = userServiceClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Add one event for one recipient to its open window. Must run in the transaction that
+     * marks the event processed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void submit(Long recipientId, TaskUpdateEvent event) {
+        eventsReceived.incrementAndGet();
+        String action = event.getAction() != null ? event.getAction() : TaskUpdateEvent.ACTION_UPDATE;
+
+        int count = pendingTaskDigestRepository.addEvent(event.getTaskId(), event.getProjectId(), recipientId,
+                event.getUpdatedBy(),
+                countOf(action, TaskUpdateEvent.ACTION_UPDATE),
+                countOf(action, TaskUpdateEvent.ACTION_COMMENT_ADD),
+                countOf(action, TaskUpdateEvent.ACTION_COMMENT_UPDATE),
+                countOf(action, TaskUpdateEvent.ACTION_COMMENT_DELETE),
+                LocalDateTime.now());
+
+        if (count >= maxActions) {
+            // Size limit reached: write it with the event, the push follows the commit
+            pendingTaskDigestRepository.findByTaskIdAndRecipientId(event.getTaskId(), recipientId)
+                    .ifPresent(this::writeDigest);
+        }
+    }
+
+    /**
+     * Write the digest of every window that has been open longer than the configured window
+     * length, each in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.task-digest.flush-interval-ms:1000}")
+    public void flushExpired() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> dueIds = pendingTaskDigestRepository.findDueIds(
+                    now.minus(Duration.ofMillis(windowMs)), now, flushBatchSize);
+            dueIds.forEach(this::flushDigest);
+        } catch (Exception e) {
+            log.error("Task digest flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public long getEventsReceived() {
+        return eventsReceived.get();
+    }
+
+    public long getNotificationsWritten() {
+        return notificationsWritten.get();
+    }
+
+    void flushDigest(Long digestId) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    // Skipped if another instance is writing it right now
+                    pendingTaskDigestRepository.lockById(digestId).ifPresent(this::writeDigest));
+        } catch (Exception e) {
+            recordFailure(digestId, e);
+        }
+    }
+
+    /**
+     * Exponential backoff from retry-base-ms, capped at retry-max-ms.
+     */
+    Duration backoff(int attempt) {
+        long delay = retryBaseMs << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(delay, retryMaxMs));
+    }
+
+    private void recordFailure(Long digestId, Exception e) {
+        String error = truncate(String.valueOf(e.getMessage()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                PendingTaskDigest digest = pendingTaskDigestRepository.findById(digestId).orElse(null);
+                if (digest == null) {
+                    return;
+                }
+                int attempt = digest.getAttempts() + 1;
+                LocalDateTime now = LocalDateTime.now();
+                pendingTaskDigestRepository.recordFailure(digestId, error, now.plus(backoff(attempt)), maxAttempts, now);
+                if (attempt >= maxAttempts) {
+                    log.error("Task digest {} for task {} recipient {} dead-lettered after {} attempts: {}",
+                            digestId, digest.getTaskId(), digest.getRecipientId(), attempt, error);
+                } else {
+                    log.warn("Task digest {} write failed (attempt {}), retrying: {}", digestId, attempt, error);
+                }
+            });
+        } catch (Exception recordError) {
+            // The digest is still pending and is picked up again on the next run
+            log.error("Failed to record task digest {} failure: {}", digestId, recordError.getMessage(), recordError);
+        }
+    }
+
+    /**
+     * Writes the notification and removes the window in the current transaction. The SSE push
+     * waits for the commit so a rolled-back digest is never shown.
+     */
+    private void writeDigest(PendingTaskDigest digest) {
+        Notification notification = new Notification();
+        notification.setRecipientId(digest.getRecipientId());
+        notification.setSenderId(digest.getLastSenderId());
+        notification.setContentMessage(buildMessage(digest));
+        notification.setType(NotificationType.NAVIGATE_VIEW);
+        notification.setReferenceId(digest.getProjectId());
+        notification.setTargetUrl("/projects/" + digest.getProjectId() + "?tab=list&taskId=" + digest.getTaskId());
+        notification.setIsRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+
+        Notification savedNotification = notificationRepository.save(notification);
+        pendingTaskDigestRepository.delete(digest);
+
+        NotificationDTO dto = toNotificationDTO(savedNotification);
+        Runnable push = () -> {
+            notificationsWritten.incrementAndGet();
+            sseService.sendToUser(digest.getRecipientId(), dto);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    push.run();
+                }
+            });
+        } else {
+            push.run();
+        }
+    }
+
+    private static int countOf(String action, String counted) {
+        return action.equals(counted) ? 1 : 0;
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    static String buildMessage(PendingTaskDigest digest) {
+        // Fixed order keeps the digest text stable
+        Map<String, Integer> actionCounts = new LinkedHashMap<>();
+        actionCounts.put(TaskUpdateEvent.ACTION_UPDATE, digest.getUpdateCount());
+        actionCounts.put(TaskUpdateEvent.ACTION_COMMENT_ADD, digest.getCommentAddCount());
+        actionCounts.put(TaskUpdateEvent.ACTION_COMMENT_UPDATE, digest.getCommentUpdateCount());
+        actionCounts.put(TaskUpdateEvent.ACTION_COMMENT_DELETE, digest.getCommentDeleteCount());
+        actionCounts.values().removeIf(count -> count == 0);
+
+        if (digest.getTotalCount() == 1 && actionCounts.size() == 1) {
+            String action = actionCounts.keySet().iterator().next();
+            return switch (action) {
+                case TaskUpdateEvent.ACTION_COMMENT_ADD -> "A task you are assigned has a new comment";
+                case TaskUpdateEvent.ACTION_COMMENT_UPDATE -> "A task you are assigned has a modified comment";
+                case TaskUpdateEvent.ACTION_COMMENT_DELETE -> "A comment was deleted on a task you are assigned";
+                default -> "A task you are assigned is updated";
+            };
+        }
+
+        StringJoiner details = new StringJoiner(", ");
+        actionCounts.forEach((action, count) -> details.add(count + " " + describe(action, count)));
+        return "A task you are assigned has " + digest.getTotalCount() + " new changes (" + details + ")";
+    }
+
+    private static String describe(String action, int count) {
+        boolean plural = count > 1;
+        return switch (action) {
+            case TaskUpdateEvent.ACTION_COMMENT_ADD -> plural ? "new comments" : "new comment";
+            case TaskUpdateEvent.ACTION_COMMENT_UPDATE -> plural ? "edited comments" : "edited comment";
+            case TaskUpdateEvent.ACTION_COMMENT_DELETE -> plural ? "deleted comments" : "deleted comment";
+            default -> plural ? "updates" : "update";
+        };
+    }
+
+    private NotificationDTO toNotificationDTO(Notification notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(notification.getNotificationId());
+        dto.setSender(mapSender(notification.getSenderId()));
+        dto.setContentMessage(notification.getContentMessage());
+        dto.setType(notification.getType().name());
+        dto.setTargetUrl(notification.getTargetUrl());
+
+        if (notification.getInvitationStatus() != null) {
+            dto.setInvitationStatus(notification.getInvitationStatus().name());
+        }
+
+        dto.setIsRead(notification.getIsRead());
+        dto.setToken(notification.getToken());
+        dto.setReferenceId(notification.getReferenceId());
+
+        // Format createdAt to ISO 8601 string
+        dto.setCreatedAt(notification.getCreatedAt().atOffset(ZoneOffset.UTC).format(ISO_FORMATTER));
+
+        return dto;
+    }
+
+    private SenderDTO mapSender(Long senderId) {
+        if (senderId == null) {
+            return new SenderDTO(null, "System", null);
+        }
+
+        Optional<UserInfoCache> optionalUserInfoCache = userInfoCacheRepository.findById(senderId);
+        if (optionalUserInfoCache.isPresent()) {
+            UserInfoCache userInfoCache = optionalUserInfoCache.get();
+            return new SenderDTO(
+                    userInfoCache.getUserId(),
+                    userInfoCache.getDisplayName(),
+                    userInfoCache.getAvatarUrl());
+        }
+
+        // Sender not found in cache - call UserService to fetch and cache user info
+        log.info("Sender userId={} not found in cache, fetching from UserService", senderId);
+        Optional<UserBatchDTO> userOptional = userServiceClient.findById(senderId);
+
+        if (userOptional.isPresent()) {
+            UserBatchDTO userBatchDTO = userOptional.get();
+
+            UserInfoCache newCache = new UserInfoCache();
+            newCache.setUserId(userBatchDTO.getUserId());
+            newCache.setDisplayName(userBatchDTO.getName());
+            newCache.setAvatarUrl(userBatchDTO.getAvatarUrl());
+            userInfoCacheRepository.save(newCache);
+            log.info("Cached user info for userId={}", senderId);
+
+            return new SenderDTO(
+                    userBatchDTO.getUserId(),
+                    userBatchDTO.getName(),
+                    userBatchDTO.getAvatarUrl());
+        }
+
+        log.warn("User not found in UserService for userId={}", senderId);
+        return new SenderDTO(senderId, "Unknown User", null);
+    }
+}
@@ -0,0 +1,162 @@
+package com.graduation.notificationservice.service;
+
+import com.graduation.notificationservice.PostgresTestConfig;
+import com.graduation.notificationservice.client.UserServiceClient;
+import com.graduation.notificationservice.config.KafkaConfig;
+import com.graduation.notificationservice.event.TaskUpdateEvent;
+import com.graduation.notificationservice.listener.TaskUpdateKafkaListener;
+import com.graduation.notificationservice.repository.NotificationRepository;
+import com.graduation.notificationservice.repository.PendingTaskDigestRepository;
+import com.graduation.notificationservice.repository.ProcessedMessageRepository;
+import com.graduation.notificationservice.repository.UserInfoCacheRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Replays edit bursts through the task update listener against PostgreSQL and compares the
+ * notification rows and SSE pushes with one per event and recipient, as before coalescing.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+// Pushes follow commits, so every event has to be committed like in the running service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskUpdateCoalescerLoadTest {
+
+    private static final int TASKS = 50;
+    private static final int ASSIGNEES_PER_TASK = 4;
+    private static final int EVENTS_PER_TASK = 25;
+    private static final int MAX_ACTIONS = 20;
+
+    @Autowired
+    private PendingTaskDigestRepository pendingTaskDigestRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ProcessedMessageRepository processedMessageRepository;
+
+    @Autowired
+    private UserInfoCacheRepository userInfoCacheRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SseService sseService = mock(SseService.class);
+
+    private TaskUpdateCoalescer coalescer;
+    private TaskUpdateKafkaListener listener;
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = coalescer();
+        listener = new TaskUpdateKafkaListener(processedMessageRepository, coalescer, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll();
+        pendingTaskDigestRepository.deleteAll();
+        processedMessageRepository.deleteAll();
+    }
+
+    @Test
+    void burstsBecomeOneNotificationPerWindow() {
+        for (int round = 0; round < EVENTS_PER_TASK; round++) {
+            for (long taskId = 1; taskId <= TASKS; taskId++) {
+                deliver(event(taskId, round));
+            }
+        }
+        long events = (long) TASKS * EVENTS_PER_TASK;
+        long uncoalesced = events * ASSIGNEES_PER_TASK;
+
+        // Every window reached max-actions once; the rest of each burst is waiting in the database
+        long pairs = (long) TASKS * ASSIGNEES_PER_TASK;
+        assertEquals(pairs, notificationRepository.count());
+        assertEquals(pairs, pendingTaskDigestRepository.count());
+
+        // A restarted instance finds the open windows and writes them once they close
+        TaskUpdateCoalescer restarted = coalescer();
+        ReflectionTestUtils.setField(restarted, "windowMs", 0L);
+        restarted.flushExpired();
+
+        long rows = notificationRepository.count();
+        assertEquals(2 * pairs, rows);
+        assertEquals(0, pendingTaskDigestRepository.count());
+        verify(sseService, times((int) rows)).sendToUser(anyLong(), any());
+        assertEquals(events, processedMessageRepository.count());
+        System.out.printf("%,d task update events for %d assignees each: %,d notification rows and SSE pushes "
+                        + "instead of %,d (%.1fx fewer)%n",
+                events, ASSIGNEES_PER_TASK, rows, uncoalesced, (double) uncoalesced / rows);
+    }
+
+    @Test
+    void redeliveredEventIsFoldedOnce() {
+        ConsumerRecord<String, TaskUpdateEvent> record = record(event(1L, 0));
+
+        listener.handleTaskUpdateEvent(record, mock(Acknowledgment.class));
+        listener.handleTaskUpdateEvent(record, mock(Acknowledgment.class));
+
+        pendingTaskDigestRepository.findAll()
+                .forEach(digest -> assertEquals(1, digest.getTotalCount()));
+        assertEquals(ASSIGNEES_PER_TASK, pendingTaskDigestRepository.count());
+    }
+
+    private TaskUpdateCoalescer coalescer() {
+        TaskUpdateCoalescer created = new TaskUpdateCoalescer(pendingTaskDigestRepository, notificationRepository,
+                sseService, userInfoCacheRepository, mock(UserServiceClient.class), transactionManager);
+        ReflectionTestUtils.setField(created, "windowMs", 60000L);
+        ReflectionTestUtils.setField(created, "maxActions", MAX_ACTIONS);
+        ReflectionTestUtils.setField(created, "flushBatchSize", 10000);
+        ReflectionTestUtils.setField(created, "maxAttempts", 10);
+        ReflectionTestUtils.setField(created, "retryBaseMs", 1000L);
+        ReflectionTestUtils.setField(created, "retryMaxMs", 300000L);
+        return created;
+    }
+
+    private void deliver(TaskUpdateEvent event) {
+        Acknowledgment ack = mock(Acknowledgment.class);
+        listener.handleTaskUpdateEvent(record(event), ack);
+        verify(ack).acknowledge();
+    }
+
+    private ConsumerRecord<String, TaskUpdateEvent> record(TaskUpdateEvent event) {
+        return new ConsumerRecord<>(KafkaConfig.TOPIC_PROJECT_TASK_UPDATE, 0, offset++,
+                String.valueOf(event.getProjectId()), event);
+    }
+
+    /**
+     * One edit in a burst on a task; every third one is a comment.
+     */
+    private static TaskUpdateEvent event(long taskId, int round) {
+        Set<Long> assignees = new LinkedHashSet<>();
+        for (int a = 0; a < ASSIGNEES_PER_TASK; a++) {
+            assignees.add(taskId * 100 + a);
+        }
+        // The editor is not an assignee, so every assignee is notified
+        String action = round % 3 == 0 ? TaskUpdateEvent.ACTION_COMMENT_ADD : TaskUpdateEvent.ACTION_UPDATE;
+        return new TaskUpdateEvent(taskId, taskId % 5, 1L, assignees, action);
+    }
+}
@@ -0,0 +1,231 @@
+package com.graduation.notificationservice.service;
+
+import com.graduation.notificationservice.client.UserServiceClient;
+import com.graduation.notificationservice.event.TaskUpdateEvent;
+import com.graduation.notificationservice.model.Notification;
+import com.graduation.notificationservice.model.PendingTaskDigest;
+import com.graduation.notificationservice.payload.response.NotificationDTO;
+import com.graduation.notificationservice.repository.NotificationRepository;
+import com.graduation.notificationservice.repository.PendingTaskDigestRepository;
+import com.graduation.notificationservice.repository.UserInfoCacheRepository;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskUpdateCoalescerTest {
+
+    private static final Long TASK_ID = 5L;
+    private static final Long PROJECT_ID = 3L;
+    private static final Long RECIPIENT_ID = 7L;
+
+    @Mock
+    private PendingTaskDigestRepository pendingTaskDigestRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private SseService sseService;
+
+    @Mock
+    private UserInfoCacheRepository userInfoCacheRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(notificationRepository.save(any())).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            notification.setNotificationId(100L);
+            return notification;
+        });
+
+        coalescer = new TaskUpdateCoalescer(pendingTaskDigestRepository, notificationRepository, sseService,
+                userInfoCacheRepository, userServiceClient, transactionManager);
+        ReflectionTestUtils.setField(coalescer, "windowMs", 10000L);
+        ReflectionTestUtils.setField(coalescer, "maxActions", 20);
+        ReflectionTestUtils.setField(coalescer, "flushBatchSize", 500);
+        ReflectionTestUtils.setField(coalescer, "maxAttempts", 3);
+        ReflectionTestUtils.setField(coalescer, "retryBaseMs", 1000L);
+        ReflectionTestUtils.setField(coalescer, "retryMaxMs", 300000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void eventIsFoldedIntoItsWindowWithoutWritingANotification() {
+        when(pendingTaskDigestRepository.addEvent(any(), any(), any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(3);
+
+        coalescer.submit(RECIPIENT_ID, event(TaskUpdateEvent.ACTION_COMMENT_ADD));
+
+        verify(pendingTaskDigestRepository).addEvent(eq(TASK_ID), eq(PROJECT_ID), eq(RECIPIENT_ID), eq(9L),
+                eq(0), eq(1), eq(0), eq(0), any());
+        verifyNoInteractions(notificationRepository, sseService);
+        assertEquals(1, coalescer.getEventsReceived());
+    }
+
+    @Test
+    void eventWithoutActionCountsAsAnUpdate() {
+        coalescer.submit(RECIPIENT_ID, event(null));
+
+        verify(pendingTaskDigestRepository).addEvent(any(), any(), any(), any(), eq(1), eq(0), eq(0), eq(0), any());
+    }
+
+    @Test
+    void fullWindowIsWrittenWithTheEventAndPushedAfterCommit() {
+        PendingTaskDigest digest = digest(20, 15, 5, 0, 0);
+        when(pendingTaskDigestRepository.addEvent(any(), any(), any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(20);
+        when(pendingTaskDigestRepository.findByTaskIdAndRecipientId(TASK_ID, RECIPIENT_ID)).thenReturn(Optional.of(digest));
+
+        TransactionSynchronizationManager.initSynchronization();
+        coalescer.submit(RECIPIENT_ID, event(TaskUpdateEvent.ACTION_UPDATE));
+
+        verify(notificationRepository).save(any());
+        verify(pendingTaskDigestRepository).delete(digest);
+        verifyNoInteractions(sseService);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(sseService).sendToUser(eq(RECIPIENT_ID), any(NotificationDTO.class));
+        assertEquals(1, coalescer.getNotificationsWritten());
+    }
+
+    @Test
+    void rolledBackDigestIsNeverPushed() {
+        when(pendingTaskDigestRepository.addEvent(any(), any(), any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(20);
+        when(pendingTaskDigestRepository.findByTaskIdAndRecipientId(TASK_ID, RECIPIENT_ID))
+                .thenReturn(Optional.of(digest(20, 20, 0, 0, 0)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        coalescer.submit(RECIPIENT_ID, event(TaskUpdateEvent.ACTION_UPDATE));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(sseService);
+        assertEquals(0, coalescer.getNotificationsWritten());
+    }
+
+    @Test
+    void expiredWindowsAreWrittenOnePerDigest() {
+        PendingTaskDigest digest = digest(4, 1, 3, 0, 0);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(pendingTaskDigestRepository.findDueIds(cutoff.capture(), any(), eq(500))).thenReturn(List.of(1L, 2L));
+        when(pendingTaskDigestRepository.lockById(1L)).thenReturn(Optional.of(digest));
+        // Another instance is writing the second one
+        when(pendingTaskDigestRepository.lockById(2L)).thenReturn(Optional.empty());
+
+        coalescer.flushExpired();
+
+        Duration age = Duration.between(cutoff.getValue(), LocalDateTime.now());
+        assertTrue(age.toMillis() >= 10000 && age.toMillis() < 11000, age.toString());
+        ArgumentCaptor<Notification> notification = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository).save(notification.capture());
+        assertEquals("A task you are assigned has 4 new changes (1 update, 3 new comments)",
+                notification.getValue().getContentMessage());
+        assertEquals("/projects/3?tab=list&taskId=5", notification.getValue().getTargetUrl());
+        verify(pendingTaskDigestRepository).delete(digest);
+        verify(sseService, times(1)).sendToUser(eq(RECIPIENT_ID), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void failedWriteKeepsTheDigestAndRetriesWithBackoff() {
+        PendingTaskDigest digest = digest(2, 2, 0, 0, 0);
+        digest.setAttempts(1);
+        when(pendingTaskDigestRepository.findDueIds(any(), any(), anyInt())).thenReturn(List.of(1L));
+        when(pendingTaskDigestRepository.lockById(1L)).thenReturn(Optional.of(digest));
+        when(pendingTaskDigestRepository.findById(1L)).thenReturn(Optional.of(digest));
+        when(notificationRepository.save(any())).thenThrow(new PersistenceException("connection reset"));
+
+        coalescer.flushExpired();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(pendingTaskDigestRepository).recordFailure(eq(1L), eq("connection reset"), nextAttempt.capture(),
+                eq(3), any());
+        // Second attempt waits twice the base delay
+        Duration delay = Duration.between(LocalDateTime.now(), nextAttempt.getValue());
+        assertTrue(delay.toMillis() > 1500 && delay.toMillis() <= 2000, delay.toString());
+        verify(pendingTaskDigestRepository, never()).delete(any());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(sseService);
+    }
+
+    @Test
+    void singleEventKeepsTheOriginalMessage() {
+        assertEquals("A task you are assigned has a new comment",
+                TaskUpdateCoalescer.buildMessage(digest(1, 0, 1, 0, 0)));
+        assertEquals("A task you are assigned is updated",
+                TaskUpdateCoalescer.buildMessage(digest(1, 1, 0, 0, 0)));
+        assertEquals("A comment was deleted on a task you are assigned",
+                TaskUpdateCoalescer.buildMessage(digest(1, 0, 0, 0, 1)));
+    }
+
+    @Test
+    void digestMessageListsEveryActionInAFixedOrder() {
+        assertEquals("A task you are assigned has 6 new changes (2 updates, 1 edited comment, 3 deleted comments)",
+                TaskUpdateCoalescer.buildMessage(digest(6, 2, 0, 1, 3)));
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(Duration.ofSeconds(1), coalescer.backoff(1));
+        assertEquals(Duration.ofSeconds(8), coalescer.backoff(4));
+        assertEquals(Duration.ofMinutes(5), coalescer.backoff(30));
+    }
+
+    private static TaskUpdateEvent event(String action) {
+        return new TaskUpdateEvent(TASK_ID, PROJECT_ID, 9L, Set.of(RECIPIENT_ID), action);
+    }
+
+    private static PendingTaskDigest digest(int total, int updates, int commentAdds, int commentUpdates,
+                                            int commentDeletes) {
+        PendingTaskDigest digest = new PendingTaskDigest();
+        digest.setDigestId(1L);
+        digest.setTaskId(TASK_ID);
+        digest.setProjectId(PROJECT_ID);
+        digest.setRecipientId(RECIPIENT_ID);
+        digest.setOpenedAt(LocalDateTime.now().minusSeconds(20));
+        digest.setLastSenderId(9L);
+        digest.setTotalCount(total);
+        digest.setUpdateCount(updates);
+        digest.setCommentAddCount(commentAdds);
+        digest.setCommentUpdateCount(commentUpdates);
+        digest.setCommentDeleteCount(commentDeletes);
+        return digest;
+    }
+}
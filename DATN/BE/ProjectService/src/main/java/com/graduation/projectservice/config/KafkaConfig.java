@@ -31,8 +31,18 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${app.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${app.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
     public static final String TOPIC_PROJECT_INVITATION = "pm.project-service.invitation.v1";
     public static final String TOPIC_PROJECT_TASK_UPDATE = "pm.project-service.task-update.v1";
+    public static final String TOPIC_PROJECT_TASK_LIFECYCLE = "pm.project-service.task-lifecycle.v1";
 
     @Bean
     public ProducerFactory<String, Object> producerFactory() throws IOException {
@@ -41,6 +51,16 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 
+        // Batching for the outbox relay: wait briefly so records for the same partition share a request
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        // Idempotent producer keeps per-key (projectId) ordering across retries
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+
         // SSL/mTLS Configuration for Aiven
         configProps.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SSL");
 
@@ -110,4 +130,12 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public NewTopic projectTaskLifecycleTopic() {
+        return TopicBuilder.name(TOPIC_PROJECT_TASK_LIFECYCLE)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
 }
@@ -132,16 +132,33 @@ public class Constant {
     public static final String LOG_PUT_TASK_REQUEST = "PUT /api/pm/projects/{}/tasks/{} request received from user {}";
     public static final String LOG_DELETE_TASK_REQUEST = "DELETE /api/pm/projects/{}/tasks/{} request received from user {}";
     public static final String LOG_PUT_TASK_STATUS_REQUEST = "PUT /api/pm/projects/{}/tasks/{}/status request received from user {}";
+    public static final String LOG_PUT_TASKS_BULK_REQUEST = "PUT /api/pm/projects/{}/tasks/bulk request received from user {}";
+    public static final String LOG_BULK_UPDATING_TASKS = "Bulk updating {} tasks in project {} by user {}";
+    public static final String LOG_TASKS_BULK_UPDATED = "{} tasks bulk updated for project {}";
+    public static final String LOG_GET_USER_TASK_PAGE_REQUEST = "GET /api/pm/projects/user/tasks/page request received from user {}";
+    public static final String LOG_GET_USER_TASK_WINDOW_REQUEST = "GET /api/pm/projects/user/tasks/window request received from user {}";
+    public static final String LOG_GETTING_USER_TASK_PAGE = "Getting task page for user {} after ({}, {})";
+    public static final String LOG_GETTING_USER_TASK_WINDOW = "Getting tasks for user {} between {} and {}";
 
     // Task Success Messages
     public static final String TASK_CREATED_SUCCESS = "Task created";
     public static final String TASK_UPDATED_SUCCESS = "Task updated";
     public static final String TASK_DELETED_SUCCESS = "Task deleted";
     public static final String TASK_STATUS_UPDATED_SUCCESS = "Task status updated";
+    public static final String TASKS_BULK_UPDATED_SUCCESS = "Tasks updated";
+    public static final String USER_TASKS_RETRIEVED_SUCCESS = "User tasks retrieved";
     public static final String LOG_GET_TASK_SUCCESS = "Task retrieved successfully";
     // Task Error Messages
     public static final String ERROR_TASK_NOT_FOUND = "Task not found";
     public static final String ERROR_TASK_NOT_IN_PROJECT = "Task does not belong to this project";
+    public static final String ERROR_BULK_TASKS_NOT_IN_PROJECT = "Some tasks were not found in this project";
+    public static final String ERROR_BULK_TASK_INVALID_DATES = "Start date is after end date for task %s";
+    public static final String ERROR_BULK_ASSIGNEE_NOT_ACTIVE = "Not an active member: %s";
+    public static final String ERROR_BULK_NO_CHANGES = "At least one field to change is required";
+    public static final String ERROR_USER_TASK_PAGE_SIZE = "Page size must be between 1 and %d";
+    public static final String ERROR_USER_TASK_CURSOR = "afterDate and afterTaskId must be provided together";
+    public static final String ERROR_USER_TASK_WINDOW = "Both from and to are required and to must not be before from";
+    public static final String ERROR_USER_TASK_WINDOW_TOO_LONG = "Date window cannot exceed %d days";
 
     // Project Structure Log Messages
     public static final String LOG_GET_PROJECT_STRUCTURE_REQUEST = "GET /api/pm/projects/{}/structure request received from user {}";
@@ -0,0 +1,60 @@
+package com.graduation.projectservice.controller;
+
+import com.graduation.projectservice.constant.Constant;
+import com.graduation.projectservice.payload.response.BaseResponse;
+import com.graduation.projectservice.service.OutboxRelayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operator actions on dead-lettered outbox events. A dead event blocks the later events of its
+ * project until it is replayed or discarded here.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/internal/outbox")
+@RequiredArgsConstructor
+public class InternalOutboxController {
+
+    private final OutboxRelayService outboxRelayService;
+
+    /**
+     * GET /api/internal/outbox/dead
+     * Dead events still blocking their project, oldest first.
+     */
+    @GetMapping("/dead")
+    public ResponseEntity<BaseResponse<?>> getDeadEvents() {
+        return ResponseEntity.ok(new BaseResponse<>(Constant.SUCCESS_STATUS, "Dead outbox events",
+                outboxRelayService.getBlockingDeadEvents()));
+    }
+
+    /**
+     * POST /api/internal/outbox/dead/{id}/replay
+     * Send the event again before the later events of its project.
+     */
+    @PostMapping("/dead/{id}/replay")
+    public ResponseEntity<BaseResponse<?>> replayDeadEvent(@PathVariable Long id) {
+        log.info("Internal request: Replaying dead outbox event {}", id);
+
+        if (!outboxRelayService.replayDead(id)) {
+            return ResponseEntity.ok(new BaseResponse<>(Constant.ERROR_STATUS, "Dead outbox event not found", null));
+        }
+        return ResponseEntity.ok(new BaseResponse<>(Constant.SUCCESS_STATUS, "Outbox event replayed", null));
+    }
+
+    /**
+     * POST /api/internal/outbox/dead/{id}/discard
+     * Drop the event for good; the later events of its project are published.
+     */
+    @PostMapping("/dead/{id}/discard")
+    public ResponseEntity<BaseResponse<?>> discardDeadEvent(@PathVariable Long id) {
+        log.info("Internal request: Discarding dead outbox event {}", id);
+
+        if (!outboxRelayService.discardDead(id)) {
+            return ResponseEntity.ok(new BaseResponse<>(Constant.ERROR_STATUS, "Dead outbox event not found", null));
+        }
+        return ResponseEntity.ok(new BaseResponse<>(Constant.SUCCESS_STATUS, "Outbox event discarded", null));
+    }
+}
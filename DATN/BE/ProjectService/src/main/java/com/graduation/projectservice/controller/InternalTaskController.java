@@ -1,14 +1,19 @@
 package com.graduation.projectservice.controller;
 
+import com.graduation.projectservice.constant.Constant;
+import com.graduation.projectservice.payload.response.BaseResponse;
 import com.graduation.projectservice.payload.response.TaskDTO;
+import com.graduation.projectservice.payload.response.UserTaskIndexDTO;
 import com.graduation.projectservice.service.TaskService;
+import com.graduation.projectservice.service.UserTaskIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -16,6 +21,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class InternalTaskController {
     private final TaskService taskService;
+    private final UserTaskIndexService userTaskIndexService;
 
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long taskId) {
@@ -27,4 +33,38 @@ public class InternalTaskController {
         }
         return ResponseEntity.ok(task);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/batch-by-ids")
+    public ResponseEntity<List<TaskDTO>> getTasksByIds(@RequestBody List<Long> taskIds) {
+        log.info("Internal API: Fetching {} project tasks by IDs", taskIds.size());
+
+        return ResponseEntity.ok(taskService.getTasksByIdsForInternal(taskIds));
+    }
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<List<UserTaskIndexDTO>> getUserTasksInWindow(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeDone) {
+        log.info("Internal API: Fetching tasks for user {} between {} and {}", userId, from, to);
+
+        try {
+            return ResponseEntity.ok(taskService.getUserTasksInWindowForInternal(userId, from, to, includeDone));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/internal/tasks/index/rebuild
+     * Rebuild the per-user task index from the assignment tables.
+     */
+    @PostMapping("/index/rebuild")
+    public ResponseEntity<BaseResponse<?>> rebuildUserTaskIndex() {
+        log.info("Internal request: Rebuilding user task index");
+
+        int rows = userTaskIndexService.rebuild();
+        return ResponseEntity.ok(new BaseResponse<>(Constant.SUCCESS_STATUS, "User task index rebuilt", rows));
+    }
+}
@@ -4,9 +4,13 @@ import com.graduation.projectservice.payload.response.BaseResponse;
 import com.graduation.projectservice.service.ProjectSummaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/pm/projects")
@@ -15,6 +19,10 @@ public class ProjectSummaryController {
 
     private final ProjectSummaryService projectSummaryService;
 
+    // Open tasks per member per day above which a day counts as overloaded
+    @Value("${app.workload.default-capacity:3}")
+    private int defaultCapacity;
+
     @GetMapping("/{projectId}/summary/deliverable-progress")
     public ResponseEntity<BaseResponse<?>> getDeliverableProgress(
             @RequestHeader("X-User-Id") Long userId,
@@ -35,6 +43,23 @@ public class ProjectSummaryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{projectId}/summary/workload-heatmap")
+    public ResponseEntity<BaseResponse<?>> getWorkloadHeatmap(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer capacity) {
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusWeeks(4).minusDays(1);
+
+        log.info("Request: Get workload heatmap for project {} ({} - {}) by user {}", projectId, start, end, userId);
+        BaseResponse<?> response = projectSummaryService.getWorkloadHeatmap(userId, projectId, start, end,
+                capacity != null ? capacity : defaultCapacity);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{projectId}/summary/task-stats")
     public ResponseEntity<BaseResponse<?>> getTaskStats(
             @RequestHeader("X-User-Id") Long userId,
@@ -7,10 +7,13 @@ import com.graduation.projectservice.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/pm/projects")
@@ -87,6 +90,19 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{projectId}/tasks/bulk")
+    public ResponseEntity<BaseResponse<?>> bulkUpdateTasks(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkUpdateTasksRequest request) {
+
+        log.info(Constant.LOG_PUT_TASKS_BULK_REQUEST, projectId, userId);
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(userId, projectId, request);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/user/tasks")
     public ResponseEntity<BaseResponse<?>> getUserProjectTasks(
             @RequestHeader("X-User-Id") Long userId) {
@@ -98,6 +114,35 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/user/tasks/page")
+    public ResponseEntity<BaseResponse<?>> getUserTaskPage(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+            @RequestParam(required = false) Long afterTaskId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeDone) {
+
+        log.info(Constant.LOG_GET_USER_TASK_PAGE_REQUEST, userId);
+
+        BaseResponse<?> response = taskService.getUserTaskPage(userId, afterDate, afterTaskId, size, includeDone);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/user/tasks/window")
+    public ResponseEntity<BaseResponse<?>> getUserTasksInWindow(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeDone) {
+
+        log.info(Constant.LOG_GET_USER_TASK_WINDOW_REQUEST, userId);
+
+        BaseResponse<?> response = taskService.getUserTasksInWindow(userId, from, to, includeDone);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{projectId}/tasks/{taskId}/detail")
     public ResponseEntity<BaseResponse<?>> getTaskDetail(
             @RequestHeader("X-User-Id") Long userId,
@@ -0,0 +1,45 @@
+package com.graduation.projectservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Current fields of tasks of one project, for services that keep a local copy of them.
+ * UPSERT carries changed tasks, DELETE the ids of removed tasks, and SNAPSHOT every task the
+ * project still has (tasks of the project missing from it were removed).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskLifecycleEvent {
+    private Long projectId;
+    private String type;
+    private List<TaskSnapshot> tasks;
+    private List<Long> deletedTaskIds;
+    private Instant occurredAt;
+
+    public static final String TYPE_UPSERT = "UPSERT";
+    public static final String TYPE_DELETE = "DELETE";
+    public static final String TYPE_SNAPSHOT = "SNAPSHOT";
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TaskSnapshot {
+        private Long taskId;
+        private Long phaseId;
+        private String name;
+        private String key;
+        private String status;
+        private String priority;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        // Last write of the task; null for tasks not written since the column was added
+        private Instant updatedAt;
+    }
+}
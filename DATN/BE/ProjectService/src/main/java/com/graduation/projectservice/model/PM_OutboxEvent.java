@@ -0,0 +1,80 @@
+package com.graduation.projectservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event written in the same transaction as the state change that produced it.
+ * Rows are picked up by the outbox relay and published to Kafka afterwards, so an
+ * event is never sent for a transaction that rolled back.
+ * <p>
+ * A row is pending while published_at, dead_at and discarded_at are null. A relay instance
+ * leases the pending rows of a key while it sends them; a row that keeps failing is
+ * dead-lettered (dead_at set). A dead row keeps blocking the later rows of its key, so events
+ * of a project are never published out of order, until an operator replays it (it becomes
+ * pending again) or discards it (discarded_at set).
+ */
+@Entity
+@Table(name = "pm_outbox_event", indexes = {
+        @Index(name = "idx_pm_outbox_event_pending", columnList = "published_at, id"),
+        @Index(name = "idx_pm_outbox_event_key", columnList = "aggregate_key, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PM_OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    // Kafka message key; projectId for every ProjectService aggregate
+    @Column(name = "aggregate_key", nullable = false)
+    private String aggregateKey;
+
+    // Fully qualified event class, used to restore the payload before sending
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Set after a failed send; the key is not retried before this time
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Set when the row is dead-lettered; it is no longer relayed but still blocks its key
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+
+    // Set when an operator gives up on a dead row; the later rows of its key are then relayed
+    @Column(name = "discarded_at")
+    private LocalDateTime discardedAt;
+
+    // Relay instance currently sending the row, and until when the lease holds
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
@@ -54,4 +55,14 @@ public class PM_Task {
 
     @OneToMany(mappedBy = "taskId", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<PM_TaskAssignee> assignees = new HashSet<>();
+
+    // Time of the last write; lets other services' copies order events and reads of the task
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.graduation.projectservice.model;
+
+import com.graduation.projectservice.model.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Denormalized copy of a task per assignee, so cross-project "my tasks" and calendar reads
+ * are a single indexed lookup by user instead of the task/phase/deliverable/project join.
+ * Kept in sync from the task and assignment write paths by UserTaskIndexService.
+ */
+@Entity
+@Table(name = "pm_user_task_index", indexes = {
+        @Index(name = "idx_pm_user_task_index_due", columnList = "user_id, sort_date, task_id"),
+        @Index(name = "idx_pm_user_task_index_window", columnList = "user_id, end_date"),
+        @Index(name = "idx_pm_user_task_index_task", columnList = "task_id"),
+        @Index(name = "idx_pm_user_task_index_project", columnList = "project_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(UserTaskIndexKey.class)
+public class PM_UserTaskIndex {
+
+    // Stored in sort_date for tasks without an end date so they page after every dated task
+    public static final LocalDate NO_DUE_DATE = LocalDate.of(9999, 12, 31);
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "task_key", nullable = false)
+    private String taskKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Non-null copy of end_date used as the keyset ordering column
+    @Column(name = "sort_date", nullable = false)
+    private LocalDate sortDate;
+}
@@ -0,0 +1,15 @@
+package com.graduation.projectservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTaskIndexKey implements Serializable {
+    private Long userId;
+    private Long taskId;
+}
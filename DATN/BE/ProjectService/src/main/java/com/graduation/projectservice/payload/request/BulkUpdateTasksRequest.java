@@ -0,0 +1,61 @@
+package com.graduation.projectservice.payload.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.graduation.projectservice.model.enums.TaskPriority;
+import com.graduation.projectservice.model.enums.TaskStatus;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Multi-select edit: every non-null field is applied to all listed tasks.
+ * assigneeIds replaces the assignee set of each task, same as the single-task update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateTasksRequest {
+
+    @NotEmpty(message = "Task IDs list cannot be empty")
+    @Size(max = 1000, message = "At most 1000 tasks can be updated at once")
+    @JsonProperty("taskIds")
+    private List<Long> taskIds;
+
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    @JsonProperty("start_date")
+    private LocalDate startDate;
+
+    @JsonProperty("end_date")
+    private LocalDate endDate;
+
+    @JsonProperty("assigneeIds")
+    private List<Long> assigneeIds;
+
+    /**
+     * An edit that changes nothing is rejected instead of touching every task.
+     */
+    @AssertTrue(message = "At least one field to change is required")
+    public boolean isAnyFieldSet() {
+        return status != null || hasNonStatusChanges();
+    }
+
+    /**
+     * Status-only changes are allowed for any active member, like the single status endpoint.
+     */
+    public boolean isStatusOnly() {
+        return status != null && !hasNonStatusChanges();
+    }
+
+    private boolean hasNonStatusChanges() {
+        return priority != null || startDate != null || endDate != null || assigneeIds != null;
+    }
+}
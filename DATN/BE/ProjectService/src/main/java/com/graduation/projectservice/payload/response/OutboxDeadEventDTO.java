@@ -0,0 +1,21 @@
+package com.graduation.projectservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxDeadEventDTO {
+    private Long id;
+    private String topic;
+    private String aggregateKey;
+    private String eventType;
+    private Integer attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime deadAt;
+}
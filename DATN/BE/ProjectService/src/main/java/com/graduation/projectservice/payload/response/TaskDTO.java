@@ -1,10 +1,12 @@
 package com.graduation.projectservice.payload.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -43,6 +45,15 @@ public class TaskDTO {
     @JsonProperty("assignees")
     private List<AssigneeDTO> assignees;
 
+    // Filled for internal reads only, so other services can order them against task events
+    @JsonProperty("projectId")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long projectId;
+
+    @JsonProperty("updatedAt")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant updatedAt;
+
     public TaskDTO(Long id, Long phaseId, String name, String key, String status, String priority, Integer order) {
         this.id = id;
         this.phaseId = phaseId;
@@ -0,0 +1,22 @@
+package com.graduation.projectservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTaskIndexDTO {
+    private Long pmTaskId;
+    private Long projectId;
+    private String projectName;
+    private String name;
+    private String key;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean isOverdue;
+}
@@ -0,0 +1,22 @@
+package com.graduation.projectservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One keyset page of a user's tasks ordered by (due date, task id).
+ * Pass nextAfterDate/nextAfterTaskId back to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTaskPageResponse {
+    private List<UserTaskIndexDTO> tasks;
+    private LocalDate nextAfterDate;
+    private Long nextAfterTaskId;
+    private boolean hasMore;
+}
@@ -0,0 +1,55 @@
+package com.graduation.projectservice.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadHeatmapDTO {
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    // Max concurrent open tasks per member per day before a day counts as overloaded
+    private int capacity;
+
+    private List<MemberLoad> members;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class MemberLoad {
+        @JsonProperty("user_id")
+        private Long userId;
+
+        private String name;
+
+        // One entry per day from 'from' to 'to'
+        @JsonProperty("daily_load")
+        private int[] dailyLoad;
+
+        @JsonProperty("peak_load")
+        private int peakLoad;
+
+        @JsonProperty("overload_windows")
+        private List<OverloadWindow> overloadWindows;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class OverloadWindow {
+        private LocalDate start;
+        private LocalDate end;
+
+        @JsonProperty("peak_load")
+        private int peakLoad;
+    }
+}
@@ -0,0 +1,152 @@
+package com.graduation.projectservice.repository;
+
+import com.graduation.projectservice.model.PM_OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<PM_OutboxEvent, Long> {
+
+    /**
+     * Keys whose oldest unpublished event is due and that no relay instance currently holds,
+     * oldest first. A key whose oldest unpublished event is dead is blocked until that event is
+     * replayed or discarded.
+     */
+    @Query(value = """
+        SELECT h.aggregate_key FROM (
+            SELECT DISTINCT ON (e.aggregate_key) e.aggregate_key, e.id, e.next_attempt_at, e.dead_at
+            FROM pm_outbox_event e
+            WHERE e.published_at IS NULL AND e.discarded_at IS NULL
+            ORDER BY e.aggregate_key, e.id
+        ) h
+        WHERE h.dead_at IS NULL
+          AND (h.next_attempt_at IS NULL OR h.next_attempt_at <= :now)
+          AND NOT EXISTS (
+            SELECT 1 FROM pm_outbox_event l
+            WHERE l.aggregate_key = h.aggregate_key
+              AND l.published_at IS NULL AND l.dead_at IS NULL AND l.discarded_at IS NULL
+              AND l.leased_until > :now)
+        ORDER BY h.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<String> findClaimableKeys(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Serializes claims of one key across relay instances until the claiming transaction ends.
+     * The lock is only held while leases are written, never while sending.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('pm_outbox'), hashtext(:key))", nativeQuery = true)
+    boolean tryLockKey(@Param("key") String key);
+
+    /**
+     * Keys among the given ones that another instance leased after they were listed as claimable.
+     */
+    @Query("SELECT DISTINCT e.aggregateKey FROM PM_OutboxEvent e " +
+            "WHERE e.aggregateKey IN :keys AND e.publishedAt IS NULL AND e.deadAt IS NULL " +
+            "AND e.discardedAt IS NULL AND e.leasedUntil > :now")
+    List<String> findLeasedKeys(@Param("keys") Collection<String> keys, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e FROM PM_OutboxEvent e " +
+            "WHERE e.aggregateKey IN :keys AND e.publishedAt IS NULL AND e.deadAt IS NULL " +
+            "AND e.discardedAt IS NULL ORDER BY e.id")
+    List<PM_OutboxEvent> findPendingByKeys(@Param("keys") Collection<String> keys,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE PM_OutboxEvent e SET e.leaseOwner = :owner, e.leasedUntil = :leasedUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids,
+              @Param("owner") String owner,
+              @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    /**
+     * Marks rows published, unless this instance's lease expired and another instance took them over.
+     */
+    @Modifying
+    @Query("UPDATE PM_OutboxEvent e SET e.publishedAt = :publishedAt, e.leaseOwner = NULL, e.leasedUntil = NULL " +
+            "WHERE e.id IN :ids AND e.leaseOwner = :owner")
+    int markPublished(@Param("ids") Collection<Long> ids,
+                      @Param("owner") String owner,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Records a failed send. The row is dead-lettered once it reaches maxAttempts.
+     */
+    @Modifying
+    @Query("UPDATE PM_OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+            "e.nextAttemptAt = :nextAttemptAt, " +
+            "e.deadAt = CASE WHEN e.attempts + 1 >= :maxAttempts THEN :now ELSE NULL END, " +
+            "e.leaseOwner = NULL, e.leasedUntil = NULL " +
+            "WHERE e.id = :id AND e.leaseOwner = :owner")
+    int recordFailure(@Param("id") Long id,
+                      @Param("owner") String owner,
+                      @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("maxAttempts") int maxAttempts,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Dead-letters a row that can never be sent (e.g. its payload no longer deserializes).
+     */
+    @Modifying
+    @Query("UPDATE PM_OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, e.deadAt = :now, " +
+            "e.leaseOwner = NULL, e.leasedUntil = NULL " +
+            "WHERE e.id = :id AND e.leaseOwner = :owner")
+    int markDead(@Param("id") Long id,
+                 @Param("owner") String owner,
+                 @Param("error") String error,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Gives rows back without counting an attempt, e.g. when an earlier row of the same key failed.
+     */
+    @Modifying
+    @Query("UPDATE PM_OutboxEvent e SET e.leaseOwner = NULL, e.leasedUntil = NULL " +
+            "WHERE e.id IN :ids AND e.leaseOwner = :owner")
+    int releaseLease(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    /**
+     * Makes a dead row pending again with a fresh attempt budget, e.g. after the consumer or the
+     * payload was fixed.
+     */
+    @Modifying
+    @Query("UPDATE PM_OutboxEvent e SET e.deadAt = NULL, e.attempts = 0, e.nextAttemptAt = NULL " +
+            "WHERE e.id = :id AND e.deadAt IS NOT NULL AND e.discardedAt IS NULL")
+    int replayDead(@Param("id") Long id);
+
+    /**
+     * Gives up on a dead row so the later rows of its key are relayed.
+     */
+    @Modifying
+    @Query("UPDATE PM_OutboxEvent e SET e.discardedAt = :now " +
+            "WHERE e.id = :id AND e.deadAt IS NOT NULL AND e.discardedAt IS NULL")
+    int discardDead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Dead rows still blocking their key, oldest first.
+     */
+    @Query("SELECT e FROM PM_OutboxEvent e WHERE e.deadAt IS NOT NULL AND e.discardedAt IS NULL ORDER BY e.id")
+    List<PM_OutboxEvent> findBlockingDead();
+
+    @Query("SELECT MIN(e.createdAt) FROM PM_OutboxEvent e WHERE e.publishedAt IS NULL AND e.discardedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Query("SELECT COUNT(e) FROM PM_OutboxEvent e " +
+            "WHERE e.publishedAt IS NULL AND e.deadAt IS NULL AND e.discardedAt IS NULL")
+    long countPending();
+
+    @Query("SELECT COUNT(e) FROM PM_OutboxEvent e WHERE e.deadAt IS NOT NULL AND e.discardedAt IS NULL")
+    long countBlockingDead();
+
+    @Modifying
+    @Query("DELETE FROM PM_OutboxEvent e WHERE (e.publishedAt IS NOT NULL AND e.publishedAt < :cutoff) " +
+            "OR (e.discardedAt IS NOT NULL AND e.discardedAt < :cutoff)")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -28,5 +28,9 @@ public interface ProjectMemberRepository extends JpaRepository<PM_ProjectMember,
     @Query("SELECT pm.userId FROM PM_ProjectMember pm WHERE pm.projectId = :projectId AND pm.userId IN :userIds")
     List<Long> findValidMemberIds(@Param("projectId") Long projectId, @Param("userIds") List<Long> userIds);
 
+    @Query("SELECT pm.userId FROM PM_ProjectMember pm WHERE pm.projectId = :projectId AND pm.userId IN :userIds " +
+            "AND pm.role != 'INVITED'")
+    List<Long> findActiveMemberIds(@Param("projectId") Long projectId, @Param("userIds") List<Long> userIds);
+
     List<PM_ProjectMember> findAllByUserId(Long userId);
 }
\ No newline at end of file
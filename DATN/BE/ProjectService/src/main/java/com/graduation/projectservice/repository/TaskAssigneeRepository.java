@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,6 +20,18 @@ public interface TaskAssigneeRepository extends JpaRepository<PM_TaskAssignee, P
     @Query("DELETE FROM PM_TaskAssignee ta WHERE ta.taskId = :taskId")
     void deleteByTaskId(@Param("taskId") Long taskId);
 
+    @Modifying
+    @Query("DELETE FROM PM_TaskAssignee ta WHERE ta.taskId IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Remove every assignee of the given tasks that is not in the kept set (one statement for a bulk edit)
+     */
+    @Modifying
+    @Query("DELETE FROM PM_TaskAssignee ta WHERE ta.taskId IN :taskIds AND ta.userId NOT IN :keepUserIds")
+    int deleteByTaskIdInAndUserIdNotIn(@Param("taskIds") Collection<Long> taskIds,
+                                       @Param("keepUserIds") Collection<Long> keepUserIds);
+
     @Query("SELECT ta.userId, COUNT(ta.taskId) " +
             "FROM PM_TaskAssignee ta " +
             "JOIN PM_Task t ON ta.taskId = t.taskId " +
@@ -27,4 +40,17 @@ public interface TaskAssigneeRepository extends JpaRepository<PM_TaskAssignee, P
             "WHERE d.projectId = :projectId " +
             "GROUP BY ta.userId")
     List<Object[]> countTasksByUserInProject(@Param("projectId") Long projectId);
+
+    /**
+     * [taskId, userId, startDate, endDate] for every assignment of a dated, not-done task in the project
+     */
+    @Query("SELECT t.taskId, ta.userId, t.startDate, t.endDate " +
+            "FROM PM_TaskAssignee ta " +
+            "JOIN PM_Task t ON ta.taskId = t.taskId " +
+            "JOIN PM_Phase p ON t.phaseId = p.phaseId " +
+            "JOIN PM_Deliverable d ON p.deliverableId = d.deliverableId " +
+            "WHERE d.projectId = :projectId " +
+            "AND t.status != 'DONE' " +
+            "AND t.startDate IS NOT NULL AND t.endDate IS NOT NULL")
+    List<Object[]> findOpenAssignmentIntervals(@Param("projectId") Long projectId);
 }
\ No newline at end of file
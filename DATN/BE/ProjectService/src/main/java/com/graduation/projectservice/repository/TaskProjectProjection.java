@@ -1,11 +0,0 @@
-package com.graduation.projectservice.repository;
-
-import java.time.LocalDate;
-
-public interface TaskProjectProjection {
-    Long getTaskId();
-    String getTaskName();
-    LocalDate getEndDate();
-    Long getProjectId();
-    String getProjectName();
-}
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,23 +30,24 @@ public interface TaskRepository extends JpaRepository<PM_Task, Long> {
             "WHERE d.projectId = :projectId")
     List<PM_Task> findAllByProjectId(@Param("projectId") Long projectId);
 
-    @Query("SELECT " +
-            "t.taskId as taskId, " +
-            "t.name as taskName, " +
-            "t.endDate as endDate, " +
-            "p.projectId as projectId, " +
-            "p.name as projectName " +
-            "FROM PM_Task t " +
-            "JOIN t.assignees a " +
-            "JOIN PM_Phase ph ON t.phaseId = ph.phaseId " +
-            "JOIN PM_Deliverable d ON ph.deliverableId = d.deliverableId " +
-            "JOIN PM_Project p ON d.projectId = p.projectId " +
-            "WHERE a.userId = :userId " +
-            "AND t.status != 'DONE' " +
-            "ORDER BY p.projectId ASC, t.endDate ASC")
-    List<TaskProjectProjection> findActiveTasksForUser(@Param("userId") Long userId);
+    @Query("SELECT DISTINCT t FROM PM_Task t " +
+            "LEFT JOIN FETCH t.assignees " +
+            "JOIN PM_Phase p ON t.phaseId = p.phaseId " +
+            "JOIN PM_Deliverable d ON p.deliverableId = d.deliverableId " +
+            "WHERE d.projectId = :projectId AND t.taskId IN :taskIds")
+    List<PM_Task> findAllWithAssigneesByProjectIdAndTaskIdIn(@Param("projectId") Long projectId,
+                                                             @Param("taskIds") Collection<Long> taskIds);
 
     Optional<PM_Task> findPM_TaskByTaskId(Long taskId);
 
+    /**
+     * Project of each of the given tasks, as [taskId, projectId]
+     */
+    @Query("SELECT t.taskId, d.projectId FROM PM_Task t " +
+            "JOIN PM_Phase p ON t.phaseId = p.phaseId " +
+            "JOIN PM_Deliverable d ON p.deliverableId = d.deliverableId " +
+            "WHERE t.taskId IN :taskIds")
+    List<Object[]> findProjectIdsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
     List<PM_Task> findAllByPhaseId(Long phaseId);
 }
\ No newline at end of file
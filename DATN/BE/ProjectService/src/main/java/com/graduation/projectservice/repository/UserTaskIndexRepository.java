@@ -0,0 +1,91 @@
+package com.graduation.projectservice.repository;
+
+import com.graduation.projectservice.model.PM_UserTaskIndex;
+import com.graduation.projectservice.model.UserTaskIndexKey;
+import com.graduation.projectservice.model.enums.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserTaskIndexRepository extends JpaRepository<PM_UserTaskIndex, UserTaskIndexKey> {
+
+    List<PM_UserTaskIndex> findAllByTaskIdIn(Collection<Long> taskIds);
+
+    List<PM_UserTaskIndex> findAllByUserIdAndStatusNotOrderByProjectIdAscSortDateAscTaskIdAsc(Long userId,
+                                                                                              TaskStatus status);
+
+    @Query("SELECT i FROM PM_UserTaskIndex i " +
+            "WHERE i.userId = :userId AND i.status IN :statuses " +
+            "ORDER BY i.sortDate ASC, i.taskId ASC")
+    List<PM_UserTaskIndex> findFirstPageForUser(@Param("userId") Long userId,
+                                                @Param("statuses") Collection<TaskStatus> statuses,
+                                                Pageable pageable);
+
+    @Query("SELECT i FROM PM_UserTaskIndex i " +
+            "WHERE i.userId = :userId AND i.status IN :statuses " +
+            "AND (i.sortDate > :afterDate OR (i.sortDate = :afterDate AND i.taskId > :afterTaskId)) " +
+            "ORDER BY i.sortDate ASC, i.taskId ASC")
+    List<PM_UserTaskIndex> findPageForUserAfter(@Param("userId") Long userId,
+                                                @Param("statuses") Collection<TaskStatus> statuses,
+                                                @Param("afterDate") LocalDate afterDate,
+                                                @Param("afterTaskId") Long afterTaskId,
+                                                Pageable pageable);
+
+    // Tasks whose [start, end] overlaps the window; undated tasks are left out of calendar views
+    @Query("SELECT i FROM PM_UserTaskIndex i " +
+            "WHERE i.userId = :userId AND i.status IN :statuses AND i.endDate >= :from " +
+            "AND COALESCE(i.startDate, i.endDate) <= :to " +
+            "ORDER BY i.endDate ASC, i.taskId ASC")
+    List<PM_UserTaskIndex> findOverlappingWindowForUser(@Param("userId") Long userId,
+                                                        @Param("statuses") Collection<TaskStatus> statuses,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM PM_UserTaskIndex i WHERE i.taskId = :taskId")
+    void deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM PM_UserTaskIndex i WHERE i.projectId = :projectId")
+    void deleteByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM PM_UserTaskIndex i")
+    int deleteAllRows();
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO pm_user_task_index
+                (user_id, task_id, project_id, name, task_key, status, start_date, end_date, sort_date)
+            SELECT a.user_id, t.task_id, d.project_id, t.name, t.key, t.status, t.start_date, t.end_date,
+                   COALESCE(t.end_date, DATE '9999-12-31')
+            FROM pm_task_assignee a
+            JOIN pm_task t ON t.task_id = a.task_id
+            JOIN pm_phase p ON p.phase_id = t.phase_id
+            JOIN pm_deliverable d ON d.deliverable_id = p.deliverable_id
+            WHERE d.project_id = :projectId
+            """, nativeQuery = true)
+    int insertFromAssignmentsForProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO pm_user_task_index
+                (user_id, task_id, project_id, name, task_key, status, start_date, end_date, sort_date)
+            SELECT a.user_id, t.task_id, d.project_id, t.name, t.key, t.status, t.start_date, t.end_date,
+                   COALESCE(t.end_date, DATE '9999-12-31')
+            FROM pm_task_assignee a
+            JOIN pm_task t ON t.task_id = a.task_id
+            JOIN pm_phase p ON p.phase_id = t.phase_id
+            JOIN pm_deliverable d ON d.deliverable_id = p.deliverable_id
+            ON CONFLICT (user_id, task_id) DO NOTHING
+            """, nativeQuery = true)
+    int backfillFromAssignments();
+}
@@ -0,0 +1,63 @@
+package com.graduation.projectservice.scheduler;
+
+import com.graduation.projectservice.service.OutboxRelayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Drives the outbox relay: drains pending events on a short fixed delay
+ * and purges rows that were published long ago.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+
+    private final OutboxRelayService outboxRelayService;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.outbox.retention-days:3}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relayPendingEvents() {
+        try {
+            int batches = 0;
+            // Keep draining while batches come back full, bounded so one run cannot starve the scheduler
+            while (batches < maxBatchesPerRun && outboxRelayService.relayBatch() >= batchSize) {
+                batches++;
+            }
+        } catch (Exception e) {
+            log.error("Outbox relay run failed", e);
+        }
+    }
+
+    @Scheduled(fixedRate = 15000)
+    public void refreshLagMetrics() {
+        try {
+            outboxRelayService.refreshLagMetrics();
+        } catch (Exception e) {
+            log.error("Failed to refresh outbox lag metrics", e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgePublishedEvents() {
+        try {
+            int deleted = outboxRelayService.purgePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+            log.info("Purged {} published outbox events older than {} days", deleted, retentionDays);
+        } catch (Exception e) {
+            log.error("Failed to purge published outbox events", e);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.graduation.projectservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graduation.projectservice.model.PM_OutboxEvent;
+import com.graduation.projectservice.payload.response.OutboxDeadEventDTO;
+import com.graduation.projectservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes pending outbox rows to Kafka in batches.
+ * Delivery is at-least-once; consumers already de-duplicate on message id.
+ * <p>
+ * Rows are claimed per key: a short transaction takes an advisory lock on each key and leases
+ * its pending rows, so no two instances send events of the same project at the same time.
+ * Sending and waiting for acks happen outside any transaction; the lease expires if the
+ * instance dies, and the rows are then claimed again.
+ * <p>
+ * A failed row is retried with exponential backoff and blocks the later rows of its key until
+ * it succeeds or reaches the attempt cap, at which point it is dead-lettered. A dead row keeps
+ * blocking its key, since publishing past it would break per-project order; an operator replays
+ * or discards it through {@link #replayDead} and {@link #discardDead}.
+ */
+@Slf4j
+@Service
+public class OutboxRelayService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    // Identifies this instance's leases
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${app.outbox.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-base-ms:1000}")
+    private long retryBaseMs;
+
+    @Value("${app.outbox.retry-max-ms:300000}")
+    private long retryMaxMs;
+
+    private final AtomicLong lagMillis = new AtomicLong(0);
+    private final AtomicLong pendingCount = new AtomicLong(0);
+    private final AtomicLong deadCount = new AtomicLong(0);
+
+    private Counter publishedCounter;
+    private Counter failedCounter;
+    private Counter deadLetteredCounter;
+    private DistributionSummary batchSizeSummary;
+    private Timer batchTimer;
+
+    public OutboxRelayService(OutboxEventRepository outboxEventRepository,
+                              KafkaTemplate<String, Object> kafkaTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void initializeMetrics() {
+        publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events published to Kafka")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox events that failed to publish and will be retried")
+                .register(meterRegistry);
+        deadLetteredCounter = Counter.builder("outbox.relay.dead")
+                .description("Outbox events dead-lettered after permanent or repeated failures")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Number of events relayed per batch")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("outbox.relay.batch.duration")
+                .description("Time to publish and acknowledge one outbox batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.relay.lag.ms", lagMillis);
+        meterRegistry.gauge("outbox.relay.pending", pendingCount);
+        // Dead rows not yet replayed or discarded; each one blocks its key
+        meterRegistry.gauge("outbox.relay.dead.total", deadCount);
+    }
+
+    /**
+     * Claim, publish and settle one batch of pending events.
+     *
+     * @return number of rows claimed, so the caller can keep draining while batches are full
+     */
+    public int relayBatch() {
+        List<PM_OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        // Send everything first so the producer can group records by partition (linger/batch.size)
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(batch.size());
+        for (PM_OutboxEvent event : batch) {
+            futures.add(send(event));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> publishedIds = new ArrayList<>(batch.size());
+        List<Long> blockedIds = new ArrayList<>();
+        Map<Long, SendFailure> failures = new LinkedHashMap<>();
+        Set<String> blockedKeys = new HashSet<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            PM_OutboxEvent event = batch.get(i);
+            SendFailure failure = awaitSend(futures.get(i));
+
+            // Once a key fails, later rows for that key stay pending so they are re-sent after it
+            if (blockedKeys.contains(event.getAggregateKey())) {
+                blockedIds.add(event.getId());
+            } else if (failure == null) {
+                publishedIds.add(event.getId());
+            } else {
+                blockedKeys.add(event.getAggregateKey());
+                failures.put(event.getId(), failure);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> settle(batch, publishedIds, blockedIds, failures));
+
+        batchSizeSummary.record(batch.size());
+        sample.stop(batchTimer);
+
+        log.debug("Outbox relay published {}/{} events", publishedIds.size(), batch.size());
+        return batch.size();
+    }
+
+    private List<PM_OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> keys = new ArrayList<>();
+        for (String key : outboxEventRepository.findClaimableKeys(now, batchSize)) {
+            // Another instance is claiming this key right now; it is picked up on a later run
+            if (outboxEventRepository.tryLockKey(key)) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        // The key list was read before the locks; drop keys leased in between
+        keys.removeAll(outboxEventRepository.findLeasedKeys(keys, now));
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        List<PM_OutboxEvent> batch = outboxEventRepository.findPendingByKeys(keys, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            List<Long> ids = batch.stream().map(PM_OutboxEvent::getId).toList();
+            outboxEventRepository.lease(ids, instanceId, now.plus(Duration.ofMillis(leaseMs)));
+        }
+        return batch;
+    }
+
+    private void settle(List<PM_OutboxEvent> batch, List<Long> publishedIds, List<Long> blockedIds,
+                        Map<Long, SendFailure> failures) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (!publishedIds.isEmpty()) {
+            int marked = outboxEventRepository.markPublished(publishedIds, instanceId, now);
+            publishedCounter.increment(marked);
+            if (marked < publishedIds.size()) {
+                log.warn("Outbox lease expired for {} sent events; they will be sent again",
+                        publishedIds.size() - marked);
+            }
+        }
+        if (!blockedIds.isEmpty()) {
+            outboxEventRepository.releaseLease(blockedIds, instanceId);
+        }
+
+        for (PM_OutboxEvent event : batch) {
+            SendFailure failure = failures.get(event.getId());
+            if (failure == null) {
+                continue;
+            }
+            String error = truncate(failure.message());
+            int attempt = event.getAttempts() + 1;
+
+            if (failure.permanent() || attempt >= maxAttempts) {
+                outboxEventRepository.markDead(event.getId(), instanceId, error, now);
+                deadLetteredCounter.increment();
+                log.error("Outbox event {} (key {}) dead-lettered after {} attempts, key blocked until it is "
+                        + "replayed or discarded: {}", event.getId(), event.getAggregateKey(), attempt, error);
+            } else {
+                outboxEventRepository.recordFailure(event.getId(), instanceId, error,
+                        now.plus(backoff(attempt)), maxAttempts, now);
+                failedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff from retry-base-ms, capped at retry-max-ms.
+     */
+    Duration backoff(int attempt) {
+        long delay = retryBaseMs << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(delay, retryMaxMs));
+    }
+
+    /**
+     * Refresh the lag and backlog gauges.
+     */
+    @Transactional(readOnly = true)
+    public void refreshLagMetrics() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+        pendingCount.set(outboxEventRepository.countPending());
+        deadCount.set(outboxEventRepository.countBlockingDead());
+    }
+
+    /**
+     * Dead rows that currently block their key.
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxDeadEventDTO> getBlockingDeadEvents() {
+        return outboxEventRepository.findBlockingDead().stream()
+                .map(event -> new OutboxDeadEventDTO(event.getId(), event.getTopic(), event.getAggregateKey(),
+                        event.getEventType(), event.getAttempts(), event.getLastError(), event.getCreatedAt(),
+                        event.getDeadAt()))
+                .toList();
+    }
+
+    /**
+     * Make a dead row pending again; it is sent before the later rows of its key.
+     *
+     * @return false if the row does not exist or is not dead
+     */
+    @Transactional
+    public boolean replayDead(Long id) {
+        boolean replayed = outboxEventRepository.replayDead(id) > 0;
+        if (replayed) {
+            log.info("Outbox event {} replayed", id);
+        }
+        return replayed;
+    }
+
+    /**
+     * Drop a dead row for good, releasing the later rows of its key.
+     *
+     * @return false if the row does not exist or is not dead
+     */
+    @Transactional
+    public boolean discardDead(Long id) {
+        boolean discarded = outboxEventRepository.discardDead(id, LocalDateTime.now()) > 0;
+        if (discarded) {
+            log.warn("Outbox event {} discarded; later events of its key will be published", id);
+        }
+        return discarded;
+    }
+
+    @Transactional
+    public int purgePublishedBefore(LocalDateTime cutoff) {
+        return outboxEventRepository.deletePublishedBefore(cutoff);
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(PM_OutboxEvent event) {
+        Object payload;
+        try {
+            payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+        } catch (Exception e) {
+            // Retrying cannot fix a payload that does not deserialize
+            return CompletableFuture.failedFuture(new UnreadablePayloadException(e));
+        }
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getAggregateKey(), payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private SendFailure awaitSend(CompletableFuture<SendResult<String, Object>> future) {
+        try {
+            future.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SendFailure("Interrupted while waiting for Kafka ack", false);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("Outbox send failed: {}", cause.getMessage());
+            if (cause instanceof UnreadablePayloadException unreadable) {
+                return new SendFailure(String.valueOf(unreadable.getCause().getMessage()), true);
+            }
+            return new SendFailure(String.valueOf(cause.getMessage()), false);
+        }
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record SendFailure(String message, boolean permanent) {
+    }
+
+    private static class UnreadablePayloadException extends RuntimeException {
+        UnreadablePayloadException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.graduation.projectservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graduation.projectservice.model.PM_OutboxEvent;
+import com.graduation.projectservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records domain events in the transactional outbox instead of sending them to Kafka directly.
+ * Must be called from inside the business transaction so the event commits (or rolls back) with it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Queue an event for publishing. Events sharing the same projectId keep their relative order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, Long projectId, Object event) {
+        PM_OutboxEvent outboxEvent = new PM_OutboxEvent();
+        outboxEvent.setTopic(topic);
+        outboxEvent.setAggregateKey(String.valueOf(projectId));
+        outboxEvent.setEventType(event.getClass().getName());
+        outboxEvent.setPayload(serialize(event));
+
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Queued {} for topic {} (project {})", outboxEvent.getEventType(), topic, projectId);
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox event " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -2,12 +2,19 @@ package com.graduation.projectservice.service;
 
 import com.graduation.projectservice.payload.response.BaseResponse;
 
+import java.time.LocalDate;
+
 public interface ProjectSummaryService {
 
     BaseResponse<?> getDeliverableProgress(Long userId, Long projectId);
 
     BaseResponse<?> getTeammateWorkload(Long userId, Long projectId);
 
+    /**
+     * Per-member, per-day load over [from, to] with the windows where load exceeds capacity
+     */
+    BaseResponse<?> getWorkloadHeatmap(Long userId, Long projectId, LocalDate from, LocalDate to, int capacity);
+
     BaseResponse<?> getTaskStats(Long userId, Long projectId);
 
     BaseResponse<?> getProjectTimeline(Long userId, Long projectId);
@@ -0,0 +1,82 @@
+package com.graduation.projectservice.service;
+
+import com.graduation.projectservice.config.KafkaConfig;
+import com.graduation.projectservice.event.TaskLifecycleEvent;
+import com.graduation.projectservice.model.PM_Task;
+import com.graduation.projectservice.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publishes task lifecycle events (through the outbox) from the task write paths.
+ * Must be called inside the business transaction, after the change has been applied.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskLifecycleEventService {
+
+    private final OutboxService outboxService;
+    private final TaskRepository taskRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksChanged(Long projectId, Collection<PM_Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        // Run the pending updates so the snapshots carry their new updatedAt
+        taskRepository.flush();
+        enqueue(projectId, TaskLifecycleEvent.TYPE_UPSERT, snapshots(tasks), List.of());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksDeleted(Long projectId, Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        enqueue(projectId, TaskLifecycleEvent.TYPE_DELETE, List.of(), new ArrayList<>(taskIds));
+    }
+
+    /**
+     * Announce every remaining task of a project, for changes that move or remove many tasks at
+     * once (timeline shifts, phase and deliverable deletes).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void projectChanged(Long projectId) {
+        List<PM_Task> tasks = taskRepository.findAllTasksByProjectId(projectId);
+        enqueue(projectId, TaskLifecycleEvent.TYPE_SNAPSHOT, snapshots(tasks), List.of());
+    }
+
+    private void enqueue(Long projectId, String type, List<TaskLifecycleEvent.TaskSnapshot> tasks,
+                         List<Long> deletedTaskIds) {
+        outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_TASK_LIFECYCLE, projectId,
+                new TaskLifecycleEvent(projectId, type, tasks, deletedTaskIds, Instant.now()));
+        log.debug("Queued {} task lifecycle event for project {} ({} tasks, {} deleted)",
+                type, projectId, tasks.size(), deletedTaskIds.size());
+    }
+
+    private List<TaskLifecycleEvent.TaskSnapshot> snapshots(Collection<PM_Task> tasks) {
+        List<TaskLifecycleEvent.TaskSnapshot> snapshots = new ArrayList<>(tasks.size());
+        for (PM_Task task : tasks) {
+            snapshots.add(new TaskLifecycleEvent.TaskSnapshot(
+                    task.getTaskId(),
+                    task.getPhaseId(),
+                    task.getName(),
+                    task.getKey(),
+                    task.getStatus() != null ? task.getStatus().name() : null,
+                    task.getPriority() != null ? task.getPriority().name() : null,
+                    task.getStartDate(),
+                    task.getEndDate(),
+                    task.getUpdatedAt()));
+        }
+        return snapshots;
+    }
+}
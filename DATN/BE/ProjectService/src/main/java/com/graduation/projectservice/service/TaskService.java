@@ -1,5 +1,6 @@
 package com.graduation.projectservice.service;
 
+import com.graduation.projectservice.payload.request.BulkUpdateTasksRequest;
 import com.graduation.projectservice.payload.request.CreateTaskRequest;
 import com.graduation.projectservice.payload.request.GetTaskRequest;
 import com.graduation.projectservice.payload.request.UpdateTaskRequest;
@@ -7,6 +8,10 @@ import com.graduation.projectservice.payload.request.UpdateTaskStatusRequest;
 import com.graduation.projectservice.payload.response.BaseResponse;
 
 import com.graduation.projectservice.payload.response.TaskDTO;
+import com.graduation.projectservice.payload.response.UserTaskIndexDTO;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface TaskService {
     BaseResponse<?> getTasks(Long userId, Long projectId, GetTaskRequest request);
@@ -29,6 +34,11 @@ public interface TaskService {
 
     BaseResponse<?> updateTaskStatus(Long userId, Long projectId, Long taskId, UpdateTaskStatusRequest request);
 
+    /**
+     * Apply the same status/priority/dates/assignees change to many tasks in one transaction
+     */
+    BaseResponse<?> bulkUpdateTasks(Long userId, Long projectId, BulkUpdateTasksRequest request);
+
     /**
      * Get all tasks for a specific phase
      */
@@ -36,6 +46,27 @@ public interface TaskService {
 
     BaseResponse<?> getUserProjectTasks(Long userId);
 
+    /**
+     * Keyset page of the user's tasks across projects, ordered by due date then task id
+     */
+    BaseResponse<?> getUserTaskPage(Long userId, LocalDate afterDate, Long afterTaskId, int size, boolean includeDone);
+
+    /**
+     * The user's tasks across projects whose date range overlaps [from, to]; done tasks only if asked for
+     */
+    BaseResponse<?> getUserTasksInWindow(Long userId, LocalDate from, LocalDate to, boolean includeDone);
+
+    /**
+     * Window query for internal service-to-service calls (calendar views).
+     */
+    List<UserTaskIndexDTO> getUserTasksInWindowForInternal(Long userId, LocalDate from, LocalDate to,
+                                                           boolean includeDone);
+
+    /**
+     * Batch variant of {@link #getTaskByIdForInternal}; unknown ids are skipped.
+     */
+    List<TaskDTO> getTasksByIdsForInternal(List<Long> taskIds);
+
     /**
      * Attach a file node to a task
      */
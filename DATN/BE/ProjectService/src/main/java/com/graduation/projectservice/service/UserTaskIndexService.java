@@ -0,0 +1,178 @@
+package com.graduation.projectservice.service;
+
+import com.graduation.projectservice.model.PM_Task;
+import com.graduation.projectservice.model.PM_UserTaskIndex;
+import com.graduation.projectservice.repository.UserTaskIndexRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains pm_user_task_index from the task and assignment write paths.
+ * Must be called inside the business transaction so the index commits (or rolls back) with the change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserTaskIndexService {
+
+    static final String USER_TASK_INDEX_BACKFILL = "user_task_index";
+
+    private final UserTaskIndexRepository userTaskIndexRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Bring the index rows of one task in line with its current fields and assignees.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void syncTask(PM_Task task, Long projectId, Collection<Long> assigneeIds) {
+        syncTasks(projectId, List.of(task), Map.of(task.getTaskId(), assigneeIds));
+    }
+
+    /**
+     * Same as {@link #syncTask} for many tasks of one project, with a single read of the existing rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void syncTasks(Long projectId, List<PM_Task> tasks, Map<Long, ? extends Collection<Long>> assigneesByTaskId) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        Set<Long> taskIds = tasks.stream()
+                .map(PM_Task::getTaskId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Map<Long, PM_UserTaskIndex>> existingByTask = new HashMap<>();
+        for (PM_UserTaskIndex row : userTaskIndexRepository.findAllByTaskIdIn(taskIds)) {
+            existingByTask.computeIfAbsent(row.getTaskId(), k -> new HashMap<>()).put(row.getUserId(), row);
+        }
+
+        List<PM_UserTaskIndex> stale = new ArrayList<>();
+        for (PM_Task task : tasks) {
+            Collection<Long> assigneeIds = assigneesByTaskId.get(task.getTaskId());
+            Map<Long, PM_UserTaskIndex> existing = existingByTask.getOrDefault(task.getTaskId(), Map.of());
+            Set<Long> assignees = assigneeIds == null ? Set.of() : new HashSet<>(assigneeIds);
+
+            existing.forEach((userId, row) -> {
+                if (!assignees.contains(userId)) {
+                    stale.add(row);
+                }
+            });
+
+            for (Long userId : assignees) {
+                PM_UserTaskIndex row = existing.get(userId);
+                if (row == null) {
+                    row = new PM_UserTaskIndex();
+                    row.setUserId(userId);
+                    row.setTaskId(task.getTaskId());
+                    copyFields(row, task, projectId);
+                    // Assigned ids: persist directly instead of save() to skip the merge SELECT
+                    entityManager.persist(row);
+                } else {
+                    copyFields(row, task, projectId);
+                }
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            userTaskIndexRepository.deleteAll(stale);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeTask(Long taskId) {
+        userTaskIndexRepository.deleteByTaskId(taskId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeProject(Long projectId) {
+        userTaskIndexRepository.deleteByProjectId(projectId);
+    }
+
+    /**
+     * Rebuild every row of a project from the assignment tables, for changes that touch many tasks
+     * at once (timeline shifts, phase and deliverable deletes).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reindexProject(Long projectId) {
+        userTaskIndexRepository.deleteByProjectId(projectId);
+        int rows = userTaskIndexRepository.insertFromAssignmentsForProject(projectId);
+        log.debug("Reindexed {} user task rows for project {}", rows, projectId);
+    }
+
+    /**
+     * Drop every row and build the index again from the assignment tables, e.g. after it was
+     * changed by hand or a write path missed it.
+     *
+     * @return Number of rows written
+     */
+    @Transactional
+    public int rebuild() {
+        int deleted = userTaskIndexRepository.deleteAllRows();
+        int rows = userTaskIndexRepository.backfillFromAssignments();
+        log.info("Rebuilt user task index: deleted={}, rows={}", deleted, rows);
+        return rows;
+    }
+
+    /**
+     * Populate the index from the existing assignments. Runs in a transaction of its own and is
+     * recorded in pm_backfills with it, so it is done once per database and an interrupted run
+     * is repeated in full. Rows the write paths added in the meantime are kept.
+     *
+     * @return false if the backfill had already run
+     */
+    public boolean backfill() {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> backfillRows()));
+    }
+
+    private boolean backfillRows() {
+        entityManager.createNativeQuery("""
+                CREATE TABLE IF NOT EXISTS pm_backfills (
+                    name varchar(100) PRIMARY KEY,
+                    applied_at timestamp NOT NULL DEFAULT now()
+                )
+                """).executeUpdate();
+        // Another instance running the backfill holds this row until it commits
+        int claimed = entityManager.createNativeQuery(
+                        "INSERT INTO pm_backfills (name) VALUES (:name) ON CONFLICT DO NOTHING")
+                .setParameter("name", USER_TASK_INDEX_BACKFILL)
+                .executeUpdate();
+        if (claimed == 0) {
+            return false;
+        }
+
+        int rows = userTaskIndexRepository.backfillFromAssignments();
+        log.info("Backfilled {} user task index rows", rows);
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.error("User task index backfill failed", e);
+        }
+    }
+
+    private void copyFields(PM_UserTaskIndex row, PM_Task task, Long projectId) {
+        row.setProjectId(projectId);
+        row.setName(task.getName());
+        row.setTaskKey(task.getKey());
+        row.setStatus(task.getStatus());
+        row.setStartDate(task.getStartDate());
+        row.setEndDate(task.getEndDate());
+        row.setSortDate(task.getEndDate() != null ? task.getEndDate() : PM_UserTaskIndex.NO_DUE_DATE);
+    }
+}
@@ -0,0 +1,241 @@
+package com.graduation.projectservice.service;
+
+import com.graduation.projectservice.model.enums.TaskStatus;
+import com.graduation.projectservice.repository.TaskAssigneeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Builds per-member, per-day load matrices from task date ranges and assignees.
+ * <p>
+ * Each project's open assignments are cached as primitive intervals and patched in place when
+ * a task changes, so a heatmap request is a sweep over the cached intervals: one +1/-1 per
+ * assignment into a difference array, then a prefix sum per member - O(assignments + members * days).
+ * <p>
+ * Every committed change stamps the project's slot with a new version. A load only caches its
+ * result if the version is unchanged since the load started, so a load that raced with a
+ * change can never overwrite the patched intervals with its older snapshot.
+ */
+@Slf4j
+@Service
+public class WorkloadCapacityEngine {
+
+    private final TaskAssigneeRepository taskAssigneeRepository;
+
+    // Upper bound on staleness when another instance changed the project
+    private final long cacheTtlMs;
+
+    // Versions are unique across projects, so a slot that was evicted and recreated never matches
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<Long, Slot> cache;
+
+    public WorkloadCapacityEngine(TaskAssigneeRepository taskAssigneeRepository,
+                                  @Value("${app.workload.cache-ttl-ms:300000}") long cacheTtlMs,
+                                  @Value("${app.workload.cache-max-projects:500}") int maxProjects) {
+        this.taskAssigneeRepository = taskAssigneeRepository;
+        this.cacheTtlMs = cacheTtlMs;
+        // Access-ordered, so the least recently used project is evicted first
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+                return size() > maxProjects;
+            }
+        });
+    }
+
+    /**
+     * Compute the load matrix for the given members over [from, to] (inclusive).
+     */
+    public LoadMatrix computeLoad(Long projectId, List<Long> memberIds, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - fromDay) + 1;
+        int stride = days + 1;
+
+        Map<Long, Integer> memberIndex = new HashMap<>(memberIds.size() * 2);
+        for (int i = 0; i < memberIds.size(); i++) {
+            memberIndex.put(memberIds.get(i), i);
+        }
+
+        // Flat difference array: row per member, one spare slot for the end+1 decrement
+        int[] diff = new int[memberIds.size() * stride];
+        for (TaskInterval interval : intervalsFor(projectId).byTask.values()) {
+            int start = Math.max(interval.startDay, fromDay) - fromDay;
+            int end = Math.min(interval.endDay, fromDay + days - 1) - fromDay;
+            if (start > end) {
+                continue;
+            }
+            for (long userId : interval.userIds) {
+                Integer row = memberIndex.get(userId);
+                if (row == null) {
+                    continue;
+                }
+                diff[row * stride + start]++;
+                diff[row * stride + end + 1]--;
+            }
+        }
+
+        int[][] load = new int[memberIds.size()][days];
+        for (int m = 0; m < memberIds.size(); m++) {
+            int running = 0;
+            int base = m * stride;
+            for (int d = 0; d < days; d++) {
+                running += diff[base + d];
+                load[m][d] = running;
+            }
+        }
+
+        return new LoadMatrix(memberIds, from, load);
+    }
+
+    /**
+     * Apply a single task change to the cached intervals once the surrounding transaction commits.
+     */
+    public void onTaskChanged(Long projectId, Long taskId, LocalDate startDate, LocalDate endDate,
+                              TaskStatus status, Collection<Long> assigneeIds) {
+        boolean counts = status != TaskStatus.DONE && startDate != null && endDate != null
+                && assigneeIds != null && !assigneeIds.isEmpty();
+        TaskInterval interval = counts
+                ? new TaskInterval((int) startDate.toEpochDay(), (int) endDate.toEpochDay(),
+                        assigneeIds.stream().mapToLong(Long::longValue).toArray())
+                : null;
+
+        afterCommit(() -> change(projectId, intervals -> {
+            if (interval == null) {
+                intervals.byTask.remove(taskId);
+            } else {
+                intervals.byTask.put(taskId, interval);
+            }
+        }));
+    }
+
+    public void onTaskDeleted(Long projectId, Long taskId) {
+        afterCommit(() -> change(projectId, intervals -> intervals.byTask.remove(taskId)));
+    }
+
+    /**
+     * Drop the cached intervals for changes that touch many tasks at once (timeline shifts, deletes).
+     */
+    public void invalidateProject(Long projectId) {
+        afterCommit(() -> change(projectId, null));
+    }
+
+    /**
+     * Stamp the project with a new version and patch its cached intervals, or drop them when
+     * patch is null. The slot is kept even without intervals so an in-flight load sees the change.
+     */
+    private void change(Long projectId, Consumer<ProjectIntervals> patch) {
+        cache.compute(projectId, (id, slot) -> {
+            ProjectIntervals intervals = slot != null && patch != null ? slot.intervals() : null;
+            if (intervals != null) {
+                patch.accept(intervals);
+            }
+            return new Slot(versions.incrementAndGet(), intervals);
+        });
+    }
+
+    private ProjectIntervals intervalsFor(Long projectId) {
+        Slot slot = cache.computeIfAbsent(projectId, id -> new Slot(versions.incrementAndGet(), null));
+        ProjectIntervals cached = slot.intervals();
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < cacheTtlMs) {
+            return cached;
+        }
+
+        long startVersion = slot.version();
+        ProjectIntervals loaded = load(projectId);
+        cache.computeIfPresent(projectId, (id, current) ->
+                current.version() == startVersion ? new Slot(startVersion, loaded) : current);
+        return loaded;
+    }
+
+    private ProjectIntervals load(Long projectId) {
+        List<Object[]> rows = taskAssigneeRepository.findOpenAssignmentIntervals(projectId);
+
+        // Group assignees per task: [taskId, userId, startDate, endDate]
+        Map<Long, List<Long>> usersByTask = new HashMap<>();
+        Map<Long, int[]> rangeByTask = new HashMap<>();
+        for (Object[] row : rows) {
+            Long taskId = (Long) row[0];
+            usersByTask.computeIfAbsent(taskId, k -> new ArrayList<>()).add((Long) row[1]);
+            rangeByTask.computeIfAbsent(taskId, k -> new int[]{
+                    (int) ((LocalDate) row[2]).toEpochDay(),
+                    (int) ((LocalDate) row[3]).toEpochDay()});
+        }
+
+        ProjectIntervals intervals = new ProjectIntervals(System.currentTimeMillis());
+        usersByTask.forEach((taskId, users) -> {
+            int[] range = rangeByTask.get(taskId);
+            intervals.byTask.put(taskId, new TaskInterval(range[0], range[1],
+                    users.stream().mapToLong(Long::longValue).toArray()));
+        });
+
+        log.debug("Loaded {} workload intervals for project {}", intervals.byTask.size(), projectId);
+        return intervals;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Result of a sweep: load[member][day] = number of open tasks the member holds that day.
+     */
+    public record LoadMatrix(List<Long> memberIds, LocalDate from, int[][] load) {
+
+        /**
+         * Maximal runs of days where the member's load is above capacity, as [startOffset, endOffset, peak].
+         */
+        public List<int[]> overloadRuns(int member, int capacity) {
+            List<int[]> runs = new ArrayList<>();
+            int[] row = load[member];
+            int start = -1;
+            int peak = 0;
+            for (int d = 0; d <= row.length; d++) {
+                boolean over = d < row.length && row[d] > capacity;
+                if (over) {
+                    if (start < 0) {
+                        start = d;
+                        peak = 0;
+                    }
+                    peak = Math.max(peak, row[d]);
+                } else if (start >= 0) {
+                    runs.add(new int[]{start, d - 1, peak});
+                    start = -1;
+                }
+            }
+            return runs;
+        }
+    }
+
+    private record TaskInterval(int startDay, int endDay, long[] userIds) {
+    }
+
+    private record Slot(long version, ProjectIntervals intervals) {
+    }
+
+    private static final class ProjectIntervals {
+        private final long loadedAt;
+        private final Map<Long, TaskInterval> byTask = new ConcurrentHashMap<>();
+
+        private ProjectIntervals(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
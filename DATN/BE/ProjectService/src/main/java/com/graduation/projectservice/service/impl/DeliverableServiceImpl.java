@@ -12,6 +12,9 @@ import com.graduation.projectservice.payload.response.*;
 import com.graduation.projectservice.repository.DeliverableRepository;
 import com.graduation.projectservice.repository.ProjectRepository;
 import com.graduation.projectservice.service.DeliverableService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
+import com.graduation.projectservice.service.UserTaskIndexService;
+import com.graduation.projectservice.service.WorkloadCapacityEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,6 +32,9 @@ public class DeliverableServiceImpl implements DeliverableService {
     private final ProjectRepository projectRepository;
     private final ProjectAuthorizationHelper authHelper;
     private final UserServiceClient userServiceClient;
+    private final WorkloadCapacityEngine workloadCapacityEngine;
+    private final UserTaskIndexService userTaskIndexService;
+    private final TaskLifecycleEventService taskLifecycleEventService;
 
     @Override
     @Transactional
@@ -139,6 +145,9 @@ public class DeliverableServiceImpl implements DeliverableService {
 
             // Delete will cascade to phases and tasks (when those entities are created)
             deliverableRepository.delete(deliverable);
+            workloadCapacityEngine.invalidateProject(projectId);
+            userTaskIndexService.reindexProject(projectId);
+            taskLifecycleEventService.projectChanged(projectId);
 
             log.info(Constant.LOG_DELIVERABLE_DELETED, deliverableId, projectId);
 
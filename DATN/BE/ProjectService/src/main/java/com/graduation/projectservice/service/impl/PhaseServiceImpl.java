@@ -12,6 +12,9 @@ import com.graduation.projectservice.repository.DeliverableRepository;
 import com.graduation.projectservice.repository.PhaseRepository;
 import com.graduation.projectservice.repository.ProjectRepository;
 import com.graduation.projectservice.service.PhaseService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
+import com.graduation.projectservice.service.UserTaskIndexService;
+import com.graduation.projectservice.service.WorkloadCapacityEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,6 +33,9 @@ public class PhaseServiceImpl implements PhaseService {
     private final DeliverableRepository deliverableRepository;
     private final ProjectRepository projectRepository;
     private final ProjectAuthorizationHelper authHelper;
+    private final WorkloadCapacityEngine workloadCapacityEngine;
+    private final UserTaskIndexService userTaskIndexService;
+    private final TaskLifecycleEventService taskLifecycleEventService;
 
     @Override
     @Transactional
@@ -163,6 +169,9 @@ public class PhaseServiceImpl implements PhaseService {
 
             // Delete will cascade to tasks
             phaseRepository.delete(phase);
+            workloadCapacityEngine.invalidateProject(projectId);
+            userTaskIndexService.reindexProject(projectId);
+            taskLifecycleEventService.projectChanged(projectId);
 
             log.info(Constant.LOG_PHASE_DELETED, phaseId, projectId);
 
@@ -19,8 +19,8 @@ import com.graduation.projectservice.config.KafkaConfig;
 import com.graduation.projectservice.event.ProjectInvitationEvent;
 import com.graduation.projectservice.model.InvitationToken;
 import com.graduation.projectservice.repository.InvitationTokenRepository;
+import com.graduation.projectservice.service.OutboxService;
 import com.graduation.projectservice.service.ProjectMemberService;
-import org.springframework.kafka.core.KafkaTemplate;
 
 import java.time.LocalDateTime;
 
@@ -44,7 +44,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
     private final UserServiceClient userServiceClient;
     private final ProjectAuthorizationHelper authHelper;
     private final InvitationTokenRepository invitationTokenRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -107,13 +107,8 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
                     .isExpired(false)
                     .build();
 
-            try {
-                kafkaTemplate.send(KafkaConfig.TOPIC_PROJECT_INVITATION, event);
-                log.info("Sent invitation Kafka event for user {} project {}", userToInvite.getUserId(), project.getName());
-            } catch (Exception e) {
-                log.error("Failed to send Kafka notification: {}", e.getMessage());
-                // Don't fail the request just because notification failed
-            }
+            outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_INVITATION, projectId, event);
+            log.info("Queued invitation event for user {} project {}", userToInvite.getUserId(), project.getName());
 
             // 7. Build response
             MemberResponse response = MemberResponse.builder()
@@ -298,7 +293,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
                     .orElseThrow(() -> new RuntimeException("Project not found"));
 
             if (token.isExpired()) {
-                kafkaTemplate.send(KafkaConfig.TOPIC_PROJECT_INVITATION, ProjectInvitationEvent.builder()
+                outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_INVITATION, projectId, ProjectInvitationEvent.builder()
                         .recipientId(token.getUserId())
                         .senderId(token.getSenderId()) // Need senderId to notify them
                         .projectId(projectId)
@@ -355,7 +350,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
                     .isExpired(false)
                     .isAccepted(true)
                     .build();
-            kafkaTemplate.send(KafkaConfig.TOPIC_PROJECT_INVITATION, event);
+            outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_INVITATION, projectId, event);
 
             return new BaseResponse<>(1, "Invitation accepted successfully", Map.of());
 
@@ -386,7 +381,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
             Long tokenProjectId = token.getProjectId();
 
             if (token.isExpired()) {
-                kafkaTemplate.send(KafkaConfig.TOPIC_PROJECT_INVITATION, ProjectInvitationEvent.builder()
+                outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_INVITATION, projectId, ProjectInvitationEvent.builder()
                         .recipientId(token.getUserId())
                         .senderId(token.getSenderId()) // Need senderId to notify them
                         .projectId(projectId)
@@ -437,7 +432,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
                     .isAccepted(false)
                     .isExpired(false)
                     .build();
-            kafkaTemplate.send(KafkaConfig.TOPIC_PROJECT_INVITATION, event);
+            outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_INVITATION, projectId, event);
 
             return new BaseResponse<>(1, "Invitation declined successfully", Map.of());
 
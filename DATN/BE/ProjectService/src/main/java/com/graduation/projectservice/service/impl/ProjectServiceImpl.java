@@ -15,6 +15,8 @@ import com.graduation.projectservice.payload.response.ProjectListResponse;
 import com.graduation.projectservice.repository.*;
 import com.graduation.projectservice.service.ProjectMemberService;
 import com.graduation.projectservice.service.ProjectService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
+import com.graduation.projectservice.service.UserTaskIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -39,6 +41,8 @@ public class ProjectServiceImpl implements ProjectService {
     private final PhaseRepository phaseRepository;
     private final ProjectAuthorizationHelper projectAuthorizationHelper;
     private final DeliverableRepository deliverableRepository;
+    private final UserTaskIndexService userTaskIndexService;
+    private final TaskLifecycleEventService taskLifecycleEventService;
     private final Random RAND = new Random();
 
     @Override
@@ -165,7 +169,12 @@ public class ProjectServiceImpl implements ProjectService {
             }
 
             // Delete project (cascade will delete associated data)
+            List<Long> taskIds = taskRepository.findAllTasksByProjectId(projectId).stream()
+                    .map(PM_Task::getTaskId)
+                    .toList();
             projectRepository.delete(project);
+            userTaskIndexService.removeProject(projectId);
+            taskLifecycleEventService.tasksDeleted(projectId, taskIds);
 
             log.info(Constant.LOG_PROJECT_DELETED, projectId);
 
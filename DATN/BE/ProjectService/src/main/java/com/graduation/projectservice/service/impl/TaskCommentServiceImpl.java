@@ -11,8 +11,8 @@ import com.graduation.projectservice.payload.request.UpdateCommentRequest;
 import com.graduation.projectservice.payload.response.*;
 import com.graduation.projectservice.repository.TaskCommentRepository;
 import com.graduation.projectservice.repository.TaskRepository;
+import com.graduation.projectservice.service.OutboxService;
 import com.graduation.projectservice.service.TaskCommentService;
-import org.springframework.kafka.core.KafkaTemplate;
 import com.graduation.projectservice.config.KafkaConfig;
 import com.graduation.projectservice.event.TaskUpdateEvent;
 import com.graduation.projectservice.model.PM_Task;
@@ -35,7 +35,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
     private final TaskRepository taskRepository;
     private final ProjectAuthorizationHelper authHelper;
     private final UserServiceClient userServiceClient;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
 
     private static final int REPLY_PREVIEW_MAX_LENGTH = 50;
 
@@ -259,26 +259,25 @@ public class TaskCommentServiceImpl implements TaskCommentService {
         return content.substring(0, REPLY_PREVIEW_MAX_LENGTH) + "...";
     }
 
+    /**
+     * Queue the event in the outbox so it is only published if the comment change commits
+     */
     private void publishTaskUpdateEvent(Long taskId, Long projectId, Long userId, String action) {
-        try {
-            PM_Task task = taskRepository.findById(taskId)
-                    .orElseThrow(() -> new NotFoundException(Constant.ERROR_TASK_NOT_FOUND));
-
-            Set<Long> assigneeIds = task.getAssignees().stream()
-                    .map(PM_TaskAssignee::getUserId)
-                    .collect(Collectors.toSet());
-
-            TaskUpdateEvent event = new TaskUpdateEvent(
-                    taskId,
-                    projectId,
-                    userId,
-                    assigneeIds,
-                    action);
-
-            kafkaTemplate.send(KafkaConfig.TOPIC_PROJECT_TASK_UPDATE, event);
-            log.info("Published TaskUpdateEvent for task {} with action {}", taskId, action);
-        } catch (Exception ex) {
-            log.error("Failed to publish TaskUpdateEvent for task {}", taskId, ex);
-        }
+        PM_Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new NotFoundException(Constant.ERROR_TASK_NOT_FOUND));
+
+        Set<Long> assigneeIds = task.getAssignees().stream()
+                .map(PM_TaskAssignee::getUserId)
+                .collect(Collectors.toSet());
+
+        TaskUpdateEvent event = new TaskUpdateEvent(
+                taskId,
+                projectId,
+                userId,
+                assigneeIds,
+                action);
+
+        outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_TASK_UPDATE, projectId, event);
+        log.info("Queued TaskUpdateEvent for task {} with action {}", taskId, action);
     }
 }
@@ -8,23 +8,31 @@ import com.graduation.projectservice.helper.ProjectAuthorizationHelper;
 import com.graduation.projectservice.model.*;
 import com.graduation.projectservice.model.enums.TaskPriority;
 import com.graduation.projectservice.model.enums.TaskStatus;
+import com.graduation.projectservice.payload.request.BulkUpdateTasksRequest;
 import com.graduation.projectservice.payload.request.CreateTaskRequest;
 import com.graduation.projectservice.payload.request.GetTaskRequest;
 import com.graduation.projectservice.payload.request.UpdateTaskRequest;
 import com.graduation.projectservice.payload.request.UpdateTaskStatusRequest;
 import com.graduation.projectservice.payload.response.*;
 import com.graduation.projectservice.repository.*;
+import com.graduation.projectservice.service.OutboxService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
 import com.graduation.projectservice.service.TaskService;
+import com.graduation.projectservice.service.UserTaskIndexService;
+import com.graduation.projectservice.service.WorkloadCapacityEngine;
 import com.graduation.projectservice.config.KafkaConfig;
 import com.graduation.projectservice.event.TaskUpdateEvent;
-import org.springframework.kafka.core.KafkaTemplate;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -35,6 +43,8 @@ import java.util.stream.Collectors;
 public class TaskServiceImpl implements TaskService {
 
         private static final int REPLY_PREVIEW_MAX_LENGTH = 50;
+        private static final int MAX_USER_TASK_PAGE_SIZE = 100;
+        private static final int MAX_USER_TASK_WINDOW_DAYS = 366;
         private final TaskRepository taskRepository;
         private final PhaseRepository phaseRepository;
         private final DeliverableRepository deliverableRepository;
@@ -45,7 +55,13 @@ public class TaskServiceImpl implements TaskService {
         private final TaskAttachmentRepository taskAttachmentRepository;
         private final FileNodeRepository fileNodeRepository;
         private final TaskCommentRepository taskCommentRepository;
-        private final KafkaTemplate<String, Object> kafkaTemplate;
+        private final OutboxService outboxService;
+        private final ProjectMemberRepository projectMemberRepository;
+        private final EntityManager entityManager;
+        private final WorkloadCapacityEngine workloadCapacityEngine;
+        private final UserTaskIndexService userTaskIndexService;
+        private final UserTaskIndexRepository userTaskIndexRepository;
+        private final TaskLifecycleEventService taskLifecycleEventService;
 
         @Override
         public BaseResponse<?> getTasks(Long userId, Long projectId, GetTaskRequest request) {
@@ -235,16 +251,7 @@ public class TaskServiceImpl implements TaskService {
                 }
 
                 PM_Task task = optionalTask.get();
-                return new TaskDTO(
-                                task.getTaskId(),
-                                task.getPhaseId(),
-                                task.getName(),
-                                task.getKey(),
-                                task.getStatus().name(),
-                                task.getPriority().name(),
-                                task.getOrder(),
-                                task.getStartDate(),
-                                task.getEndDate());
+                return toInternalDto(task, taskCommentRepository.findProjectIdByTaskId(taskId).orElse(null));
         }
 
         // 5. Modified Helper Method for Filtering Tasks
@@ -318,6 +325,7 @@ public class TaskServiceImpl implements TaskService {
                         task.setEndDate(endDate);
 
                         PM_Task savedTask = taskRepository.save(task);
+                        taskLifecycleEventService.tasksChanged(projectId, List.of(savedTask));
 
                         log.info(Constant.LOG_TASK_CREATED, savedTask.getTaskId(), key, phaseId);
 
@@ -399,30 +407,32 @@ public class TaskServiceImpl implements TaskService {
 
                         log.info(Constant.LOG_TASK_UPDATED, taskId, projectId);
 
-                        try {
-                                Set<Long> assigneeIdsForEvent;
-                                if (request.getAssigneeIds() != null) {
-                                        // Case 1: Assignees updated -> Notify new assignees
-                                        assigneeIdsForEvent = new HashSet<>(request.getAssigneeIds());
-                                } else {
-                                        // Case 2: Assignees not changed -> Notify current assignees from DB entity
-                                        assigneeIdsForEvent = task.getAssignees().stream()
-                                                        .map(PM_TaskAssignee::getUserId)
-                                                        .collect(Collectors.toSet());
-                                }
+                        Set<Long> assigneeIdsForEvent;
+                        if (request.getAssigneeIds() != null) {
+                                // Case 1: Assignees updated -> Notify new assignees
+                                assigneeIdsForEvent = new HashSet<>(request.getAssigneeIds());
+                        } else {
+                                // Case 2: Assignees not changed -> Notify current assignees from DB entity
+                                assigneeIdsForEvent = task.getAssignees().stream()
+                                                .map(PM_TaskAssignee::getUserId)
+                                                .collect(Collectors.toSet());
+                        }
 
-                                TaskUpdateEvent event = new TaskUpdateEvent(
-                                                taskId,
-                                                projectId,
-                                                userId,
-                                                assigneeIdsForEvent,
-                                                TaskUpdateEvent.ACTION_UPDATE);
+                        TaskUpdateEvent event = new TaskUpdateEvent(
+                                        taskId,
+                                        projectId,
+                                        userId,
+                                        assigneeIdsForEvent,
+                                        TaskUpdateEvent.ACTION_UPDATE);
 
-                                kafkaTemplate.send(KafkaConfig.TOPIC_PROJECT_TASK_UPDATE, event);
-                                log.info("Published TaskUpdateEvent for task {}", taskId);
-                        } catch (Exception ex) {
-                                log.error("Failed to publish TaskUpdateEvent for task {}", taskId, ex);
-                        }
+                        // Written to the outbox in this transaction; the relay publishes after commit
+                        outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_TASK_UPDATE, projectId, event);
+                        log.info("Queued TaskUpdateEvent for task {}", taskId);
+
+                        workloadCapacityEngine.onTaskChanged(projectId, taskId, task.getStartDate(), task.getEndDate(),
+                                        task.getStatus(), assigneeIdsForEvent);
+                        userTaskIndexService.syncTask(task, projectId, assigneeIdsForEvent);
+                        taskLifecycleEventService.tasksChanged(projectId, List.of(task));
 
                         Map<String, Object> data = new HashMap<>();
                         data.put("taskId", taskId);
@@ -459,6 +469,9 @@ public class TaskServiceImpl implements TaskService {
 
                         // Delete task (will cascade to assignees)
                         taskRepository.delete(task);
+                        workloadCapacityEngine.onTaskDeleted(projectId, taskId);
+                        userTaskIndexService.removeTask(taskId);
+                        taskLifecycleEventService.tasksDeleted(projectId, List.of(taskId));
 
                         log.info(Constant.LOG_TASK_DELETED, taskId, projectId);
 
@@ -495,6 +508,13 @@ public class TaskServiceImpl implements TaskService {
                         // Update only status
                         task.setStatus(request.getStatus());
                         taskRepository.save(task);
+                        Set<Long> assigneeIds = task.getAssignees().stream()
+                                        .map(PM_TaskAssignee::getUserId)
+                                        .collect(Collectors.toSet());
+                        workloadCapacityEngine.onTaskChanged(projectId, taskId, task.getStartDate(), task.getEndDate(),
+                                        task.getStatus(), assigneeIds);
+                        userTaskIndexService.syncTask(task, projectId, assigneeIds);
+                        taskLifecycleEventService.tasksChanged(projectId, List.of(task));
 
                         log.info(Constant.LOG_TASK_STATUS_UPDATED, taskId, request.getStatus(), projectId);
 
@@ -513,6 +533,149 @@ public class TaskServiceImpl implements TaskService {
                 }
         }
 
+        @Override
+        @Transactional
+        public BaseResponse<?> bulkUpdateTasks(Long userId, Long projectId, BulkUpdateTasksRequest request) {
+                try {
+                        log.info(Constant.LOG_BULK_UPDATING_TASKS, request.getTaskIds().size(), projectId, userId);
+
+                        if (!request.isAnyFieldSet()) {
+                                return new BaseResponse<>(Constant.ERROR_STATUS, Constant.ERROR_BULK_NO_CHANGES, null);
+                        }
+
+                        // 1. Authorization once for the whole batch (status-only mirrors updateTaskStatus)
+                        if (request.isStatusOnly()) {
+                                authHelper.requireActiveMember(projectId, userId);
+                        } else {
+                                authHelper.requireOwner(projectId, userId);
+                        }
+
+                        // 2. Load every task with its assignees in one query, scoped to the project
+                        Set<Long> requestedIds = new LinkedHashSet<>(request.getTaskIds());
+                        List<PM_Task> tasks = taskRepository.findAllWithAssigneesByProjectIdAndTaskIdIn(projectId, requestedIds);
+                        if (tasks.size() != requestedIds.size()) {
+                                return new BaseResponse<>(Constant.ERROR_STATUS, Constant.ERROR_BULK_TASKS_NOT_IN_PROJECT, null);
+                        }
+
+                        // 3. Validate assignees in one query
+                        Set<Long> newAssigneeIds = null;
+                        if (request.getAssigneeIds() != null) {
+                                newAssigneeIds = new LinkedHashSet<>(request.getAssigneeIds());
+                                if (!newAssigneeIds.isEmpty()) {
+                                        Set<Long> activeMemberIds = new HashSet<>(projectMemberRepository
+                                                        .findActiveMemberIds(projectId, new ArrayList<>(newAssigneeIds)));
+                                        for (Long assigneeId : newAssigneeIds) {
+                                                if (!activeMemberIds.contains(assigneeId)) {
+                                                        return new BaseResponse<>(Constant.ERROR_STATUS,
+                                                                        String.format(Constant.ERROR_BULK_ASSIGNEE_NOT_ACTIVE, assigneeId),
+                                                                        null);
+                                                }
+                                        }
+                                }
+                        }
+
+                        // 4. Apply field changes; dirty checking flushes them as batched UPDATEs
+                        for (PM_Task task : tasks) {
+                                if (request.getStatus() != null) {
+                                        task.setStatus(request.getStatus());
+                                }
+                                if (request.getPriority() != null) {
+                                        task.setPriority(request.getPriority());
+                                }
+                                if (request.getStartDate() != null) {
+                                        task.setStartDate(request.getStartDate());
+                                }
+                                if (request.getEndDate() != null) {
+                                        task.setEndDate(request.getEndDate());
+                                }
+                                if (task.getStartDate() != null && task.getEndDate() != null
+                                                && task.getStartDate().isAfter(task.getEndDate())) {
+                                        throw new IllegalArgumentException(
+                                                        String.format(Constant.ERROR_BULK_TASK_INVALID_DATES, task.getKey()));
+                                }
+                        }
+
+                        // 5. Assignee diff: one DELETE for removals, batched INSERTs for additions
+                        Map<Long, Set<Long>> assigneesForEvent = new HashMap<>();
+                        if (newAssigneeIds != null) {
+                                if (newAssigneeIds.isEmpty()) {
+                                        taskAssigneeRepository.deleteByTaskIdIn(requestedIds);
+                                } else {
+                                        taskAssigneeRepository.deleteByTaskIdInAndUserIdNotIn(requestedIds, newAssigneeIds);
+                                }
+
+                                Map<Long, List<PM_TaskAssignee>> addedByTask = new HashMap<>();
+                                for (PM_Task task : tasks) {
+                                        Set<Long> current = task.getAssignees().stream()
+                                                        .map(PM_TaskAssignee::getUserId)
+                                                        .collect(Collectors.toSet());
+                                        List<PM_TaskAssignee> added = new ArrayList<>();
+                                        for (Long assigneeId : newAssigneeIds) {
+                                                if (!current.contains(assigneeId)) {
+                                                        // persist (not merge) so inserts are not preceded by a SELECT per row
+                                                        PM_TaskAssignee assignee = new PM_TaskAssignee(task.getTaskId(), assigneeId);
+                                                        entityManager.persist(assignee);
+                                                        added.add(assignee);
+                                                }
+                                        }
+                                        addedByTask.put(task.getTaskId(), added);
+                                        assigneesForEvent.put(task.getTaskId(), newAssigneeIds);
+                                }
+
+                                // The statements above bypass the loaded assignee collections. Write everything,
+                                // then detach the tasks so the collections can be brought in line without
+                                // orphan removal deleting the same rows again.
+                                entityManager.flush();
+                                for (PM_Task task : tasks) {
+                                        entityManager.detach(task);
+                                        Set<Long> kept = newAssigneeIds;
+                                        task.getAssignees().removeIf(assignee -> !kept.contains(assignee.getUserId()));
+                                        task.getAssignees().addAll(addedByTask.get(task.getTaskId()));
+                                }
+                        } else {
+                                for (PM_Task task : tasks) {
+                                        assigneesForEvent.put(task.getTaskId(), task.getAssignees().stream()
+                                                        .map(PM_TaskAssignee::getUserId)
+                                                        .collect(Collectors.toSet()));
+                                }
+                        }
+
+                        // 6. One aggregated event per task, committed with the changes
+                        for (PM_Task task : tasks) {
+                                Set<Long> assignees = assigneesForEvent.get(task.getTaskId());
+                                outboxService.enqueue(KafkaConfig.TOPIC_PROJECT_TASK_UPDATE, projectId, new TaskUpdateEvent(
+                                                task.getTaskId(),
+                                                projectId,
+                                                userId,
+                                                new HashSet<>(assignees),
+                                                TaskUpdateEvent.ACTION_UPDATE));
+                                workloadCapacityEngine.onTaskChanged(projectId, task.getTaskId(), task.getStartDate(),
+                                                task.getEndDate(), task.getStatus(), assignees);
+                        }
+                        userTaskIndexService.syncTasks(projectId, tasks, assigneesForEvent);
+                        taskLifecycleEventService.tasksChanged(projectId, tasks);
+
+                        log.info(Constant.LOG_TASKS_BULK_UPDATED, tasks.size(), projectId);
+
+                        Map<String, Object> data = new HashMap<>();
+                        data.put("updatedCount", tasks.size());
+                        data.put("taskIds", requestedIds);
+
+                        return new BaseResponse<>(
+                                        Constant.SUCCESS_STATUS,
+                                        Constant.TASKS_BULK_UPDATED_SUCCESS,
+                                        data);
+                } catch (Exception e) {
+                        // Earlier tasks may already be modified; none of the batch is applied
+                        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                        log.error("Failed to bulk update tasks in project {} by user {}", projectId, userId, e);
+                        return new BaseResponse<>(
+                                        Constant.ERROR_STATUS,
+                                        e.getMessage(),
+                                        null);
+                }
+        }
+
         private void verifyTaskBelongsToProject(PM_Task task, Long projectId) {
                 PM_Phase phase = phaseRepository.findById(task.getPhaseId())
                                 .orElseThrow(() -> new NotFoundException(Constant.ERROR_PHASE_NOT_FOUND));
@@ -627,43 +790,37 @@ public class TaskServiceImpl implements TaskService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public BaseResponse<?> getUserProjectTasks(Long userId) {
                 try {
 
-                        // 1. Query the database using the projection
-                        List<TaskProjectProjection> rawTasks = taskRepository.findActiveTasksForUser(userId);
+                        // 1. Single indexed lookup on the per-user task index, already ordered by project and due date
+                        List<PM_UserTaskIndex> rows = userTaskIndexRepository
+                                        .findAllByUserIdAndStatusNotOrderByProjectIdAscSortDateAscTaskIdAsc(userId,
+                                                        TaskStatus.DONE);
 
-                        // 2. Group by Project ID
-                        Map<Long, List<TaskProjectProjection>> tasksByProject = rawTasks.stream()
-                                        .collect(Collectors.groupingBy(TaskProjectProjection::getProjectId));
+                        // 2. Group by Project ID (keeps the query order)
+                        Map<Long, List<UserTaskIndexDTO>> tasksByProject = toUserTaskIndexDTOs(rows).stream()
+                                        .collect(Collectors.groupingBy(UserTaskIndexDTO::getProjectId,
+                                                        LinkedHashMap::new, Collectors.toList()));
 
                         // 3. Map to DTOs
                         List<UserProjectTasksResponse.ProjectGroupDTO> projectGroups = new ArrayList<>();
 
-                        for (Map.Entry<Long, List<TaskProjectProjection>> entry : tasksByProject.entrySet()) {
-                                Long projectId = entry.getKey();
-                                List<TaskProjectProjection> projectTasks = entry.getValue();
-
-                                // Get project name from the first task in the list (all have same project name)
-                                String projectName = projectTasks.get(0).getProjectName();
+                        for (Map.Entry<Long, List<UserTaskIndexDTO>> entry : tasksByProject.entrySet()) {
+                                List<UserTaskIndexDTO> projectTasks = entry.getValue();
 
-                                // Map tasks to Inner DTO
                                 List<UserProjectTasksResponse.UserTaskItemDTO> taskItems = projectTasks.stream()
-                                                .map(proj -> {
-                                                        boolean isOverdue = proj.getEndDate() != null
-                                                                        && proj.getEndDate().isBefore(LocalDate.now());
-
-                                                        return new UserProjectTasksResponse.UserTaskItemDTO(
-                                                                        proj.getTaskId(),
-                                                                        proj.getTaskName(),
-                                                                        proj.getEndDate(),
-                                                                        isOverdue);
-                                                })
+                                                .map(item -> new UserProjectTasksResponse.UserTaskItemDTO(
+                                                                item.getPmTaskId(),
+                                                                item.getName(),
+                                                                item.getEndDate(),
+                                                                item.isOverdue()))
                                                 .toList();
 
                                 projectGroups.add(new UserProjectTasksResponse.ProjectGroupDTO(
-                                                projectId,
-                                                projectName,
+                                                entry.getKey(),
+                                                projectTasks.get(0).getProjectName(),
                                                 taskItems));
                         }
 
@@ -687,6 +844,163 @@ public class TaskServiceImpl implements TaskService {
                 }
         }
 
+        @Override
+        @Transactional(readOnly = true)
+        public BaseResponse<?> getUserTaskPage(Long userId, LocalDate afterDate, Long afterTaskId, int size,
+                        boolean includeDone) {
+                log.info(Constant.LOG_GETTING_USER_TASK_PAGE, userId, afterDate, afterTaskId);
+
+                if (size < 1 || size > MAX_USER_TASK_PAGE_SIZE) {
+                        return new BaseResponse<>(Constant.ERROR_STATUS,
+                                        String.format(Constant.ERROR_USER_TASK_PAGE_SIZE, MAX_USER_TASK_PAGE_SIZE), null);
+                }
+                if ((afterDate == null) != (afterTaskId == null)) {
+                        return new BaseResponse<>(Constant.ERROR_STATUS, Constant.ERROR_USER_TASK_CURSOR, null);
+                }
+
+                Set<TaskStatus> statuses = userTaskStatuses(includeDone);
+
+                // Fetch one extra row to know whether another page exists
+                PageRequest limit = PageRequest.of(0, size + 1);
+                List<PM_UserTaskIndex> rows = afterDate == null
+                                ? userTaskIndexRepository.findFirstPageForUser(userId, statuses, limit)
+                                : userTaskIndexRepository.findPageForUserAfter(userId, statuses, afterDate,
+                                                afterTaskId, limit);
+
+                boolean hasMore = rows.size() > size;
+                if (hasMore) {
+                        rows = rows.subList(0, size);
+                }
+
+                LocalDate nextAfterDate = null;
+                Long nextAfterTaskId = null;
+                if (hasMore) {
+                        PM_UserTaskIndex last = rows.get(rows.size() - 1);
+                        nextAfterDate = last.getSortDate();
+                        nextAfterTaskId = last.getTaskId();
+                }
+
+                return new BaseResponse<>(
+                                Constant.SUCCESS_STATUS,
+                                Constant.USER_TASKS_RETRIEVED_SUCCESS,
+                                new UserTaskPageResponse(toUserTaskIndexDTOs(rows), nextAfterDate, nextAfterTaskId,
+                                                hasMore));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public BaseResponse<?> getUserTasksInWindow(Long userId, LocalDate from, LocalDate to, boolean includeDone) {
+                log.info(Constant.LOG_GETTING_USER_TASK_WINDOW, userId, from, to);
+
+                String error = validateTaskWindow(from, to);
+                if (error != null) {
+                        return new BaseResponse<>(Constant.ERROR_STATUS, error, null);
+                }
+
+                return new BaseResponse<>(
+                                Constant.SUCCESS_STATUS,
+                                Constant.USER_TASKS_RETRIEVED_SUCCESS,
+                                toUserTaskIndexDTOs(userTaskIndexRepository.findOverlappingWindowForUser(userId,
+                                                userTaskStatuses(includeDone), from, to)));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public List<UserTaskIndexDTO> getUserTasksInWindowForInternal(Long userId, LocalDate from, LocalDate to,
+                        boolean includeDone) {
+                String error = validateTaskWindow(from, to);
+                if (error != null) {
+                        throw new IllegalArgumentException(error);
+                }
+                return toUserTaskIndexDTOs(userTaskIndexRepository.findOverlappingWindowForUser(userId,
+                                userTaskStatuses(includeDone), from, to));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public List<TaskDTO> getTasksByIdsForInternal(List<Long> taskIds) {
+                if (taskIds == null || taskIds.isEmpty()) {
+                        return Collections.emptyList();
+                }
+                log.info("Getting {} tasks by ID for internal call", taskIds.size());
+
+                Set<Long> ids = new HashSet<>(taskIds);
+                Map<Long, Long> projectIds = new HashMap<>();
+                for (Object[] row : taskRepository.findProjectIdsByTaskIdIn(ids)) {
+                        projectIds.put((Long) row[0], (Long) row[1]);
+                }
+                return taskRepository.findAllById(ids).stream()
+                                .map(task -> toInternalDto(task, projectIds.get(task.getTaskId())))
+                                .toList();
+        }
+
+        /**
+         * Task as served to other services, with its project and last write time
+         */
+        private TaskDTO toInternalDto(PM_Task task, Long projectId) {
+                TaskDTO dto = new TaskDTO(
+                                task.getTaskId(),
+                                task.getPhaseId(),
+                                task.getName(),
+                                task.getKey(),
+                                task.getStatus().name(),
+                                task.getPriority().name(),
+                                task.getOrder(),
+                                task.getStartDate(),
+                                task.getEndDate());
+                dto.setProjectId(projectId);
+                dto.setUpdatedAt(task.getUpdatedAt());
+                return dto;
+        }
+
+        /**
+         * Done tasks are left out of "my tasks" views unless asked for, like the task list before the index
+         */
+        private static Set<TaskStatus> userTaskStatuses(boolean includeDone) {
+                Set<TaskStatus> statuses = EnumSet.allOf(TaskStatus.class);
+                if (!includeDone) {
+                        statuses.remove(TaskStatus.DONE);
+                }
+                return statuses;
+        }
+
+        private String validateTaskWindow(LocalDate from, LocalDate to) {
+                if (from == null || to == null || to.isBefore(from)) {
+                        return Constant.ERROR_USER_TASK_WINDOW;
+                }
+                if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_USER_TASK_WINDOW_DAYS) {
+                        return String.format(Constant.ERROR_USER_TASK_WINDOW_TOO_LONG, MAX_USER_TASK_WINDOW_DAYS);
+                }
+                return null;
+        }
+
+        // Project names are not denormalized, so they are resolved with one batch lookup per response
+        private List<UserTaskIndexDTO> toUserTaskIndexDTOs(List<PM_UserTaskIndex> rows) {
+                if (rows.isEmpty()) {
+                        return Collections.emptyList();
+                }
+
+                Set<Long> projectIds = rows.stream()
+                                .map(PM_UserTaskIndex::getProjectId)
+                                .collect(Collectors.toSet());
+                Map<Long, String> projectNames = projectRepository.findAllById(projectIds).stream()
+                                .collect(Collectors.toMap(PM_Project::getProjectId, PM_Project::getName));
+
+                LocalDate today = LocalDate.now();
+                return rows.stream()
+                                .map(row -> new UserTaskIndexDTO(
+                                                row.getTaskId(),
+                                                row.getProjectId(),
+                                                projectNames.get(row.getProjectId()),
+                                                row.getName(),
+                                                row.getTaskKey(),
+                                                row.getStatus().name(),
+                                                row.getStartDate(),
+                                                row.getEndDate(),
+                                                row.getEndDate() != null && row.getEndDate().isBefore(today)))
+                                .toList();
+        }
+
         @Override
         @Transactional
         public BaseResponse<?> attachFileToTask(Long userId, Long projectId, Long taskId, Long nodeId) {
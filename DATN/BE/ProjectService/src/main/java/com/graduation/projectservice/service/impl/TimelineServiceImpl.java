@@ -13,6 +13,9 @@ import com.graduation.projectservice.payload.response.TimelineMilestoneDTO;
 import com.graduation.projectservice.payload.response.TimelineStructureResponse;
 import com.graduation.projectservice.repository.*;
 import com.graduation.projectservice.service.TimelineService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
+import com.graduation.projectservice.service.UserTaskIndexService;
+import com.graduation.projectservice.service.WorkloadCapacityEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,6 +38,9 @@ public class TimelineServiceImpl implements TimelineService {
     private final ProjectAuthorizationHelper projectAuthorizationHelper;
     private final MilestoneRepository milestoneRepository;
     private final DependencyRepository dependencyRepository;
+    private final WorkloadCapacityEngine workloadCapacityEngine;
+    private final UserTaskIndexService userTaskIndexService;
+    private final TaskLifecycleEventService taskLifecycleEventService;
     @Override
     @Transactional
     public BaseResponse<?> updateTimelineDates(Long userId, Long projectId, UpdateTimelineDatesRequest request) {
@@ -123,6 +129,9 @@ public class TimelineServiceImpl implements TimelineService {
                     throw new IllegalArgumentException("Unsupported type");
             }
 
+            workloadCapacityEngine.invalidateProject(projectId);
+            userTaskIndexService.reindexProject(projectId);
+            taskLifecycleEventService.projectChanged(projectId);
             return new BaseResponse<>(Constant.SUCCESS_STATUS, "Item dates updated", Collections.emptyMap());
 
         } catch (Exception e) {
@@ -215,6 +224,9 @@ public class TimelineServiceImpl implements TimelineService {
                     throw new IllegalArgumentException("Unsupported type: " + request.getType());
             }
 
+            workloadCapacityEngine.invalidateProject(projectId);
+            userTaskIndexService.reindexProject(projectId);
+            taskLifecycleEventService.projectChanged(projectId);
             return new BaseResponse<>(1, "Removed timeline item and all associated children/dependencies", null);
 
         } catch (Exception e) {
@@ -466,6 +478,10 @@ public class TimelineServiceImpl implements TimelineService {
                     return new BaseResponse<>(Constant.ERROR_STATUS, "Offset only supported for PHASE and DELIVERABLE", null);
             }
 
+            // Shifting a phase or deliverable moves every task under it
+            workloadCapacityEngine.invalidateProject(projectId);
+            userTaskIndexService.reindexProject(projectId);
+            taskLifecycleEventService.projectChanged(projectId);
             return new BaseResponse<>(Constant.SUCCESS_STATUS, "Offset successful", Collections.emptyMap());
 
         } catch (Exception e) {
@@ -0,0 +1,121 @@
+package com.graduation.projectservice.repository;
+
+import com.graduation.projectservice.PostgresTestConfig;
+import com.graduation.projectservice.model.PM_OutboxEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Which keys the relay may claim, against PostgreSQL.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deadEventBlocksTheLaterEventsOfItsKey() {
+        PM_OutboxEvent dead = save("7");
+        PM_OutboxEvent later = save("7");
+        save("8");
+        dead.setDeadAt(LocalDateTime.now());
+        dead.setAttempts(20);
+        flushAndClear();
+
+        assertEquals(List.of("8"), claimableKeys());
+        assertEquals(1, outboxEventRepository.countBlockingDead());
+        assertEquals(2, outboxEventRepository.countPending());
+        assertTrue(pendingIds("7").contains(later.getId()));
+    }
+
+    @Test
+    void replayedEventIsSentBeforeTheLaterEventsOfItsKey() {
+        PM_OutboxEvent dead = save("7");
+        PM_OutboxEvent later = save("7");
+        dead.setDeadAt(LocalDateTime.now());
+        dead.setAttempts(20);
+        flushAndClear();
+
+        assertEquals(1, outboxEventRepository.replayDead(dead.getId()));
+        flushAndClear();
+
+        assertEquals(List.of("7"), claimableKeys());
+        assertEquals(List.of(dead.getId(), later.getId()), pendingIds("7"));
+        assertEquals(0, outboxEventRepository.findById(dead.getId()).orElseThrow().getAttempts());
+        assertEquals(0, outboxEventRepository.countBlockingDead());
+    }
+
+    @Test
+    void discardedEventReleasesItsKeyAndIsPurged() {
+        PM_OutboxEvent dead = save("7");
+        PM_OutboxEvent later = save("7");
+        dead.setDeadAt(LocalDateTime.now());
+        flushAndClear();
+
+        assertEquals(1, outboxEventRepository.discardDead(dead.getId(), LocalDateTime.now().minusDays(5)));
+        // Only dead rows can be discarded or replayed
+        assertEquals(0, outboxEventRepository.discardDead(later.getId(), LocalDateTime.now()));
+        assertEquals(0, outboxEventRepository.replayDead(dead.getId()));
+        flushAndClear();
+
+        assertEquals(List.of("7"), claimableKeys());
+        assertEquals(List.of(later.getId()), pendingIds("7"));
+        assertEquals(1, outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(3)));
+        assertTrue(outboxEventRepository.findById(dead.getId()).isEmpty());
+    }
+
+    @Test
+    void leasedOrBackingOffKeysAreNotClaimable() {
+        PM_OutboxEvent leased = save("7");
+        PM_OutboxEvent failed = save("8");
+        save("9");
+        leased.setLeaseOwner("other-instance");
+        leased.setLeasedUntil(LocalDateTime.now().plusMinutes(1));
+        failed.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        flushAndClear();
+
+        assertEquals(List.of("9"), claimableKeys());
+    }
+
+    private PM_OutboxEvent save(String key) {
+        PM_OutboxEvent event = new PM_OutboxEvent();
+        event.setTopic("pm.test");
+        event.setAggregateKey(key);
+        event.setEventType("java.util.Map");
+        event.setPayload("{}");
+        return outboxEventRepository.save(event);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<String> claimableKeys() {
+        return outboxEventRepository.findClaimableKeys(LocalDateTime.now(), 10);
+    }
+
+    private List<Long> pendingIds(String key) {
+        return outboxEventRepository.findPendingByKeys(List.of(key), PageRequest.of(0, 10)).stream()
+                .map(PM_OutboxEvent::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,148 @@
+package com.graduation.projectservice.repository;
+
+import com.graduation.projectservice.PostgresTestConfig;
+import com.graduation.projectservice.model.PM_UserTaskIndex;
+import com.graduation.projectservice.model.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset paging and the calendar window over pm_user_task_index, against PostgreSQL.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+class UserTaskIndexRepositoryTest {
+
+    private static final Long USER_ID = 7L;
+    private static final LocalDate JUNE_1 = LocalDate.of(2025, 6, 1);
+    private static final Set<TaskStatus> OPEN = EnumSet.complementOf(EnumSet.of(TaskStatus.DONE));
+
+    @Autowired
+    private UserTaskIndexRepository userTaskIndexRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void cursorPagesWalkTiesOnDueDateByTaskIdWithoutGapsOrRepeats() {
+        // Five tasks due the same day, inserted out of id order, around other dates and undated tasks
+        for (long taskId : new long[]{14, 11, 15, 12, 13}) {
+            save(USER_ID, taskId, TaskStatus.TO_DO, null, JUNE_1.plusDays(1));
+        }
+        save(USER_ID, 20L, TaskStatus.IN_PROGRESS, null, JUNE_1);
+        save(USER_ID, 3L, TaskStatus.TO_DO, null, null);
+        save(USER_ID, 1L, TaskStatus.TO_DO, null, null);
+        save(USER_ID, 30L, TaskStatus.DONE, null, JUNE_1);
+        save(8L, 11L, TaskStatus.TO_DO, null, JUNE_1);
+        flushAndClear();
+
+        List<Long> walked = new ArrayList<>();
+        List<PM_UserTaskIndex> page = userTaskIndexRepository.findFirstPageForUser(USER_ID, OPEN, PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(row -> walked.add(row.getTaskId()));
+            PM_UserTaskIndex last = page.get(page.size() - 1);
+            page = userTaskIndexRepository.findPageForUserAfter(USER_ID, OPEN, last.getSortDate(), last.getTaskId(),
+                    PageRequest.of(0, 2));
+        }
+
+        assertEquals(List.of(20L, 11L, 12L, 13L, 14L, 15L, 1L, 3L), walked);
+    }
+
+    @Test
+    void cursorInsideATieResumesAtTheNextTaskId() {
+        for (long taskId = 11; taskId <= 15; taskId++) {
+            save(USER_ID, taskId, TaskStatus.TO_DO, null, JUNE_1);
+        }
+        save(USER_ID, 16L, TaskStatus.DONE, null, JUNE_1);
+        flushAndClear();
+
+        assertEquals(List.of(14L, 15L), taskIds(userTaskIndexRepository.findPageForUserAfter(USER_ID, OPEN, JUNE_1,
+                13L, PageRequest.of(0, 10))));
+        assertEquals(List.of(14L, 15L, 16L), taskIds(userTaskIndexRepository.findPageForUserAfter(USER_ID,
+                EnumSet.allOf(TaskStatus.class), JUNE_1, 13L, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void windowReturnsOpenTasksOverlappingIt() {
+        LocalDate from = JUNE_1.plusDays(10);
+        LocalDate to = JUNE_1.plusDays(16);
+        save(USER_ID, 1L, TaskStatus.TO_DO, JUNE_1, from);                       // ends on the first day
+        save(USER_ID, 2L, TaskStatus.TO_DO, to, to.plusDays(3));                  // starts on the last day
+        save(USER_ID, 3L, TaskStatus.IN_PROGRESS, JUNE_1, to.plusDays(30));       // spans the window
+        save(USER_ID, 4L, TaskStatus.TO_DO, null, from.plusDays(2));              // due date only
+        save(USER_ID, 5L, TaskStatus.TO_DO, JUNE_1, from.minusDays(1));           // ends the day before
+        save(USER_ID, 6L, TaskStatus.TO_DO, to.plusDays(1), to.plusDays(2));      // starts the day after
+        save(USER_ID, 7L, TaskStatus.TO_DO, from, null);                          // no due date
+        save(USER_ID, 8L, TaskStatus.DONE, from, to);                             // done
+        save(8L, 9L, TaskStatus.TO_DO, from, to);                                 // someone else's
+        flushAndClear();
+
+        assertEquals(List.of(1L, 4L, 2L, 3L),
+                taskIds(userTaskIndexRepository.findOverlappingWindowForUser(USER_ID, OPEN, from, to)));
+        assertEquals(List.of(1L, 4L, 8L, 2L, 3L), taskIds(userTaskIndexRepository.findOverlappingWindowForUser(
+                USER_ID, EnumSet.allOf(TaskStatus.class), from, to)));
+    }
+
+    @Test
+    void deletesRemoveOnlyTheirTaskOrProject() {
+        save(USER_ID, 1L, TaskStatus.TO_DO, null, JUNE_1);
+        save(8L, 1L, TaskStatus.TO_DO, null, JUNE_1);
+        save(USER_ID, 2L, TaskStatus.TO_DO, null, JUNE_1);
+        PM_UserTaskIndex otherProject = row(USER_ID, 3L, TaskStatus.TO_DO, null, JUNE_1);
+        otherProject.setProjectId(2L);
+        userTaskIndexRepository.save(otherProject);
+        flushAndClear();
+
+        userTaskIndexRepository.deleteByTaskId(1L);
+        assertEquals(List.of(2L, 3L), taskIds(userTaskIndexRepository.findAll(Sort.by("taskId"))));
+
+        userTaskIndexRepository.deleteByProjectId(1L);
+        assertEquals(List.of(3L), taskIds(userTaskIndexRepository.findAll(Sort.by("taskId"))));
+    }
+
+    private void save(Long userId, Long taskId, TaskStatus status, LocalDate start, LocalDate end) {
+        userTaskIndexRepository.save(row(userId, taskId, status, start, end));
+    }
+
+    private static PM_UserTaskIndex row(Long userId, Long taskId, TaskStatus status, LocalDate start, LocalDate end) {
+        PM_UserTaskIndex row = new PM_UserTaskIndex();
+        row.setUserId(userId);
+        row.setTaskId(taskId);
+        row.setProjectId(1L);
+        row.setName("Task " + taskId);
+        row.setTaskKey("T-" + taskId);
+        row.setStatus(status);
+        row.setStartDate(start);
+        row.setEndDate(end);
+        row.setSortDate(end != null ? end : PM_UserTaskIndex.NO_DUE_DATE);
+        return row;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static List<Long> taskIds(List<PM_UserTaskIndex> rows) {
+        return rows.stream()
+                .map(PM_UserTaskIndex::getTaskId)
+                .toList();
+    }
+}
@@ -0,0 +1,156 @@
+package com.graduation.projectservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graduation.projectservice.model.PM_OutboxEvent;
+import com.graduation.projectservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelayService relayService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        relayService = new OutboxRelayService(outboxEventRepository, kafkaTemplate, new ObjectMapper(),
+                new SimpleMeterRegistry(), transactionManager);
+        ReflectionTestUtils.setField(relayService, "batchSize", 200);
+        ReflectionTestUtils.setField(relayService, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relayService, "leaseMs", 60000L);
+        ReflectionTestUtils.setField(relayService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relayService, "retryBaseMs", 1000L);
+        ReflectionTestUtils.setField(relayService, "retryMaxMs", 300000L);
+        relayService.initializeMetrics();
+    }
+
+    @Test
+    void failedEventBlocksLaterEventsOfItsKeyOnly() {
+        PM_OutboxEvent first = event(1L, "7");
+        PM_OutboxEvent second = event(2L, "7");
+        PM_OutboxEvent other = event(3L, "8");
+        claim(List.of("7", "8"), List.of(first, second, other));
+
+        when(kafkaTemplate.send(anyString(), eq("7"), any()))
+                .thenReturn(failed("broker down"))
+                .thenReturn(acked());
+        when(kafkaTemplate.send(anyString(), eq("8"), any()))
+                .thenReturn(acked());
+        when(outboxEventRepository.markPublished(anyCollection(), anyString(), any())).thenReturn(1);
+
+        assertEquals(3, relayService.relayBatch());
+
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), anyString(), any());
+        verify(outboxEventRepository).releaseLease(eq(List.of(2L)), anyString());
+        verify(outboxEventRepository).recordFailure(eq(1L), anyString(), eq("broker down"), any(), eq(3), any());
+        verify(outboxEventRepository, never()).markDead(anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void unreadablePayloadIsDeadLetteredWithoutRetry() {
+        PM_OutboxEvent poison = event(1L, "7");
+        poison.setEventType("com.graduation.projectservice.event.DoesNotExist");
+        claim(List.of("7"), List.of(poison));
+
+        relayService.relayBatch();
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+        verify(outboxEventRepository).markDead(eq(1L), anyString(), anyString(), any());
+        verify(outboxEventRepository, never()).recordFailure(anyLong(), anyString(), anyString(), any(), anyInt(), any());
+    }
+
+    @Test
+    void eventIsDeadLetteredOnceItReachesTheAttemptCap() {
+        PM_OutboxEvent event = event(1L, "7");
+        event.setAttempts(2);
+        claim(List.of("7"), List.of(event));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(failed("broker down"));
+
+        relayService.relayBatch();
+
+        verify(outboxEventRepository).markDead(eq(1L), anyString(), eq("broker down"), any());
+    }
+
+    @Test
+    void keyLockedByAnotherInstanceIsNotClaimed() {
+        when(outboxEventRepository.findClaimableKeys(any(), anyInt())).thenReturn(List.of("7"));
+        when(outboxEventRepository.tryLockKey("7")).thenReturn(false);
+
+        assertEquals(0, relayService.relayBatch());
+
+        verify(outboxEventRepository, never()).findPendingByKeys(anyCollection(), any());
+        verify(outboxEventRepository, never()).lease(anyCollection(), anyString(), any());
+    }
+
+    @Test
+    void onlyDeadEventsCanBeReplayedOrDiscarded() {
+        when(outboxEventRepository.replayDead(1L)).thenReturn(1);
+        when(outboxEventRepository.discardDead(eq(2L), any())).thenReturn(0);
+
+        assertTrue(relayService.replayDead(1L));
+        assertFalse(relayService.discardDead(2L));
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(Duration.ofSeconds(1), relayService.backoff(1));
+        assertEquals(Duration.ofSeconds(8), relayService.backoff(4));
+        assertEquals(Duration.ofMinutes(5), relayService.backoff(30));
+    }
+
+    private void claim(List<String> keys, List<PM_OutboxEvent> rows) {
+        when(outboxEventRepository.findClaimableKeys(any(), anyInt())).thenReturn(keys);
+        keys.forEach(key -> when(outboxEventRepository.tryLockKey(key)).thenReturn(true));
+        when(outboxEventRepository.findLeasedKeys(anyCollection(), any())).thenReturn(List.of());
+        when(outboxEventRepository.findPendingByKeys(anyCollection(), any())).thenReturn(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<SendResult<String, Object>> acked() {
+        return CompletableFuture.completedFuture((SendResult<String, Object>) mock(SendResult.class));
+    }
+
+    private static CompletableFuture<SendResult<String, Object>> failed(String message) {
+        return CompletableFuture.failedFuture(new IllegalStateException(message));
+    }
+
+    private PM_OutboxEvent event(Long id, String key) {
+        PM_OutboxEvent event = new PM_OutboxEvent();
+        event.setId(id);
+        event.setTopic("pm.test");
+        event.setAggregateKey(key);
+        event.setEventType(Map.class.getName());
+        event.setPayload("{\"id\":" + id + "}");
+        return event;
+    }
+}
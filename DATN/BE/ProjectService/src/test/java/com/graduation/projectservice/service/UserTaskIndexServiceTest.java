@@ -0,0 +1,133 @@
+package com.graduation.projectservice.service;
+
+import com.graduation.projectservice.PostgresTestConfig;
+import com.graduation.projectservice.model.PM_Task;
+import com.graduation.projectservice.model.enums.TaskStatus;
+import com.graduation.projectservice.repository.UserTaskIndexRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeping pm_user_task_index in line with tasks and assignments, against PostgreSQL.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+class UserTaskIndexServiceTest {
+
+    @Autowired
+    private UserTaskIndexRepository userTaskIndexRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserTaskIndexService userTaskIndexService;
+
+    @BeforeEach
+    void setUp() {
+        userTaskIndexService = new UserTaskIndexService(userTaskIndexRepository, entityManager, transactionManager);
+        execute("INSERT INTO pm_project (project_id, name, task_counter, risk_counter, deliverable_counter, phase_counter) "
+                + "VALUES (1, 'Project', 3, 0, 1, 1), (2, 'Other', 1, 0, 1, 1)");
+        execute("INSERT INTO pm_deliverable (deliverable_id, project_id, name, key, \"order\") "
+                + "VALUES (1, 1, 'Deliverable', 'D-1', 0), (2, 2, 'Other', 'D-2', 0)");
+        execute("INSERT INTO pm_phase (phase_id, deliverable_id, name, key, \"order\") "
+                + "VALUES (1, 1, 'Phase', 'P-1', 0), (2, 2, 'Other', 'P-2', 0)");
+        execute("INSERT INTO pm_task (task_id, phase_id, name, key, status, priority, \"order\", date_added, end_date) "
+                + "VALUES (1, 1, 'Task 1', 'T-1', 'TO_DO', 'MINOR', 0, DATE '2025-06-01', DATE '2025-06-10'), "
+                + "(2, 1, 'Task 2', 'T-2', 'DONE', 'MINOR', 1, DATE '2025-06-01', NULL), "
+                + "(3, 2, 'Other task', 'O-1', 'TO_DO', 'MINOR', 0, DATE '2025-06-01', NULL)");
+        execute("INSERT INTO pm_task_assignee (task_id, user_id) VALUES (1, 7), (1, 8), (2, 7), (3, 7)");
+        // A database created before the marker table, or by an earlier test
+        execute("DROP TABLE IF EXISTS pm_backfills");
+    }
+
+    @Test
+    void syncUpdatesFieldsAddsAndRemovesAssignees() {
+        userTaskIndexService.backfill();
+        PM_Task task = entityManager.find(PM_Task.class, 1L);
+        task.setName("Renamed");
+        task.setStatus(TaskStatus.IN_REVIEW);
+        task.setEndDate(null);
+
+        userTaskIndexService.syncTasks(1L, List.of(task), Map.of(1L, Set.of(8L, 9L)));
+        entityManager.flush();
+
+        assertEquals(List.of("7:2:Task 2", "7:3:Other task", "8:1:Renamed", "9:1:Renamed"), rows());
+        assertEquals(2, count("SELECT COUNT(*) FROM pm_user_task_index "
+                + "WHERE task_id = 1 AND status = 'IN_REVIEW' AND end_date IS NULL AND sort_date = DATE '9999-12-31'"));
+    }
+
+    @Test
+    void reindexAndRemoveTouchOnlyTheirProjectOrTask() {
+        userTaskIndexService.backfill();
+        execute("DELETE FROM pm_task_assignee WHERE task_id = 1 AND user_id = 8");
+        execute("UPDATE pm_user_task_index SET name = 'Stale'");
+
+        userTaskIndexService.reindexProject(1L);
+        assertEquals(List.of("7:1:Task 1", "7:2:Task 2", "7:3:Stale"), rows());
+
+        userTaskIndexService.removeTask(2L);
+        assertEquals(List.of("7:1:Task 1", "7:3:Stale"), rows());
+
+        userTaskIndexService.removeProject(2L);
+        assertEquals(List.of("7:1:Task 1"), rows());
+    }
+
+    @Test
+    void backfillRunsOnceAndKeepsRowsWrittenBeforeIt() {
+        // A task edited before the backfill ran already has its fresh row
+        PM_Task edited = new PM_Task();
+        edited.setTaskId(1L);
+        edited.setName("Edited");
+        edited.setKey("T-1");
+        edited.setEndDate(LocalDate.of(2025, 6, 10));
+        userTaskIndexService.syncTask(edited, 1L, Set.of(7L));
+        entityManager.flush();
+
+        assertTrue(userTaskIndexService.backfill());
+        assertEquals(List.of("7:1:Edited", "7:2:Task 2", "7:3:Other task", "8:1:Task 1"), rows());
+
+        // Rows lost later are not brought back by a second start, only by a rebuild
+        execute("DELETE FROM pm_user_task_index WHERE user_id = 8");
+        assertFalse(userTaskIndexService.backfill());
+        assertEquals(3, count("SELECT COUNT(*) FROM pm_user_task_index"));
+
+        assertEquals(4, userTaskIndexService.rebuild());
+        assertEquals(List.of("7:1:Task 1", "7:2:Task 2", "7:3:Other task", "8:1:Task 1"), rows());
+    }
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private long count(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> rows() {
+        return ((List<Object[]>) entityManager.createNativeQuery(
+                        "SELECT user_id, task_id, name FROM pm_user_task_index ORDER BY user_id, task_id")
+                .getResultList()).stream()
+                .map(row -> row[0] + ":" + row[1] + ":" + row[2])
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.graduation.projectservice.service;
+
+import com.graduation.projectservice.model.enums.TaskStatus;
+import com.graduation.projectservice.repository.TaskAssigneeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadCapacityEngineTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+
+    @Mock
+    private TaskAssigneeRepository taskAssigneeRepository;
+
+    @Test
+    void loadCountsOverlappingTasksPerMemberAndDay() {
+        WorkloadCapacityEngine engine = new WorkloadCapacityEngine(taskAssigneeRepository, 300000, 10);
+        when(taskAssigneeRepository.findOpenAssignmentIntervals(1L)).thenReturn(rows(
+                row(10L, 100L, MONDAY, MONDAY.plusDays(2)),
+                row(10L, 200L, MONDAY, MONDAY.plusDays(2)),
+                row(11L, 100L, MONDAY.plusDays(1), MONDAY.plusDays(5))));
+
+        WorkloadCapacityEngine.LoadMatrix matrix =
+                engine.computeLoad(1L, List.of(100L, 200L), MONDAY, MONDAY.plusDays(3));
+
+        assertArrayEquals(new int[]{1, 2, 2, 1}, matrix.load()[0]);
+        assertArrayEquals(new int[]{1, 1, 1, 0}, matrix.load()[1]);
+    }
+
+    @Test
+    void overloadRunsReportMaximalRunsAboveCapacity() {
+        WorkloadCapacityEngine.LoadMatrix matrix = new WorkloadCapacityEngine.LoadMatrix(
+                List.of(100L), MONDAY, new int[][]{{4, 5, 2, 4, 4}});
+
+        List<int[]> runs = matrix.overloadRuns(0, 3);
+
+        assertEquals(2, runs.size());
+        assertArrayEquals(new int[]{0, 1, 5}, runs.get(0));
+        assertArrayEquals(new int[]{3, 4, 4}, runs.get(1));
+    }
+
+    @Test
+    void patchIsAppliedToCachedIntervalsWithoutReload() {
+        WorkloadCapacityEngine engine = new WorkloadCapacityEngine(taskAssigneeRepository, 300000, 10);
+        when(taskAssigneeRepository.findOpenAssignmentIntervals(1L)).thenReturn(rows(
+                row(10L, 100L, MONDAY, MONDAY)));
+        engine.computeLoad(1L, List.of(100L), MONDAY, MONDAY);
+
+        engine.onTaskChanged(1L, 11L, MONDAY, MONDAY, TaskStatus.TO_DO, List.of(100L));
+        WorkloadCapacityEngine.LoadMatrix matrix = engine.computeLoad(1L, List.of(100L), MONDAY, MONDAY);
+
+        assertEquals(2, matrix.load()[0][0]);
+        verify(taskAssigneeRepository, times(1)).findOpenAssignmentIntervals(1L);
+    }
+
+    @Test
+    void loadRacingWithAChangeIsNotCached() {
+        WorkloadCapacityEngine engine = new WorkloadCapacityEngine(taskAssigneeRepository, 300000, 10);
+        // The task commits while the first load is still reading the old rows
+        when(taskAssigneeRepository.findOpenAssignmentIntervals(1L))
+                .thenAnswer(invocation -> {
+                    engine.onTaskChanged(1L, 11L, MONDAY, MONDAY, TaskStatus.TO_DO, List.of(100L));
+                    return rows(row(10L, 100L, MONDAY, MONDAY));
+                })
+                .thenReturn(rows(
+                        row(10L, 100L, MONDAY, MONDAY),
+                        row(11L, 100L, MONDAY, MONDAY)));
+
+        engine.computeLoad(1L, List.of(100L), MONDAY, MONDAY);
+        WorkloadCapacityEngine.LoadMatrix matrix = engine.computeLoad(1L, List.of(100L), MONDAY, MONDAY);
+
+        assertEquals(2, matrix.load()[0][0]);
+        verify(taskAssigneeRepository, times(2)).findOpenAssignmentIntervals(1L);
+    }
+
+    @Test
+    void leastRecentlyUsedProjectIsEvictedBeyondTheBound() {
+        WorkloadCapacityEngine engine = new WorkloadCapacityEngine(taskAssigneeRepository, 300000, 1);
+        when(taskAssigneeRepository.findOpenAssignmentIntervals(anyLong())).thenReturn(rows());
+
+        engine.computeLoad(1L, List.of(), MONDAY, MONDAY);
+        engine.computeLoad(2L, List.of(), MONDAY, MONDAY);
+        engine.computeLoad(1L, List.of(), MONDAY, MONDAY);
+
+        verify(taskAssigneeRepository, times(2)).findOpenAssignmentIntervals(1L);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static Object[] row(Long taskId, Long userId, LocalDate start, LocalDate end) {
+        return new Object[]{taskId, userId, start, end};
+    }
+}
@@ -0,0 +1,179 @@
+package com.graduation.projectservice.service.impl;
+
+import com.graduation.projectservice.PostgresTestConfig;
+import com.graduation.projectservice.client.UserServiceClient;
+import com.graduation.projectservice.constant.Constant;
+import com.graduation.projectservice.helper.ProjectAuthorizationHelper;
+import com.graduation.projectservice.model.enums.TaskPriority;
+import com.graduation.projectservice.payload.request.BulkUpdateTasksRequest;
+import com.graduation.projectservice.payload.request.UpdateTaskRequest;
+import com.graduation.projectservice.service.OutboxService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
+import com.graduation.projectservice.service.TaskService;
+import com.graduation.projectservice.service.UserTaskIndexService;
+import com.graduation.projectservice.service.WorkloadCapacityEngine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Editing priority and assignees of 500 tasks with one bulk call versus 500 single-task updates,
+ * with JDBC batching configured as in the service profiles. Reports wall time and the number of
+ * JDBC statements of each.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PostgresTestConfig.class, TaskServiceImpl.class, ProjectAuthorizationHelper.class, OutboxService.class,
+        TaskLifecycleEventService.class, UserTaskIndexService.class, WorkloadCapacityEngine.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// Every call commits on its own, as behind the controller
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkUpdateTasksBenchmarkTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long PROJECT_ID = 1L;
+    private static final int TASKS = 500;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Long> taskIds = LongStream.rangeClosed(1, TASKS).boxed().toList();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            execute("INSERT INTO pm_project (project_id, name, task_counter, risk_counter, deliverable_counter, phase_counter) "
+                    + "VALUES (1, 'Project', " + TASKS + ", 0, 1, 1)");
+            execute("INSERT INTO pm_project_member (project_id, user_id, role) "
+                    + "SELECT 1, u, CASE WHEN u = 1 THEN 'OWNER' ELSE 'MEMBER' END FROM generate_series(1, 10) AS u");
+            execute("INSERT INTO pm_deliverable (deliverable_id, project_id, name, key, \"order\") "
+                    + "VALUES (1, 1, 'Deliverable', 'D-1', 0)");
+            execute("INSERT INTO pm_phase (phase_id, deliverable_id, name, key, \"order\") "
+                    + "VALUES (1, 1, 'Phase', 'P-1', 0)");
+            execute("INSERT INTO pm_task (task_id, phase_id, name, key, status, priority, \"order\", date_added) "
+                    + "SELECT t, 1, 'Task ' || t, 'T-' || t, 'TO_DO', 'MINOR', t, CURRENT_DATE "
+                    + "FROM generate_series(1, " + TASKS + ") AS t");
+            execute("INSERT INTO pm_task_assignee (task_id, user_id) "
+                    + "SELECT t, u FROM generate_series(1, " + TASKS + ") AS t, generate_series(2, 3) AS u");
+            execute("ANALYZE");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> execute(
+                "TRUNCATE pm_task_assignee, pm_task, pm_phase, pm_deliverable, pm_project_member, pm_project, "
+                        + "pm_user_task_index, pm_outbox_event"));
+    }
+
+    @Test
+    void bulkUpdateVersusSingleUpdates() {
+        // Every round swaps one of two assignees, so both paths delete and insert rows
+        bulk(0);
+        single(1);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long bulkNanos = 0;
+        long singleNanos = 0;
+        long bulkStatements = 0;
+        long singleStatements = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            bulk(round);
+            bulkNanos += System.nanoTime() - start;
+            bulkStatements += statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            start = System.nanoTime();
+            single(round + 1);
+            singleNanos += System.nanoTime() - start;
+            singleStatements += statistics.getPrepareStatementCount();
+        }
+
+        double bulkMs = bulkNanos / 1_000_000.0 / ROUNDS;
+        double singleMs = singleNanos / 1_000_000.0 / ROUNDS;
+        System.out.printf("%d tasks, priority and assignees: bulk %.1f ms / %d statements, "
+                        + "%d single updates %.1f ms / %d statements (%.1fx faster)%n",
+                TASKS, bulkMs, bulkStatements / ROUNDS, TASKS, singleMs, singleStatements / ROUNDS, singleMs / bulkMs);
+        assertTrue(bulkStatements < singleStatements);
+    }
+
+    private void bulk(int round) {
+        BulkUpdateTasksRequest request = new BulkUpdateTasksRequest();
+        request.setTaskIds(taskIds);
+        request.setPriority(priority(round));
+        request.setAssigneeIds(assignees(round));
+        assertEquals(Constant.SUCCESS_STATUS, taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID, request).getStatus());
+    }
+
+    private void single(int round) {
+        for (Long taskId : taskIds) {
+            UpdateTaskRequest request = new UpdateTaskRequest();
+            request.setName("Task " + taskId);
+            request.setPriority(priority(round));
+            request.setAssigneeIds(assignees(round));
+            assertEquals(Constant.SUCCESS_STATUS,
+                    taskService.updateTask(OWNER_ID, PROJECT_ID, taskId, request).getStatus());
+        }
+    }
+
+    private static TaskPriority priority(int round) {
+        return TaskPriority.values()[round % TaskPriority.values().length];
+    }
+
+    private static List<Long> assignees(int round) {
+        return List.of(2L, 3L + round % 2);
+    }
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+}
@@ -0,0 +1,160 @@
+package com.graduation.projectservice.service.impl;
+
+import com.graduation.projectservice.PostgresTestConfig;
+import com.graduation.projectservice.client.UserServiceClient;
+import com.graduation.projectservice.constant.Constant;
+import com.graduation.projectservice.helper.ProjectAuthorizationHelper;
+import com.graduation.projectservice.model.enums.TaskPriority;
+import com.graduation.projectservice.payload.request.BulkUpdateTasksRequest;
+import com.graduation.projectservice.payload.response.BaseResponse;
+import com.graduation.projectservice.service.OutboxService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
+import com.graduation.projectservice.service.TaskService;
+import com.graduation.projectservice.service.UserTaskIndexService;
+import com.graduation.projectservice.service.WorkloadCapacityEngine;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The bulk task edit through the transactional service against PostgreSQL: a failing task
+ * leaves every task of the batch unchanged, and the assignee diff leaves exactly the new set.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PostgresTestConfig.class, TaskServiceImpl.class, ProjectAuthorizationHelper.class, OutboxService.class,
+        TaskLifecycleEventService.class, UserTaskIndexService.class, WorkloadCapacityEngine.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// The service commits or rolls back on its own, so nothing may run in a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkUpdateTasksTransactionTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long PROJECT_ID = 1L;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            execute("INSERT INTO pm_project (project_id, name, task_counter, risk_counter, deliverable_counter, phase_counter) "
+                    + "VALUES (1, 'Project', 4, 0, 1, 1), (2, 'Other', 1, 0, 1, 1)");
+            execute("INSERT INTO pm_project_member (project_id, user_id, role) VALUES "
+                    + "(1, 1, 'OWNER'), (1, 2, 'MEMBER'), (1, 3, 'MEMBER'), (1, 4, 'MEMBER'), (1, 5, 'INVITED')");
+            execute("INSERT INTO pm_deliverable (deliverable_id, project_id, name, key, \"order\") "
+                    + "VALUES (1, 1, 'Deliverable', 'D-1', 0), (2, 2, 'Other', 'D-2', 0)");
+            execute("INSERT INTO pm_phase (phase_id, deliverable_id, name, key, \"order\") "
+                    + "VALUES (1, 1, 'Phase', 'P-1', 0), (2, 2, 'Other', 'P-2', 0)");
+            execute("INSERT INTO pm_task (task_id, phase_id, name, key, status, priority, \"order\", date_added, end_date) "
+                    + "VALUES (1, 1, 'Task 1', 'T-1', 'TO_DO', 'MINOR', 0, DATE '2025-06-01', NULL), "
+                    + "(2, 1, 'Task 2', 'T-2', 'TO_DO', 'MINOR', 1, DATE '2025-06-01', NULL), "
+                    + "(3, 1, 'Task 3', 'T-3', 'TO_DO', 'MINOR', 2, DATE '2025-06-01', DATE '2025-06-05'), "
+                    + "(4, 2, 'Other task', 'O-1', 'TO_DO', 'MINOR', 0, DATE '2025-06-01', NULL)");
+            execute("INSERT INTO pm_task_assignee (task_id, user_id) VALUES (1, 2), (1, 3), (2, 3), (3, 2)");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> execute(
+                "TRUNCATE pm_task_assignee, pm_task, pm_phase, pm_deliverable, pm_project_member, pm_project, "
+                        + "pm_user_task_index, pm_outbox_event"));
+    }
+
+    @Test
+    void invalidDateRangeOnTheLastTaskLeavesEveryTaskUnchanged() {
+        // Task 3 ends on June 5, before the new start date
+        BulkUpdateTasksRequest request = request(List.of(1L, 2L, 3L), List.of(4L));
+        request.setStartDate(LocalDate.of(2025, 6, 10));
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID, request);
+
+        assertEquals(Constant.ERROR_STATUS, response.getStatus());
+        assertEquals(String.format(Constant.ERROR_BULK_TASK_INVALID_DATES, "T-3"), response.getMsg());
+        assertEquals(0, count("SELECT COUNT(*) FROM pm_task WHERE priority <> 'MINOR' OR start_date IS NOT NULL"));
+        assertEquals(List.of("1:2", "1:3", "2:3", "3:2"), assignees());
+        assertEquals(0, count("SELECT COUNT(*) FROM pm_outbox_event"));
+    }
+
+    @Test
+    void assigneeDiffLeavesExactlyTheNewSet() {
+        BaseResponse<?> response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID,
+                request(List.of(1L, 2L, 3L), List.of(3L, 4L)));
+
+        assertEquals(Constant.SUCCESS_STATUS, response.getStatus(), response.getMsg());
+        assertEquals(List.of("1:3", "1:4", "2:3", "2:4", "3:3", "3:4"), assignees());
+        assertEquals(3, count("SELECT COUNT(*) FROM pm_task WHERE priority = 'CRITICAL'"));
+        assertEquals(6, count("SELECT COUNT(*) FROM pm_user_task_index"));
+        // One TaskUpdateEvent per task and one lifecycle event for the batch
+        assertEquals(4, count("SELECT COUNT(*) FROM pm_outbox_event"));
+    }
+
+    @Test
+    void taskOfAnotherProjectOrInvitedAssigneeChangesNothing() {
+        BaseResponse<?> otherProject = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID, request(List.of(1L, 4L), null));
+        BaseResponse<?> invited = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID, request(List.of(1L), List.of(5L)));
+
+        assertEquals(Constant.ERROR_BULK_TASKS_NOT_IN_PROJECT, otherProject.getMsg());
+        assertEquals(String.format(Constant.ERROR_BULK_ASSIGNEE_NOT_ACTIVE, 5L), invited.getMsg());
+        assertEquals(0, count("SELECT COUNT(*) FROM pm_task WHERE priority <> 'MINOR'"));
+        assertEquals(List.of("1:2", "1:3", "2:3", "3:2"), assignees());
+        assertEquals(1, count("SELECT COUNT(*) FROM pm_task WHERE task_id = 4 AND phase_id = 2"));
+    }
+
+    private static BulkUpdateTasksRequest request(List<Long> taskIds, List<Long> assigneeIds) {
+        BulkUpdateTasksRequest request = new BulkUpdateTasksRequest();
+        request.setTaskIds(taskIds);
+        request.setPriority(TaskPriority.CRITICAL);
+        request.setAssigneeIds(assigneeIds);
+        return request;
+    }
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private long count(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> assignees() {
+        return ((List<Object[]>) entityManager.createNativeQuery(
+                        "SELECT task_id, user_id FROM pm_task_assignee ORDER BY task_id, user_id")
+                .getResultList()).stream()
+                .map(row -> row[0] + ":" + row[1])
+                .toList();
+    }
+}
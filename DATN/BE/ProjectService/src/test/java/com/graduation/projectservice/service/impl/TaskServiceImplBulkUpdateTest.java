@@ -0,0 +1,245 @@
+package com.graduation.projectservice.service.impl;
+
+import com.graduation.projectservice.client.UserServiceClient;
+import com.graduation.projectservice.constant.Constant;
+import com.graduation.projectservice.helper.ProjectAuthorizationHelper;
+import com.graduation.projectservice.model.PM_Task;
+import com.graduation.projectservice.model.PM_TaskAssignee;
+import com.graduation.projectservice.model.enums.TaskPriority;
+import com.graduation.projectservice.model.enums.TaskStatus;
+import com.graduation.projectservice.payload.request.BulkUpdateTasksRequest;
+import com.graduation.projectservice.payload.response.BaseResponse;
+import com.graduation.projectservice.repository.*;
+import com.graduation.projectservice.service.OutboxService;
+import com.graduation.projectservice.service.TaskLifecycleEventService;
+import com.graduation.projectservice.service.UserTaskIndexService;
+import com.graduation.projectservice.service.WorkloadCapacityEngine;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceImplBulkUpdateTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long PROJECT_ID = 3L;
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private PhaseRepository phaseRepository;
+    @Mock
+    private DeliverableRepository deliverableRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Mock
+    private ProjectAuthorizationHelper authHelper;
+    @Mock
+    private UserServiceClient userServiceClient;
+    @Mock
+    private TaskAttachmentRepository taskAttachmentRepository;
+    @Mock
+    private FileNodeRepository fileNodeRepository;
+    @Mock
+    private TaskCommentRepository taskCommentRepository;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private WorkloadCapacityEngine workloadCapacityEngine;
+    @Mock
+    private UserTaskIndexService userTaskIndexService;
+    @Mock
+    private UserTaskIndexRepository userTaskIndexRepository;
+    @Mock
+    private TaskLifecycleEventService taskLifecycleEventService;
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    @Test
+    void assigneeSetIsReplacedWithOneDeleteAndInsertsForMissingOnly() {
+        PM_Task first = task(10L, 100L, 101L);
+        PM_Task second = task(11L, 101L);
+        when(taskRepository.findAllWithAssigneesByProjectIdAndTaskIdIn(PROJECT_ID, Set.of(10L, 11L)))
+                .thenReturn(List.of(first, second));
+        when(projectMemberRepository.findActiveMemberIds(PROJECT_ID, List.of(101L, 102L)))
+                .thenReturn(List.of(101L, 102L));
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID,
+                request(List.of(10L, 11L), null, List.of(101L, 102L)));
+
+        assertEquals(Constant.SUCCESS_STATUS, response.getStatus(), response.getMsg());
+        verify(authHelper).requireOwner(PROJECT_ID, OWNER_ID);
+        verify(taskAssigneeRepository).deleteByTaskIdInAndUserIdNotIn(Set.of(10L, 11L), Set.of(101L, 102L));
+        ArgumentCaptor<PM_TaskAssignee> persisted = ArgumentCaptor.forClass(PM_TaskAssignee.class);
+        verify(entityManager, times(2)).persist(persisted.capture());
+        assertEquals(List.of("10:102", "11:102"), persisted.getAllValues().stream()
+                .map(assignee -> assignee.getTaskId() + ":" + assignee.getUserId())
+                .sorted()
+                .toList());
+
+        // The loaded collections follow the statements instead of keeping the removed assignee
+        verify(entityManager).flush();
+        verify(entityManager).detach(first);
+        assertEquals(Set.of(101L, 102L), userIds(first));
+        assertEquals(Set.of(101L, 102L), userIds(second));
+        verify(outboxService, times(2)).enqueue(anyString(), eq(PROJECT_ID), any());
+        verify(userTaskIndexService).syncTasks(PROJECT_ID, List.of(first, second),
+                Map.of(10L, Set.of(101L, 102L), 11L, Set.of(101L, 102L)));
+    }
+
+    @Test
+    void emptyAssigneeListRemovesEveryAssignee() {
+        PM_Task task = task(10L, 100L);
+        when(taskRepository.findAllWithAssigneesByProjectIdAndTaskIdIn(PROJECT_ID, Set.of(10L)))
+                .thenReturn(List.of(task));
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID,
+                request(List.of(10L), null, List.of()));
+
+        assertEquals(Constant.SUCCESS_STATUS, response.getStatus(), response.getMsg());
+        verify(taskAssigneeRepository).deleteByTaskIdIn(Set.of(10L));
+        verify(entityManager, never()).persist(any());
+        assertTrue(task.getAssignees().isEmpty());
+    }
+
+    @Test
+    void taskFromAnotherProjectRejectsTheWholeBatch() {
+        // Task 12 belongs to another project, so the project-scoped load does not return it
+        when(taskRepository.findAllWithAssigneesByProjectIdAndTaskIdIn(PROJECT_ID, Set.of(10L, 12L)))
+                .thenReturn(List.of(task(10L)));
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID,
+                request(List.of(10L, 12L), TaskPriority.MAJOR, null));
+
+        assertEquals(Constant.ERROR_STATUS, response.getStatus());
+        assertEquals(Constant.ERROR_BULK_TASKS_NOT_IN_PROJECT, response.getMsg());
+        verifyNoWrites();
+    }
+
+    @Test
+    void assigneeWhoIsNotAnActiveMemberRejectsTheWholeBatch() {
+        PM_Task task = task(10L, 100L);
+        when(taskRepository.findAllWithAssigneesByProjectIdAndTaskIdIn(PROJECT_ID, Set.of(10L)))
+                .thenReturn(List.of(task));
+        // 102 is only invited
+        when(projectMemberRepository.findActiveMemberIds(PROJECT_ID, List.of(100L, 102L)))
+                .thenReturn(List.of(100L));
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID,
+                request(List.of(10L), null, List.of(100L, 102L)));
+
+        assertEquals(Constant.ERROR_STATUS, response.getStatus());
+        assertEquals(String.format(Constant.ERROR_BULK_ASSIGNEE_NOT_ACTIVE, 102L), response.getMsg());
+        verifyNoWrites();
+        assertEquals(Set.of(100L), userIds(task));
+    }
+
+    @Test
+    void invalidDateRangeOnOneTaskRollsBackTheWholeBatch() {
+        PM_Task valid = task(10L);
+        PM_Task invalid = task(11L);
+        invalid.setEndDate(LocalDate.of(2025, 6, 1));
+        when(taskRepository.findAllWithAssigneesByProjectIdAndTaskIdIn(PROJECT_ID, Set.of(10L, 11L)))
+                .thenReturn(List.of(valid, invalid));
+        BulkUpdateTasksRequest request = request(List.of(10L, 11L), null, null);
+        request.setStartDate(LocalDate.of(2025, 6, 10));
+        TransactionStatus status = mock(TransactionStatus.class);
+
+        BaseResponse<?> response;
+        try (MockedStatic<TransactionAspectSupport> transaction = mockStatic(TransactionAspectSupport.class)) {
+            transaction.when(TransactionAspectSupport::currentTransactionStatus).thenReturn(status);
+            response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID, request);
+        }
+
+        assertEquals(Constant.ERROR_STATUS, response.getStatus());
+        assertEquals(String.format(Constant.ERROR_BULK_TASK_INVALID_DATES, "T-11"), response.getMsg());
+        // The first task was already changed in memory; the rollback discards it with the rest
+        verify(status).setRollbackOnly();
+        verifyNoWrites();
+    }
+
+    @Test
+    void statusOnlyEditNeedsActiveMembershipOnly() {
+        PM_Task task = task(10L, 100L);
+        when(taskRepository.findAllWithAssigneesByProjectIdAndTaskIdIn(PROJECT_ID, Set.of(10L)))
+                .thenReturn(List.of(task));
+        BulkUpdateTasksRequest request = request(List.of(10L), null, null);
+        request.setStatus(TaskStatus.DONE);
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(100L, PROJECT_ID, request);
+
+        assertEquals(Constant.SUCCESS_STATUS, response.getStatus(), response.getMsg());
+        verify(authHelper).requireActiveMember(PROJECT_ID, 100L);
+        verify(authHelper, never()).requireOwner(any(), any());
+        assertEquals(TaskStatus.DONE, task.getStatus());
+        verify(entityManager, never()).detach(any());
+    }
+
+    @Test
+    void editWithoutChangesIsRejected() {
+        BulkUpdateTasksRequest request = request(List.of(10L), null, null);
+
+        BaseResponse<?> response = taskService.bulkUpdateTasks(OWNER_ID, PROJECT_ID, request);
+
+        assertFalse(request.isAnyFieldSet());
+        assertFalse(request.isStatusOnly());
+        assertEquals(Constant.ERROR_STATUS, response.getStatus());
+        assertEquals(Constant.ERROR_BULK_NO_CHANGES, response.getMsg());
+        verifyNoInteractions(authHelper, taskRepository);
+    }
+
+    private void verifyNoWrites() {
+        verify(taskAssigneeRepository, never()).deleteByTaskIdIn(any());
+        verify(taskAssigneeRepository, never()).deleteByTaskIdInAndUserIdNotIn(any(), any());
+        verify(entityManager, never()).persist(any());
+        verifyNoInteractions(outboxService, userTaskIndexService, taskLifecycleEventService);
+    }
+
+    private static BulkUpdateTasksRequest request(List<Long> taskIds, TaskPriority priority, List<Long> assigneeIds) {
+        BulkUpdateTasksRequest request = new BulkUpdateTasksRequest();
+        request.setTaskIds(taskIds);
+        request.setPriority(priority);
+        request.setAssigneeIds(assigneeIds);
+        return request;
+    }
+
+    private static PM_Task task(Long taskId, Long... assigneeIds) {
+        PM_Task task = new PM_Task();
+        task.setTaskId(taskId);
+        task.setPhaseId(1L);
+        task.setName("Task " + taskId);
+        task.setKey("T-" + taskId);
+        for (Long assigneeId : assigneeIds) {
+            task.getAssignees().add(new PM_TaskAssignee(taskId, assigneeId));
+        }
+        return task;
+    }
+
+    private static Set<Long> userIds(PM_Task task) {
+        return task.getAssignees().stream()
+                .map(PM_TaskAssignee::getUserId)
+                .collect(Collectors.toSet());
+    }
+}
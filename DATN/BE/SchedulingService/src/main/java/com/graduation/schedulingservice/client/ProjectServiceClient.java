@@ -4,14 +4,20 @@ import com.graduation.schedulingservice.payload.response.PM_TasKDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -54,4 +60,38 @@ public class ProjectServiceClient {
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolve many project tasks in one round trip. Ids that no longer exist are absent from the
+     * result; an empty Optional means Project Service could not be reached.
+     */
+    public Optional<List<PM_TasKDTO>> getProjectTasksByIds(Collection<Long> pmTaskIds) {
+        if (pmTaskIds == null || pmTaskIds.isEmpty()) {
+            return Optional.of(Collections.emptyList());
+        }
+
+        String url = projectServiceUrl + "/api/internal/tasks/batch-by-ids";
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Internal-API-Key", internalApiKey);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<List<Long>> entity = new HttpEntity<>(new ArrayList<>(pmTaskIds), headers);
+
+            ResponseEntity<List<PM_TasKDTO>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    entity,
+                    new ParameterizedTypeReference<List<PM_TasKDTO>>() {
+                    }
+            );
+
+            return Optional.of(response.getBody() != null ? response.getBody() : Collections.emptyList());
+
+        } catch (Exception e) {
+            log.error("Failed to batch fetch project tasks: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
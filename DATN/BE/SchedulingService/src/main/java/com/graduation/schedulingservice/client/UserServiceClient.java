@@ -0,0 +1,68 @@
+package com.graduation.schedulingservice.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserServiceClient {
+
+    private final RestTemplate restTemplate;
+
+    @Value("${app.services.user-service.url}")
+    private String userServiceUrl;
+
+    @Value("${app.security.internal-api-key}")
+    private String internalApiKey;
+
+    /**
+     * Preferred IANA zone of many users in one round trip. Unknown users are absent from the
+     * result; an empty Optional means User Service could not be reached.
+     */
+    public Optional<Map<Long, String>> getTimezonesByIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Optional.of(Collections.emptyMap());
+        }
+
+        String url = userServiceUrl + "/api/internal/users/timezones-by-ids";
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Internal-API-Key", internalApiKey);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<List<Long>> entity = new HttpEntity<>(new ArrayList<>(userIds), headers);
+
+            ResponseEntity<Map<Long, String>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    entity,
+                    new ParameterizedTypeReference<Map<Long, String>>() {
+                    }
+            );
+
+            return Optional.of(response.getBody() != null ? response.getBody() : Collections.emptyMap());
+
+        } catch (Exception e) {
+            log.error("Failed to batch fetch user timezones: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
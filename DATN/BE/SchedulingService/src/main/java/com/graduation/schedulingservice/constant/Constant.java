@@ -23,6 +23,7 @@ public class Constant {
     public static final String COLUMN_SAGA_ID = "saga_id";
     public static final String COLUMN_MESSAGE_ID = "message_id";
     public static final String TABLE_USER_CONSTRAINTS = "user_constraints";
+    public static final String TABLE_USER_DAILY_USAGE = "user_daily_usage";
 
 
     // ===================== CLEANUP CONFIGURATION =====================
@@ -41,6 +42,7 @@ public class Constant {
     public static final String MSG_NO_ITEMS_TO_CONVERT = "No calendar items to convert";
     public static final String MSG_CONVERSION_SUCCESS = "Successfully converted %d calendar items";
     public static final String MSG_CONVERSION_FAILED = "Failed to convert calendar items timezone";
+    public static final String MSG_TIMEZONE_UPDATED = "Timezone updated to %s";
     public static final String MSG_ITEM_FETCH_SUCCESS = "Calendar item retrieved successfully";
     public static final String MSG_ITEM_FETCH_FAILED = "Failed to fetch calendar item";
     public static final String MSG_ITEM_NAME_EMPTY = "Item name cannot be empty";
@@ -62,6 +64,7 @@ public class Constant {
     public static final String LOG_TIMEZONE_CONVERT_START = "Converting timezone for user {} from {} to {}";
     public static final String LOG_INVALID_TIMEZONE = "Invalid timezone format: old={}, new={}";
     public static final String LOG_NO_ITEMS_FOR_USER = "No calendar items found for user {}";
+    public static final String LOG_TIMEZONE_MIGRATION = "Migrating legacy wall-clock items of user {} from {} to UTC";
     public static final String LOG_CONVERSION_SUCCESS = "Successfully converted {} calendar items for user {}";
     public static final String LOG_CONVERSION_FAILED = "Failed to convert timezone for user {}";
     public static final String LOG_FETCHING_ITEM = "Fetching calendar item: userId={}, itemId={}";
@@ -108,12 +111,44 @@ public class Constant {
     public static final String LOG_GET_UNSCHEDULED_ITEMS = "Getting unscheduled items for userId={}, weekPlanId={}";
     public static final String LOG_GET_UNSCHEDULED_ITEMS_FAILED = "Failed to get unscheduled items for userId={}";
 
+    // ===================== AUTO SCHEDULER =====================
+    public static final String MSG_WEEK_PLAN_NOT_FOUND = "Week plan not found";
+    public static final String MSG_AUTO_SCHEDULE_PROPOSED = "Auto-schedule proposal created";
+    public static final String MSG_AUTO_SCHEDULE_APPLIED = "Auto-schedule applied";
+    public static final String MSG_AUTO_SCHEDULE_FAILED = "Failed to auto-schedule week plan";
+    public static final String AUTO_SCHEDULE_REASON_NO_WINDOW = "Due date or big task range falls outside this week";
+    public static final String AUTO_SCHEDULE_REASON_NO_ROOM = "No free slot long enough within the allowed days";
+    public static final String AUTO_SCHEDULE_REASON_TOO_LONG = "Estimated duration does not fit in a single day";
+    public static final String LOG_AUTO_SCHEDULE = "Auto-scheduling week plan: userId={}, weekPlanId={}, apply={}";
+    public static final String LOG_AUTO_SCHEDULE_FAILED = "Failed to auto-schedule week plan: userId={}, weekPlanId={}";
+
     // ===================== CALENDAR MESSAGES =====================
     public static final String MSG_CALENDARS_RETRIEVED_SUCCESS = "Calendars retrieved successfully";
     public static final String MSG_CALENDARS_RETRIEVAL_FAILED = "Failed to retrieve calendars";
+    public static final String MSG_CALENDAR_CHANGES_RETRIEVED = "Calendar changes retrieved successfully";
+    public static final String MSG_CALENDAR_CHANGES_FAILED = "Failed to retrieve calendar changes";
 
     // ===================== CALENDAR LOGS =====================
     public static final String LOG_GET_USER_CALENDARS = "Getting calendars for userId={}";
     public static final String LOG_GET_USER_CALENDARS_FAILED = "Failed to get calendars for userId={}";
+    public static final String LOG_CALENDAR_FEED = "Exporting calendar feed: userId={}, calendarId={}";
+    public static final String LOG_CALENDAR_FEED_FAILED = "Failed to export calendar feed: userId={}, calendarId={}";
+    public static final String LOG_CALENDAR_CHANGES = "Getting calendar changes: userId={}, calendarId={}";
+    public static final String LOG_CALENDAR_CHANGES_FAILED = "Failed to get calendar changes: userId={}, calendarId={}";
+
+    // ===================== FREE/BUSY MESSAGES =====================
+    public static final String MSG_FREE_SLOTS_RETRIEVED = "Free slots retrieved successfully";
+    public static final String MSG_FREE_SLOTS_FAILED = "Failed to retrieve free slots";
+    public static final String MSG_FREE_SLOTS_NO_USERS = "At least one user is required";
+    public static final String MSG_FREE_SLOTS_TOO_MANY_USERS = "Too many users in one request, the maximum is %d";
+    public static final String MSG_FREE_SLOTS_INVALID_DAYS = "Days must be between 1 and %d";
+
+    // ===================== FREE/BUSY LOGS =====================
+    public static final String LOG_GET_FREE_SLOTS = "Getting free slots: userId={}, from={}, days={}";
+    public static final String LOG_GET_COMMON_FREE_SLOTS = "Getting common free slots: users={}, from={}, days={}";
+    public static final String LOG_GET_FREE_SLOTS_FAILED = "Failed to get free slots: {}";
+
+    // ===================== MEMORABLE EVENTS =====================
+    public static final String MEMORABLE_EVENT_COLOR = "#FF6B9D"; // Pink color for memorable events
 
 }
\ No newline at end of file
@@ -4,10 +4,18 @@ import com.graduation.schedulingservice.constant.Constant;
 import com.graduation.schedulingservice.payload.response.BaseResponse;
 import com.graduation.schedulingservice.payload.response.CalendarListResponse;
 import com.graduation.schedulingservice.service.CalendarService;
+import com.graduation.schedulingservice.service.CalendarSyncService;
+import com.graduation.schedulingservice.service.FreeBusyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 @Slf4j
 @RestController
@@ -16,6 +24,11 @@ import org.springframework.web.bind.annotation.*;
 public class CalendarController {
 
     private final CalendarService calendarService;
+    private final CalendarSyncService calendarSyncService;
+    private final FreeBusyService freeBusyService;
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar",
+            StandardCharsets.UTF_8);
 
     /**
      * Get user's calendar list
@@ -46,4 +59,92 @@ public class CalendarController {
         BaseResponse<?> response = calendarService.createDefaultCalendar(userId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Export a calendar as an iCalendar feed for subscription by external calendar apps
+     * @param userId Extracted from X-User-Id header
+     * @param calendarId The calendar to export
+     * @param ifNoneMatch ETag of the copy the client already has
+     * @return The feed streamed as text/calendar, or 304 when the client's copy is current
+     */
+    @GetMapping("/{calendarId}/feed.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendarFeed(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long calendarId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        try {
+            log.info(Constant.LOG_CALENDAR_FEED, userId, calendarId);
+
+            String eTag = calendarSyncService.getFeedETag(userId, calendarId);
+            if (eTag == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+
+            StreamingResponseBody body = out -> calendarSyncService.writeFeed(userId, calendarId, out);
+            return ResponseEntity.ok()
+                    .contentType(TEXT_CALENDAR)
+                    .eTag(eTag)
+                    .body(body);
+
+        } catch (Exception e) {
+            log.error(Constant.LOG_CALENDAR_FEED_FAILED, userId, calendarId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Get the items of a calendar changed since the last sync
+     * @param userId Extracted from X-User-Id header
+     * @param calendarId The calendar to sync
+     * @param syncToken Token from the previous response; omitted for the first sync
+     * @return Response containing changed items, deleted item IDs and the next sync token
+     */
+    @GetMapping("/{calendarId}/changes")
+    public ResponseEntity<?> getCalendarChanges(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long calendarId,
+            @RequestParam(required = false) String syncToken) {
+        try {
+            log.info(Constant.LOG_CALENDAR_CHANGES, userId, calendarId);
+
+            BaseResponse<?> response = calendarSyncService.getChanges(userId, calendarId, syncToken);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error(Constant.LOG_CALENDAR_CHANGES_FAILED, userId, calendarId, e);
+            return ResponseEntity.ok(
+                    new BaseResponse<>(0, Constant.MSG_CALENDAR_CHANGES_FAILED, null)
+            );
+        }
+    }
+
+    /**
+     * Get the user's free time over a number of days
+     * @param userId Extracted from X-User-Id header
+     * @param from First day (YYYY-MM-DD), in the user's zone
+     * @param days Number of days
+     * @param minMinutes Shortest free slot to return
+     * @return Response containing the free slots in the user's local time
+     */
+    @GetMapping("/free-busy")
+    public ResponseEntity<?> getFreeSlots(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam String from,
+            @RequestParam(defaultValue = "7") Integer days,
+            @RequestParam(required = false) Integer minMinutes) {
+        return ResponseEntity.ok(freeBusyService.getFreeSlots(userId, from, days, minMinutes));
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
 }
\ No newline at end of file
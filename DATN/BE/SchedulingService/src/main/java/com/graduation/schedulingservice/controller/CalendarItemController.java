@@ -9,8 +9,10 @@ import com.graduation.schedulingservice.service.CalendarItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Arrays;
 import java.util.List;
@@ -153,6 +155,7 @@ public class CalendarItemController {
      * @param view        View type: DAY, WEEK, MONTH, or YEAR.
      * @param date        Reference date in YYYY-MM-DD format.
      * @param calendarIds Comma-separated list of calendar IDs.
+     * @param expand      Return routine occurrences instead of raw recurring routines.
      * @return Response containing the list of items.
      */
     @GetMapping("")
@@ -160,7 +163,8 @@ public class CalendarItemController {
             @RequestHeader("X-User-Id") Long userId,
             @RequestParam("view") String view,
             @RequestParam("date") String date,
-            @RequestParam("calendarIds") String calendarIds) {
+            @RequestParam("calendarIds") String calendarIds,
+            @RequestParam(value = "expand", defaultValue = "false") boolean expand) {
         try {
             log.info(Constant.LOG_GET_ITEMS_BY_DATE_RANGE, userId, view, date, calendarIds);
 
@@ -168,7 +172,8 @@ public class CalendarItemController {
                     .map(Long::parseLong)
                     .collect(Collectors.toList());
 
-            BaseResponse<?> response = calendarItemService.getItemsByDateRange(userId, view, date, calendarIdList);
+            BaseResponse<?> response = calendarItemService.getItemsByDateRange(userId, view, date, calendarIdList,
+                    expand);
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -178,6 +183,33 @@ public class CalendarItemController {
         }
     }
 
+    /**
+     * Same as getItemsByDateRange with expand=true, but the body is streamed as items are
+     * produced. Intended for YEAR views where the expanded list is large.
+     *
+     * @param userId      Extracted from X-User-Id header.
+     * @param view        View type: DAY, WEEK, MONTH, or YEAR.
+     * @param date        Reference date in YYYY-MM-DD format.
+     * @param calendarIds Comma-separated list of calendar IDs.
+     * @return Streamed BaseResponse JSON containing the expanded items.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItemsByDateRange(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam("view") String view,
+            @RequestParam("date") String date,
+            @RequestParam("calendarIds") String calendarIds) {
+        log.info(Constant.LOG_GET_ITEMS_BY_DATE_RANGE, userId, view, date, calendarIds);
+
+        List<Long> calendarIdList = Arrays.stream(calendarIds.split(","))
+                .map(Long::parseLong)
+                .collect(Collectors.toList());
+
+        StreamingResponseBody body = out -> calendarItemService.writeItemsByDateRange(
+                userId, view, date, calendarIdList, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Schedule multiple unscheduled items at once.
      * 
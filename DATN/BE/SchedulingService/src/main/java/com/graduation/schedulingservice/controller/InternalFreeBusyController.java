@@ -0,0 +1,28 @@
+package com.graduation.schedulingservice.controller;
+
+import com.graduation.schedulingservice.payload.request.FreeSlotsRequest;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.service.FreeBusyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/internal/free-busy")
+@RequiredArgsConstructor
+public class InternalFreeBusyController {
+
+    private final FreeBusyService freeBusyService;
+
+    /**
+     * Time all of the given users are free, for team workload and meeting views
+     * Called by ProjectService
+     */
+    @PostMapping("/common-free-slots")
+    public ResponseEntity<?> getCommonFreeSlots(@RequestBody FreeSlotsRequest request) {
+        BaseResponse<?> response = freeBusyService.getCommonFreeSlots(request);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,38 @@
+package com.graduation.schedulingservice.controller;
+
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.service.ProjectTaskReplicaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/internal/project-task-replica")
+@RequiredArgsConstructor
+public class InternalProjectTaskReplicaController {
+
+    private final ProjectTaskReplicaService projectTaskReplicaService;
+
+    /**
+     * Rebuild the project task replica from a ProjectService snapshot
+     * For operators after an outage or a consumer reset
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        try {
+            int replicated = projectTaskReplicaService.rebuild();
+            if (replicated == ProjectTaskReplicaService.REBUILD_RUNNING) {
+                return ResponseEntity.ok(new BaseResponse<>(0, "Project task replica rebuild already running", null));
+            }
+            if (replicated < 0) {
+                return ResponseEntity.ok(new BaseResponse<>(0, "Project Service unavailable, replica not rebuilt", null));
+            }
+            return ResponseEntity.ok(new BaseResponse<>(1, "Project task replica rebuilt", replicated));
+        } catch (Exception e) {
+            log.error("Failed to rebuild project task replica", e);
+            return ResponseEntity.ok(new BaseResponse<>(0, "Failed to rebuild project task replica", null));
+        }
+    }
+}
@@ -43,8 +43,7 @@ public class MemorableEventController {
 
     /**
      * Replace entire list of memorable events
-     * Deletes old events and calendar items, creates new ones
-     * Auto-generates calendar Event items for next 5 years
+     * Only added and removed events are written; occurrences are expanded at read time
      *
      * @param userId Extracted from X-User-Id header
      * @param request The request containing the new list of memorable events
@@ -69,4 +68,34 @@ public class MemorableEventController {
             );
         }
     }
+
+    /**
+     * Turn one year's virtual occurrence into a calendar item so it can be edited
+     *
+     * @param userId Extracted from X-User-Id header
+     * @param memorableEventId The memorable event
+     * @param year The year of the occurrence
+     * @return Response containing the calendar item ID
+     */
+    @PostMapping("/{memorableEventId}/occurrences/{year}")
+    public ResponseEntity<BaseResponse<?>> materializeOccurrence(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long memorableEventId,
+            @PathVariable int year) {
+
+        try {
+            log.info("Materializing memorable event occurrence: userId={}, memorableEventId={}, year={}",
+                    userId, memorableEventId, year);
+
+            BaseResponse<?> response = memorableEventService.materializeOccurrence(userId, memorableEventId, year);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Failed to materialize memorable event occurrence: userId={}, memorableEventId={}",
+                    userId, memorableEventId, e);
+            return ResponseEntity.ok(
+                    new BaseResponse<>(0, "Failed to create memorable event occurrence", null)
+            );
+        }
+    }
 }
\ No newline at end of file
@@ -145,6 +145,33 @@ public class MonthPlanController {
         }
     }
 
+    /**
+     * Create several month plans at once, with their week plans, routines and big tasks
+     * Months that already have a plan are returned unchanged
+     *
+     * @param userId Extracted from X-User-Id header
+     * @param request The months to create
+     * @return Response containing the month plan of every requested month
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BaseResponse<?>> bulkCreateMonthPlans(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody BulkCreateMonthPlansRequest request) {
+
+        try {
+            log.info("Bulk creating month plans: userId={}, count={}", userId, request.getMonths().size());
+
+            BaseResponse<?> response = monthPlanService.bulkCreateMonthPlans(userId, request);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Failed to bulk create month plans: userId={}", userId, e);
+            return ResponseEntity.ok(
+                    new BaseResponse<>(0, "Failed to create month plans", null)
+            );
+        }
+    }
+
     /**
      * Get a complete month plan by ID
      *
@@ -1,13 +1,18 @@
 package com.graduation.schedulingservice.controller;
 
+import com.graduation.schedulingservice.constant.Constant;
 import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.service.AutoSchedulerService;
 import com.graduation.schedulingservice.service.UnscheduledItemsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class UnscheduledItemsController {
 
     private final UnscheduledItemsService unscheduledItemsService;
+    private final AutoSchedulerService autoSchedulerService;
 
     /**
      * Get all unscheduled items across the next 6 months, grouped by month
@@ -41,4 +47,30 @@ public class UnscheduledItemsController {
             );
         }
     }
+
+    /**
+     * Propose time slots for the unscheduled tasks of a week plan, optionally applying them
+     *
+     * @param userId     Extracted from X-User-Id header
+     * @param weekPlanId The week plan to fill
+     * @param apply      Schedule the proposed slots right away instead of only returning them
+     * @return Response containing placed and unplaced tasks
+     */
+    @PostMapping("/week-plans/{weekPlanId}/auto-schedule")
+    public ResponseEntity<BaseResponse<?>> autoScheduleWeek(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long weekPlanId,
+            @RequestParam(defaultValue = "false") boolean apply) {
+
+        try {
+            BaseResponse<?> response = autoSchedulerService.autoScheduleWeek(userId, weekPlanId, apply);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error(Constant.LOG_AUTO_SCHEDULE_FAILED, userId, weekPlanId, e);
+            return ResponseEntity.ok(
+                    new BaseResponse<>(0, Constant.MSG_AUTO_SCHEDULE_FAILED, null)
+            );
+        }
+    }
 }
\ No newline at end of file
@@ -43,4 +43,12 @@ public class UserConstraintsController {
             @RequestHeader("X-User-Id") Long userId) {
         return ResponseEntity.ok(userConstraintsService.updateDailyLimits(userId, request));
     }
+
+    @GetMapping("/daily-usage")
+    public ResponseEntity<?> getDailyUsage(
+            @RequestParam("from") String from,
+            @RequestParam("to") String to,
+            @RequestHeader("X-User-Id") Long userId) {
+        return ResponseEntity.ok(userConstraintsService.getDailyUsage(userId, from, to));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.graduation.schedulingservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Event received when tasks of a project are created, changed or removed.
+ * Published by ProjectService, consumed by SchedulingService to keep its project task replica.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLifecycleEvent {
+
+    public static final String TYPE_UPSERT = "UPSERT";
+    public static final String TYPE_DELETE = "DELETE";
+    public static final String TYPE_SNAPSHOT = "SNAPSHOT";
+
+    private Long projectId;
+
+    /**
+     * UPSERT (changed tasks), DELETE (removed task ids) or SNAPSHOT (every task the project
+     * still has; its other tasks were removed).
+     */
+    private String type;
+
+    private List<TaskSnapshot> tasks;
+
+    private List<Long> deletedTaskIds;
+
+    /**
+     * Timestamp when the change was committed in ProjectService.
+     */
+    private Instant occurredAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskSnapshot {
+        private Long taskId;
+        private Long phaseId;
+        private String name;
+        private String key;
+        private String status;
+        private String priority;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        // Last write of the task in ProjectService; null for tasks not written since it was added
+        private Instant updatedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.graduation.schedulingservice.listener;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.service.UserScheduleIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps the per-user schedule index in step with every
+ * calendar item write, whichever service performs it.
+ * Hibernate obtains it from the Spring bean container; the index is resolved lazily
+ * because entity listeners are created while the persistence unit is still starting.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarItemIndexListener {
+
+    private final ObjectProvider<UserScheduleIndex> userScheduleIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(CalendarItem item) {
+        userScheduleIndex.getObject().onItemSaved(item);
+    }
+
+    @PostRemove
+    public void onRemoved(CalendarItem item) {
+        userScheduleIndex.getObject().onItemRemoved(item);
+    }
+}
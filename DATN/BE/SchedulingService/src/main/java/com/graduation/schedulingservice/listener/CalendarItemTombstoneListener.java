@@ -0,0 +1,26 @@
+package com.graduation.schedulingservice.listener;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.service.CalendarTombstoneService;
+import jakarta.persistence.PreRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that leaves a tombstone for every deleted calendar item, so calendar
+ * sync clients learn about deletions whichever service performed them. Hooked on pre-remove,
+ * which runs when the item is removed rather than at flush, so the tombstone is queued before
+ * the transaction starts committing.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarItemTombstoneListener {
+
+    private final ObjectProvider<CalendarTombstoneService> calendarTombstoneService;
+
+    @PreRemove
+    public void onRemoved(CalendarItem item) {
+        calendarTombstoneService.getObject().onItemRemoved(item);
+    }
+}
@@ -0,0 +1,53 @@
+package com.graduation.schedulingservice.listener;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.service.DailyUsageService;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that reports every change of a calendar item's time slot to the
+ * daily usage counters and the free/busy bitmaps. The slot last seen in the database is
+ * kept on the entity so an update can be turned into a delta.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarItemUsageListener {
+
+    private final ObjectProvider<DailyUsageService> dailyUsageService;
+    private final ObjectProvider<FreeBusyIndex> freeBusyIndex;
+
+    @PostLoad
+    public void onLoaded(CalendarItem item) {
+        item.snapshotPersistedTimeSlot();
+    }
+
+    @PostPersist
+    public void onPersisted(CalendarItem item) {
+        slotChanged(item, null, item.getTimeSlot());
+        item.snapshotPersistedTimeSlot();
+    }
+
+    @PostUpdate
+    public void onUpdated(CalendarItem item) {
+        slotChanged(item, item.getPersistedTimeSlot(), item.getTimeSlot());
+        item.snapshotPersistedTimeSlot();
+    }
+
+    @PostRemove
+    public void onRemoved(CalendarItem item) {
+        slotChanged(item, item.getPersistedTimeSlot(), null);
+    }
+
+    private void slotChanged(CalendarItem item, TimeSlot before, TimeSlot after) {
+        dailyUsageService.getObject().onSlotChanged(item, before, after);
+        freeBusyIndex.getObject().onSlotChanged(item, before, after);
+    }
+}
@@ -0,0 +1,58 @@
+package com.graduation.schedulingservice.listener;
+
+import com.graduation.schedulingservice.config.ProjectTaskKafkaConfig;
+import com.graduation.schedulingservice.event.TaskLifecycleEvent;
+import com.graduation.schedulingservice.service.ProjectTaskReplicaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka listener for task lifecycle events.
+ * Keeps the local replica of linked project tasks in step with ProjectService.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectTaskKafkaListener {
+
+    private final ProjectTaskReplicaService projectTaskReplicaService;
+
+    /**
+     * Handle task lifecycle events from Kafka.
+     * Applying an event twice is harmless, so redelivery after a failure needs no deduplication.
+     *
+     * @param record The Kafka consumer record
+     * @param ack    Acknowledgment for manual commit
+     */
+    @KafkaListener(topics = ProjectTaskKafkaConfig.TOPIC_TASK_LIFECYCLE, groupId = "${spring.kafka.consumer.group-id:scheduling-service}", containerFactory = "taskLifecycleKafkaListenerContainerFactory")
+    public void handleTaskLifecycleEvent(ConsumerRecord<String, TaskLifecycleEvent> record, Acknowledgment ack) {
+        TaskLifecycleEvent event = record.value();
+        if (event == null) {
+            log.warn("Skipping undeserializable task lifecycle record at {}-{}-{}",
+                    record.topic(), record.partition(), record.offset());
+            ack.acknowledge();
+            return;
+        }
+
+        log.info("Received TaskLifecycleEvent type={}, projectId={}, tasks={}, deleted={}",
+                event.getType(), event.getProjectId(),
+                event.getTasks() != null ? event.getTasks().size() : 0,
+                event.getDeletedTaskIds() != null ? event.getDeletedTaskIds().size() : 0);
+
+        try {
+            projectTaskReplicaService.apply(event);
+            ack.acknowledge();
+
+        } catch (Exception e) {
+            log.error("Failed to process TaskLifecycleEvent for projectId={}: {}",
+                    event.getProjectId(), e.getMessage(), e);
+
+            // Re-throw to trigger retry/DLQ
+            throw e;
+        }
+    }
+}
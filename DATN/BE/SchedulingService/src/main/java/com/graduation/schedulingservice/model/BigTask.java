@@ -37,6 +37,15 @@ public class BigTask {
     // Derived tasks are Task entities with parentBigTaskId = this.id
     // No direct relationship needed - we'll query via CalendarItemRepository
 
+    // Maintained counts of derived tasks, changed only through BigTaskProgressService's
+    // atomic updates (never by an entity update, hence updatable = false).
+    // Null on rows created before the counters existed, until the checker rebuilds them.
+    @Column(name = "derived_tasks_count", updatable = false)
+    private Integer derivedTasksCount = 0;
+
+    @Column(name = "completed_tasks_count", updatable = false)
+    private Integer completedTasksCount = 0;
+
     public Long getMonthPlanId() {
         return monthPlan != null ? monthPlan.getId() : null;
     }
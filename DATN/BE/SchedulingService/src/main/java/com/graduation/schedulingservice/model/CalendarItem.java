@@ -1,5 +1,8 @@
 package com.graduation.schedulingservice.model;
 
+import com.graduation.schedulingservice.listener.CalendarItemIndexListener;
+import com.graduation.schedulingservice.listener.CalendarItemTombstoneListener;
+import com.graduation.schedulingservice.listener.CalendarItemUsageListener;
 import com.graduation.schedulingservice.model.enums.ItemStatus;
 import com.graduation.schedulingservice.model.enums.ItemType;
 import jakarta.persistence.*;
@@ -11,9 +14,17 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "calendar_items")
+@Table(name = "calendar_items", indexes = {
+        @Index(name = "idx_calendar_items_user_type_month_plan", columnList = "userId, type, monthPlanId"),
+        @Index(name = "idx_calendar_items_user_start", columnList = "userId, startTime"),
+        @Index(name = "idx_calendar_items_user_week_plan", columnList = "userId, weekPlanId"),
+        @Index(name = "idx_calendar_items_user_big_task", columnList = "userId, parentBigTaskId"),
+        @Index(name = "idx_calendar_items_calendar_updated", columnList = "calendarId, updatedAt")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "type", discriminatorType = DiscriminatorType.STRING)
+@EntityListeners({CalendarItemIndexListener.class, CalendarItemUsageListener.class,
+        CalendarItemTombstoneListener.class})
 public abstract class CalendarItem {
 
     @Id
@@ -59,7 +70,15 @@ public abstract class CalendarItem {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Slot as last read from or written to the database, used for daily usage deltas
+    @Transient
+    private transient TimeSlot persistedTimeSlot;
+
     public boolean isScheduled() {
         return timeSlot != null && timeSlot.getStartTime() != null;
     }
+
+    public void snapshotPersistedTimeSlot() {
+        persistedTimeSlot = timeSlot == null ? null : new TimeSlot(timeSlot.getStartTime(), timeSlot.getEndTime());
+    }
 }
\ No newline at end of file
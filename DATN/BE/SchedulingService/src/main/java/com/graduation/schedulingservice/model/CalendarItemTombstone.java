@@ -0,0 +1,39 @@
+package com.graduation.schedulingservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted calendar item, kept so sync clients can be told about the deletion.
+ * Purged after the retention period; sync tokens older than that require a full resync.
+ */
+@Data
+@Entity
+@Table(name = "calendar_item_tombstones", indexes = {
+        @Index(name = "idx_calendar_item_tombstones_calendar_deleted", columnList = "calendarId, deletedAt")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarItemTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long calendarId;
+
+    // Same clock as CalendarItem.updatedAt, so both can be compared with one sync token
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "memorable_events")
+@Table(name = "memorable_events",
+        indexes = {
+                @Index(name = "idx_memorable_events_user_id", columnList = "userId")
+        })
 public class MemorableEvent {
 
     @Id
@@ -27,6 +30,10 @@ public class MemorableEvent {
     @Column(nullable = false)
     private Integer month; // 1-12
 
+    // Calendar the yearly occurrences show up in. Null on events created before occurrences
+    // were expanded at read time; those belong to the user's personal calendar.
+    private Long calendarId;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -11,7 +11,10 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "month_plans")
+@Table(name = "month_plans",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_month_plans_user_year_month", columnNames = {"userId", "year", "month"})
+        })
 public class MonthPlan {
 
     @Id
@@ -0,0 +1,51 @@
+package com.graduation.schedulingservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Local copy of the fields of a ProjectService task that calendar items link to, kept up to
+ * date from task lifecycle events so calendar reads never call ProjectService.
+ * Only tasks linked by a {@link ProjectTask} item are kept.
+ */
+@Data
+@Entity
+@Table(name = "project_task_replicas", indexes = {
+        @Index(name = "idx_project_task_replicas_project", columnList = "projectId")
+})
+@NoArgsConstructor
+public class ProjectTaskReplica {
+
+    // ProjectService task id, as in ProjectTask.pmTaskId
+    @Id
+    private Long pmTaskId;
+
+    // Known once an event of the task's project has been received
+    private Long projectId;
+
+    private Long phaseId;
+
+    private String name;
+
+    private String taskKey;
+
+    private String status;
+
+    private String priority;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // When ProjectService made the change this row reflects; older events are ignored
+    @Column(nullable = false)
+    private Instant sourceUpdatedAt;
+
+    public ProjectTaskReplica(Long pmTaskId) {
+        this.pmTaskId = pmTaskId;
+    }
+}
@@ -36,13 +36,18 @@ public class Routine extends CalendarItem {
         setType(ItemType.ROUTINE);
     }
 
+    // Changing the exceptions collection alone does not dirty the routine, so touch it: the
+    // update then moves updatedAt and sync clients pick up the new EXDATE.
     public void addException(LocalDateTime date) {
         if (!exceptions.contains(date)) {
             exceptions.add(date);
+            setUpdatedAt(LocalDateTime.now());
         }
     }
 
     public void removeException(LocalDateTime date) {
-        exceptions.remove(date);
+        if (exceptions.remove(date)) {
+            setUpdatedAt(LocalDateTime.now());
+        }
     }
 }
\ No newline at end of file
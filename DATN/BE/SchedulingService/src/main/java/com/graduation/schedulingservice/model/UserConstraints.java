@@ -37,6 +37,11 @@ public class UserConstraints {
     private List<TimeRange> sleepHours = new ArrayList<>();
 
 
+    // IANA zone id (e.g. "Asia/Ho_Chi_Minh"). Null for users who never chose one; they use
+    // the default zone (see UserTimeZoneService).
+    @Column(name = "timezone")
+    private String timezone;
+
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
 
@@ -54,6 +59,10 @@ public class UserConstraints {
     @Column(name = "daily_limit_feature_enabled", nullable = false)
     private Boolean dailyLimitFeatureEnabled = false;
 
+    // True once the user_daily_usage counters were built for this user; null for legacy rows
+    @Column(name = "daily_usage_ready")
+    private Boolean dailyUsageReady;
+
     // REMOVED: The old map for enabling/disabling individual limits
     // @ElementCollection ... private Map<String, Boolean> dailyLimitEnabled = new HashMap<>();
 
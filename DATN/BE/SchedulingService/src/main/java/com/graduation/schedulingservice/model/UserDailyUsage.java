@@ -0,0 +1,47 @@
+package com.graduation.schedulingservice.model;
+
+import com.graduation.schedulingservice.constant.Constant;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Minutes of scheduled items per user, local date and item type, kept by
+ * {@link com.graduation.schedulingservice.service.DailyUsageService}. Items that cross
+ * midnight count towards each local day they cover.
+ */
+@Data
+@Entity
+@Table(name = Constant.TABLE_USER_DAILY_USAGE)
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserDailyUsage {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private Integer minutes = 0;
+
+    @Data
+    @Embeddable
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(name = "usage_date", nullable = false)
+        private LocalDate usageDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "item_type", nullable = false)
+        private ItemType itemType;
+    }
+}
@@ -0,0 +1,40 @@
+package com.graduation.schedulingservice.payload.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCreateMonthPlansRequest {
+
+    @NotEmpty(message = "At least one month is required")
+    @Size(max = 24, message = "At most 24 months can be created at once")
+    @Valid
+    private List<MonthToCreate> months;
+
+    @Data
+    public static class MonthToCreate {
+
+        @NotNull(message = "Year is required")
+        @Min(value = 2020, message = "Year must be at least 2020")
+        @Max(value = 2030, message = "Year must be at most 2030")
+        private Integer year;
+
+        @NotNull(message = "Month is required")
+        @Min(value = 1, message = "Month must be between 1 and 12")
+        @Max(value = 12, message = "Month must be between 1 and 12")
+        private Integer month;
+
+        // Routines to approve for the month; null to carry over the previous month's list
+        private List<String> approvedRoutineNames;
+
+        @Valid
+        private List<AddBigTaskRequest> bigTasks;
+    }
+}
@@ -0,0 +1,25 @@
+package com.graduation.schedulingservice.payload.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotsRequest {
+    private List<Long> userIds;
+
+    // First local day, YYYY-MM-DD
+    private String from;
+
+    private Integer days;
+
+    // Zone of from and of the returned slots; UTC when absent
+    private String timezone;
+
+    // Shortest free slot worth returning; defaults to one 15-minute slot
+    private Integer minMinutes;
+}
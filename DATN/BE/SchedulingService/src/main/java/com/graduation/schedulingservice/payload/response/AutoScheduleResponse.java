@@ -0,0 +1,38 @@
+package com.graduation.schedulingservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoScheduleResponse {
+    private Long weekPlanId;
+    private List<ProposedSlot> placed;
+    private List<UnplacedTask> unplaced;
+    // False when the search budget ran out before every alternative was tried
+    private boolean exhaustive;
+    // Result of applying the proposal; null when only proposing
+    private BatchScheduleResponse applied;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProposedSlot {
+        private Long itemId;
+        private String name;
+        private TimeSlotResponseDTO timeSlot;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UnplacedTask {
+        private Long itemId;
+        private String name;
+        private String reason;
+    }
+}
@@ -13,4 +13,15 @@ public class BatchScheduleResponse {
     private boolean success;
     private int scheduledCount;
     private List<String> constraintViolations;
-}
\ No newline at end of file
+    // One entry per requested item, in request order
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long itemId;
+        private boolean scheduled;
+        private List<String> violations;
+    }
+}
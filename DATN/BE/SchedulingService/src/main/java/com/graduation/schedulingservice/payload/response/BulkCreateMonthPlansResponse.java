@@ -0,0 +1,33 @@
+package com.graduation.schedulingservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateMonthPlansResponse {
+    private Integer createdCount;
+
+    // One entry per requested month, in chronological order
+    private List<MonthResult> months;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MonthResult {
+        private Integer year;
+        private Integer month;
+        private Long monthPlanId;
+
+        // False when the month plan already existed and was left unchanged
+        private Boolean created;
+
+        private List<String> approvedRoutines;
+        private List<Long> weekPlanIds;
+        private List<Long> bigTaskIds;
+    }
+}
@@ -0,0 +1,25 @@
+package com.graduation.schedulingservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarChangesResponse {
+    // Pass back on the next request to get the changes after this one
+    private String syncToken;
+
+    // True when the token could not be honoured: changed holds every scheduled item and the
+    // client should replace its copy of the calendar
+    private Boolean fullSync;
+
+    // Scheduled items created or modified since the token, in the user's local time
+    private List<ScheduledItemDTO> changed;
+
+    // Items deleted or unscheduled since the token
+    private List<Long> deletedIds;
+}
@@ -0,0 +1,31 @@
+package com.graduation.schedulingservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyUsageResponse {
+    // Whether daily limits are enforced for this user
+    private Boolean limitsEnabled;
+
+    // Configured limit in hours per item type
+    private Map<String, Integer> limits;
+
+    // Only days with scheduled time are listed
+    private List<DayUsage> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayUsage {
+        private LocalDate date;
+        private Map<String, Integer> minutesByType;
+    }
+}
@@ -0,0 +1,25 @@
+package com.graduation.schedulingservice.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotsResponse {
+    private List<Long> userIds;
+    private LocalDate from;
+    private Integer days;
+
+    // Zone the free slots are expressed in
+    private String timezone;
+
+    private Integer slotMinutes;
+
+    // Time every user is free (no items, routines or sleep hours), in start order
+    private List<TimeSlotResponseDTO> freeSlots;
+}
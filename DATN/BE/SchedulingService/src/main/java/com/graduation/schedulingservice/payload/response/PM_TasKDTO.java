@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
@@ -19,4 +20,8 @@ public class PM_TasKDTO {
     private Integer order;
     private LocalDate startDate;
     private LocalDate endDate;
+    // Sent by ProjectService's internal reads
+    private Long projectId;
+    // Last write of the task in ProjectService; null for tasks not written since it was added
+    private Instant updatedAt;
 }
@@ -18,7 +18,18 @@ public class ScheduledItemDTO {
     private java.util.List<java.time.LocalDateTime> exceptions;
     private java.time.LocalDateTime endDate;
 
+    // Set on expanded routine occurrences: the date to pass as exceptionDate when detaching
+    private java.time.LocalDate occurrenceDate;
+
+    // Set on memorable event occurrences; virtual (not yet edited) occurrences have no id
+    private Long memorableEventId;
+
     // Task-specific fields for sub-task identification
     private Long parentBigTaskId;
     private String parentBigTaskName;
+
+    // Project work items: the linked Project Service task
+    private Long pmTaskId;
+    private String pmTaskKey;
+    private String pmTaskStatus;
 }
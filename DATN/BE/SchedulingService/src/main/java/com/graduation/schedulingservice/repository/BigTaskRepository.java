@@ -1,9 +1,14 @@
 package com.graduation.schedulingservice.repository;// BigTaskRepository.java (Corrected)
 
 import com.graduation.schedulingservice.model.BigTask;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +17,42 @@ public interface BigTaskRepository extends JpaRepository<BigTask, Long> {
     // Use findByMonthPlan_Id to traverse the relationship
     // This tells JPA: "Find by the 'id' property of the 'monthPlan' field"
     List<BigTask> findByMonthPlan_Id(Long monthPlanId);
+
+    List<BigTask> findByMonthPlan_IdInOrderByIdAsc(Collection<Long> monthPlanIds);
+
+    /**
+     * Keyset page of big tasks after the given id, for the consistency checker.
+     */
+    @Query("SELECT b FROM BigTask b WHERE b.id > :afterId ORDER BY b.id ASC")
+    List<BigTask> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Atomically shift the derived task counters. Rows whose counters were never built
+     * stay null until the consistency checker rebuilds them.
+     */
+    @Modifying
+    @Query("UPDATE BigTask b SET b.derivedTasksCount = b.derivedTasksCount + :total, " +
+            "b.completedTasksCount = b.completedTasksCount + :completed " +
+            "WHERE b.id = :id AND b.derivedTasksCount IS NOT NULL")
+    int addTaskCounts(@Param("id") Long id, @Param("total") int total, @Param("completed") int completed);
+
+    /**
+     * Row-lock the given big tasks, in id order, ahead of a recount. Waits for writers that
+     * already shifted the counters, so the recount that follows sees their tasks.
+     */
+    @Query(value = "SELECT b.id FROM big_tasks b WHERE b.id IN (:ids) ORDER BY b.id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockForRecount(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recount the derived tasks of the given big tasks in one statement. Call it after
+     * lockForRecount in the same transaction, so it does not overwrite a concurrent increment.
+     */
+    @Modifying
+    @Query("UPDATE BigTask b SET " +
+            "b.derivedTasksCount = (SELECT COUNT(t) FROM Task t WHERE t.parentBigTaskId = b.id), " +
+            "b.completedTasksCount = (SELECT COUNT(t) FROM Task t WHERE t.parentBigTaskId = b.id " +
+            "AND t.status = 'COMPLETE') " +
+            "WHERE b.id IN :ids")
+    int rebuildTaskCounts(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.graduation.schedulingservice.repository;
 
 import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Event;
+import com.graduation.schedulingservice.model.MemorableEventCalendarItem;
 import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.Task;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,15 +22,24 @@ public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long
         List<CalendarItem> findAllByUserId(Long userId);
 
         /**
-         * Find all scheduled items for a user on a specific date
-         * Used for daily limit validation
+         * Users with calendar items but no stored zone, for the one-time conversion to UTC.
+         */
+        @Query("SELECT DISTINCT ci.userId FROM CalendarItem ci WHERE NOT EXISTS " +
+                        "(SELECT uc FROM UserConstraints uc WHERE uc.userId = ci.userId AND uc.timezone IS NOT NULL) " +
+                        "ORDER BY ci.userId")
+        List<Long> findUserIdsWithoutTimezone();
+
+        /**
+         * Find all scheduled items for a user starting in [from, to) (UTC).
+         * Used for daily limit validation, with the bounds of the user's local day.
          */
         @Query("SELECT ci FROM CalendarItem ci WHERE ci.userId = :userId " +
                         "AND ci.timeSlot IS NOT NULL " +
-                        "AND ci.timeSlot.startTime IS NOT NULL " +
-                        "AND FUNCTION('DATE', ci.timeSlot.startTime) = :date")
-        List<CalendarItem> findAllByUserIdAndDate(@Param("userId") Long userId,
-                        @Param("date") LocalDate date);
+                        "AND ci.timeSlot.startTime >= :from " +
+                        "AND ci.timeSlot.startTime < :to")
+        List<CalendarItem> findAllByUserIdAndStartTimeBetween(@Param("userId") Long userId,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
 
         /**
          * Find all scheduled items that overlap with the given time range
@@ -55,6 +69,46 @@ public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long
                         @Param("startTime") LocalDateTime startTime,
                         @Param("endTime") LocalDateTime endTime);
 
+        /**
+         * Loads every scheduled item that takes part in overlap checks for a user,
+         * used to build the in-memory schedule index. Same filter as findOverlappingItems
+         * without the time window.
+         */
+        @Query("SELECT ci FROM CalendarItem ci WHERE ci.userId = :userId " +
+                        "AND ci.timeSlot IS NOT NULL " +
+                        "AND ci.timeSlot.startTime IS NOT NULL " +
+                        "AND ci.timeSlot.endTime IS NOT NULL " +
+                        "AND TYPE(ci) != MemorableEventCalendarItem " +
+                        "ORDER BY ci.id ASC")
+        List<CalendarItem> findScheduledItemsForIndex(@Param("userId") Long userId, Pageable pageable);
+
+        /**
+         * Initializes the pattern and its days of week of the given routines in the current
+         * persistence context. Kept apart from the exceptions so the two collections do not
+         * multiply into one result.
+         */
+        @Query("SELECT r FROM Routine r LEFT JOIN FETCH r.pattern p LEFT JOIN FETCH p.daysOfWeek " +
+                        "WHERE r.id IN :ids")
+        List<Routine> fetchRoutinePatterns(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Initializes the exception dates of the given routines in the current persistence context.
+         */
+        @Query("SELECT r FROM Routine r LEFT JOIN FETCH r.exceptions WHERE r.id IN :ids")
+        List<Routine> fetchRoutineExceptions(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Finds all scheduled routines with a recurring pattern for a user, across calendars,
+         * with the pattern and its days of week fetched.
+         * Database fallback for routine pattern overlap checks.
+         */
+        @Query("SELECT r FROM Routine r JOIN FETCH r.pattern p JOIN FETCH p.daysOfWeek " +
+                        "WHERE r.userId = :userId " +
+                        "AND r.timeSlot.startTime IS NOT NULL " +
+                        "AND r.timeSlot.endTime IS NOT NULL " +
+                        "ORDER BY r.id ASC")
+        List<Routine> findScheduledRecurringRoutinesByUserId(@Param("userId") Long userId);
+
         /**
          * Finds all scheduled items for a user within a specific date range and across
          * multiple calendars.
@@ -86,7 +140,8 @@ public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long
                         "AND ci.timeSlot.endTime IS NOT NULL " +
                         "AND ci.timeSlot.startTime < :endTime " +
                         "AND ci.timeSlot.endTime > :startTime " +
-                        "AND ci.type != 'ROUTINE' ")
+                        "AND ci.type != 'ROUTINE' " +
+                        "ORDER BY ci.timeSlot.startTime ASC")
         List<CalendarItem> findScheduledItemsExcludingRoutinesByDateRange(
                         @Param("userId") Long userId,
                         @Param("calendarIds") List<Long> calendarIds,
@@ -98,7 +153,8 @@ public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long
                         "AND r.timeSlot.startTime IS NOT NULL " + // Must be scheduled
                         "AND r.pattern.daysOfWeek IS NOT EMPTY " + // Must be recurring
                         "AND r.timeSlot.startTime < :endTime " + // Started before end of range
-                        "AND (r.endDate IS NULL OR r.endDate > :startTime)") // Not ended before start of range
+                        "AND (r.endDate IS NULL OR r.endDate > :startTime) " + // Not ended before start of range
+                        "ORDER BY r.timeSlot.startTime ASC")
         List<Routine> findActiveRecurringRoutines(
                         @Param("userId") Long userId,
                         @Param("calendarIds") List<Long> calendarIds,
@@ -116,7 +172,8 @@ public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long
                         "AND r.timeSlot.endTime IS NOT NULL " +
                         "AND (p IS NULL OR p.daysOfWeek IS EMPTY) " +
                         "AND r.timeSlot.startTime < :endTime " +
-                        "AND r.timeSlot.endTime > :startTime")
+                        "AND r.timeSlot.endTime > :startTime " +
+                        "ORDER BY r.timeSlot.startTime ASC")
         List<Routine> findStandaloneRoutines(
                         @Param("userId") Long userId,
                         @Param("calendarIds") List<Long> calendarIds,
@@ -142,4 +199,245 @@ public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long
                         @Param("weekPlanId") Long weekPlanId);
 
         void deleteByMemorableEventIdIn(List<Long> memorableEventIds);
-}
\ No newline at end of file
+
+        /**
+         * Materialized occurrences of memorable events. Yearly occurrences are expanded at
+         * read time, so these rows only exist for years the user edited (and for legacy
+         * pre-generated years); each one replaces the virtual occurrence of its year.
+         */
+        @Query("SELECT m FROM MemorableEventCalendarItem m WHERE m.userId = :userId " +
+                        "AND m.memorableEventId IN :memorableEventIds")
+        List<MemorableEventCalendarItem> findMemorableEventOverrides(
+                        @Param("userId") Long userId,
+                        @Param("memorableEventIds") Collection<Long> memorableEventIds);
+
+        // ===== Typed queries (discriminator-filtered, backed by composite indexes) =====
+
+        /**
+         * Finds all routines (scheduled or not) a user has in a month plan.
+         */
+        @Query("SELECT r FROM Routine r WHERE r.userId = :userId " +
+                        "AND r.monthPlanId = :monthPlanId " +
+                        "ORDER BY r.id ASC")
+        List<Routine> findRoutinesByMonthPlan(@Param("userId") Long userId,
+                        @Param("monthPlanId") Long monthPlanId);
+
+        /**
+         * Finds the routines of a month plan with the given names.
+         */
+        @Query("SELECT r FROM Routine r WHERE r.userId = :userId " +
+                        "AND r.monthPlanId = :monthPlanId " +
+                        "AND r.name IN :names")
+        List<Routine> findRoutinesByMonthPlanAndNameIn(@Param("userId") Long userId,
+                        @Param("monthPlanId") Long monthPlanId,
+                        @Param("names") Collection<String> names);
+
+        /**
+         * Finds unscheduled routines of a month plan with the given name, oldest first.
+         */
+        @Query("SELECT r FROM Routine r WHERE r.userId = :userId " +
+                        "AND r.monthPlanId = :monthPlanId " +
+                        "AND r.name = :name " +
+                        "AND (r.timeSlot IS NULL OR r.timeSlot.startTime IS NULL) " +
+                        "ORDER BY r.id ASC")
+        List<Routine> findUnscheduledRoutinesByMonthPlanAndName(@Param("userId") Long userId,
+                        @Param("monthPlanId") Long monthPlanId,
+                        @Param("name") String name);
+
+        /**
+         * Finds scheduled routines of a month plan with the given name, oldest first.
+         */
+        @Query("SELECT r FROM Routine r WHERE r.userId = :userId " +
+                        "AND r.monthPlanId = :monthPlanId " +
+                        "AND r.name = :name " +
+                        "AND r.timeSlot.startTime IS NOT NULL " +
+                        "ORDER BY r.id ASC")
+        List<Routine> findScheduledRoutinesByMonthPlanAndName(@Param("userId") Long userId,
+                        @Param("monthPlanId") Long monthPlanId,
+                        @Param("name") String name);
+
+        /**
+         * Finds standalone routines (no recurring pattern) starting in [from, to).
+         */
+        @Query("SELECT r FROM Routine r LEFT JOIN r.pattern p WHERE r.userId = :userId " +
+                        "AND (p IS NULL OR p.daysOfWeek IS EMPTY) " +
+                        "AND r.timeSlot.startTime >= :from " +
+                        "AND r.timeSlot.startTime < :to")
+        List<Routine> findStandaloneRoutinesStartingBetween(@Param("userId") Long userId,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        /**
+         * Finds all tasks (scheduled and unscheduled) derived from a big task.
+         */
+        @Query("SELECT t FROM Task t WHERE t.userId = :userId " +
+                        "AND t.parentBigTaskId = :bigTaskId " +
+                        "ORDER BY t.id ASC")
+        List<Task> findTasksByParentBigTaskId(@Param("userId") Long userId,
+                        @Param("bigTaskId") Long bigTaskId);
+
+        /**
+         * Finds unscheduled tasks derived from any of the given big tasks.
+         */
+        @Query("SELECT t FROM Task t WHERE t.userId = :userId " +
+                        "AND t.parentBigTaskId IN :bigTaskIds " +
+                        "AND (t.timeSlot IS NULL OR t.timeSlot.startTime IS NULL) " +
+                        "ORDER BY t.id ASC")
+        List<Task> findUnscheduledTasksByParentBigTaskIdIn(@Param("userId") Long userId,
+                        @Param("bigTaskIds") Collection<Long> bigTaskIds);
+
+        // ===== Unscheduled items read path =====
+
+        /**
+         * Unscheduled routines of the given month plans and unscheduled tasks derived from
+         * their big tasks, as lightweight rows in a single query. Routines are matched through
+         * idx_calendar_items_user_type_month_plan, tasks through idx_calendar_items_user_big_task.
+         */
+        @Query(value = "SELECT ci.id AS \"id\", ci.type AS \"type\", ci.month_plan_id AS \"monthPlanId\", " +
+                        "ci.parent_big_task_id AS \"parentBigTaskId\", ci.name AS \"name\", " +
+                        "ci.note AS \"note\", ci.estimated_hours AS \"estimatedHours\" " +
+                        "FROM calendar_items ci WHERE ci.user_id = :userId " +
+                        "AND ci.start_time IS NULL " +
+                        "AND ((ci.type = 'ROUTINE' AND ci.month_plan_id IN (:monthPlanIds)) " +
+                        "OR (ci.type = 'TASK' AND ci.parent_big_task_id IN " +
+                        "(SELECT b.id FROM big_tasks b WHERE b.month_plan_id IN (:monthPlanIds)))) " +
+                        "ORDER BY ci.id ASC",
+                        nativeQuery = true)
+        List<UnscheduledItemView> findUnscheduledItemsByMonthPlanIdIn(@Param("userId") Long userId,
+                        @Param("monthPlanIds") Collection<Long> monthPlanIds);
+
+        interface UnscheduledItemView {
+                Long getId();
+
+                String getType();
+
+                Long getMonthPlanId();
+
+                Long getParentBigTaskId();
+
+                String getName();
+
+                String getNote();
+
+                Integer getEstimatedHours();
+        }
+
+        /**
+         * Scheduled routines of several month plans with their patterns, oldest first.
+         */
+        @Query("SELECT r FROM Routine r LEFT JOIN FETCH r.pattern p LEFT JOIN FETCH p.daysOfWeek " +
+                        "WHERE r.userId = :userId " +
+                        "AND r.monthPlanId IN :monthPlanIds " +
+                        "AND r.timeSlot.startTime IS NOT NULL " +
+                        "ORDER BY r.id ASC")
+        List<Routine> findScheduledRoutinesByMonthPlanIdIn(@Param("userId") Long userId,
+                        @Param("monthPlanIds") Collection<Long> monthPlanIds);
+
+        /**
+         * Finds all events of a month plan.
+         */
+        @Query("SELECT e FROM Event e WHERE e.userId = :userId " +
+                        "AND e.monthPlanId = :monthPlanId " +
+                        "ORDER BY e.id ASC")
+        List<Event> findEventsByMonthPlan(@Param("userId") Long userId,
+                        @Param("monthPlanId") Long monthPlanId);
+
+        /**
+         * Names of all routines in a month plan, without loading the entities.
+         */
+        @Query("SELECT r.name FROM Routine r WHERE r.userId = :userId " +
+                        "AND r.monthPlanId = :monthPlanId " +
+                        "ORDER BY r.id ASC")
+        List<String> findRoutineNamesByMonthPlan(@Param("userId") Long userId,
+                        @Param("monthPlanId") Long monthPlanId);
+
+        /**
+         * Derived task counts per big task, without loading the tasks.
+         */
+        @Query("SELECT t.parentBigTaskId AS bigTaskId, COUNT(t) AS total, " +
+                        "SUM(CASE WHEN t.status = 'COMPLETE' THEN 1 ELSE 0 END) AS completed " +
+                        "FROM Task t WHERE t.userId = :userId " +
+                        "AND t.parentBigTaskId IN :bigTaskIds " +
+                        "GROUP BY t.parentBigTaskId")
+        List<BigTaskProgressView> findBigTaskProgress(@Param("userId") Long userId,
+                        @Param("bigTaskIds") Collection<Long> bigTaskIds);
+
+        /**
+         * Same as findBigTaskProgress across users, for the consistency checker.
+         */
+        @Query("SELECT t.parentBigTaskId AS bigTaskId, COUNT(t) AS total, " +
+                        "SUM(CASE WHEN t.status = 'COMPLETE' THEN 1 ELSE 0 END) AS completed " +
+                        "FROM Task t WHERE t.parentBigTaskId IN :bigTaskIds " +
+                        "GROUP BY t.parentBigTaskId")
+        List<BigTaskProgressView> findBigTaskProgressByIds(@Param("bigTaskIds") Collection<Long> bigTaskIds);
+
+        interface BigTaskProgressView {
+                Long getBigTaskId();
+
+                Long getTotal();
+
+                Long getCompleted();
+        }
+
+        /**
+         * Type and raw (UTC) slot of every scheduled item of a user, used to rebuild the
+         * daily usage counters.
+         */
+        @Query("SELECT ci.type AS type, ci.timeSlot.startTime AS startTime, ci.timeSlot.endTime AS endTime " +
+                        "FROM CalendarItem ci WHERE ci.userId = :userId " +
+                        "AND ci.timeSlot.startTime IS NOT NULL " +
+                        "AND ci.timeSlot.endTime IS NOT NULL")
+        List<ScheduledSlotView> findScheduledSlotsByUserId(@Param("userId") Long userId);
+
+        interface ScheduledSlotView {
+                ItemType getType();
+
+                LocalDateTime getStartTime();
+
+                LocalDateTime getEndTime();
+        }
+
+        /**
+         * Every ProjectService task linked by a calendar item, for rebuilding the task replica.
+         */
+        @Query("SELECT DISTINCT p.pmTaskId FROM ProjectTask p WHERE p.pmTaskId IS NOT NULL")
+        List<Long> findAllLinkedPmTaskIds();
+
+        // ===== Calendar sync (iCalendar feed and incremental changes) =====
+
+        /**
+         * Next page of scheduled items of a calendar after the given id, in id order, so the
+         * feed can be streamed in bounded batches.
+         */
+        @Query("SELECT ci FROM CalendarItem ci WHERE ci.calendarId = :calendarId " +
+                        "AND ci.id > :afterId " +
+                        "AND ci.timeSlot.startTime IS NOT NULL " +
+                        "AND ci.timeSlot.endTime IS NOT NULL " +
+                        "ORDER BY ci.id")
+        List<CalendarItem> findFeedBatch(@Param("calendarId") Long calendarId,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
+
+        /**
+         * Item count and last modification of a calendar; any item write changes one of them.
+         */
+        @Query("SELECT COUNT(ci) AS itemCount, MAX(ci.updatedAt) AS lastUpdatedAt " +
+                        "FROM CalendarItem ci WHERE ci.calendarId = :calendarId")
+        CalendarStampView findCalendarStamp(@Param("calendarId") Long calendarId);
+
+        interface CalendarStampView {
+                Long getItemCount();
+
+                LocalDateTime getLastUpdatedAt();
+        }
+
+        /**
+         * Items of a calendar modified after the given time, oldest change first.
+         */
+        @Query("SELECT ci FROM CalendarItem ci WHERE ci.calendarId = :calendarId " +
+                        "AND ci.updatedAt > :since " +
+                        "ORDER BY ci.updatedAt, ci.id")
+        List<CalendarItem> findChangedSince(@Param("calendarId") Long calendarId,
+                        @Param("since") LocalDateTime since,
+                        Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.graduation.schedulingservice.repository;
+
+import com.graduation.schedulingservice.model.CalendarItemTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CalendarItemTombstoneRepository extends JpaRepository<CalendarItemTombstone, Long> {
+
+    @Query("SELECT DISTINCT t.itemId FROM CalendarItemTombstone t " +
+            "WHERE t.calendarId = :calendarId AND t.deletedAt > :since")
+    List<Long> findDeletedItemIdsSince(@Param("calendarId") Long calendarId,
+                                       @Param("since") LocalDateTime since);
+
+    @Query("SELECT MAX(t.deletedAt) FROM CalendarItemTombstone t WHERE t.calendarId = :calendarId")
+    LocalDateTime findLastDeletedAt(@Param("calendarId") Long calendarId);
+
+    @Modifying
+    @Query("DELETE FROM CalendarItemTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,8 +2,12 @@ package com.graduation.schedulingservice.repository;
 
 import com.graduation.schedulingservice.model.MonthPlan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,17 @@ public interface MonthPlanRepository extends JpaRepository<MonthPlan, Long> {
     boolean existsByUserIdAndYearAndMonth(Long userId, Integer year, Integer month);
 
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Month plans of a user in any of the given years, for bulk creation
+     */
+    List<MonthPlan> findByUserIdAndYearIn(Long userId, Collection<Integer> years);
+
+    /**
+     * Month plans of a user in any of the given years, with their approved routine names
+     */
+    @Query("SELECT DISTINCT mp FROM MonthPlan mp LEFT JOIN FETCH mp.approvedRoutineNames " +
+            "WHERE mp.userId = :userId AND mp.year IN :years")
+    List<MonthPlan> findWithRoutinesByUserIdAndYearIn(@Param("userId") Long userId,
+                                                       @Param("years") Collection<Integer> years);
 }
\ No newline at end of file
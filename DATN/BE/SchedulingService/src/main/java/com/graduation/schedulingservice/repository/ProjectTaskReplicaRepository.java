@@ -0,0 +1,36 @@
+package com.graduation.schedulingservice.repository;
+
+import com.graduation.schedulingservice.model.ProjectTaskReplica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectTaskReplicaRepository extends JpaRepository<ProjectTaskReplica, Long> {
+
+    @Query("SELECT r.pmTaskId FROM ProjectTaskReplica r")
+    List<Long> findAllPmTaskIds();
+
+    /**
+     * Lock serializing replica rebuilds across instances, held until the calling transaction ends.
+     * False when another instance holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('project_task_replica_rebuild'))", nativeQuery = true)
+    boolean tryLockRebuild();
+
+    /**
+     * Drop the rows of a project's tasks that are not in the given (non-empty) set.
+     */
+    @Modifying
+    @Query("DELETE FROM ProjectTaskReplica r WHERE r.projectId = :projectId AND r.pmTaskId NOT IN :keptIds")
+    int deleteByProjectIdExcept(@Param("projectId") Long projectId, @Param("keptIds") Collection<Long> keptIds);
+
+    @Modifying
+    @Query("DELETE FROM ProjectTaskReplica r WHERE r.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
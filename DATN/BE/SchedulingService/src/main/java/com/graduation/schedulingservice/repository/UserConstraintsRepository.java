@@ -1,13 +1,57 @@
 package com.graduation.schedulingservice.repository;
 
 import com.graduation.schedulingservice.model.UserConstraints;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserConstraintsRepository extends JpaRepository<UserConstraints, Long> {
     Optional<UserConstraints> findByUserId(Long userId);
     boolean existsByUserId(Long userId);
+
+    /**
+     * The user's constraints row, locked for update until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT uc FROM UserConstraints uc WHERE uc.userId = :userId")
+    Optional<UserConstraints> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    @Query("SELECT uc.timezone FROM UserConstraints uc WHERE uc.userId = :userId")
+    Optional<String> findTimezoneByUserId(@Param("userId") Long userId);
+
+    /**
+     * The user's zone under a key-share lock: waits for a holder of the row's update lock,
+     * but not for ordinary updates of the row.
+     */
+    @Query(value = "SELECT uc.timezone FROM user_constraints uc WHERE uc.user_id = :userId FOR KEY SHARE",
+            nativeQuery = true)
+    Optional<String> findTimezoneByUserIdForKeyShare(@Param("userId") Long userId);
+
+    /**
+     * Serializes the writers of the user's daily usage counters, returning whether they are built.
+     * A no-key-update lock, so it does not wait for (or block) the key-share zone reads above.
+     */
+    @Query(value = "SELECT uc.daily_usage_ready FROM user_constraints uc WHERE uc.user_id = :userId " +
+            "FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Boolean> lockDailyUsage(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserConstraints uc SET uc.dailyUsageReady = true WHERE uc.userId = :userId")
+    int markDailyUsageReady(@Param("userId") Long userId);
+
+    /**
+     * Users whose daily usage counters are maintained, in id order, for the reconciliation job.
+     */
+    @Query("SELECT uc.userId FROM UserConstraints uc WHERE uc.dailyUsageReady = true " +
+            "AND uc.userId > :afterUserId ORDER BY uc.userId ASC")
+    List<Long> findDailyUsageReadyUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.graduation.schedulingservice.repository;
+
+import com.graduation.schedulingservice.model.UserDailyUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserDailyUsageRepository extends JpaRepository<UserDailyUsage, UserDailyUsage.Key> {
+
+    /**
+     * Atomically adds minutes to a (user, date, type) counter, creating it when missing.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_usage (user_id, usage_date, item_type, minutes) " +
+            "VALUES (:userId, :usageDate, :itemType, :minutes) " +
+            "ON CONFLICT (user_id, usage_date, item_type) " +
+            "DO UPDATE SET minutes = user_daily_usage.minutes + EXCLUDED.minutes",
+            nativeQuery = true)
+    int addMinutes(@Param("userId") Long userId,
+                   @Param("usageDate") LocalDate usageDate,
+                   @Param("itemType") String itemType,
+                   @Param("minutes") int minutes);
+
+    /**
+     * Sets a (user, date, type) counter to an absolute value, creating it when missing.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_usage (user_id, usage_date, item_type, minutes) " +
+            "VALUES (:userId, :usageDate, :itemType, :minutes) " +
+            "ON CONFLICT (user_id, usage_date, item_type) " +
+            "DO UPDATE SET minutes = EXCLUDED.minutes",
+            nativeQuery = true)
+    int setMinutes(@Param("userId") Long userId,
+                   @Param("usageDate") LocalDate usageDate,
+                   @Param("itemType") String itemType,
+                   @Param("minutes") int minutes);
+
+    @Query("SELECT u FROM UserDailyUsage u WHERE u.id.userId = :userId " +
+            "AND u.id.usageDate >= :from AND u.id.usageDate <= :to " +
+            "ORDER BY u.id.usageDate ASC")
+    List<UserDailyUsage> findByUserIdAndDateRange(@Param("userId") Long userId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+
+    @Query("SELECT u FROM UserDailyUsage u WHERE u.id.userId = :userId AND u.minutes <> 0")
+    List<UserDailyUsage> findNonZeroByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM UserDailyUsage u WHERE u.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,11 @@ public interface WeekPlanRepository extends JpaRepository<WeekPlan, Long> {
      */
     List<WeekPlan> findByMonthPlanIdOrderByWeekNumberAsc(Long monthPlanId);
 
+    /**
+     * Find all week plans of several month plans, ordered by week number
+     */
+    List<WeekPlan> findByMonthPlanIdInOrderByWeekNumberAsc(Collection<Long> monthPlanIds);
+
     /**
      * Find the week plan that contains a specific date
      * @param monthPlanId The month plan ID
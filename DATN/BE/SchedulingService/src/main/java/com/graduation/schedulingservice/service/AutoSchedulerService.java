@@ -0,0 +1,7 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+
+public interface AutoSchedulerService {
+    BaseResponse<?> autoScheduleWeek(Long userId, Long weekPlanId, boolean apply);
+}
@@ -0,0 +1,129 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.BigTask;
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Task;
+import com.graduation.schedulingservice.model.enums.ItemStatus;
+import com.graduation.schedulingservice.repository.BigTaskRepository;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the derived/completed task counters on {@link BigTask} in step with its tasks, so
+ * the month plan view reads them instead of aggregating tasks on every request.
+ * <p>
+ * Writers call the on* hooks in the same transaction as the task change; each hook is one
+ * atomic increment. A scheduled checker recounts any big task whose counters drifted (or
+ * were never built) from the tasks table.
+ * <p>
+ * The checker's comparison reads a snapshot that may already be stale, so it only picks
+ * candidates: each recount locks the big task rows first and counts afterwards, in its own
+ * statement, so an increment committed while the checker ran is counted, not overwritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BigTaskProgressService {
+
+    private final BigTaskRepository bigTaskRepository;
+    private final CalendarItemRepository calendarItemRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.big-task-progress.check-batch-size:500}")
+    private int checkBatchSize;
+
+    public void onTaskAdded(CalendarItem item) {
+        if (item instanceof Task task && task.getParentBigTaskId() != null) {
+            bigTaskRepository.addTaskCounts(task.getParentBigTaskId(), 1, isComplete(task.getStatus()));
+        }
+    }
+
+    public void onTaskRemoved(CalendarItem item) {
+        if (item instanceof Task task && task.getParentBigTaskId() != null) {
+            bigTaskRepository.addTaskCounts(task.getParentBigTaskId(), -1, -isComplete(task.getStatus()));
+        }
+    }
+
+    public void onTaskStatusChanged(CalendarItem item, ItemStatus previousStatus) {
+        if (item instanceof Task task && task.getParentBigTaskId() != null) {
+            int completedDelta = isComplete(task.getStatus()) - isComplete(previousStatus);
+            if (completedDelta != 0) {
+                bigTaskRepository.addTaskCounts(task.getParentBigTaskId(), 0, completedDelta);
+            }
+        }
+    }
+
+    /**
+     * Recount the given big tasks from their tasks, under a row lock.
+     */
+    public int rebuild(List<Long> bigTaskIds) {
+        if (bigTaskIds.isEmpty()) {
+            return 0;
+        }
+        Integer rebuilt = new TransactionTemplate(transactionManager).execute(status -> {
+            bigTaskRepository.lockForRecount(bigTaskIds);
+            return bigTaskRepository.rebuildTaskCounts(bigTaskIds);
+        });
+        return rebuilt != null ? rebuilt : 0;
+    }
+
+    /**
+     * Consistency checker: compares every big task's counters with a grouped count of its
+     * tasks, batch by batch, and rebuilds the ones that differ.
+     */
+    @Scheduled(cron = "${app.big-task-progress.check-cron:0 30 3 * * ?}")
+    public void checkAndRepair() {
+        try {
+            long afterId = 0;
+            int checked = 0;
+            int repaired = 0;
+            List<BigTask> batch;
+            do {
+                batch = bigTaskRepository.findBatchAfter(afterId, PageRequest.of(0, checkBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = batch.stream().map(BigTask::getId).collect(Collectors.toList());
+                Map<Long, CalendarItemRepository.BigTaskProgressView> actual = calendarItemRepository
+                        .findBigTaskProgressByIds(ids).stream()
+                        .collect(Collectors.toMap(CalendarItemRepository.BigTaskProgressView::getBigTaskId,
+                                progress -> progress));
+
+                List<Long> drifted = new ArrayList<>();
+                for (BigTask bigTask : batch) {
+                    CalendarItemRepository.BigTaskProgressView progress = actual.get(bigTask.getId());
+                    long total = progress != null ? progress.getTotal() : 0;
+                    long completed = progress != null && progress.getCompleted() != null ? progress.getCompleted() : 0;
+                    if (!Objects.equals(bigTask.getDerivedTasksCount(), (int) total)
+                            || !Objects.equals(bigTask.getCompletedTasksCount(), (int) completed)) {
+                        drifted.add(bigTask.getId());
+                    }
+                }
+                repaired += rebuild(drifted);
+                checked += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            } while (batch.size() == checkBatchSize);
+
+            log.info("Big task progress check: checked={}, repaired={}", checked, repaired);
+        } catch (Exception e) {
+            log.error("Big task progress check failed", e);
+        }
+    }
+
+    private static int isComplete(ItemStatus status) {
+        return status == ItemStatus.COMPLETE ? 1 : 0;
+    }
+}
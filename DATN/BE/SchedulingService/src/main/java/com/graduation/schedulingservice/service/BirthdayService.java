@@ -9,9 +9,9 @@ public interface BirthdayService {
     /**
      * Create or update a user's birthday as a memorable event.
      * This will:
-     * 1. Delete any existing "My Birthday" memorable event for the user
-     * 2. Create a new MemorableEvent with the given day/month
-     * 3. Generate MemorableEventCalendarItem entries for the next 5 years
+     * 1. Update the existing "My Birthday" memorable event in place, or create it
+     * 2. Drop calendar items stored for the previous date
+     * Yearly occurrences are expanded when the calendar is read.
      *
      * @param userId The user ID
      * @param day    Day of the month (1-31)
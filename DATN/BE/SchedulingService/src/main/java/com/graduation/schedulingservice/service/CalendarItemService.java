@@ -5,6 +5,9 @@ import com.graduation.schedulingservice.payload.request.CreateCalendarItemReques
 import com.graduation.schedulingservice.payload.request.DetachRoutineRequest;
 import com.graduation.schedulingservice.payload.request.UpdateCalendarItemRequest;
 import com.graduation.schedulingservice.payload.response.BaseResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface CalendarItemService {
@@ -76,9 +79,25 @@ public interface CalendarItemService {
          * @param view        The view type (DAY, WEEK, MONTH, YEAR).
          * @param date        The reference date string.
          * @param calendarIds A list of calendar IDs to filter by.
+         * @param expand      Return each routine occurrence in the range instead of the
+         *                    raw routine with its pattern and exceptions.
          * @return BaseResponse containing a list of scheduled items.
          */
-        BaseResponse<?> getItemsByDateRange(Long userId, String view, String date, List<Long> calendarIds);
+        BaseResponse<?> getItemsByDateRange(Long userId, String view, String date, List<Long> calendarIds,
+                        boolean expand);
+
+        /**
+         * Write the expanded items of a date range straight to the output as a BaseResponse JSON
+         * document, without building the whole list in memory (used for YEAR views).
+         *
+         * @param userId      The authenticated user ID.
+         * @param view        The view type (DAY, WEEK, MONTH, YEAR).
+         * @param date        The reference date string.
+         * @param calendarIds A list of calendar IDs to filter by.
+         * @param out         The response body stream.
+         */
+        void writeItemsByDateRange(Long userId, String view, String date, List<Long> calendarIds,
+                        OutputStream out) throws IOException;
 
         /**
          * Schedule multiple unscheduled items at once.
@@ -0,0 +1,26 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CalendarSyncService {
+
+    /**
+     * Entity tag of a calendar's iCalendar feed; changes whenever the feed content would.
+     * @return The quoted tag, or null when the calendar does not exist or is not the user's
+     */
+    String getFeedETag(Long userId, Long calendarId);
+
+    /**
+     * Stream a calendar as iCalendar, loading its items in bounded batches.
+     */
+    void writeFeed(Long userId, Long calendarId, OutputStream out) throws IOException;
+
+    /**
+     * Items of a calendar changed and deleted since the given sync token.
+     * A missing, malformed or expired token gives a full sync.
+     */
+    BaseResponse<?> getChanges(Long userId, Long calendarId, String syncToken);
+}
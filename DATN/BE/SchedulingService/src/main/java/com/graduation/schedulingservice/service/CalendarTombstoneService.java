@@ -0,0 +1,102 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.CalendarItemTombstone;
+import com.graduation.schedulingservice.repository.CalendarItemTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records deleted calendar items for incremental calendar sync.
+ * <p>
+ * The entity listener reports each removal; the tombstones of a transaction are written just
+ * before it commits, so they are only kept when the deletion itself is. Tombstones older than
+ * the retention period are purged by a scheduled job, and sync tokens older than that period
+ * are answered with a full resync.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CalendarTombstoneService {
+
+    private final CalendarItemTombstoneRepository calendarItemTombstoneRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.calendar-sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * Called from entity callbacks, so it only queues the tombstone.
+     */
+    public void onItemRemoved(CalendarItem item) {
+        if (item.getId() == null || item.getCalendarId() == null) {
+            return;
+        }
+        CalendarItemTombstone tombstone = new CalendarItemTombstone(null, item.getId(), item.getUserId(),
+                item.getCalendarId(), LocalDateTime.now());
+        PendingTombstones pending = pending();
+        if (pending != null) {
+            pending.tombstones.add(tombstone);
+        } else {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> calendarItemTombstoneRepository.save(tombstone));
+        }
+    }
+
+    /**
+     * Oldest sync point that tombstones still cover.
+     */
+    public LocalDateTime retentionCutoff() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
+
+    @Scheduled(cron = "${app.calendar-sync.tombstone-purge-cron:0 30 4 * * ?}")
+    public void purgeExpired() {
+        try {
+            Integer purged = new TransactionTemplate(transactionManager).execute(status ->
+                    calendarItemTombstoneRepository.deleteByDeletedAtBefore(retentionCutoff()));
+            log.info("Calendar item tombstones purged: {}", purged);
+        } catch (Exception e) {
+            log.error("Calendar item tombstone purge failed", e);
+        }
+    }
+
+    /**
+     * The tombstone collector of the current transaction, registered on first use.
+     */
+    private PendingTombstones pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingTombstones pending) {
+                return pending;
+            }
+        }
+        PendingTombstones pending = new PendingTombstones();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private final class PendingTombstones implements TransactionSynchronization {
+        private final List<CalendarItemTombstone> tombstones = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!readOnly && !tombstones.isEmpty()) {
+                calendarItemTombstoneRepository.saveAll(tombstones);
+            }
+        }
+    }
+}
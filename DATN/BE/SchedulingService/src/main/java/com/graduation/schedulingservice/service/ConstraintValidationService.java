@@ -1,24 +1,25 @@
 package com.graduation.schedulingservice.service;
 
-import com.graduation.schedulingservice.model.CalendarItem;
 import com.graduation.schedulingservice.model.TimeRange;
 import com.graduation.schedulingservice.model.UserConstraints;
 import com.graduation.schedulingservice.model.enums.ItemType;
-import com.graduation.schedulingservice.repository.CalendarItemRepository;
 import com.graduation.schedulingservice.repository.UserConstraintsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
 
 @Slf4j
 @Service
@@ -26,11 +27,14 @@ import java.util.Optional;
 public class ConstraintValidationService {
 
     private final UserConstraintsRepository userConstraintsRepository;
-    private final CalendarItemRepository calendarItemRepository;
+    private final DailyUsageService dailyUsageService;
+    private final UserScheduleIndex userScheduleIndex;
+    private final UserTimeZoneService userTimeZoneService;
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
 
     /**
-     * Validate all constraints for scheduling a calendar item
+     * Validate all constraints for scheduling a calendar item.
+     * startTime/endTime are in the user's local time.
      */
     public List<String> validateConstraints(Long userId, LocalDateTime startTime,
             LocalDateTime endTime, ItemType itemType) {
@@ -54,7 +58,8 @@ public class ConstraintValidationService {
 
         // 4. Validate daily limits (if feature is enabled)
         if (Boolean.TRUE.equals(constraints.getDailyLimitFeatureEnabled())) {
-            validateDailyLimit(userId, constraints, startTime, endTime, itemType, violations);
+            validateDailyLimit(userId, constraints, startTime, endTime, itemType, violations,
+                    (date, type) -> dailyUsageService.minutesUsed(userId, date, type));
         }
 
         return violations;
@@ -64,6 +69,7 @@ public class ConstraintValidationService {
      * Validates *only* the user's configured constraints (Sleep Hours, Daily
      * Limits).
      * This method does NOT check for overlaps.
+     * startTime/endTime are in the user's local time.
      */
     public List<String> validateBaseConstraints(Long userId, LocalDateTime startTime,
             LocalDateTime endTime, ItemType itemType) {
@@ -84,12 +90,98 @@ public class ConstraintValidationService {
 
         // 3. Validate daily limits (if feature is enabled)
         if (Boolean.TRUE.equals(constraints.getDailyLimitFeatureEnabled())) {
-            validateDailyLimit(userId, constraints, startTime, endTime, itemType, violations);
+            validateDailyLimit(userId, constraints, startTime, endTime, itemType, violations,
+                    (date, type) -> dailyUsageService.minutesUsed(userId, date, type));
         }
 
         return violations;
     }
 
+    /**
+     * Start a validation pass over many items of one user. Constraints and daily usage are
+     * loaded once, and every accepted item is counted against the items validated after it.
+     */
+    public BatchContext openBatch(Long userId) {
+        UserConstraints constraints = userConstraintsRepository.findByUserId(userId).orElse(null);
+        if (constraints != null && Boolean.TRUE.equals(constraints.getDailyLimitFeatureEnabled())) {
+            dailyUsageService.ensureBuilt(constraints);
+        }
+        return new BatchContext(userId, constraints, userTimeZoneService.zoneOf(userId));
+    }
+
+    /**
+     * Per-batch validation state: the user's constraints, stored usage looked up once per
+     * (date, type), and the slots already accepted in this batch. Times are local.
+     */
+    public class BatchContext {
+        private final Long userId;
+        private final UserConstraints constraints;
+        private final ZoneId zone;
+        private final Map<String, Long> storedMinutes = new HashMap<>();
+        private final Map<String, Long> acceptedMinutes = new HashMap<>();
+        // Accepted slots by start; they never overlap each other, so neighbours are enough
+        private final TreeMap<LocalDateTime, AcceptedSlot> accepted = new TreeMap<>();
+
+        private BatchContext(Long userId, UserConstraints constraints, ZoneId zone) {
+            this.userId = userId;
+            this.constraints = constraints;
+            this.zone = zone;
+        }
+
+        /**
+         * Sleep hours, daily limits (existing usage plus this batch) and overlaps with
+         * items accepted earlier in the batch. Overlaps with stored items are checked by the caller.
+         */
+        public List<String> validate(LocalDateTime startTime, LocalDateTime endTime, ItemType itemType) {
+            List<String> violations = new ArrayList<>();
+            if (constraints != null) {
+                validateSleepHours(constraints, startTime, endTime, violations);
+                if (Boolean.TRUE.equals(constraints.getDailyLimitFeatureEnabled())) {
+                    validateDailyLimit(userId, constraints, startTime, endTime, itemType, violations,
+                            (date, type) -> storedMinutes.computeIfAbsent(usageKey(date, type),
+                                    key -> dailyUsageService.minutesUsed(userId, date, type))
+                                    + acceptedMinutes.getOrDefault(usageKey(date, type), 0L));
+                }
+            }
+
+            AcceptedSlot clash = findAcceptedOverlap(startTime, endTime);
+            if (clash != null) {
+                violations.add(String.format(
+                        "Time slot overlaps with '%s' (%s - %s) in the same batch",
+                        clash.name(),
+                        clash.start().format(DISPLAY_FORMATTER),
+                        clash.end().format(DISPLAY_FORMATTER)));
+            }
+            return violations;
+        }
+
+        public void accept(String name, LocalDateTime startTime, LocalDateTime endTime, ItemType itemType) {
+            accepted.put(startTime, new AcceptedSlot(name, startTime, endTime));
+            DailyUsageService.minutesByLocalDay(
+                    UserTimeZoneService.toUtc(startTime, zone), UserTimeZoneService.toUtc(endTime, zone), zone)
+                    .forEach((date, minutes) -> acceptedMinutes.merge(usageKey(date, itemType), minutes, Long::sum));
+        }
+
+        private AcceptedSlot findAcceptedOverlap(LocalDateTime startTime, LocalDateTime endTime) {
+            Map.Entry<LocalDateTime, AcceptedSlot> before = accepted.floorEntry(startTime);
+            if (before != null && before.getValue().end().isAfter(startTime)) {
+                return before.getValue();
+            }
+            Map.Entry<LocalDateTime, AcceptedSlot> after = accepted.higherEntry(startTime);
+            if (after != null && after.getKey().isBefore(endTime)) {
+                return after.getValue();
+            }
+            return null;
+        }
+
+        private String usageKey(LocalDate date, ItemType itemType) {
+            return date + "|" + itemType.name();
+        }
+    }
+
+    private record AcceptedSlot(String name, LocalDateTime start, LocalDateTime end) {
+    }
+
     /**
      * HARD RULE: Check if the new time slot overlaps with any existing scheduled
      * items
@@ -100,30 +192,27 @@ public class ConstraintValidationService {
         log.debug("Checking overlapping items for user {} between {} and {}",
                 userId, startTime, endTime);
 
-        List<CalendarItem> overlappingItems = new ArrayList<>(calendarItemRepository
-                .findOverlappingItems(userId, startTime, endTime));
+        // Stored slots are UTC; the check itself is zone-independent
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        LocalDateTime utcStart = UserTimeZoneService.toUtc(startTime, zone);
+        List<UserScheduleIndex.Entry> overlappingItems = new ArrayList<>(userScheduleIndex
+                .findOverlapping(userId, utcStart, UserTimeZoneService.toUtc(endTime, zone)));
 
         // Filter out routines that have an exception for this date OR have ended
         LocalDate dateToCheck = startTime.toLocalDate();
         overlappingItems.removeIf(item -> {
-            if (item instanceof com.graduation.schedulingservice.model.Routine) {
-                com.graduation.schedulingservice.model.Routine routine = (com.graduation.schedulingservice.model.Routine) item;
-
+            if (item.isRoutine()) {
                 // Check if routine has ended before this new item starts
-                if (routine.getEndDate() != null && !routine.getEndDate().isAfter(startTime)) {
-                    log.debug("Ignoring overlap with routine '{}' due to endDate {}", routine.getName(),
-                            routine.getEndDate());
+                if (item.endDate() != null && !item.endDate().isAfter(utcStart)) {
+                    log.debug("Ignoring overlap with routine '{}' due to endDate {}", item.name(),
+                            item.endDate());
                     return true;
                 }
 
-                if (routine.getExceptions() != null) {
-                    boolean hasException = routine.getExceptions().stream()
-                            .anyMatch(ex -> ex.toLocalDate().isEqual(dateToCheck));
-                    if (hasException) {
-                        log.debug("Ignoring overlap with routine '{}' due to exception on {}", routine.getName(),
-                                dateToCheck);
-                        return true;
-                    }
+                if (item.hasExceptionOn(dateToCheck)) {
+                    log.debug("Ignoring overlap with routine '{}' due to exception on {}", item.name(),
+                            dateToCheck);
+                    return true;
                 }
             }
             return false;
@@ -139,8 +228,8 @@ public class ConstraintValidationService {
 
             String itemNames = overlappingItems.stream()
                     .map(item -> {
-                        LocalDateTime startDateTime = item.getTimeSlot().getStartTime();
-                        LocalDateTime endDateTime = item.getTimeSlot().getEndTime();
+                        LocalDateTime startDateTime = UserTimeZoneService.toLocal(item.start(), zone);
+                        LocalDateTime endDateTime = UserTimeZoneService.toLocal(item.end(), zone);
 
                         String formattedTime;
 
@@ -160,7 +249,7 @@ public class ConstraintValidationService {
                             );
                         }
 
-                        return String.format("'%s' (%s)", item.getName(), formattedTime);
+                        return String.format("'%s' (%s)", item.name(), formattedTime);
                     })
                     .limit(3)
                     .reduce((a, b) -> a + ", " + b)
@@ -225,11 +314,13 @@ public class ConstraintValidationService {
     }
 
     /**
-     * Check if adding this item would exceed the daily limit for the item type
+     * Check if adding this item would exceed the daily limit for the item type on any local
+     * day it covers, using the per-day usage counters
      */
     private void validateDailyLimit(Long userId, UserConstraints constraints,
             LocalDateTime startTime, LocalDateTime endTime,
-            ItemType itemType, List<String> violations) {
+            ItemType itemType, List<String> violations,
+            BiFunction<LocalDate, ItemType, Long> minutesUsed) {
 
         // Get the configured daily limit for this item type
         Integer dailyLimitHours = constraints.getDailyLimits()
@@ -239,43 +330,39 @@ public class ConstraintValidationService {
             return; // No limit configured for this item type
         }
 
-        // Get all items scheduled on this date for this item type
-        LocalDate date = startTime.toLocalDate();
-        List<CalendarItem> itemsOnDate = calendarItemRepository
-                .findAllByUserIdAndDate(userId, date);
-
-        // Calculate total hours already used for this item type
-        long totalMinutesUsed = itemsOnDate.stream()
-                .filter(item -> item.getType() == itemType)
-                .map(CalendarItem::getTimeSlot)
-                .filter(Objects::nonNull)
-                .filter(slot -> slot.getStartTime() != null && slot.getEndTime() != null)
-                .mapToLong(slot -> Duration.between(
-                        slot.getStartTime(),
-                        slot.getEndTime()).toMinutes())
-                .sum();
-
-        // Calculate the duration of the new item
-        long newItemMinutes = Duration.between(startTime, endTime).toMinutes();
-
-        // Calculate total if we add this new item
-        long totalMinutesAfter = totalMinutesUsed + newItemMinutes;
-        double totalHoursAfter = totalMinutesAfter / 60.0;
-
-        // Check if it exceeds the limit
-        if (totalHoursAfter > dailyLimitHours) {
-            double hoursUsed = totalMinutesUsed / 60.0;
-            double newItemHours = newItemMinutes / 60.0;
+        dailyUsageService.ensureBuilt(constraints);
 
-            violations.add(String.format(
-                    "Daily limit exceeded for %s items. " +
-                            "Limit: %d hours, Currently used: %.1f hours, " +
-                            "New item: %.1f hours, Total would be: %.1f hours",
-                    itemType.name(),
-                    dailyLimitHours,
-                    hoursUsed,
-                    newItemHours,
-                    totalHoursAfter));
+        // Minutes of the new item on each local day it covers
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        Map<LocalDate, Long> newMinutesByDay = DailyUsageService.minutesByLocalDay(
+                UserTimeZoneService.toUtc(startTime, zone),
+                UserTimeZoneService.toUtc(endTime, zone),
+                zone);
+
+        for (Map.Entry<LocalDate, Long> day : newMinutesByDay.entrySet()) {
+            long totalMinutesUsed = minutesUsed.apply(day.getKey(), itemType);
+            long newItemMinutes = day.getValue();
+
+            // Calculate total if we add this new item
+            long totalMinutesAfter = totalMinutesUsed + newItemMinutes;
+            double totalHoursAfter = totalMinutesAfter / 60.0;
+
+            // Check if it exceeds the limit
+            if (totalHoursAfter > dailyLimitHours) {
+                double hoursUsed = totalMinutesUsed / 60.0;
+                double newItemHours = newItemMinutes / 60.0;
+
+                violations.add(String.format(
+                        "Daily limit exceeded for %s items. " +
+                                "Limit: %d hours, Currently used: %.1f hours, " +
+                                "New item: %.1f hours, Total would be: %.1f hours",
+                        itemType.name(),
+                        dailyLimitHours,
+                        hoursUsed,
+                        newItemHours,
+                        totalHoursAfter));
+                return;
+            }
         }
     }
 }
\ No newline at end of file
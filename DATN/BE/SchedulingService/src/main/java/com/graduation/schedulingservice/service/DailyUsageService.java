@@ -0,0 +1,358 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.model.UserDailyUsage;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import com.graduation.schedulingservice.repository.UserDailyUsageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Keeps the {@link UserDailyUsage} counters (minutes per user, local date and item type) in step
+ * with calendar item writes, so a daily limit check is a primary-key lookup.
+ * <p>
+ * The entity listener reports every slot change; the changes of a transaction are collected and
+ * applied as atomic upserts just before it commits, after a final flush, so they land in the same
+ * transaction as the item writes. Items that cross midnight are split across the local days they
+ * cover. Counters of a user are built on first use and rebuilt when the user's zone changes; a
+ * scheduled job compares them with the items and rebuilds any user that drifted.
+ * <p>
+ * Every writer of a user's counters first locks the user's constraints row. A rebuild counts
+ * the items only after taking the lock and writes absolute values, so it neither misses the
+ * items of a transaction that applied its changes first nor double counts with a concurrent
+ * rebuild; a transaction that applies its changes after a rebuild adds them on top.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyUsageService {
+
+    private final UserDailyUsageRepository userDailyUsageRepository;
+    private final CalendarItemRepository calendarItemRepository;
+    private final UserConstraintsRepository userConstraintsRepository;
+    private final UserTimeZoneService userTimeZoneService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.daily-usage.reconcile-batch-size:200}")
+    private int reconcileBatchSize;
+
+    /**
+     * Record a slot change of an item; before/after are raw (UTC) slots, null when unscheduled.
+     * Called from entity callbacks, so it only queues the change.
+     */
+    public void onSlotChanged(CalendarItem item, TimeSlot before, TimeSlot after) {
+        if (item.getType() == null || Objects.equals(before, after) || (!hasTimes(before) && !hasTimes(after))) {
+            return;
+        }
+        PendingUsage pending = pending(true);
+        if (pending == null) {
+            log.debug("Slot change of item {} outside a transaction; left to the reconciliation job", item.getId());
+            return;
+        }
+        pending.changes.add(new SlotChange(item.getUserId(), item.getType(), copy(before), copy(after)));
+    }
+
+    /**
+     * Minutes of the given type on a local date, including uncommitted changes of the current transaction.
+     */
+    public long minutesUsed(Long userId, LocalDate date, ItemType itemType) {
+        long stored = userDailyUsageRepository.findById(new UserDailyUsage.Key(userId, date, itemType))
+                .map(UserDailyUsage::getMinutes)
+                .orElse(0);
+        return stored + pendingMinutes(userId, date, itemType);
+    }
+
+    /**
+     * Build the user's counters from their items the first time they are needed.
+     */
+    public void ensureBuilt(UserConstraints constraints) {
+        if (Boolean.TRUE.equals(constraints.getDailyUsageReady())) {
+            return;
+        }
+        Long userId = constraints.getUserId();
+        // Built from committed items; changes of the caller's transaction are applied on top when it commits
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status -> {
+            // Another caller may have built them while this one waited for the lock
+            if (lockUser(userId)) {
+                return;
+            }
+            rebuild(userId, userTimeZoneService.zoneOf(userId));
+            userConstraintsRepository.markDailyUsageReady(userId);
+        });
+        constraints.setDailyUsageReady(true);
+    }
+
+    /**
+     * Rebuild the user's counters in the given zone when the current transaction commits,
+     * instead of applying its individual changes. Used when the user's zone changes.
+     */
+    public void rebuildOnCommit(Long userId, ZoneId zone) {
+        PendingUsage pending = pending(true);
+        if (pending != null) {
+            pending.rebuilds.put(userId, zone);
+        } else {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> rebuild(userId, zone));
+        }
+    }
+
+    /**
+     * Usage per local date and type in [from, to]. Users without constraints have no counters,
+     * so their usage is computed from the items.
+     */
+    public SortedMap<LocalDate, Map<ItemType, Integer>> usageBetween(Long userId, UserConstraints constraints,
+                                                                    LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, Map<ItemType, Integer>> usage = new TreeMap<>();
+        if (constraints != null) {
+            ensureBuilt(constraints);
+            for (UserDailyUsage row : userDailyUsageRepository.findByUserIdAndDateRange(userId, from, to)) {
+                if (row.getMinutes() != 0) {
+                    usage.computeIfAbsent(row.getId().getUsageDate(), date -> new EnumMap<>(ItemType.class))
+                            .put(row.getId().getItemType(), row.getMinutes());
+                }
+            }
+            return usage;
+        }
+
+        computeFromItems(userId, userTimeZoneService.zoneOf(userId)).forEach((key, minutes) -> {
+            LocalDate date = key.getUsageDate();
+            if (!date.isBefore(from) && !date.isAfter(to)) {
+                usage.computeIfAbsent(date, d -> new EnumMap<>(ItemType.class)).put(key.getItemType(), minutes);
+            }
+        });
+        return usage;
+    }
+
+    /**
+     * Reconciliation job: recomputes the counters of every user that has them from the items
+     * and rebuilds the ones that differ.
+     */
+    @Scheduled(cron = "${app.daily-usage.reconcile-cron:0 0 4 * * ?}")
+    public void reconcile() {
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            long afterUserId = 0;
+            int checked = 0;
+            int repaired = 0;
+            List<Long> batch;
+            do {
+                batch = userConstraintsRepository.findDailyUsageReadyUserIdsAfter(afterUserId,
+                        PageRequest.of(0, reconcileBatchSize));
+                for (Long userId : batch) {
+                    Boolean rebuilt = template.execute(status -> reconcileUser(userId));
+                    if (Boolean.TRUE.equals(rebuilt)) {
+                        repaired++;
+                    }
+                }
+                checked += batch.size();
+                if (!batch.isEmpty()) {
+                    afterUserId = batch.get(batch.size() - 1);
+                }
+            } while (batch.size() == reconcileBatchSize);
+
+            log.info("Daily usage reconciliation: checked={}, repaired={}", checked, repaired);
+        } catch (Exception e) {
+            log.error("Daily usage reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Minutes of a raw (UTC) slot on each local day it covers, in day order.
+     */
+    public static Map<LocalDate, Long> minutesByLocalDay(LocalDateTime utcStart, LocalDateTime utcEnd, ZoneId zone) {
+        Map<LocalDate, Long> minutes = new LinkedHashMap<>();
+        if (utcStart == null || utcEnd == null || !utcEnd.isAfter(utcStart)) {
+            return minutes;
+        }
+        LocalDate day = UserTimeZoneService.toLocal(utcStart, zone).toLocalDate();
+        LocalDateTime cursor = utcStart;
+        while (cursor.isBefore(utcEnd)) {
+            LocalDateTime nextDay = UserTimeZoneService.startOfDayUtc(day.plusDays(1), zone);
+            LocalDateTime segmentEnd = nextDay.isBefore(utcEnd) ? nextDay : utcEnd;
+            minutes.put(day, Duration.between(cursor, segmentEnd).toMinutes());
+            cursor = segmentEnd;
+            day = day.plusDays(1);
+        }
+        return minutes;
+    }
+
+    private boolean reconcileUser(Long userId) {
+        lockUser(userId);
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        Map<UserDailyUsage.Key, Integer> expected = computeFromItems(userId, zone);
+        Map<UserDailyUsage.Key, Integer> stored = new HashMap<>();
+        for (UserDailyUsage row : userDailyUsageRepository.findNonZeroByUserId(userId)) {
+            stored.put(row.getId(), row.getMinutes());
+        }
+        if (expected.equals(stored)) {
+            return false;
+        }
+        log.info("Daily usage of user {} drifted, rebuilding", userId);
+        rebuild(userId, zone);
+        return true;
+    }
+
+    private void rebuild(Long userId, ZoneId zone) {
+        lockUser(userId);
+        // Counted after the lock, in a fresh statement, so committed changes of earlier writers are seen
+        Map<UserDailyUsage.Key, Integer> expected = computeFromItems(userId, zone);
+        userDailyUsageRepository.deleteByUserId(userId);
+        expected.forEach((key, minutes) -> userDailyUsageRepository.setMinutes(
+                userId, key.getUsageDate(), key.getItemType().name(), minutes));
+    }
+
+    /**
+     * Lock the user's counters until the transaction ends; true if they are already built.
+     * Users without constraints have no row to lock, and no counters that are read.
+     */
+    private boolean lockUser(Long userId) {
+        return userConstraintsRepository.lockDailyUsage(userId).orElse(false);
+    }
+
+    private Map<UserDailyUsage.Key, Integer> computeFromItems(Long userId, ZoneId zone) {
+        Map<UserDailyUsage.Key, Integer> usage = new HashMap<>();
+        for (CalendarItemRepository.ScheduledSlotView slot : calendarItemRepository.findScheduledSlotsByUserId(userId)) {
+            if (slot.getType() != null) {
+                addSplit(usage, userId, slot.getType(), slot.getStartTime(), slot.getEndTime(), zone, 1);
+            }
+        }
+        usage.values().removeIf(minutes -> minutes == 0);
+        return usage;
+    }
+
+    private void applyPending(PendingUsage pending) {
+        Map<Long, ZoneId> zones = new HashMap<>();
+        Map<Long, Map<UserDailyUsage.Key, Integer>> deltasByUser = new HashMap<>();
+        for (SlotChange change : pending.changes) {
+            if (pending.rebuilds.containsKey(change.userId())) {
+                continue;
+            }
+            ZoneId zone = zones.computeIfAbsent(change.userId(), userTimeZoneService::zoneOf);
+            addChange(deltasByUser.computeIfAbsent(change.userId(), id -> new HashMap<>()), change, zone);
+        }
+
+        // Users are locked in id order, so two transactions touching the same users cannot deadlock
+        SortedSet<Long> userIds = new TreeSet<>(deltasByUser.keySet());
+        userIds.addAll(pending.rebuilds.keySet());
+        for (Long userId : userIds) {
+            ZoneId rebuildZone = pending.rebuilds.get(userId);
+            if (rebuildZone != null) {
+                rebuild(userId, rebuildZone);
+                continue;
+            }
+            lockUser(userId);
+            deltasByUser.get(userId).forEach((key, minutes) -> {
+                if (minutes != 0) {
+                    userDailyUsageRepository.addMinutes(key.getUserId(), key.getUsageDate(),
+                            key.getItemType().name(), minutes);
+                }
+            });
+        }
+    }
+
+    private long pendingMinutes(Long userId, LocalDate date, ItemType itemType) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return 0;
+        }
+        // Surface changes still held in the persistence context, as the old summing query did
+        userDailyUsageRepository.flush();
+        PendingUsage pending = pending(false);
+        if (pending == null || pending.changes.isEmpty()) {
+            return 0;
+        }
+
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        Map<UserDailyUsage.Key, Integer> deltas = new HashMap<>();
+        for (SlotChange change : pending.changes) {
+            if (change.userId().equals(userId) && change.type() == itemType) {
+                addChange(deltas, change, zone);
+            }
+        }
+        return deltas.getOrDefault(new UserDailyUsage.Key(userId, date, itemType), 0);
+    }
+
+    private static void addChange(Map<UserDailyUsage.Key, Integer> deltas, SlotChange change, ZoneId zone) {
+        if (change.before() != null) {
+            addSplit(deltas, change.userId(), change.type(),
+                    change.before().getStartTime(), change.before().getEndTime(), zone, -1);
+        }
+        if (change.after() != null) {
+            addSplit(deltas, change.userId(), change.type(),
+                    change.after().getStartTime(), change.after().getEndTime(), zone, 1);
+        }
+    }
+
+    private static void addSplit(Map<UserDailyUsage.Key, Integer> usage, Long userId, ItemType type,
+                                 LocalDateTime utcStart, LocalDateTime utcEnd, ZoneId zone, int sign) {
+        minutesByLocalDay(utcStart, utcEnd, zone).forEach((date, minutes) -> usage.merge(
+                new UserDailyUsage.Key(userId, date, type), sign * minutes.intValue(), Integer::sum));
+    }
+
+    /**
+     * The change collector of the current transaction. Looked up among the registered
+     * synchronizations, which Spring suspends and restores with the transaction.
+     */
+    private PendingUsage pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingUsage pending) {
+                return pending;
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        PendingUsage pending = new PendingUsage();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private static boolean hasTimes(TimeSlot slot) {
+        return slot != null && slot.getStartTime() != null && slot.getEndTime() != null;
+    }
+
+    private static TimeSlot copy(TimeSlot slot) {
+        return hasTimes(slot) ? new TimeSlot(slot.getStartTime(), slot.getEndTime()) : null;
+    }
+
+    private record SlotChange(Long userId, ItemType type, TimeSlot before, TimeSlot after) {
+    }
+
+    private final class PendingUsage implements TransactionSynchronization {
+        private final List<SlotChange> changes = new ArrayList<>();
+        private final Map<Long, ZoneId> rebuilds = new LinkedHashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (readOnly) {
+                return;
+            }
+            // Remaining writes are flushed first so their callbacks land in this collector
+            userDailyUsageRepository.flush();
+            applyPending(this);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.MemorableEventCalendarItem;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeRange;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.payload.response.ScheduledItemDTO;
+import com.graduation.schedulingservice.payload.response.TimeSlotResponseDTO;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Per-user busy bitmaps on a shared UTC grid of 15-minute slots, one 96-bit bitmap per UTC day.
+ * <p>
+ * Every zone offset in use is a multiple of 15 minutes, so the UTC grid lines up with the local
+ * quarter hours of every user and bitmaps of users in different zones can be combined directly.
+ * A day's bitmap covers the user's scheduled items (memorable events excluded, they do not block
+ * time), the expanded occurrences of their recurring routines and their sleep hours.
+ * <p>
+ * Days are built lazily for the range being asked about and kept in an LRU of users bounded by
+ * {@code app.free-busy.max-users}, refreshed after {@code app.free-busy.ttl-ms}. Item writes are
+ * applied after commit: a newly scheduled one-off item is OR-ed into the cached days, a moved or
+ * removed one drops the days it covered (a bit cannot be cleared without knowing what else covers
+ * the slot), and any routine write, sleep hours change or zone change drops the whole user.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FreeBusyIndex {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final CalendarItemRepository calendarItemRepository;
+    private final UserConstraintsRepository userConstraintsRepository;
+    private final UserTimeZoneService userTimeZoneService;
+    private final RecurrenceExpansionEngine recurrenceExpansionEngine;
+    private final PlatformTransactionManager transactionManager;
+
+    // Upper bound on staleness when another instance changed the user's items
+    @Value("${app.free-busy.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${app.free-busy.max-users:2000}")
+    private int maxUsers;
+
+    private final Map<Long, UserBusy> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserBusy> eldest) {
+                    return size() > maxUsers;
+                }
+            });
+
+    /**
+     * Busy slots of a user over [utcStart, utcEnd); bit i covers the i-th 15-minute slot from
+     * utcStart. Both bounds must lie on the slot grid.
+     */
+    public BitSet busySlots(Long userId, LocalDateTime utcStart, LocalDateTime utcEnd) {
+        long firstSlot = slotIndex(utcStart);
+        int length = (int) (slotIndex(utcEnd) - firstSlot);
+        long firstDay = Math.floorDiv(firstSlot, SLOTS_PER_DAY);
+        long lastDay = Math.floorDiv(firstSlot + length - 1, SLOTS_PER_DAY);
+
+        Map<Long, long[]> days = daysFor(userId, firstDay, lastDay);
+        BitSet busy = new BitSet(length);
+        for (long day = firstDay; day <= lastDay; day++) {
+            BitSet dayBits = BitSet.valueOf(days.get(day));
+            long dayOffset = day * SLOTS_PER_DAY - firstSlot;
+            for (int bit = dayBits.nextSetBit(0); bit >= 0; bit = dayBits.nextSetBit(bit + 1)) {
+                long index = dayOffset + bit;
+                if (index >= 0 && index < length) {
+                    busy.set((int) index);
+                }
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Report a slot change of an item; before/after are raw (UTC) slots, null when unscheduled.
+     * Called from entity callbacks, so it only queues the change until commit.
+     */
+    public void onSlotChanged(CalendarItem item, TimeSlot before, TimeSlot after) {
+        if (item.getUserId() == null || item instanceof MemorableEventCalendarItem) {
+            return;
+        }
+        Long userId = item.getUserId();
+        if (item instanceof Routine) {
+            // A routine write can change its pattern or exceptions without touching the slot
+            evict(userId);
+            return;
+        }
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        TimeSlot removed = hasTimes(before) ? new TimeSlot(before.getStartTime(), before.getEndTime()) : null;
+        TimeSlot added = hasTimes(after) ? new TimeSlot(after.getStartTime(), after.getEndTime()) : null;
+        afterCommit(() -> apply(userId, removed, added));
+    }
+
+    public void evict(Long userId) {
+        afterCommit(() -> cache.remove(userId));
+    }
+
+    private void apply(Long userId, TimeSlot removed, TimeSlot added) {
+        UserBusy busy = cache.get(userId);
+        if (busy == null) {
+            return;
+        }
+        synchronized (busy) {
+            busy.version++;
+            if (removed != null) {
+                long firstDay = Math.floorDiv(slotIndex(removed.getStartTime()), SLOTS_PER_DAY);
+                long lastDay = Math.floorDiv(slotIndex(removed.getEndTime()) - 1, SLOTS_PER_DAY);
+                for (long day = firstDay; day <= lastDay; day++) {
+                    busy.days.remove(day);
+                }
+            }
+            if (added != null) {
+                markUtc(busy.days, added.getStartTime(), added.getEndTime());
+            }
+        }
+    }
+
+    /**
+     * Bitmaps of the given UTC days, building the missing ones with one load.
+     */
+    private Map<Long, long[]> daysFor(Long userId, long firstDay, long lastDay) {
+        UserBusy cached = cache.get(userId);
+        if (cached == null || System.currentTimeMillis() - cached.loadedAt >= ttlMs) {
+            cached = new UserBusy(System.currentTimeMillis());
+            cache.put(userId, cached);
+        }
+        UserBusy busy = cached;
+
+        Map<Long, long[]> result = new HashMap<>();
+        long missingFrom = Long.MAX_VALUE;
+        long missingTo = Long.MIN_VALUE;
+        long version;
+        synchronized (busy) {
+            version = busy.version;
+            for (long day = firstDay; day <= lastDay; day++) {
+                long[] words = busy.days.get(day);
+                if (words != null) {
+                    result.put(day, words.clone());
+                } else {
+                    missingFrom = Math.min(missingFrom, day);
+                    missingTo = Math.max(missingTo, day);
+                }
+            }
+        }
+        if (missingFrom > missingTo) {
+            return result;
+        }
+
+        Map<Long, long[]> built = build(userId, missingFrom, missingTo);
+        synchronized (busy) {
+            // A write committed while building: return what was built but do not keep it
+            if (busy.version == version) {
+                built.forEach((day, words) -> busy.days.putIfAbsent(day, words.clone()));
+            }
+        }
+        built.forEach(result::putIfAbsent);
+        return result;
+    }
+
+    private Map<Long, long[]> build(Long userId, long firstDay, long lastDay) {
+        // Read committed state only; changes of the caller's own transaction arrive through afterCommit
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+
+        Map<Long, long[]> days = new HashMap<>();
+        for (long day = firstDay; day <= lastDay; day++) {
+            days.put(day, new long[2]);
+        }
+        LocalDateTime utcStart = LocalDate.ofEpochDay(firstDay).atStartOfDay();
+        LocalDateTime utcEnd = LocalDate.ofEpochDay(lastDay + 1).atStartOfDay();
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        LocalDateTime localStart = UserTimeZoneService.toLocal(utcStart, zone);
+        LocalDateTime localEnd = UserTimeZoneService.toLocal(utcEnd, zone);
+
+        template.executeWithoutResult(status -> {
+            for (CalendarItem item : calendarItemRepository.findOverlappingItems(userId, utcStart, utcEnd)) {
+                // Recurring routines are added below from their expanded occurrences
+                if (!(item instanceof Routine routine && isRecurring(routine))) {
+                    markUtc(days, item.getTimeSlot().getStartTime(), item.getTimeSlot().getEndTime());
+                }
+            }
+            for (Routine routine : calendarItemRepository.findScheduledRecurringRoutinesByUserId(userId)) {
+                Iterator<ScheduledItemDTO> occurrences =
+                        recurrenceExpansionEngine.occurrences(routine, zone, localStart, localEnd);
+                while (occurrences.hasNext()) {
+                    TimeSlotResponseDTO slot = occurrences.next().getTimeSlot();
+                    markUtc(days, UserTimeZoneService.toUtc(slot.getStartTime(), zone),
+                            UserTimeZoneService.toUtc(slot.getEndTime(), zone));
+                }
+            }
+            List<TimeRange> sleepHours = userConstraintsRepository.findByUserId(userId)
+                    .map(UserConstraints::getSleepHours)
+                    .map(List::copyOf)
+                    .orElse(List.of());
+            markSleepHours(days, sleepHours, zone, localStart.toLocalDate(), localEnd.toLocalDate());
+        });
+        log.debug("Built free/busy days {}..{} for user {}", firstDay, lastDay, userId);
+        return days;
+    }
+
+    /**
+     * Sleep ranges are local times of day; an overnight range runs into the next local day.
+     */
+    private static void markSleepHours(Map<Long, long[]> days, List<TimeRange> sleepHours, ZoneId zone,
+                                       LocalDate firstLocalDay, LocalDate lastLocalDay) {
+        for (TimeRange sleep : sleepHours) {
+            if (sleep.getStartTime() == null || sleep.getEndTime() == null) {
+                continue;
+            }
+            boolean overnight = !sleep.getEndTime().isAfter(sleep.getStartTime());
+            // The range starting the evening before the first day still covers its morning
+            for (LocalDate day = firstLocalDay.minusDays(1); !day.isAfter(lastLocalDay); day = day.plusDays(1)) {
+                LocalDateTime start = day.atTime(sleep.getStartTime());
+                LocalDateTime end = (overnight ? day.plusDays(1) : day).atTime(sleep.getEndTime());
+                markUtc(days, UserTimeZoneService.toUtc(start, zone), UserTimeZoneService.toUtc(end, zone));
+            }
+        }
+    }
+
+    /**
+     * Mark every slot touched by [utcStart, utcEnd) in the given days; days not in the map are skipped.
+     */
+    private static void markUtc(Map<Long, long[]> days, LocalDateTime utcStart, LocalDateTime utcEnd) {
+        if (utcStart == null || utcEnd == null || !utcEnd.isAfter(utcStart)) {
+            return;
+        }
+        long from = slotIndex(utcStart);
+        long to = Math.floorDiv(utcEnd.toEpochSecond(ZoneOffset.UTC) + SLOT_MINUTES * 60 - 1, SLOT_MINUTES * 60L);
+        for (long slot = from; slot < to; ) {
+            long day = Math.floorDiv(slot, SLOTS_PER_DAY);
+            long dayEnd = (day + 1) * SLOTS_PER_DAY;
+            long[] words = days.get(day);
+            if (words != null) {
+                int first = (int) (slot - day * SLOTS_PER_DAY);
+                int last = (int) (Math.min(to, dayEnd) - day * SLOTS_PER_DAY);
+                for (int bit = first; bit < last; bit++) {
+                    words[bit >>> 6] |= 1L << (bit & 63);
+                }
+            }
+            slot = dayEnd;
+        }
+    }
+
+    private static long slotIndex(LocalDateTime utc) {
+        return Math.floorDiv(utc.toEpochSecond(ZoneOffset.UTC), SLOT_MINUTES * 60L);
+    }
+
+    private static boolean hasTimes(TimeSlot slot) {
+        return slot != null && slot.getStartTime() != null && slot.getEndTime() != null;
+    }
+
+    private static boolean isRecurring(Routine routine) {
+        return routine.getPattern() != null && routine.getPattern().getDaysOfWeek() != null
+                && !routine.getPattern().getDaysOfWeek().isEmpty();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class UserBusy {
+        private final long loadedAt;
+        // UTC epoch day -> busy bits of its 96 slots, in two words
+        private final Map<Long, long[]> days = new HashMap<>();
+        // Bumped by every applied write, so a build that raced one is not cached
+        private long version;
+
+        private UserBusy(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.payload.request.FreeSlotsRequest;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+
+public interface FreeBusyService {
+
+    /**
+     * Free time of a user over a number of days, in the user's own zone
+     */
+    BaseResponse<?> getFreeSlots(Long userId, String from, Integer days, Integer minMinutes);
+
+    /**
+     * Time all of the given users are free over a number of days.
+     * Internal: used by other services for team scheduling views.
+     */
+    BaseResponse<?> getCommonFreeSlots(FreeSlotsRequest request);
+}
@@ -0,0 +1,257 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.MemorableEvent;
+import com.graduation.schedulingservice.model.MemorableEventCalendarItem;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeSlot;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes calendar items as an iCalendar (RFC 5545) stream, one component at a time.
+ * <p>
+ * One-off items are written in UTC. Routines recur on the user's local calendar, so they are
+ * written with a TZID and a VTIMEZONE derived from the zone's current transition rules, with
+ * their pattern as a weekly RRULE and their exceptions as EXDATEs. Memorable events become
+ * all-day yearly rules. Lines are CRLF-terminated and folded at 75 octets.
+ */
+public final class ICalendarWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String UID_DOMAIN = "@scheduling-service";
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+    private final ZoneId zone;
+    private final String tzid;
+    private final String dtstamp;
+
+    public ICalendarWriter(Writer out, ZoneId zone) {
+        this.out = out;
+        this.zone = zone;
+        // Legacy users resolve to the "Z" offset, which is not a usable TZID
+        this.tzid = zone.equals(ZoneOffset.UTC) ? "UTC" : zone.getId();
+        this.dtstamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC_FORMAT);
+    }
+
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//Graduation//Scheduling Service//EN");
+        line("CALSCALE:GREGORIAN");
+        line("X-WR-CALNAME:" + escape(calendarName));
+        line("X-WR-TIMEZONE:" + tzid);
+        writeTimeZone();
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    public void writeItem(CalendarItem item) throws IOException {
+        TimeSlot slot = item.getTimeSlot();
+        if (slot == null || slot.getStartTime() == null || slot.getEndTime() == null) {
+            return;
+        }
+
+        line("BEGIN:VEVENT");
+        line("UID:item-" + item.getId() + UID_DOMAIN);
+        line("DTSTAMP:" + dtstamp);
+        if (item.getUpdatedAt() != null) {
+            line("LAST-MODIFIED:" + systemToUtc(item.getUpdatedAt()).format(UTC_FORMAT));
+        }
+
+        if (item instanceof MemorableEventCalendarItem) {
+            LocalDate day = UserTimeZoneService.toLocal(slot.getStartTime(), zone).toLocalDate();
+            line("DTSTART;VALUE=DATE:" + day.format(DATE_FORMAT));
+            line("DTEND;VALUE=DATE:" + day.plusDays(1).format(DATE_FORMAT));
+        } else if (item instanceof Routine routine && isRecurring(routine)) {
+            writeRecurrence(routine);
+        } else {
+            line("DTSTART:" + slot.getStartTime().format(UTC_FORMAT));
+            line("DTEND:" + slot.getEndTime().format(UTC_FORMAT));
+        }
+
+        line("SUMMARY:" + escape(item.getName()));
+        if (item.getNote() != null && !item.getNote().isBlank()) {
+            line("DESCRIPTION:" + escape(item.getNote()));
+        }
+        if (item.getType() != null) {
+            line("CATEGORIES:" + item.getType().name());
+        }
+        line("END:VEVENT");
+    }
+
+    /**
+     * A yearly all-day event, skipping the years that have a materialized override item.
+     */
+    public void writeMemorableEvent(MemorableEvent event, Collection<Integer> overriddenYears) throws IOException {
+        int firstYear = event.getCreatedAt() != null ? event.getCreatedAt().getYear() : LocalDate.now().getYear();
+        LocalDate first = RecurrenceExpansionEngine.yearlyOccurrenceDate(event, firstYear);
+
+        line("BEGIN:VEVENT");
+        line("UID:memorable-" + event.getId() + UID_DOMAIN);
+        line("DTSTAMP:" + dtstamp);
+        line("DTSTART;VALUE=DATE:" + first.format(DATE_FORMAT));
+        line("DTEND;VALUE=DATE:" + first.plusDays(1).format(DATE_FORMAT));
+        line("RRULE:FREQ=YEARLY;BYMONTH=" + event.getMonth() + ";BYMONTHDAY=" + event.getDay());
+        for (Integer year : overriddenYears) {
+            line("EXDATE;VALUE=DATE:" + RecurrenceExpansionEngine.yearlyOccurrenceDate(event, year).format(DATE_FORMAT));
+        }
+        line("SUMMARY:" + escape(event.getTitle()));
+        line("TRANSP:TRANSPARENT");
+        line("END:VEVENT");
+    }
+
+    private void writeRecurrence(Routine routine) throws IOException {
+        LocalDateTime start = UserTimeZoneService.toLocal(routine.getTimeSlot().getStartTime(), zone);
+        LocalDateTime end = UserTimeZoneService.toLocal(routine.getTimeSlot().getEndTime(), zone);
+        String zoneParam = ";TZID=" + tzid + ":";
+        line("DTSTART" + zoneParam + start.format(LOCAL_FORMAT));
+        line("DTEND" + zoneParam + end.format(LOCAL_FORMAT));
+
+        String days = routine.getPattern().getDaysOfWeek().stream()
+                .distinct()
+                .sorted()
+                .map(ICalendarWriter::weekday)
+                .collect(Collectors.joining(","));
+        StringBuilder rule = new StringBuilder("RRULE:FREQ=WEEKLY;BYDAY=").append(days);
+        if (routine.getEndDate() != null) {
+            // endDate is exclusive; UNTIL is inclusive and must be UTC when DTSTART has a TZID
+            rule.append(";UNTIL=").append(routine.getEndDate().minusSeconds(1).format(UTC_FORMAT));
+        }
+        line(rule.toString());
+
+        if (routine.getExceptions() != null) {
+            LocalTime startOfDay = start.toLocalTime();
+            for (LocalDateTime exception : routine.getExceptions()) {
+                LocalDate localDate = UserTimeZoneService.toLocal(exception, zone).toLocalDate();
+                line("EXDATE" + zoneParam + localDate.atTime(startOfDay).format(LOCAL_FORMAT));
+            }
+        }
+    }
+
+    /**
+     * VTIMEZONE for the user's zone: a single STANDARD block for fixed-offset zones, otherwise
+     * STANDARD and DAYLIGHT blocks built from the zone's yearly transition rules.
+     */
+    private void writeTimeZone() throws IOException {
+        ZoneRules rules = zone.getRules();
+        List<ZoneOffsetTransitionRule> transitionRules = rules.getTransitionRules();
+
+        line("BEGIN:VTIMEZONE");
+        line("TZID:" + tzid);
+        if (transitionRules.size() != 2) {
+            ZoneOffset offset = rules.getOffset(Instant.now());
+            line("BEGIN:STANDARD");
+            line("DTSTART:19700101T000000");
+            line("TZOFFSETFROM:" + offset(offset));
+            line("TZOFFSETTO:" + offset(offset));
+            line("END:STANDARD");
+        } else {
+            for (ZoneOffsetTransitionRule rule : transitionRules) {
+                ZoneOffsetTransition transition = rule.createTransition(1970);
+                String block = transition.isGap() ? "DAYLIGHT" : "STANDARD";
+                line("BEGIN:" + block);
+                line("DTSTART:" + transition.getDateTimeBefore().format(LOCAL_FORMAT));
+                line("TZOFFSETFROM:" + offset(transition.getOffsetBefore()));
+                line("TZOFFSETTO:" + offset(transition.getOffsetAfter()));
+                line("RRULE:FREQ=YEARLY;BYMONTH=" + rule.getMonth().getValue() + ";" + byDay(rule));
+                line("END:" + block);
+            }
+        }
+        line("END:VTIMEZONE");
+    }
+
+    private static String byDay(ZoneOffsetTransitionRule rule) {
+        int indicator = rule.getDayOfMonthIndicator();
+        if (rule.getDayOfWeek() == null) {
+            return "BYMONTHDAY=" + indicator;
+        }
+        String day = weekday(rule.getDayOfWeek());
+        // "Weekday on or after the Nth" for the last week of the month is the last such weekday
+        if (indicator < 0 || indicator + 6 >= rule.getMonth().maxLength()) {
+            return "BYDAY=-1" + day;
+        }
+        return "BYDAY=" + ((indicator - 1) / 7 + 1) + day;
+    }
+
+    private static boolean isRecurring(Routine routine) {
+        return routine.getPattern() != null && routine.getPattern().getDaysOfWeek() != null
+                && !routine.getPattern().getDaysOfWeek().isEmpty();
+    }
+
+    private static String weekday(DayOfWeek day) {
+        return day.name().substring(0, 2);
+    }
+
+    private static String offset(ZoneOffset offset) {
+        int seconds = offset.getTotalSeconds();
+        int abs = Math.abs(seconds);
+        return String.format("%s%02d%02d", seconds < 0 ? "-" : "+", abs / 3600, (abs / 60) % 60);
+    }
+
+    // Audit timestamps are written with the server's clock
+    private static LocalDateTime systemToUtc(LocalDateTime systemTime) {
+        return systemTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "");
+    }
+
+    /**
+     * Write one content line, folded so that no physical line exceeds 75 octets.
+     */
+    private void line(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_LINE_OCTETS) {
+            out.write(content);
+            out.write("\r\n");
+            return;
+        }
+
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                // Continuation lines start with a space that counts towards the limit
+                octets = 1;
+            }
+            out.write(Character.toChars(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        out.write("\r\n");
+    }
+}
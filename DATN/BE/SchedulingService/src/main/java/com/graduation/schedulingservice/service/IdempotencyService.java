@@ -68,9 +68,11 @@ public class IdempotencyService {
 
     /**
      * Clean up old processed messages
-     * This can be scheduled to run periodically to remove old entries
+     * This can be scheduled to run periodically to remove old entries.
+     * Off unless app.idempotency.cleanup-cron is set: entries younger than the broker's
+     * retention are still needed to drop redelivered commands.
      */
-    @Scheduled(cron = "0 0 2 * * ?")
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:-}")
     @Transactional
     public void cleanupOldProcessedMessages() {
         log.info(Constant.LOG_CLEANING_OLD_MESSAGES);
@@ -0,0 +1,161 @@
+package com.graduation.schedulingservice.service;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Augmented interval tree over half-open [start, end) ranges of epoch seconds.
+ * <p>
+ * Nodes are kept in a treap ordered by (start, id), and each node tracks the maximum end of its
+ * subtree, so inserts and removals are O(log n) expected and an overlap query is O(log n + k).
+ * Not thread-safe; callers guard it.
+ */
+class IntervalTree<V> {
+
+    private Node<V> root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(long id, long start, long end, V value) {
+        root = insert(root, new Node<>(id, start, end, value));
+        size++;
+    }
+
+    boolean remove(long id, long start) {
+        int before = size;
+        root = remove(root, id, start);
+        return size < before;
+    }
+
+    /**
+     * Collect the values of all intervals with start < queryEnd and end > queryStart.
+     */
+    void collectOverlapping(long queryStart, long queryEnd, List<V> out) {
+        collect(root, queryStart, queryEnd, out);
+    }
+
+    private Node<V> insert(Node<V> node, Node<V> fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (compare(fresh.start, fresh.id, node) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<V> remove(Node<V> node, long id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, id, start);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<V> merge(Node<V> left, Node<V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private void collect(Node<V> node, long queryStart, long queryEnd, List<V> out) {
+        // Nothing in this subtree ends after the query starts
+        if (node == null || node.maxEnd <= queryStart) {
+            return;
+        }
+        collect(node.left, queryStart, queryEnd, out);
+        if (node.start >= queryEnd) {
+            // This node and everything to its right start too late
+            return;
+        }
+        if (node.end > queryStart) {
+            out.add(node.value);
+        }
+        collect(node.right, queryStart, queryEnd, out);
+    }
+
+    private static int compare(long start, long id, Node<?> node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static final class Node<V> {
+        private final long id;
+        private final long start;
+        private final long end;
+        private final V value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private long maxEnd;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(long id, long start, long end, V value) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
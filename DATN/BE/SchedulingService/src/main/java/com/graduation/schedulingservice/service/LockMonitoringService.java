@@ -16,9 +16,10 @@ public class LockMonitoringService {
     private final RedisLockService redisLockService;
 
     /**
-     * Monitor lock health every 2 minutes (simple monitoring)
+     * Monitor lock health (simple monitoring). Off unless app.lock-monitor.cron is set,
+     * e.g. "0 */2 * * * ?" for every 2 minutes.
      */
-    @Scheduled(fixedRate = 120000) // Every 2 minutes
+    @Scheduled(cron = "${app.lock-monitor.cron:-}")
     public void monitorLockHealth() {
         try {
             var heldLocks = redisLockService.getLocksHeldByThisInstance();
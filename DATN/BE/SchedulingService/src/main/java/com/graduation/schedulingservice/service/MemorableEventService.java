@@ -15,12 +15,23 @@ public interface MemorableEventService {
 
     /**
      * Replace entire list of memorable events
-     * Deletes old events and calendar items, creates new ones
-     * Auto-generates calendar Event items for next 5 years
+     * Inserts added events and deletes removed ones (with their calendar items); unchanged
+     * events are not rewritten. Yearly occurrences are expanded when the calendar is read.
      *
      * @param userId The authenticated user ID
      * @param request The request containing the new list of memorable events
-     * @return BaseResponse containing the number of events created and calendar items generated
+     * @return BaseResponse containing the number of events created
      */
     BaseResponse<?> updateMemorableEvents(Long userId, UpdateMemorableEventsRequest request);
+
+    /**
+     * Store one year's occurrence of a memorable event as a calendar item so it can be
+     * edited like any other item. The stored item replaces the virtual occurrence of that year.
+     *
+     * @param userId The authenticated user ID
+     * @param memorableEventId The memorable event
+     * @param year The year of the occurrence
+     * @return BaseResponse containing the calendar item ID
+     */
+    BaseResponse<?> materializeOccurrence(Long userId, Long memorableEventId, int year);
 }
\ No newline at end of file
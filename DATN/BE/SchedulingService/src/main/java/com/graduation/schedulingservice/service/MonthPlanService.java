@@ -16,6 +16,16 @@ public interface MonthPlanService {
      */
     BaseResponse<?> createMonthPlan(Long userId, CreateMonthPlanRequest request);
 
+    /**
+     * Create several month plans in one transaction, each with its week plans, routines and big tasks
+     * Months that already have a plan are returned unchanged, so the call can be safely repeated
+     *
+     * @param userId The authenticated user ID
+     * @param request The months to create
+     * @return BaseResponse containing the month plan of every requested month
+     */
+    BaseResponse<?> bulkCreateMonthPlans(Long userId, BulkCreateMonthPlansRequest request);
+
     /**
      * Retrieve a complete month plan by ID
      *
@@ -0,0 +1,278 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.client.ProjectServiceClient;
+import com.graduation.schedulingservice.event.TaskLifecycleEvent;
+import com.graduation.schedulingservice.model.ProjectTaskReplica;
+import com.graduation.schedulingservice.payload.response.PM_TasKDTO;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.ProjectTaskReplicaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link ProjectTaskReplica}, the local copy of the ProjectService tasks that calendar
+ * items link to, so calendar DTOs are built without calling ProjectService.
+ * <p>
+ * A task enters the replica when an item is linked to it (the link is validated against
+ * ProjectService anyway, so that response seeds the row). From then on task lifecycle events keep
+ * it current. Every row carries the task's last write time in ProjectService, taken from the read
+ * or the event that produced it; states older than the row are ignored, so redelivered or late
+ * events and reads that raced an event are harmless. Both times come from ProjectService, never
+ * from this service's clock.
+ * <p>
+ * A rebuild re-reads every linked task from ProjectService in batches and drops rows of tasks that
+ * are no longer linked or no longer exist; it runs on startup when the replica is empty and on a
+ * schedule to repair missed events. A database advisory lock keeps it to one instance at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectTaskReplicaService {
+
+    private final ProjectTaskReplicaRepository replicaRepository;
+    private final CalendarItemRepository calendarItemRepository;
+    private final ProjectServiceClient projectServiceClient;
+    private final PlatformTransactionManager transactionManager;
+
+    public static final int REBUILD_UNAVAILABLE = -1;
+    public static final int REBUILD_RUNNING = -2;
+
+    @Value("${app.project-task-replica.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    /**
+     * Replicated tasks by id, in the shape ProjectService returns them. Ids not in the replica
+     * are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, PM_TasKDTO> getTasks(Collection<Long> pmTaskIds) {
+        if (pmTaskIds == null || pmTaskIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return replicaRepository.findAllById(pmTaskIds).stream()
+                .collect(Collectors.toMap(ProjectTaskReplica::getPmTaskId, ProjectTaskReplicaService::toDto));
+    }
+
+    /**
+     * Store a task just read from ProjectService, when an item is linked to it or revalidated.
+     */
+    @Transactional
+    public void track(PM_TasKDTO task) {
+        if (task == null || task.getId() == null) {
+            return;
+        }
+        Instant sourceUpdatedAt = sourceTime(task.getUpdatedAt());
+        ProjectTaskReplica row = replicaRepository.findById(task.getId()).orElse(null);
+        if (row == null) {
+            row = new ProjectTaskReplica(task.getId());
+        } else if (sourceUpdatedAt.isBefore(row.getSourceUpdatedAt())) {
+            // An event already brought a newer state than this read
+            return;
+        }
+        copyFields(row, task);
+        row.setSourceUpdatedAt(sourceUpdatedAt);
+        replicaRepository.save(row);
+    }
+
+    /**
+     * Apply a task lifecycle event. Only tasks already in the replica are updated.
+     */
+    @Transactional
+    public void apply(TaskLifecycleEvent event) {
+        Instant occurredAt = sourceTime(event.getOccurredAt());
+        List<TaskLifecycleEvent.TaskSnapshot> tasks = event.getTasks() != null ? event.getTasks() : List.of();
+
+        int updated = 0;
+        if (!tasks.isEmpty()) {
+            Map<Long, ProjectTaskReplica> rows = replicaRepository.findAllById(tasks.stream()
+                            .map(TaskLifecycleEvent.TaskSnapshot::getTaskId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(ProjectTaskReplica::getPmTaskId, Function.identity()));
+
+            List<ProjectTaskReplica> changed = new ArrayList<>();
+            for (TaskLifecycleEvent.TaskSnapshot task : tasks) {
+                ProjectTaskReplica row = rows.get(task.getTaskId());
+                // Tasks not written since ProjectService started sending updatedAt fall back to the event time
+                Instant updatedAt = task.getUpdatedAt() != null ? task.getUpdatedAt() : occurredAt;
+                if (row == null || updatedAt.isBefore(row.getSourceUpdatedAt())) {
+                    continue;
+                }
+                row.setProjectId(event.getProjectId());
+                row.setPhaseId(task.getPhaseId());
+                row.setName(task.getName());
+                row.setTaskKey(task.getKey());
+                row.setStatus(task.getStatus());
+                row.setPriority(task.getPriority());
+                row.setStartDate(task.getStartDate());
+                row.setEndDate(task.getEndDate());
+                row.setSourceUpdatedAt(updatedAt);
+                changed.add(row);
+            }
+            replicaRepository.saveAll(changed);
+            updated = changed.size();
+        }
+
+        int removed = 0;
+        if (event.getDeletedTaskIds() != null && !event.getDeletedTaskIds().isEmpty()) {
+            List<Long> present = replicaRepository.findAllById(event.getDeletedTaskIds()).stream()
+                    .map(ProjectTaskReplica::getPmTaskId)
+                    .toList();
+            replicaRepository.deleteAllByIdInBatch(present);
+            removed += present.size();
+        }
+        if (TaskLifecycleEvent.TYPE_SNAPSHOT.equals(event.getType()) && event.getProjectId() != null) {
+            // Tasks of the project missing from a snapshot were removed
+            removed += tasks.isEmpty()
+                    ? replicaRepository.deleteByProjectId(event.getProjectId())
+                    : replicaRepository.deleteByProjectIdExcept(event.getProjectId(), tasks.stream()
+                    .map(TaskLifecycleEvent.TaskSnapshot::getTaskId)
+                    .toList());
+        }
+
+        log.debug("Applied {} task event for project {}: updated={}, removed={}",
+                event.getType(), event.getProjectId(), updated, removed);
+    }
+
+    /**
+     * Rebuild the replica from ProjectService: re-read every linked task in batches and drop rows
+     * of tasks that are unlinked or gone. Stops without deleting anything if ProjectService cannot
+     * be reached.
+     * <p>
+     * The advisory lock is scoped to an outer transaction held for the whole rebuild; each batch
+     * commits in a transaction of its own, so event updates of other rows are not held up.
+     *
+     * @return Number of replicated tasks, {@link #REBUILD_UNAVAILABLE} if the rebuild was aborted,
+     * or {@link #REBUILD_RUNNING} if another instance is rebuilding
+     */
+    public int rebuild() {
+        TransactionTemplate guard = new TransactionTemplate(transactionManager);
+        return Objects.requireNonNull(guard.execute(status -> {
+            if (!replicaRepository.tryLockRebuild()) {
+                log.info("Project task replica rebuild skipped: already running on another instance");
+                return REBUILD_RUNNING;
+            }
+            return rebuildLocked();
+        }));
+    }
+
+    private int rebuildLocked() {
+        Set<Long> linked = new HashSet<>(calendarItemRepository.findAllLinkedPmTaskIds());
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Long> ids = new ArrayList<>(linked);
+        int replicated = 0;
+
+        for (int from = 0; from < ids.size(); from += rebuildBatchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + rebuildBatchSize, ids.size()));
+            Optional<List<PM_TasKDTO>> fetched = projectServiceClient.getProjectTasksByIds(batch);
+            if (fetched.isEmpty()) {
+                log.warn("Project task replica rebuild aborted: Project Service unavailable");
+                return REBUILD_UNAVAILABLE;
+            }
+            replicated += Objects.requireNonNull(template.execute(status -> {
+                Map<Long, ProjectTaskReplica> rows = replicaRepository.findAllById(batch).stream()
+                        .collect(Collectors.toMap(ProjectTaskReplica::getPmTaskId, Function.identity()));
+                Set<Long> missing = new HashSet<>(batch);
+                List<ProjectTaskReplica> changed = new ArrayList<>();
+                int present = 0;
+                for (PM_TasKDTO task : fetched.get()) {
+                    if (task.getId() == null || !missing.remove(task.getId())) {
+                        continue;
+                    }
+                    present++;
+                    Instant sourceUpdatedAt = sourceTime(task.getUpdatedAt());
+                    ProjectTaskReplica row = rows.get(task.getId());
+                    if (row == null) {
+                        row = new ProjectTaskReplica(task.getId());
+                    } else if (sourceUpdatedAt.isBefore(row.getSourceUpdatedAt())) {
+                        // An event applied since the read is newer
+                        continue;
+                    }
+                    copyFields(row, task);
+                    row.setSourceUpdatedAt(sourceUpdatedAt);
+                    changed.add(row);
+                }
+                replicaRepository.saveAll(changed);
+                missing.retainAll(rows.keySet());
+                replicaRepository.deleteAllByIdInBatch(missing);
+                return present;
+            }));
+        }
+
+        List<Long> unlinked = replicaRepository.findAllPmTaskIds().stream()
+                .filter(id -> !linked.contains(id))
+                .toList();
+        template.executeWithoutResult(status -> replicaRepository.deleteAllByIdInBatch(unlinked));
+
+        log.info("Project task replica rebuilt: linked={}, replicated={}, unlinkedRemoved={}",
+                linked.size(), replicated, unlinked.size());
+        return replicated;
+    }
+
+    /**
+     * Populate the replica the first time the service starts with an empty table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (replicaRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Initial project task replica rebuild failed", e);
+        }
+    }
+
+    /**
+     * Repair job for events that were missed (consumer lag past retention, tasks linked while
+     * ProjectService was unavailable).
+     */
+    @Scheduled(cron = "${app.project-task-replica.rebuild-cron:0 0 5 * * ?}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Scheduled project task replica rebuild failed", e);
+        }
+    }
+
+    // A known projectId is kept when the read does not carry one
+    private static void copyFields(ProjectTaskReplica row, PM_TasKDTO task) {
+        if (task.getProjectId() != null) {
+            row.setProjectId(task.getProjectId());
+        }
+        row.setPhaseId(task.getPhaseId());
+        row.setName(task.getName());
+        row.setTaskKey(task.getKey());
+        row.setStatus(task.getStatus());
+        row.setPriority(task.getPriority());
+        row.setStartDate(task.getStartDate());
+        row.setEndDate(task.getEndDate());
+    }
+
+    // Undated states (tasks not written since ProjectService started sending the time) sort first
+    private static Instant sourceTime(Instant sourceUpdatedAt) {
+        return sourceUpdatedAt != null ? sourceUpdatedAt : Instant.EPOCH;
+    }
+
+    private static PM_TasKDTO toDto(ProjectTaskReplica row) {
+        return new PM_TasKDTO(row.getPmTaskId(), row.getPhaseId(), row.getName(), row.getTaskKey(),
+                row.getStatus(), row.getPriority(), null, row.getStartDate(), row.getEndDate(),
+                row.getProjectId(), row.getSourceUpdatedAt());
+    }
+}
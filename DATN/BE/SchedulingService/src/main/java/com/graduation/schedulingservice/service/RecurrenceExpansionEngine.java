@@ -0,0 +1,260 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.constant.Constant;
+import com.graduation.schedulingservice.model.MemorableEvent;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.enums.ItemStatus;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.payload.response.ScheduledItemDTO;
+import com.graduation.schedulingservice.payload.response.TimeSlotResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Expands recurring routines and yearly memorable events into concrete occurrences for a date window.
+ * <p>
+ * A routine recurs on its pattern's days of week from the date of its first time slot until
+ * (exclusive) its end date, at the time of day of that first slot. Exceptions remove single dates.
+ * Each routine is compiled into a weekday bitmask plus an exception bitmap over the window, and
+ * occurrences are produced lazily in start order so they can be k-way merged with one-off items.
+ * <p>
+ * Routines (including their exception dates) are stored in UTC but recur on the user's local
+ * calendar, so expansion happens in the user's zone: the window and the produced occurrences
+ * are local times.
+ */
+@Slf4j
+@Service
+public class RecurrenceExpansionEngine {
+
+    /**
+     * Lazily iterate the occurrences of a recurring routine that overlap the local window
+     * [windowStart, windowEnd] in the given zone.
+     */
+    public Iterator<ScheduledItemDTO> occurrences(Routine routine, ZoneId zone,
+                                                  LocalDateTime windowStart, LocalDateTime windowEnd) {
+        if (routine.getPattern() == null || routine.getPattern().getDaysOfWeek() == null
+                || routine.getPattern().getDaysOfWeek().isEmpty()
+                || routine.getTimeSlot() == null
+                || routine.getTimeSlot().getStartTime() == null
+                || routine.getTimeSlot().getEndTime() == null) {
+            return Collections.emptyIterator();
+        }
+
+        LocalDateTime seriesStart = UserTimeZoneService.toLocal(routine.getTimeSlot().getStartTime(), zone);
+        LocalDateTime endDate = UserTimeZoneService.toLocal(routine.getEndDate(), zone);
+        LocalTime startOfDay = seriesStart.toLocalTime();
+        Duration duration = Duration.between(seriesStart,
+                UserTimeZoneService.toLocal(routine.getTimeSlot().getEndTime(), zone));
+
+        // An occurrence that starts the day before can still run into the window
+        long spillDays = duration.toDays() + 1;
+        LocalDate firstDay = max(seriesStart.toLocalDate(), windowStart.toLocalDate().minusDays(spillDays));
+        LocalDate lastDay = windowEnd.toLocalDate();
+        if (endDate != null) {
+            // endDate is exclusive: no occurrence on or after that date
+            LocalDate lastActive = endDate.toLocalDate().minusDays(1);
+            if (lastActive.isBefore(lastDay)) {
+                lastDay = lastActive;
+            }
+        }
+        if (lastDay.isBefore(firstDay)) {
+            return Collections.emptyIterator();
+        }
+
+        int dayMask = 0;
+        for (DayOfWeek day : routine.getPattern().getDaysOfWeek()) {
+            dayMask |= 1 << (day.getValue() - 1);
+        }
+
+        long firstEpochDay = firstDay.toEpochDay();
+        int span = (int) (lastDay.toEpochDay() - firstEpochDay) + 1;
+        BitSet skipped = new BitSet(span);
+        if (routine.getExceptions() != null) {
+            for (LocalDateTime exception : routine.getExceptions()) {
+                long offset = UserTimeZoneService.toLocal(exception, zone).toLocalDate().toEpochDay() - firstEpochDay;
+                if (offset >= 0 && offset < span) {
+                    skipped.set((int) offset);
+                }
+            }
+        }
+
+        return new OccurrenceIterator(routine, endDate, firstDay, span, dayMask, skipped, startOfDay, duration,
+                windowStart, windowEnd);
+    }
+
+    /**
+     * All-day occurrences of a yearly memorable event that overlap the local window
+     * [windowStart, windowEnd], in start order. Years with a materialized override row are
+     * skipped; the override is returned with the regular items instead.
+     */
+    public Iterator<ScheduledItemDTO> yearlyOccurrences(MemorableEvent event, Set<Integer> overriddenYears,
+                                                        LocalDateTime windowStart, LocalDateTime windowEnd) {
+        // An occurrence on the day before the window may still run into it
+        int firstYear = windowStart.minusDays(1).getYear();
+        int lastYear = windowEnd.getYear();
+
+        List<ScheduledItemDTO> occurrences = new ArrayList<>(lastYear - firstYear + 1);
+        for (int year = firstYear; year <= lastYear; year++) {
+            if (overriddenYears.contains(year)) {
+                continue;
+            }
+            LocalDateTime start = yearlyOccurrenceDate(event, year).atStartOfDay();
+            LocalDateTime end = start.plusDays(1);
+            if (end.isAfter(windowStart) && start.isBefore(windowEnd)) {
+                ScheduledItemDTO dto = new ScheduledItemDTO();
+                dto.setType(ItemType.MEMORABLE_EVENT.name());
+                dto.setName(event.getTitle());
+                dto.setColor(Constant.MEMORABLE_EVENT_COLOR);
+                dto.setStatus(ItemStatus.INCOMPLETE.name());
+                dto.setTimeSlot(new TimeSlotResponseDTO(start, end));
+                dto.setOccurrenceDate(start.toLocalDate());
+                dto.setMemorableEventId(event.getId());
+                occurrences.add(dto);
+            }
+        }
+        return occurrences.iterator();
+    }
+
+    /**
+     * The date a yearly event falls on in the given year. Days past the end of the month
+     * (Feb 29 outside leap years) fall on the last day of the month.
+     */
+    public static LocalDate yearlyOccurrenceDate(MemorableEvent event, int year) {
+        YearMonth yearMonth = YearMonth.of(year, event.getMonth());
+        return yearMonth.atDay(Math.min(event.getDay(), yearMonth.lengthOfMonth()));
+    }
+
+    /**
+     * K-way merge of individually ordered sources into one ordered iterator.
+     * Ties keep the order of the sources list.
+     */
+    public <T> Iterator<T> merge(List<Iterator<T>> sources, Comparator<T> order) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> {
+                    int cmp = order.compare(a.value, b.value);
+                    return cmp != 0 ? cmp : Integer.compare(a.source, b.source);
+                });
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<T> source = sources.get(i);
+            if (source.hasNext()) {
+                heads.add(new Head<>(source.next(), i));
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Head<T> head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                Iterator<T> source = sources.get(head.source);
+                if (source.hasNext()) {
+                    heads.add(new Head<>(source.next(), head.source));
+                }
+                return head.value;
+            }
+        };
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private record Head<T>(T value, int source) {
+    }
+
+    private static final class OccurrenceIterator implements Iterator<ScheduledItemDTO> {
+        private final Routine routine;
+        private final LocalDateTime endDate;
+        private final LocalDate firstDay;
+        private final int span;
+        private final int dayMask;
+        private final BitSet skipped;
+        private final LocalTime startOfDay;
+        private final Duration duration;
+        private final LocalDateTime windowStart;
+        private final LocalDateTime windowEnd;
+
+        private int offset = 0;
+        private ScheduledItemDTO next;
+
+        private OccurrenceIterator(Routine routine, LocalDateTime endDate, LocalDate firstDay, int span,
+                                   int dayMask, BitSet skipped, LocalTime startOfDay, Duration duration,
+                                   LocalDateTime windowStart, LocalDateTime windowEnd) {
+            this.routine = routine;
+            this.endDate = endDate;
+            this.firstDay = firstDay;
+            this.span = span;
+            this.dayMask = dayMask;
+            this.skipped = skipped;
+            this.startOfDay = startOfDay;
+            this.duration = duration;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public ScheduledItemDTO next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            ScheduledItemDTO current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            next = null;
+            int dow = firstDay.plusDays(offset).getDayOfWeek().getValue() - 1;
+            while (offset < span) {
+                int current = offset++;
+                boolean matches = (dayMask & (1 << dow)) != 0 && !skipped.get(current);
+                dow = (dow + 1) % 7;
+                if (!matches) {
+                    continue;
+                }
+
+                LocalDateTime start = firstDay.plusDays(current).atTime(startOfDay);
+                LocalDateTime end = start.plus(duration);
+                if (end.isAfter(windowStart) && start.isBefore(windowEnd)) {
+                    next = toOccurrence(start, end);
+                    return;
+                }
+            }
+        }
+
+        private ScheduledItemDTO toOccurrence(LocalDateTime start, LocalDateTime end) {
+            ScheduledItemDTO dto = new ScheduledItemDTO();
+            dto.setId(routine.getId());
+            dto.setType(routine.getType().name());
+            dto.setName(routine.getName());
+            dto.setColor(routine.getColor());
+            dto.setStatus(routine.getStatus().name());
+            dto.setTimeSlot(new TimeSlotResponseDTO(start, end));
+            dto.setEndDate(endDate);
+            dto.setOccurrenceDate(start.toLocalDate());
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.graduation.schedulingservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Places unscheduled work into the free time of a range of days.
+ * <p>
+ * Each day is a bitmap of fixed-size slots where a set bit means busy (existing items,
+ * sleep hours, the past). Items are ordered by priority (earliest deadline, then longest
+ * first) and placed with a depth-first search: the first path tried is the greedy
+ * first-fit schedule, and remaining search budget goes to backtracking over the next-best
+ * candidate positions to place more items.
+ * <p>
+ * Pure and stateless; the caller builds the bitmaps and converts slots back to times.
+ */
+@Slf4j
+@Service
+public class ScheduleSolver {
+
+    /**
+     * @param days        The days of the range, in order
+     * @param busy        One bitmap per day; bit i covers slot i of that day
+     * @param slotsPerDay Number of slots in a day
+     * @param capacity    Slots each day may still take (daily limit); Integer.MAX_VALUE for none
+     */
+    public record Problem(List<LocalDate> days, List<BitSet> busy, int slotsPerDay, int[] capacity) {
+    }
+
+    /**
+     * @param firstDay Index of the first day the item may go on
+     * @param lastDay  Index of the last day the item may go on (inclusive)
+     */
+    public record Item(Long id, int slots, int firstDay, int lastDay) {
+    }
+
+    public record Placement(Long itemId, int day, int startSlot, int slots) {
+    }
+
+    public record Solution(List<Placement> placed, List<Long> unplaced, boolean exhaustive) {
+    }
+
+    /**
+     * @param candidatesPerItem Positions tried per item before giving up on it
+     * @param budget            Maximum number of search nodes
+     */
+    public Solution solve(Problem problem, List<Item> items, int candidatesPerItem, int budget) {
+        List<Item> ordered = new ArrayList<>(items);
+        ordered.sort(Comparator.comparingInt(Item::lastDay)
+                .thenComparing(Comparator.comparingInt(Item::slots).reversed())
+                .thenComparing(Item::id));
+
+        Search search = new Search(problem, ordered, candidatesPerItem, budget);
+        search.run(0, 0);
+
+        List<Placement> placed = new ArrayList<>();
+        List<Long> unplaced = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            Placement placement = search.best[i];
+            if (placement != null) {
+                placed.add(placement);
+            } else {
+                unplaced.add(ordered.get(i).id());
+            }
+        }
+        placed.sort(Comparator.comparingInt(Placement::day).thenComparingInt(Placement::startSlot));
+        log.debug("Schedule solver placed {}/{} items in {} nodes", placed.size(), items.size(), search.nodes);
+        return new Solution(placed, unplaced, search.nodes < budget);
+    }
+
+    private static final class Search {
+        private final Problem problem;
+        private final List<Item> items;
+        private final int candidatesPerItem;
+        private final int budget;
+        private final List<BitSet> busy;
+        private final int[] capacity;
+        private final Placement[] current;
+        private final Placement[] best;
+        private int bestCount = -1;
+        private int nodes = 0;
+
+        private Search(Problem problem, List<Item> items, int candidatesPerItem, int budget) {
+            this.problem = problem;
+            this.items = items;
+            this.candidatesPerItem = candidatesPerItem;
+            this.budget = budget;
+            this.busy = problem.busy().stream().map(bits -> (BitSet) bits.clone()).toList();
+            this.capacity = problem.capacity().clone();
+            this.current = new Placement[items.size()];
+            this.best = new Placement[items.size()];
+        }
+
+        private void run(int index, int placedCount) {
+            nodes++;
+            // Even placing every remaining item cannot beat the best schedule found so far
+            if (placedCount + (items.size() - index) <= bestCount) {
+                return;
+            }
+            if (index == items.size()) {
+                bestCount = placedCount;
+                System.arraycopy(current, 0, best, 0, current.length);
+                return;
+            }
+
+            Item item = items.get(index);
+            for (Placement candidate : candidates(item)) {
+                if (outOfBudget()) {
+                    return;
+                }
+                mark(candidate, true);
+                current[index] = candidate;
+                run(index + 1, placedCount + 1);
+                current[index] = null;
+                mark(candidate, false);
+                if (bestCount == items.size()) {
+                    return;
+                }
+            }
+            // Leave this item out and place the rest
+            if (!outOfBudget()) {
+                run(index + 1, placedCount);
+            }
+        }
+
+        // The greedy path always completes, so there is a schedule to return
+        private boolean outOfBudget() {
+            return nodes >= budget && bestCount >= 0;
+        }
+
+        /**
+         * First-fit positions for the item: the earliest free start on each allowed day,
+         * earliest days first, up to candidatesPerItem.
+         */
+        private List<Placement> candidates(Item item) {
+            List<Placement> result = new ArrayList<>(candidatesPerItem);
+            int lastDay = Math.min(item.lastDay(), problem.days().size() - 1);
+            for (int day = Math.max(0, item.firstDay()); day <= lastDay && result.size() < candidatesPerItem; day++) {
+                if (capacity[day] < item.slots()) {
+                    continue;
+                }
+                int start = firstFit(busy.get(day), item.slots());
+                if (start >= 0) {
+                    result.add(new Placement(item.id(), day, start, item.slots()));
+                }
+            }
+            return result;
+        }
+
+        private int firstFit(BitSet bits, int slots) {
+            int start = bits.nextClearBit(0);
+            while (start + slots <= problem.slotsPerDay()) {
+                int nextBusy = bits.nextSetBit(start);
+                if (nextBusy < 0 || nextBusy >= start + slots) {
+                    return start;
+                }
+                start = bits.nextClearBit(nextBusy);
+            }
+            return -1;
+        }
+
+        private void mark(Placement placement, boolean taken) {
+            busy.get(placement.day()).set(placement.startSlot(), placement.startSlot() + placement.slots(), taken);
+            if (capacity[placement.day()] != Integer.MAX_VALUE) {
+                capacity[placement.day()] += taken ? -placement.slots() : placement.slots();
+            }
+        }
+    }
+}
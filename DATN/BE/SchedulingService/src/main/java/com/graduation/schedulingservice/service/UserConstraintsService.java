@@ -9,4 +9,5 @@ public interface UserConstraintsService {
     BaseResponse<?> updateSleepHours(Long userId, UpdateSleepHoursRequest request);
     BaseResponse<?> getDailyLimits(Long userId);
     BaseResponse<?> updateDailyLimits(Long userId, UpdateDailyLimitsRequest request);
+    BaseResponse<?> getDailyUsage(Long userId, String from, String to);
 }
\ No newline at end of file
@@ -0,0 +1,506 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.MemorableEventCalendarItem;
+import com.graduation.schedulingservice.model.RecurringPattern;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-user schedule used by the overlap checks.
+ * <p>
+ * For each user it keeps every scheduled (non-memorable) item in an interval tree keyed by its raw
+ * (UTC) time slot, and every recurring routine in a weekday x minute-of-day coverage map in the
+ * user's local time, with its (UTC) exception dates. An overlap check is then
+ * O(log n + k) and a routine pattern check only looks at routines whose weekday and time of day
+ * can actually collide.
+ * <p>
+ * Users are loaded lazily on first check, kept in an LRU bounded by {@code app.schedule-index.max-users}
+ * and refreshed after {@code app.schedule-index.ttl-ms}. Writes are applied after commit through
+ * {@link #onItemSaved} / {@link #onItemRemoved}. When the index cannot answer (disabled, user too
+ * large, or a write raced the load) the checks fall back to the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserScheduleIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    // Routine ids per collection fetch, well below the driver's bind parameter limit
+    private static final int FETCH_CHUNK = 1000;
+
+    private final CalendarItemRepository calendarItemRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final UserTimeZoneService userTimeZoneService;
+
+    @Value("${app.schedule-index.enabled:true}")
+    private boolean enabled;
+
+    // Upper bound on staleness when another instance changed the user's items
+    @Value("${app.schedule-index.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.schedule-index.max-users:5000}")
+    private int maxUsers;
+
+    // Users with more scheduled items than this are always checked against the database
+    @Value("${app.schedule-index.max-items-per-user:20000}")
+    private int maxItemsPerUser;
+
+    private final Map<Long, UserSchedule> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserSchedule> eldest) {
+                    return size() > maxUsers;
+                }
+            });
+
+    // Users currently being loaded; flipped to true when a write for the user commits mid-load
+    private final Map<Long, Boolean> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Scheduled items whose raw time slot overlaps [start, end), same semantics as
+     * {@link CalendarItemRepository#findOverlappingItems}.
+     */
+    public List<Entry> findOverlapping(Long userId, LocalDateTime start, LocalDateTime end) {
+        UserSchedule schedule = scheduleFor(userId);
+        if (schedule == null) {
+            ZoneId zone = userTimeZoneService.zoneOf(userId);
+            return calendarItemRepository.findOverlappingItems(userId, start, end).stream()
+                    .map(item -> Entry.of(item, zone))
+                    .toList();
+        }
+        return schedule.overlapping(epochSecond(start), epochSecond(end));
+    }
+
+    /**
+     * Recurring routines that recur on any of the given days at a local time of day that may
+     * overlap [start, end). Callers still apply the exact date and time rules; this only narrows
+     * the set. Results are ordered by item id.
+     */
+    public List<Entry> findRoutineCandidates(Long userId, Collection<DayOfWeek> days,
+                                             LocalTime start, LocalTime end) {
+        UserSchedule schedule = scheduleFor(userId);
+        if (schedule == null) {
+            ZoneId zone = userTimeZoneService.zoneOf(userId);
+            List<Entry> routines = readTemplate(TransactionDefinition.PROPAGATION_REQUIRED).execute(status -> {
+                List<Routine> loaded = calendarItemRepository.findScheduledRecurringRoutinesByUserId(userId);
+                fetchRoutineCollections(loaded);
+                return loaded.stream().map(routine -> Entry.of(routine, zone)).toList();
+            });
+            return routines.stream()
+                    .filter(entry -> days.stream().anyMatch(entry::recursOn))
+                    .sorted(Comparator.comparing(Entry::id))
+                    .toList();
+        }
+        return schedule.routineCandidates(dayMask(days), start, end);
+    }
+
+    /**
+     * Record a persisted or updated item; applied once the surrounding transaction commits.
+     * Safe to call from a flush: lazy collections that are not loaded are not touched.
+     */
+    public void onItemSaved(CalendarItem item) {
+        if (item.getId() == null || item.getUserId() == null) {
+            return;
+        }
+        Long userId = item.getUserId();
+        Long itemId = item.getId();
+        Entry entry = indexable(item) ? Entry.of(item) : null;
+        afterCommit(() -> apply(userId, itemId, entry));
+    }
+
+    public void onItemRemoved(CalendarItem item) {
+        if (item.getId() == null || item.getUserId() == null) {
+            return;
+        }
+        Long userId = item.getUserId();
+        Long itemId = item.getId();
+        afterCommit(() -> apply(userId, itemId, null));
+    }
+
+    public void evict(Long userId) {
+        afterCommit(() -> {
+            loading.computeIfPresent(userId, (k, v) -> Boolean.TRUE);
+            cache.remove(userId);
+        });
+    }
+
+    private void apply(Long userId, Long itemId, Entry entry) {
+        loading.computeIfPresent(userId, (k, v) -> Boolean.TRUE);
+        UserSchedule schedule = cache.get(userId);
+        if (schedule == null) {
+            return;
+        }
+        if (entry == null) {
+            schedule.remove(itemId);
+            return;
+        }
+        if (!schedule.put(entry)) {
+            // Pattern or exceptions were not loaded at flush time and we have nothing to carry over
+            cache.remove(userId);
+        }
+    }
+
+    private UserSchedule scheduleFor(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        UserSchedule cached = cache.get(userId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMs) {
+            return cached;
+        }
+        if (loading.putIfAbsent(userId, Boolean.FALSE) != null) {
+            // Another request is loading this user
+            return null;
+        }
+        try {
+            UserSchedule loaded = load(userId);
+            if (loaded == null) {
+                cache.remove(userId);
+                return null;
+            }
+            // Checked and published under the key's lock, which apply() also takes before
+            // looking at the cache: a write either flags the load or finds the published schedule
+            boolean[] published = new boolean[1];
+            loading.computeIfPresent(userId, (k, raced) -> {
+                if (raced) {
+                    cache.remove(userId);
+                } else {
+                    cache.put(userId, loaded);
+                    published[0] = true;
+                }
+                return raced;
+            });
+            return published[0] ? loaded : null;
+        } finally {
+            loading.remove(userId);
+        }
+    }
+
+    private UserSchedule load(Long userId) {
+        // Read committed state only; changes of the caller's own transaction arrive through afterCommit
+        List<Entry> entries = readTemplate(TransactionDefinition.PROPAGATION_REQUIRES_NEW).execute(status -> {
+            List<CalendarItem> items = calendarItemRepository
+                    .findScheduledItemsForIndex(userId, PageRequest.of(0, maxItemsPerUser + 1));
+            if (items.size() > maxItemsPerUser) {
+                return null;
+            }
+            fetchRoutineCollections(items);
+            return items.stream().map(Entry::of).toList();
+        });
+        if (entries == null) {
+            log.debug("User {} exceeds the schedule index limit, using database checks", userId);
+            return null;
+        }
+
+        UserSchedule schedule = new UserSchedule(userTimeZoneService.zoneOf(userId), System.currentTimeMillis());
+        for (Entry entry : entries) {
+            if (!schedule.put(entry)) {
+                log.warn("Routine {} of user {} loaded without its pattern or exceptions, using database checks",
+                        entry.id(), userId);
+                return null;
+            }
+        }
+        log.debug("Loaded schedule index for user {} with {} items", userId, entries.size());
+        return schedule;
+    }
+
+    private TransactionTemplate readTemplate(int propagation) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(propagation);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * Initialize the lazy pattern days and exception dates of the routines among the items, so
+     * {@link Entry#of} sees complete routines. Must run in the transaction that loaded the items.
+     */
+    private void fetchRoutineCollections(List<? extends CalendarItem> items) {
+        List<Long> routineIds = items.stream()
+                .filter(Routine.class::isInstance)
+                .map(CalendarItem::getId)
+                .toList();
+        for (int from = 0; from < routineIds.size(); from += FETCH_CHUNK) {
+            List<Long> chunk = routineIds.subList(from, Math.min(from + FETCH_CHUNK, routineIds.size()));
+            calendarItemRepository.fetchRoutinePatterns(chunk);
+            calendarItemRepository.fetchRoutineExceptions(chunk);
+        }
+    }
+
+    private static boolean indexable(CalendarItem item) {
+        return !(item instanceof MemorableEventCalendarItem)
+                && item.getTimeSlot() != null
+                && item.getTimeSlot().getStartTime() != null
+                && item.getTimeSlot().getEndTime() != null;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int dayMask(Collection<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Immutable snapshot of a scheduled item as seen by the overlap checks.
+     * dayMask has bit (dayOfWeek - 1) set for each recurring day; 0 for one-off items.
+     * Exception dates are stored UTC like the slot; exceptionDays holds their local dates in the
+     * user's zone, built once when the entry is loaded into a schedule (null until then).
+     * dayMask < 0 or exceptionDates == null mean the value was not loaded when the snapshot was taken.
+     */
+    public record Entry(Long id, String name, ItemType type, LocalDateTime start, LocalDateTime end,
+                        LocalDateTime endDate, int dayMask, List<LocalDateTime> exceptionDates,
+                        Set<LocalDate> exceptionDays) {
+
+        static Entry of(CalendarItem item, ZoneId zone) {
+            return of(item).inZone(zone);
+        }
+
+        static Entry of(CalendarItem item) {
+            ItemType type = item.getType();
+            if (!(item instanceof Routine routine)) {
+                return new Entry(item.getId(), item.getName(), type,
+                        item.getTimeSlot().getStartTime(), item.getTimeSlot().getEndTime(),
+                        null, 0, List.of(), null);
+            }
+
+            int mask = -1;
+            RecurringPattern pattern = routine.getPattern();
+            if (pattern == null) {
+                mask = 0;
+            } else if (Hibernate.isInitialized(pattern) && Hibernate.isInitialized(pattern.getDaysOfWeek())) {
+                mask = pattern.getDaysOfWeek() == null ? 0 : dayMask(pattern.getDaysOfWeek());
+            }
+
+            List<LocalDateTime> exceptions = null;
+            if (routine.getExceptions() == null) {
+                exceptions = List.of();
+            } else if (Hibernate.isInitialized(routine.getExceptions())) {
+                exceptions = List.copyOf(routine.getExceptions());
+            }
+
+            return new Entry(routine.getId(), routine.getName(), type != null ? type : ItemType.ROUTINE,
+                    routine.getTimeSlot().getStartTime(), routine.getTimeSlot().getEndTime(),
+                    routine.getEndDate(), mask, exceptions, null);
+        }
+
+        public boolean isRoutine() {
+            return type == ItemType.ROUTINE;
+        }
+
+        public boolean isRecurring() {
+            return dayMask > 0;
+        }
+
+        public boolean recursOn(DayOfWeek day) {
+            return dayMask > 0 && (dayMask & (1 << (day.getValue() - 1))) != 0;
+        }
+
+        /**
+         * Whether the routine skips the given local date. Only answers for entries loaded in the
+         * user's zone, see {@link #of(CalendarItem, ZoneId)}.
+         */
+        public boolean hasExceptionOn(LocalDate date) {
+            return exceptionDays != null && exceptionDays.contains(date);
+        }
+
+        private boolean complete() {
+            return dayMask >= 0 && exceptionDates != null;
+        }
+
+        private Entry completeFrom(Entry previous) {
+            return new Entry(id, name, type, start, end, endDate,
+                    dayMask >= 0 ? dayMask : previous.dayMask,
+                    exceptionDates != null ? exceptionDates : previous.exceptionDates, null);
+        }
+
+        private Entry inZone(ZoneId zone) {
+            if (exceptionDates == null) {
+                return this;
+            }
+            Set<LocalDate> days = new HashSet<>(exceptionDates.size() * 2);
+            for (LocalDateTime exception : exceptionDates) {
+                days.add(UserTimeZoneService.toLocal(exception, zone).toLocalDate());
+            }
+            return new Entry(id, name, type, start, end, endDate, dayMask, exceptionDates,
+                    Collections.unmodifiableSet(days));
+        }
+
+        // Local time of day does not fit inside one calendar day: always a candidate
+        private boolean wrapsMidnight(ZoneId zone) {
+            LocalDateTime localStart = UserTimeZoneService.toLocal(start, zone);
+            LocalDateTime localEnd = UserTimeZoneService.toLocal(end, zone);
+            return !localEnd.toLocalTime().isAfter(localStart.toLocalTime())
+                    || !localEnd.isBefore(localStart.plusDays(1));
+        }
+
+        private int startMinute(ZoneId zone) {
+            return UserTimeZoneService.toLocal(start, zone).toLocalTime().toSecondOfDay() / 60;
+        }
+
+        private int endMinute(ZoneId zone) {
+            return (UserTimeZoneService.toLocal(end, zone).toLocalTime().toSecondOfDay() + 59) / 60;
+        }
+    }
+
+    private static final class UserSchedule {
+        private final ZoneId zone;
+        private final long loadedAt;
+        private final Map<Long, Entry> byId = new HashMap<>();
+        private final IntervalTree<Entry> slots = new IntervalTree<>();
+        // Recurring routines per weekday, ordered by id
+        private final List<TreeMap<Long, Entry>> routinesByDay = new ArrayList<>(7);
+        // Number of non-wrapping routines covering each minute of each weekday
+        private final int[][] coverage = new int[7][MINUTES_PER_DAY];
+        private final int[] wrappingByDay = new int[7];
+
+        private UserSchedule(ZoneId zone, long loadedAt) {
+            this.zone = zone;
+            this.loadedAt = loadedAt;
+            for (int i = 0; i < 7; i++) {
+                routinesByDay.add(new TreeMap<>());
+            }
+        }
+
+        /**
+         * Insert or replace an entry. Returns false if the entry is partial and no previous
+         * version exists to complete it.
+         */
+        private synchronized boolean put(Entry entry) {
+            Entry previous = remove(entry.id());
+            if (!entry.complete()) {
+                if (previous == null) {
+                    return false;
+                }
+                entry = entry.completeFrom(previous);
+            }
+            entry = entry.inZone(zone);
+
+            byId.put(entry.id(), entry);
+            slots.insert(entry.id(), epochSecond(entry.start()), epochSecond(entry.end()), entry);
+            if (entry.isRecurring()) {
+                updateWeekdays(entry, 1);
+            }
+            return true;
+        }
+
+        private synchronized Entry remove(Long id) {
+            Entry previous = byId.remove(id);
+            if (previous == null) {
+                return null;
+            }
+            slots.remove(previous.id(), epochSecond(previous.start()));
+            if (previous.isRecurring()) {
+                updateWeekdays(previous, -1);
+            }
+            return previous;
+        }
+
+        private synchronized List<Entry> overlapping(long start, long end) {
+            List<Entry> out = new ArrayList<>();
+            slots.collectOverlapping(start, end, out);
+            return out;
+        }
+
+        private synchronized List<Entry> routineCandidates(int dayMask, LocalTime start, LocalTime end) {
+            boolean queryWraps = !end.isAfter(start);
+            int startMinute = start.toSecondOfDay() / 60;
+            int endMinute = (end.toSecondOfDay() + 59) / 60;
+
+            TreeMap<Long, Entry> found = new TreeMap<>();
+            for (int day = 0; day < 7; day++) {
+                if ((dayMask & (1 << day)) == 0 || routinesByDay.get(day).isEmpty()) {
+                    continue;
+                }
+                if (queryWraps) {
+                    found.putAll(routinesByDay.get(day));
+                    continue;
+                }
+                if (wrappingByDay[day] == 0 && !covered(coverage[day], startMinute, endMinute)) {
+                    continue;
+                }
+                for (Entry entry : routinesByDay.get(day).values()) {
+                    if (entry.wrapsMidnight(zone)
+                            || (entry.startMinute(zone) < endMinute && entry.endMinute(zone) > startMinute)) {
+                        found.put(entry.id(), entry);
+                    }
+                }
+            }
+            return new ArrayList<>(found.values());
+        }
+
+        private void updateWeekdays(Entry entry, int delta) {
+            boolean wraps = entry.wrapsMidnight(zone);
+            int from = entry.startMinute(zone);
+            int to = Math.min(entry.endMinute(zone), MINUTES_PER_DAY);
+            for (int day = 0; day < 7; day++) {
+                if ((entry.dayMask() & (1 << day)) == 0) {
+                    continue;
+                }
+                if (delta > 0) {
+                    routinesByDay.get(day).put(entry.id(), entry);
+                } else {
+                    routinesByDay.get(day).remove(entry.id());
+                }
+                if (wraps) {
+                    wrappingByDay[day] += delta;
+                    continue;
+                }
+                int[] minutes = coverage[day];
+                for (int m = from; m < to; m++) {
+                    minutes[m] += delta;
+                }
+            }
+        }
+
+        private static boolean covered(int[] minutes, int from, int to) {
+            for (int m = from; m < Math.min(to, MINUTES_PER_DAY); m++) {
+                if (minutes[m] > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
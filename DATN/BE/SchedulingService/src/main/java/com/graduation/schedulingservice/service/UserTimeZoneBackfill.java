@@ -0,0 +1,178 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.client.UserServiceClient;
+import com.graduation.schedulingservice.constant.Constant;
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-time conversion of the accounts whose calendar rows predate UTC storage.
+ * <p>
+ * Those users have no zone in user_constraints and their rows hold local wall-clock times in the
+ * zone they have in UserService. For each of them the backfill takes that zone (the default zone
+ * if UserService no longer knows the user), rewrites slots, routine end dates and exception dates
+ * to UTC and stores the zone, in one transaction per user under the constraints row lock. The
+ * run is recorded in scheduling_backfills once every user is done; from then on a missing zone
+ * only means the user never chose one.
+ * <p>
+ * It runs before the web server and the Kafka listeners start. If UserService cannot be reached
+ * the service does not start, like a failed schema migration: serving would read the remaining
+ * wall-clock rows in the default zone.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserTimeZoneBackfill implements SmartInitializingSingleton {
+
+    static final String USER_TIMEZONE_BACKFILL = "user_timezones";
+    // Users per UserService round trip
+    private static final int BATCH_SIZE = 500;
+
+    private final CalendarItemRepository calendarItemRepository;
+    private final UserConstraintsRepository userConstraintsRepository;
+    private final UserServiceClient userServiceClient;
+    private final UserTimeZoneService userTimeZoneService;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    /**
+     * @return false if the backfill had already run
+     */
+    public boolean backfill() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        if (Boolean.TRUE.equals(template.execute(status -> applied()))) {
+            return false;
+        }
+
+        List<Long> userIds = template.execute(status -> calendarItemRepository.findUserIdsWithoutTimezone());
+        int converted = 0;
+        for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + BATCH_SIZE, userIds.size()));
+            Map<Long, String> zones = userServiceClient.getTimezonesByIds(batch)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "User Service unreachable, cannot convert legacy calendar times to UTC"));
+            for (Long userId : batch) {
+                if (convertUser(template, userId, zoneOf(zones.get(userId)))) {
+                    converted++;
+                }
+            }
+        }
+
+        template.executeWithoutResult(status -> entityManager.createNativeQuery(
+                        "INSERT INTO scheduling_backfills (name) VALUES (:name) ON CONFLICT DO NOTHING")
+                .setParameter("name", USER_TIMEZONE_BACKFILL)
+                .executeUpdate());
+        log.info("User timezone backfill done: users={}, converted={}", userIds.size(), converted);
+        return true;
+    }
+
+    private boolean applied() {
+        // Flyway creates the table in the product profile; the ddl-auto profiles have no migrations
+        entityManager.createNativeQuery("""
+                CREATE TABLE IF NOT EXISTS scheduling_backfills (
+                    name varchar(100) PRIMARY KEY,
+                    applied_at timestamp NOT NULL DEFAULT now()
+                )
+                """).executeUpdate();
+        return !entityManager.createNativeQuery("SELECT 1 FROM scheduling_backfills WHERE name = :name")
+                .setParameter("name", USER_TIMEZONE_BACKFILL)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * @return false if the user already had a zone, e.g. stored by another instance
+     */
+    private boolean convertUser(TransactionTemplate template, Long userId, ZoneId wallClockZone) {
+        try {
+            return Boolean.TRUE.equals(template.execute(status -> {
+                // Item writes read the zone under a key-share lock on this row and wait for the commit
+                UserConstraints constraints = userConstraintsRepository.findByUserIdForUpdate(userId)
+                        .orElseGet(() -> UserConstraints.createDefault(userId));
+                if (constraints.getTimezone() != null) {
+                    return false;
+                }
+
+                int count = convertItems(userId, wallClockZone);
+                constraints.setTimezone(wallClockZone.getId());
+                constraints.setUpdatedAt(LocalDateTime.now());
+                userConstraintsRepository.saveAndFlush(constraints);
+                log.info(Constant.LOG_CONVERSION_SUCCESS, count, userId);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the user's constraints row, with the zone, first
+            log.info("Timezone of user {} was stored concurrently", userId);
+            return false;
+        }
+    }
+
+    /**
+     * Daily usage counters stay valid: they were keyed by the wall-clock date, which is the local
+     * date of the converted time.
+     */
+    private int convertItems(Long userId, ZoneId wallClockZone) {
+        log.info(Constant.LOG_TIMEZONE_MIGRATION, userId, wallClockZone);
+
+        List<CalendarItem> items = calendarItemRepository.findAllByUserId(userId);
+        int count = 0;
+        for (CalendarItem item : items) {
+            if (item instanceof Routine routine) {
+                if (routine.getEndDate() != null) {
+                    routine.setEndDate(UserTimeZoneService.toUtc(routine.getEndDate(), wallClockZone));
+                }
+                if (routine.getExceptions() != null && !routine.getExceptions().isEmpty()) {
+                    List<LocalDateTime> exceptions = routine.getExceptions().stream()
+                            .map(exception -> UserTimeZoneService.toUtc(exception, wallClockZone))
+                            .toList();
+                    routine.getExceptions().clear();
+                    routine.getExceptions().addAll(exceptions);
+                }
+            }
+
+            TimeSlot timeSlot = item.getTimeSlot();
+            if (timeSlot == null || timeSlot.getStartTime() == null) {
+                continue;
+            }
+            item.setTimeSlot(UserTimeZoneService.toStoredSlot(
+                    timeSlot.getStartTime(), timeSlot.getEndTime(), wallClockZone));
+            count++;
+        }
+        calendarItemRepository.saveAll(items);
+        return count;
+    }
+
+    private ZoneId zoneOf(String zoneId) {
+        if (zoneId != null) {
+            try {
+                return ZoneId.of(zoneId);
+            } catch (DateTimeException e) {
+                log.warn("Ignoring invalid UserService timezone {}", zoneId);
+            }
+        }
+        return userTimeZoneService.defaultZone();
+    }
+}
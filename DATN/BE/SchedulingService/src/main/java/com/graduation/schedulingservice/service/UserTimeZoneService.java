@@ -0,0 +1,107 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.payload.response.TimeSlotResponseDTO;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts between the UTC wall-clock times stored on calendar items and the user's local time.
+ * <p>
+ * Calendar item times are persisted as UTC instants (LocalDateTime columns holding UTC), and the
+ * user's zone lives in {@link UserConstraints#getTimezone()}. Requests and responses carry local
+ * times, so services convert on the way in and on the way out. Routine exception dates follow
+ * the same rule and are compared by their local date. Users without a stored zone never chose
+ * one and resolve to {@code app.timezone.default-zone}, the default of UserService; accounts
+ * whose rows predate UTC storage are converted once by {@link UserTimeZoneBackfill}.
+ * <p>
+ * The zone is read from the database on every call and never cached: a zone change must be
+ * seen by every instance at once, or a write on another instance would store shifted instants.
+ * Inside a read-write transaction the read takes a key-share lock on the user's constraints row,
+ * so writes wait for a running zone change (which holds the row for update) and then see the
+ * new zone.
+ * <p>
+ * DST: a local time inside a spring-forward gap is moved forward by the length of the gap
+ * (02:30 becomes 03:30); a local time inside a fall-back overlap resolves to the earlier offset.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserTimeZoneService {
+
+    private final UserConstraintsRepository userConstraintsRepository;
+
+    @Value("${app.timezone.default-zone:Asia/Ho_Chi_Minh}")
+    private ZoneId defaultZone;
+
+    public ZoneId zoneOf(Long userId) {
+        boolean writing = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Optional<String> zoneId = writing
+                ? userConstraintsRepository.findTimezoneByUserIdForKeyShare(userId)
+                : userConstraintsRepository.findTimezoneByUserId(userId);
+        return zoneId.map(this::parseOrDefault).orElse(defaultZone);
+    }
+
+    public ZoneId defaultZone() {
+        return defaultZone;
+    }
+
+    public static LocalDateTime toUtc(LocalDateTime local, ZoneId zone) {
+        if (local == null) {
+            return null;
+        }
+        return local.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    public static LocalDateTime toLocal(LocalDateTime utc, ZoneId zone) {
+        if (utc == null) {
+            return null;
+        }
+        return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+    }
+
+    /**
+     * UTC start of the given local day.
+     */
+    public static LocalDateTime startOfDayUtc(LocalDate date, ZoneId zone) {
+        return date.atStartOfDay(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    public static List<LocalDateTime> toLocal(List<LocalDateTime> utc, ZoneId zone) {
+        if (utc == null) {
+            return null;
+        }
+        return utc.stream().map(time -> toLocal(time, zone)).toList();
+    }
+
+    public static TimeSlot toStoredSlot(LocalDateTime localStart, LocalDateTime localEnd, ZoneId zone) {
+        return new TimeSlot(toUtc(localStart, zone), toUtc(localEnd, zone));
+    }
+
+    public static TimeSlotResponseDTO toResponseSlot(TimeSlot stored, ZoneId zone) {
+        return new TimeSlotResponseDTO(toLocal(stored.getStartTime(), zone), toLocal(stored.getEndTime(), zone));
+    }
+
+    private ZoneId parseOrDefault(String zoneId) {
+        try {
+            return ZoneId.of(zoneId);
+        } catch (DateTimeException e) {
+            log.warn("Ignoring invalid stored timezone {}", zoneId);
+            return defaultZone;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.graduation.schedulingservice.constant.Constant;
+import com.graduation.schedulingservice.model.*;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.payload.request.BatchScheduleRequest;
+import com.graduation.schedulingservice.payload.request.TimeSlotDTO;
+import com.graduation.schedulingservice.payload.response.AutoScheduleResponse;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.payload.response.BatchScheduleResponse;
+import com.graduation.schedulingservice.payload.response.ScheduledItemDTO;
+import com.graduation.schedulingservice.payload.response.TimeSlotResponseDTO;
+import com.graduation.schedulingservice.repository.*;
+import com.graduation.schedulingservice.service.AutoSchedulerService;
+import com.graduation.schedulingservice.service.CalendarItemService;
+import com.graduation.schedulingservice.service.DailyUsageService;
+import com.graduation.schedulingservice.service.RecurrenceExpansionEngine;
+import com.graduation.schedulingservice.service.ScheduleSolver;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Proposes time slots for the unscheduled tasks of a week plan.
+ * <p>
+ * Candidates are the week's own unscheduled tasks plus the unscheduled tasks of month-plan big
+ * tasks whose estimated range overlaps the week. Busy time is every scheduled item in the week,
+ * the expanded occurrences of recurring routines, the user's sleep hours and anything already in
+ * the past; the TASK daily limit caps how much can go on each day. Everything is in the user's
+ * local time, the same way the batch schedule endpoint expects it, so a proposal can be applied
+ * as one batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutoSchedulerServiceImpl implements AutoSchedulerService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final WeekPlanRepository weekPlanRepository;
+    private final MonthPlanRepository monthPlanRepository;
+    private final BigTaskRepository bigTaskRepository;
+    private final CalendarItemRepository calendarItemRepository;
+    private final UserConstraintsRepository userConstraintsRepository;
+    private final UserTimeZoneService userTimeZoneService;
+    private final RecurrenceExpansionEngine recurrenceExpansionEngine;
+    private final ScheduleSolver scheduleSolver;
+    private final CalendarItemService calendarItemService;
+    private final DailyUsageService dailyUsageService;
+
+    @Value("${app.auto-scheduler.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${app.auto-scheduler.default-task-minutes:60}")
+    private int defaultTaskMinutes;
+
+    @Value("${app.auto-scheduler.search-budget:20000}")
+    private int searchBudget;
+
+    @Value("${app.auto-scheduler.candidates-per-task:4}")
+    private int candidatesPerTask;
+
+    @Override
+    @Transactional
+    public BaseResponse<?> autoScheduleWeek(Long userId, Long weekPlanId, boolean apply) {
+        log.info(Constant.LOG_AUTO_SCHEDULE, userId, weekPlanId, apply);
+
+        // 1. Load the week plan and verify ownership through its month plan
+        Optional<WeekPlan> weekPlanOpt = weekPlanRepository.findById(weekPlanId);
+        if (weekPlanOpt.isEmpty()) {
+            return new BaseResponse<>(0, Constant.MSG_WEEK_PLAN_NOT_FOUND, null);
+        }
+        WeekPlan weekPlan = weekPlanOpt.get();
+        if (monthPlanRepository.findByIdAndUserId(weekPlan.getMonthPlanId(), userId).isEmpty()) {
+            return new BaseResponse<>(0, Constant.MSG_UNAUTHORIZED_ACCESS, null);
+        }
+
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        List<LocalDate> days = weekPlan.getStartDate().datesUntil(weekPlan.getEndDate().plusDays(1)).toList();
+        int slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+
+        // 2. Collect the tasks to place
+        Map<Long, BigTask> bigTasks = bigTaskRepository.findByMonthPlan_Id(weekPlan.getMonthPlanId()).stream()
+                .collect(Collectors.toMap(BigTask::getId, Function.identity()));
+        List<Task> tasks = findCandidateTasks(userId, weekPlan, bigTasks.values());
+
+        // 3. Build the busy bitmap of every day
+        LocalDateTime weekStart = weekPlan.getStartDate().atStartOfDay();
+        LocalDateTime weekEnd = weekPlan.getEndDate().plusDays(1).atStartOfDay();
+        List<CalendarItem> scheduled = calendarItemRepository.findOverlappingItems(userId,
+                UserTimeZoneService.toUtc(weekStart, zone), UserTimeZoneService.toUtc(weekEnd, zone));
+        List<LocalDateTime[]> busyIntervals = collectBusyIntervals(userId, zone, scheduled, weekStart, weekEnd);
+
+        UserConstraints constraints = userConstraintsRepository.findByUserId(userId).orElse(null);
+        List<TimeRange> sleepHours = constraints != null && constraints.getSleepHours() != null
+                ? List.copyOf(constraints.getSleepHours())
+                : List.of();
+        LocalDateTime now = LocalDateTime.now(zone);
+
+        List<BitSet> busy = IntStream.range(0, days.size()).parallel()
+                .mapToObj(i -> buildDayBitmap(days.get(i), slotsPerDay, busyIntervals, sleepHours, now))
+                .toList();
+        int[] capacity = dailyTaskCapacity(userId, constraints, days);
+
+        // 4. Turn tasks into solver items, setting aside those that cannot be placed at all
+        List<ScheduleSolver.Item> items = new ArrayList<>();
+        List<AutoScheduleResponse.UnplacedTask> unplaced = new ArrayList<>();
+        Map<Long, Task> tasksById = new HashMap<>();
+        for (Task task : tasks) {
+            tasksById.put(task.getId(), task);
+            int minutes = task.getEstimatedHours() != null && task.getEstimatedHours() > 0
+                    ? task.getEstimatedHours() * 60
+                    : defaultTaskMinutes;
+            int slots = (minutes + slotMinutes - 1) / slotMinutes;
+            if (slots > slotsPerDay) {
+                unplaced.add(new AutoScheduleResponse.UnplacedTask(task.getId(), task.getName(),
+                        Constant.AUTO_SCHEDULE_REASON_TOO_LONG));
+                continue;
+            }
+
+            LocalDate first = weekPlan.getStartDate();
+            LocalDate last = weekPlan.getEndDate();
+            BigTask parent = task.getParentBigTaskId() != null ? bigTasks.get(task.getParentBigTaskId()) : null;
+            if (parent != null) {
+                first = later(first, parent.getEstimatedStartDate());
+                last = earlier(last, parent.getEstimatedEndDate());
+            }
+            last = earlier(last, task.getDueDate());
+            if (last.isBefore(first)) {
+                unplaced.add(new AutoScheduleResponse.UnplacedTask(task.getId(), task.getName(),
+                        Constant.AUTO_SCHEDULE_REASON_NO_WINDOW));
+                continue;
+            }
+
+            items.add(new ScheduleSolver.Item(task.getId(), slots,
+                    days.indexOf(first), days.indexOf(last)));
+        }
+
+        // 5. Solve and convert slots back to local times
+        ScheduleSolver.Solution solution = scheduleSolver.solve(
+                new ScheduleSolver.Problem(days, busy, slotsPerDay, capacity),
+                items, candidatesPerTask, searchBudget);
+
+        List<AutoScheduleResponse.ProposedSlot> placed = new ArrayList<>();
+        for (ScheduleSolver.Placement placement : solution.placed()) {
+            LocalDateTime start = days.get(placement.day()).atStartOfDay()
+                    .plusMinutes((long) placement.startSlot() * slotMinutes);
+            LocalDateTime end = start.plusMinutes((long) placement.slots() * slotMinutes);
+            placed.add(new AutoScheduleResponse.ProposedSlot(placement.itemId(),
+                    tasksById.get(placement.itemId()).getName(), new TimeSlotResponseDTO(start, end)));
+        }
+        for (Long itemId : solution.unplaced()) {
+            unplaced.add(new AutoScheduleResponse.UnplacedTask(itemId, tasksById.get(itemId).getName(),
+                    Constant.AUTO_SCHEDULE_REASON_NO_ROOM));
+        }
+
+        AutoScheduleResponse response = new AutoScheduleResponse(weekPlanId, placed, unplaced,
+                solution.exhaustive(), null);
+
+        // 6. Optionally apply the proposal as one batch
+        if (apply && !placed.isEmpty()) {
+            response.setApplied(applyProposal(userId, placed));
+            return new BaseResponse<>(1, Constant.MSG_AUTO_SCHEDULE_APPLIED, response);
+        }
+        return new BaseResponse<>(1, Constant.MSG_AUTO_SCHEDULE_PROPOSED, response);
+    }
+
+    /**
+     * Unscheduled tasks of the week plan, plus unscheduled tasks of big tasks active during the week.
+     */
+    private List<Task> findCandidateTasks(Long userId, WeekPlan weekPlan, Collection<BigTask> bigTasks) {
+        Map<Long, Task> tasks = new LinkedHashMap<>();
+        for (CalendarItem item : calendarItemRepository.findUnscheduledByUserIdAndWeekPlanId(userId, weekPlan.getId())) {
+            if (item instanceof Task task) {
+                tasks.put(task.getId(), task);
+            }
+        }
+
+        List<Long> activeBigTaskIds = bigTasks.stream()
+                .filter(bigTask -> bigTask.getEstimatedStartDate() == null
+                        || !bigTask.getEstimatedStartDate().isAfter(weekPlan.getEndDate()))
+                .filter(bigTask -> bigTask.getEstimatedEndDate() == null
+                        || !bigTask.getEstimatedEndDate().isBefore(weekPlan.getStartDate()))
+                .map(BigTask::getId)
+                .toList();
+        if (!activeBigTaskIds.isEmpty()) {
+            for (Task task : calendarItemRepository.findUnscheduledTasksByParentBigTaskIdIn(userId, activeBigTaskIds)) {
+                tasks.putIfAbsent(task.getId(), task);
+            }
+        }
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * Local [start, end) intervals of scheduled items and recurring routine occurrences in the week.
+     */
+    private List<LocalDateTime[]> collectBusyIntervals(Long userId, ZoneId zone, List<CalendarItem> scheduled,
+                                                       LocalDateTime weekStart, LocalDateTime weekEnd) {
+        List<LocalDateTime[]> intervals = new ArrayList<>();
+        for (CalendarItem item : scheduled) {
+            intervals.add(new LocalDateTime[]{
+                    UserTimeZoneService.toLocal(item.getTimeSlot().getStartTime(), zone),
+                    UserTimeZoneService.toLocal(item.getTimeSlot().getEndTime(), zone)});
+        }
+        for (Routine routine : calendarItemRepository.findScheduledRecurringRoutinesByUserId(userId)) {
+            Iterator<ScheduledItemDTO> occurrences =
+                    recurrenceExpansionEngine.occurrences(routine, zone, weekStart, weekEnd);
+            while (occurrences.hasNext()) {
+                TimeSlotResponseDTO slot = occurrences.next().getTimeSlot();
+                intervals.add(new LocalDateTime[]{slot.getStartTime(), slot.getEndTime()});
+            }
+        }
+        return intervals;
+    }
+
+    private BitSet buildDayBitmap(LocalDate day, int slotsPerDay, List<LocalDateTime[]> busyIntervals,
+                                  List<TimeRange> sleepHours, LocalDateTime now) {
+        BitSet bits = new BitSet(slotsPerDay);
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        for (LocalDateTime[] interval : busyIntervals) {
+            if (interval[0].isBefore(dayEnd) && interval[1].isAfter(dayStart)) {
+                markMinutes(bits, slotsPerDay,
+                        Duration.between(dayStart, interval[0]).toMinutes(),
+                        Duration.between(dayStart, interval[1]).toMinutes());
+            }
+        }
+
+        for (TimeRange sleep : sleepHours) {
+            if (sleep.getStartTime() == null || sleep.getEndTime() == null) {
+                continue;
+            }
+            int start = minuteOfDay(sleep.getStartTime());
+            int end = minuteOfDay(sleep.getEndTime());
+            if (start < end) {
+                markMinutes(bits, slotsPerDay, start, end);
+            } else {
+                // Overnight range, e.g. 22:00 - 06:00
+                markMinutes(bits, slotsPerDay, start, MINUTES_PER_DAY);
+                markMinutes(bits, slotsPerDay, 0, end);
+            }
+            // The sleep check rejects an item ending exactly at bedtime, so keep the slot before it free
+            bits.set((start / slotMinutes - 1 + slotsPerDay) % slotsPerDay);
+        }
+
+        if (!now.isBefore(dayStart)) {
+            markMinutes(bits, slotsPerDay, 0, Duration.between(dayStart, now).toMinutes());
+        }
+        return bits;
+    }
+
+    /**
+     * Slots each day can still take under the TASK daily limit, or unlimited when the feature is off.
+     */
+    private int[] dailyTaskCapacity(Long userId, UserConstraints constraints, List<LocalDate> days) {
+        int[] capacity = new int[days.size()];
+        Arrays.fill(capacity, Integer.MAX_VALUE);
+        if (constraints == null || !Boolean.TRUE.equals(constraints.getDailyLimitFeatureEnabled())) {
+            return capacity;
+        }
+        Integer limitHours = constraints.getDailyLimits().get(ItemType.TASK.name());
+        if (limitHours == null || limitHours <= 0) {
+            return capacity;
+        }
+
+        dailyUsageService.ensureBuilt(constraints);
+        for (int i = 0; i < days.size(); i++) {
+            long remaining = limitHours * 60L - dailyUsageService.minutesUsed(userId, days.get(i), ItemType.TASK);
+            capacity[i] = (int) Math.max(0, remaining / slotMinutes);
+        }
+        return capacity;
+    }
+
+    private BatchScheduleResponse applyProposal(Long userId, List<AutoScheduleResponse.ProposedSlot> placed) {
+        BatchScheduleRequest request = new BatchScheduleRequest();
+        List<BatchScheduleRequest.ItemToSchedule> toSchedule = new ArrayList<>();
+        for (AutoScheduleResponse.ProposedSlot slot : placed) {
+            BatchScheduleRequest.ItemToSchedule item = new BatchScheduleRequest.ItemToSchedule();
+            item.setItemId(slot.getItemId());
+            item.setTimeSlot(new TimeSlotDTO(slot.getTimeSlot().getStartTime(), slot.getTimeSlot().getEndTime()));
+            toSchedule.add(item);
+        }
+        request.setItems(toSchedule);
+
+        BaseResponse<?> result = calendarItemService.batchScheduleItems(userId, request);
+        return (BatchScheduleResponse) result.getData();
+    }
+
+    // Marks every slot touched by [fromMinute, toMinute), clamped to the day
+    private void markMinutes(BitSet bits, int slotsPerDay, long fromMinute, long toMinute) {
+        int from = (int) Math.max(0, fromMinute / slotMinutes);
+        int to = (int) Math.min(slotsPerDay, (toMinute + slotMinutes - 1) / slotMinutes);
+        if (from < to) {
+            bits.set(from, to);
+        }
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        return b != null && b.isBefore(a) ? b : a;
+    }
+}
@@ -1,7 +1,6 @@
 package com.graduation.schedulingservice.service.impl;
 
 import com.graduation.schedulingservice.model.*;
-import com.graduation.schedulingservice.model.enums.ItemStatus;
 import com.graduation.schedulingservice.repository.CalendarItemRepository;
 import com.graduation.schedulingservice.repository.CalendarRepository;
 import com.graduation.schedulingservice.repository.MemorableEventRepository;
@@ -11,8 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,8 +24,6 @@ import java.util.Optional;
 public class BirthdayServiceImpl implements BirthdayService {
 
     private static final String BIRTHDAY_TITLE = "My Birthday";
-    private static final String BIRTHDAY_COLOR = "#FF6B9D"; // Pink color for memorable events
-    private static final int YEARS_TO_GENERATE = 5;
 
     private final MemorableEventRepository memorableEventRepository;
     private final CalendarItemRepository calendarItemRepository;
@@ -47,65 +42,34 @@ public class BirthdayServiceImpl implements BirthdayService {
                     .orElseThrow(() -> new RuntimeException("Private calendar not found for user " + userId));
 
             // Step 2: Find existing "My Birthday" memorable event for this user
-            List<MemorableEvent> existingEvents = memorableEventRepository.findByUserId(userId);
-            Optional<MemorableEvent> existingBirthday = existingEvents.stream()
+            Optional<MemorableEvent> existingBirthday = memorableEventRepository.findByUserId(userId).stream()
                     .filter(event -> BIRTHDAY_TITLE.equals(event.getTitle()))
                     .findFirst();
 
-            // Step 3: Delete existing birthday calendar items if exists
+            MemorableEvent birthdayEvent;
             if (existingBirthday.isPresent()) {
-                Long existingEventId = existingBirthday.get().getId();
-                calendarItemRepository.deleteByMemorableEventIdIn(List.of(existingEventId));
-                memorableEventRepository.delete(existingBirthday.get());
-                log.info("Deleted existing birthday event and calendar items for userId={}", userId);
+                birthdayEvent = existingBirthday.get();
+                if (birthdayEvent.getDay() == day && birthdayEvent.getMonth() == month
+                        && birthdayEvent.getCalendarId() != null) {
+                    log.info("Birthday unchanged for userId={}", userId);
+                    return;
+                }
+                // Step 3: Occurrences stored for the old date (edited years, or the years
+                // generated before read-time expansion) no longer apply
+                calendarItemRepository.deleteByMemorableEventIdIn(List.of(birthdayEvent.getId()));
+            } else {
+                birthdayEvent = new MemorableEvent();
+                birthdayEvent.setUserId(userId);
+                birthdayEvent.setTitle(BIRTHDAY_TITLE);
             }
 
-            // Step 4: Create new MemorableEvent for birthday
-            MemorableEvent birthdayEvent = new MemorableEvent();
-            birthdayEvent.setUserId(userId);
-            birthdayEvent.setTitle(BIRTHDAY_TITLE);
+            // Step 4: One row; yearly occurrences are expanded when the calendar is read
             birthdayEvent.setDay(day);
             birthdayEvent.setMonth(month);
+            birthdayEvent.setCalendarId(privateCalendar.getId());
 
             MemorableEvent savedEvent = memorableEventRepository.save(birthdayEvent);
-            log.info("Created birthday memorable event: id={}, userId={}", savedEvent.getId(), userId);
-
-            // Step 5: Generate calendar items for next 5 years
-            int calendarItemsGenerated = 0;
-            int currentYear = LocalDate.now().getYear();
-
-            for (int yearOffset = 0; yearOffset < YEARS_TO_GENERATE; yearOffset++) {
-                int targetYear = currentYear + yearOffset;
-
-                // Create MemorableEventCalendarItem
-                MemorableEventCalendarItem calendarEvent = new MemorableEventCalendarItem();
-                calendarEvent.setUserId(userId);
-                calendarEvent.setCalendarId(privateCalendar.getId());
-                calendarEvent.setName(BIRTHDAY_TITLE);
-                calendarEvent.setMemorableEventId(savedEvent.getId());
-                calendarEvent.setStatus(ItemStatus.INCOMPLETE);
-                calendarEvent.setColor(BIRTHDAY_COLOR);
-
-                // Create TimeSlot for the event (all-day event)
-                LocalDateTime startDateTime = LocalDateTime.of(
-                        targetYear,
-                        month,
-                        day,
-                        0, 0);
-                LocalDateTime endDateTime = startDateTime.plusDays(1);
-
-                TimeSlot timeSlot = new TimeSlot();
-                timeSlot.setStartTime(startDateTime);
-                timeSlot.setEndTime(endDateTime);
-
-                calendarEvent.setTimeSlot(timeSlot);
-
-                calendarItemRepository.save(calendarEvent);
-                calendarItemsGenerated++;
-            }
-
-            log.info("Generated {} birthday calendar items for userId={} over {} years",
-                    calendarItemsGenerated, userId, YEARS_TO_GENERATE);
+            log.info("Saved birthday memorable event: id={}, userId={}", savedEvent.getId(), userId);
 
         } catch (Exception e) {
             log.error("Failed to create/update birthday for userId={}: {}", userId, e.getMessage(), e);
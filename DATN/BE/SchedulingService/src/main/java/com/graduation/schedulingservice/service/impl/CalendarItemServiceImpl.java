@@ -1,5 +1,7 @@
 package com.graduation.schedulingservice.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.graduation.schedulingservice.client.ProjectServiceClient;
 import com.graduation.schedulingservice.constant.Constant;
 import com.graduation.schedulingservice.model.*;
@@ -13,24 +15,45 @@ import com.graduation.schedulingservice.payload.request.UpdateCalendarItemReques
 import com.graduation.schedulingservice.payload.response.*;
 import com.graduation.schedulingservice.repository.CalendarItemRepository;
 import com.graduation.schedulingservice.repository.CalendarRepository;
+import com.graduation.schedulingservice.repository.MemorableEventRepository;
 import com.graduation.schedulingservice.repository.BigTaskRepository;
 import com.graduation.schedulingservice.repository.MonthPlanRepository;
 import com.graduation.schedulingservice.repository.WeekPlanRepository;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import com.graduation.schedulingservice.service.BigTaskProgressService;
 import com.graduation.schedulingservice.service.CalendarItemService;
 import com.graduation.schedulingservice.service.ConstraintValidationService;
+import com.graduation.schedulingservice.service.DailyUsageService;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
+import com.graduation.schedulingservice.service.ProjectTaskReplicaService;
+import com.graduation.schedulingservice.service.RecurrenceExpansionEngine;
+import com.graduation.schedulingservice.service.UserScheduleIndex;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -45,6 +68,16 @@ public class CalendarItemServiceImpl implements CalendarItemService {
     private final MonthPlanRepository monthPlanRepository;
     private final WeekPlanRepository weekPlanRepository;
     private final ProjectServiceClient projectServiceClient;
+    private final ProjectTaskReplicaService projectTaskReplicaService;
+    private final RecurrenceExpansionEngine recurrenceExpansionEngine;
+    private final UserScheduleIndex userScheduleIndex;
+    private final FreeBusyIndex freeBusyIndex;
+    private final UserTimeZoneService userTimeZoneService;
+    private final UserConstraintsRepository userConstraintsRepository;
+    private final MemorableEventRepository memorableEventRepository;
+    private final BigTaskProgressService bigTaskProgressService;
+    private final DailyUsageService dailyUsageService;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -91,24 +124,13 @@ public class CalendarItemServiceImpl implements CalendarItemService {
             // ===== NEW VALIDATION STEP =====
             // 3.5. Validate against existing scheduled routines
             if (request.getTimeSlot() != null) {
-                // Fetch all *existing* scheduled routines that have a pattern
-                List<Routine> scheduledRoutines = calendarItemRepository.findAllByUserId(userId).stream()
-                        .filter(calendarItem -> calendarItem instanceof Routine)
-                        .map(calendarItem -> (Routine) calendarItem)
-                        .filter(routine -> routine.isScheduled() && routine.getPattern() != null &&
-                                routine.getPattern().getDaysOfWeek() != null &&
-                                !routine.getPattern().getDaysOfWeek().isEmpty())
-                        .collect(Collectors.toList());
-
-                if (!scheduledRoutines.isEmpty()) {
-                    // Check for overlaps
-                    Optional<String> routineOverlapError = createRequestFindRoutineOverlap(request, scheduledRoutines);
-                    if (routineOverlapError.isPresent()) {
-                        String errorMessage = routineOverlapError.get();
-                        log.warn("Routine overlap detected for userId={}: {}", userId, errorMessage);
-                        // Return a constraint violation response
-                        return new BaseResponse<>(0, Constant.MSG_CONSTRAINT_VIOLATIONS, List.of(errorMessage));
-                    }
+                // Check for overlaps against the user's recurring routines
+                Optional<String> routineOverlapError = createRequestFindRoutineOverlap(userId, request);
+                if (routineOverlapError.isPresent()) {
+                    String errorMessage = routineOverlapError.get();
+                    log.warn("Routine overlap detected for userId={}: {}", userId, errorMessage);
+                    // Return a constraint violation response
+                    return new BaseResponse<>(0, Constant.MSG_CONSTRAINT_VIOLATIONS, List.of(errorMessage));
                 }
             }
             // ===== END OF NEW VALIDATION STEP =====
@@ -193,25 +215,23 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                     // If a routine with the same name and monthPlanId already exists but is
                     // unscheduled,
                     // directly update it instead of creating a duplicate
-                    Optional<CalendarItem> existingUnscheduledRoutine = calendarItemRepository.findAllByUserId(userId)
+                    Optional<Routine> existingUnscheduledRoutine = calendarItemRepository
+                            .findUnscheduledRoutinesByMonthPlanAndName(userId, request.getMonthPlanId(),
+                                    request.getName())
                             .stream()
-                            .filter(item -> item instanceof Routine)
-                            .filter(item -> item.getMonthPlanId() != null
-                                    && item.getMonthPlanId().equals(request.getMonthPlanId()))
-                            .filter(item -> item.getName() != null && item.getName().equals(request.getName()))
-                            .filter(item -> item.getTimeSlot() == null || item.getTimeSlot().getStartTime() == null)
                             .findFirst();
 
                     if (existingUnscheduledRoutine.isPresent()) {
-                        Routine existingRoutine = (Routine) existingUnscheduledRoutine.get();
+                        Routine existingRoutine = existingUnscheduledRoutine.get();
                         log.info("Found existing unscheduled routine, updating directly: routineId={}, name={}",
                                 existingRoutine.getId(), request.getName());
 
                         // Update timeSlot
                         if (request.getTimeSlot() != null) {
-                            TimeSlot newTimeSlot = new TimeSlot(
+                            TimeSlot newTimeSlot = UserTimeZoneService.toStoredSlot(
                                     request.getTimeSlot().getStartTime(),
-                                    request.getTimeSlot().getEndTime());
+                                    request.getTimeSlot().getEndTime(),
+                                    userTimeZoneService.zoneOf(userId));
                             existingRoutine.setTimeSlot(newTimeSlot);
                         }
 
@@ -325,6 +345,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
                 // Validate scheduled date is within project task date range
                 PM_TasKDTO pmTask = res.get();
+                projectTaskReplicaService.track(pmTask);
                 if (request.getTimeSlot() != null && request.getTimeSlot().getStartTime() != null) {
                     LocalDate scheduledDate = request.getTimeSlot().getStartTime().toLocalDate();
                     LocalDate taskStartDate = pmTask.getStartDate();
@@ -390,6 +411,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
             // 8. Save to database
             CalendarItem savedItem = calendarItemRepository.save(calendarItem);
+            bigTaskProgressService.onTaskAdded(savedItem);
 
             // 9. Return success response
             CreateItemResponse response = new CreateItemResponse(
@@ -413,76 +435,64 @@ public class CalendarItemServiceImpl implements CalendarItemService {
      * Checks if a new item request overlaps with any existing scheduled routines
      * for CreateCalendarItemRequest.
      *
-     * @param request           The new item being created.
-     * @param scheduledRoutines A list of existing, scheduled routines for the user.
+     * @param userId  The owner of the new item.
+     * @param request The new item being created.
      * @return An Optional containing an error message if an overlap is found.
      */
-    private Optional<String> createRequestFindRoutineOverlap(CreateCalendarItemRequest request,
-            List<Routine> scheduledRoutines) {
+    private Optional<String> createRequestFindRoutineOverlap(Long userId, CreateCalendarItemRequest request) {
         return findRoutineOverlap(
+                userId,
                 ItemType.valueOf(request.getType().toUpperCase()),
                 request.getTimeSlot(),
                 request.getRoutineDetails(), // Can be null if not a routine or no details
-                null, // No exclude ID for creation
-                scheduledRoutines);
+                Collections.emptySet(), // No exclude ID for creation
+                null);
     }
 
     /**
      * Checks if a new item request overlaps with any existing scheduled routines
      * for UpdateCalendarItemRequest.
      *
-     * @param request           The item being updated.
-     * @param scheduledRoutines A list of existing, scheduled routines for the user.
+     * @param userId       The owner of the item.
+     * @param request      The item being updated.
+     * @param updateItemId The ID of the item being updated (excluded from the check).
      * @return An Optional containing an error message if an overlap is found.
      */
-    private Optional<String> updateRequestFindRoutineOverlap(UpdateCalendarItemRequest request, Long updateItemId,
-            List<Routine> scheduledRoutines) {
+    private Optional<String> updateRequestFindRoutineOverlap(Long userId, UpdateCalendarItemRequest request,
+            Long updateItemId) {
         return findRoutineOverlap(
+                userId,
                 getUpdateRequestItemType(request),
                 request.getTimeSlot(),
                 request.getRoutineDetails(),
-                updateItemId,
-                scheduledRoutines);
-    }
-
-    /**
-     * Unified helper method to check for overlaps with existing scheduled routines.
-     * Handles both single-occurrence items (Task/Event) and recurring items
-     * (Routine).
-     */
-    private Optional<String> findRoutineOverlap(
-            ItemType newItemType,
-            TimeSlotDTO newItemTimeSlot,
-            RoutineDetailsDTO newRoutineDetails,
-            Long excludeItemId,
-            List<Routine> scheduledRoutines) {
-        return findRoutineOverlap(newItemType, newItemTimeSlot, newRoutineDetails,
-                excludeItemId, scheduledRoutines, null);
+                Collections.singleton(updateItemId),
+                null);
     }
 
     /**
      * Unified helper method to check for overlaps with existing scheduled routines.
      * Handles both single-occurrence items (Task/Event) and recurring items
-     * (Routine).
+     * (Routine). Candidate routines come from the user's schedule index, narrowed to
+     * those recurring on the relevant weekdays at an overlapping time of day.
      *
+     * @param userId            The owner of the new item.
      * @param newItemType       The type of the new item.
      * @param newItemTimeSlot   The time slot of the new item.
      * @param newRoutineDetails The routine details (pattern) if the new item is a
      *                          routine.
-     * @param excludeItemId     The ID of the item to exclude from overlap checks
-     *                          (self).
-     * @param scheduledRoutines The list of existing scheduled routines.
+     * @param excludeItemIds    The IDs of the items to exclude from overlap checks
+     *                          (self, or the items of a batch).
      * @param exceptionDate     When detaching a routine occurrence, this date
      *                          should be
      *                          excluded from the parent routine's overlap check.
      * @return An Optional containing an error message if an overlap is found.
      */
     private Optional<String> findRoutineOverlap(
+            Long userId,
             ItemType newItemType,
             TimeSlotDTO newItemTimeSlot,
             RoutineDetailsDTO newRoutineDetails,
-            Long excludeItemId,
-            List<Routine> scheduledRoutines,
+            Collection<Long> excludeItemIds,
             LocalDate exceptionDate) {
 
         // If the new item isn't scheduled, it can't overlap.
@@ -491,18 +501,8 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         }
 
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
-
-        // Prepare list of routines to compare
-        List<Routine> routinesToCompare = scheduledRoutines;
-        if (excludeItemId != null) {
-            routinesToCompare = scheduledRoutines.stream()
-                    .filter(routine -> !routine.getId().equals(excludeItemId))
-                    .collect(Collectors.toList());
-        }
-
-        if (routinesToCompare.isEmpty()) {
-            return Optional.empty();
-        }
+        // Requests are local; existing routines are stored in UTC
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
 
         LocalDateTime newItemStartTime = newItemTimeSlot.getStartTime();
         LocalDateTime newItemEndTime = newItemTimeSlot.getEndTime();
@@ -525,42 +525,36 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                     .map(day -> DayOfWeek.valueOf(day.toUpperCase()))
                     .collect(Collectors.toList());
 
-            for (Routine existingRoutine : routinesToCompare) {
+            for (UserScheduleIndex.Entry existingRoutine : routineCandidates(userId, newDays,
+                    newRoutineTimeStart, newRoutineTimeEnd, excludeItemIds)) {
                 // 0. Skip future routines (haven't started when new routine starts)
-                if (existingRoutine.getEndDate() != null &&
-                        !existingRoutine.getEndDate().toLocalDate().isAfter(newItemDate)) {
+                if (existingRoutine.endDate() != null &&
+                        !UserTimeZoneService.toLocal(existingRoutine.endDate(), zone).toLocalDate().isAfter(newItemDate)) {
                     continue;
                 }
                 // Skip routines that start AFTER the new routine (Assuming new routine starts
                 // 'now')
-                LocalDate routineStartDate = existingRoutine.getTimeSlot().getStartTime().toLocalDate();
+                LocalDate routineStartDate = UserTimeZoneService.toLocal(existingRoutine.start(), zone).toLocalDate();
                 if (newItemDate.isBefore(routineStartDate)) {
                     continue;
                 }
 
-                // Check Pattern Overlap
-                if (existingRoutine.getPattern() == null || existingRoutine.getPattern().getDaysOfWeek() == null
-                        || existingRoutine.getPattern().getDaysOfWeek().isEmpty()) {
-                    continue; // Standalone routine
-                }
-
-                List<DayOfWeek> existingDays = existingRoutine.getPattern().getDaysOfWeek();
-                boolean dayOfWeekOverlaps = newDays.stream().anyMatch(existingDays::contains);
+                boolean dayOfWeekOverlaps = newDays.stream().anyMatch(existingRoutine::recursOn);
 
                 if (dayOfWeekOverlaps) {
-                    LocalTime existingStartTime = existingRoutine.getTimeSlot().getStartTime().toLocalTime();
-                    LocalTime existingEndTime = existingRoutine.getTimeSlot().getEndTime().toLocalTime();
+                    LocalTime existingStartTime = UserTimeZoneService.toLocal(existingRoutine.start(), zone).toLocalTime();
+                    LocalTime existingEndTime = UserTimeZoneService.toLocal(existingRoutine.end(), zone).toLocalTime();
 
                     if (timesOverlap(newRoutineTimeStart, newRoutineTimeEnd, existingStartTime, existingEndTime)) {
                         String overlappingDay = newDays.stream()
-                                .filter(existingDays::contains)
+                                .filter(existingRoutine::recursOn)
                                 .findFirst()
                                 .map(day -> day.toString().charAt(0) + day.toString().substring(1).toLowerCase())
                                 .orElse("a recurring day");
 
                         return Optional.of(String.format(
                                 "New routine pattern overlaps with existing routine '%s' on %s (%s - %s)",
-                                existingRoutine.getName(),
+                                existingRoutine.name(),
                                 overlappingDay,
                                 existingStartTime.format(timeFormatter),
                                 existingEndTime.format(timeFormatter)));
@@ -577,25 +571,20 @@ public class CalendarItemServiceImpl implements CalendarItemService {
             LocalTime newItemTimeStart = newItemStartTime.toLocalTime();
             LocalTime newItemTimeEnd = newItemEndTime.toLocalTime();
 
-            for (Routine existingRoutine : routinesToCompare) {
+            for (UserScheduleIndex.Entry existingRoutine : routineCandidates(userId, List.of(newDayOfWeek),
+                    newItemTimeStart, newItemTimeEnd, excludeItemIds)) {
                 // 0. Skip ended routines
-                if (existingRoutine.getEndDate() != null &&
-                        !existingRoutine.getEndDate().toLocalDate().isAfter(newItemDate)) {
+                if (existingRoutine.endDate() != null &&
+                        !UserTimeZoneService.toLocal(existingRoutine.endDate(), zone).toLocalDate().isAfter(newItemDate)) {
                     continue;
                 }
 
                 // 1. Skip future routines
-                LocalDate routineStartDate = existingRoutine.getTimeSlot().getStartTime().toLocalDate();
+                LocalDate routineStartDate = UserTimeZoneService.toLocal(existingRoutine.start(), zone).toLocalDate();
                 if (newItemDate.isBefore(routineStartDate)) {
                     continue;
                 }
 
-                // 3. Check specific day overlap
-                if (existingRoutine.getPattern() == null || existingRoutine.getPattern().getDaysOfWeek() == null
-                        || existingRoutine.getPattern().getDaysOfWeek().isEmpty()) {
-                    continue;
-                }
-
                 // 4. SKIP if this is a detach operation and the new item's date matches
                 // the exception date. This prevents false positives when detaching an
                 // occurrence from its parent routine.
@@ -605,23 +594,18 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                     continue;
                 }
 
-                List<DayOfWeek> existingDays = existingRoutine.getPattern().getDaysOfWeek();
-                if (existingDays.contains(newDayOfWeek)) {
+                if (existingRoutine.recursOn(newDayOfWeek)) {
                     // 5. SKIP if the parent routine has an exception for this specific date
                     // This handles the case where a standalone routine was created by detaching
                     // an occurrence from this parent routine.
-                    if (existingRoutine.getExceptions() != null && !existingRoutine.getExceptions().isEmpty()) {
-                        boolean hasExceptionForThisDate = existingRoutine.getExceptions().stream()
-                                .anyMatch(exDate -> exDate.toLocalDate().equals(newItemDate));
-                        if (hasExceptionForThisDate) {
-                            // The parent routine has an exception for this date,
-                            // so there's no real overlap on this date.
-                            continue;
-                        }
+                    if (existingRoutine.hasExceptionOn(newItemDate)) {
+                        // The parent routine has an exception for this date,
+                        // so there's no real overlap on this date.
+                        continue;
                     }
 
-                    LocalTime existingStartTime = existingRoutine.getTimeSlot().getStartTime().toLocalTime();
-                    LocalTime existingEndTime = existingRoutine.getTimeSlot().getEndTime().toLocalTime();
+                    LocalTime existingStartTime = UserTimeZoneService.toLocal(existingRoutine.start(), zone).toLocalTime();
+                    LocalTime existingEndTime = UserTimeZoneService.toLocal(existingRoutine.end(), zone).toLocalTime();
 
                     if (timesOverlap(newItemTimeStart, newItemTimeEnd, existingStartTime, existingEndTime)) {
                         String friendlyDayOfWeek = newDayOfWeek.toString().charAt(0)
@@ -630,7 +614,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                         return Optional.of(String.format(
                                 "New %s overlaps with existing routine '%s' on %s (%s - %s)",
                                 newItemType.name().toLowerCase(),
-                                existingRoutine.getName(),
+                                existingRoutine.name(),
                                 friendlyDayOfWeek,
                                 existingStartTime.format(timeFormatter),
                                 existingEndTime.format(timeFormatter)));
@@ -641,6 +625,17 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         return Optional.empty();
     }
 
+    /**
+     * Recurring routines of the user that may collide with [start, end) on any of the
+     * given days, without the item being checked.
+     */
+    private List<UserScheduleIndex.Entry> routineCandidates(Long userId, List<DayOfWeek> days,
+            LocalTime start, LocalTime end, Collection<Long> excludeItemIds) {
+        return userScheduleIndex.findRoutineCandidates(userId, days, start, end).stream()
+                .filter(routine -> !excludeItemIds.contains(routine.id()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Helper method to check if two LocalTime ranges overlap.
      * (start1 < end2) AND (start2 < end1)
@@ -754,9 +749,10 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
         if (request.getTimeSlot() != null) {
             TimeSlotDTO dto = request.getTimeSlot();
-            TimeSlot timeSlot = new TimeSlot(
+            TimeSlot timeSlot = UserTimeZoneService.toStoredSlot(
                     dto.getStartTime(),
-                    dto.getEndTime());
+                    dto.getEndTime(),
+                    userTimeZoneService.zoneOf(userId));
             item.setTimeSlot(timeSlot);
         }
     }
@@ -767,54 +763,38 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         try {
             log.info(Constant.LOG_TIMEZONE_CONVERT_START, userId, oldTimezone, newTimezone);
 
-            ZoneId oldZone;
             ZoneId newZone;
             try {
-                oldZone = ZoneId.of(oldTimezone);
+                // The old zone is only validated: stored times do not depend on it
+                ZoneId.of(oldTimezone);
                 newZone = ZoneId.of(newTimezone);
             } catch (DateTimeException e) {
                 log.warn(Constant.LOG_INVALID_TIMEZONE, oldTimezone, newTimezone);
                 return new BaseResponse<>(0, Constant.MSG_INVALID_TIMEZONE_FORMAT, null);
             }
 
-            List<CalendarItem> items = calendarItemRepository.findAllByUserId(userId);
-
-            if (items.isEmpty()) {
-                log.info(Constant.LOG_NO_ITEMS_FOR_USER, userId);
-                return new BaseResponse<>(1, Constant.MSG_NO_ITEMS_TO_CONVERT, null);
-            }
-
-            int convertedCount = 0;
-            for (CalendarItem item : items) {
-                TimeSlot timeSlot = item.getTimeSlot();
-
-                if (timeSlot == null || timeSlot.getStartTime() == null) {
-                    continue;
-                }
-
-                LocalDateTime oldStart = timeSlot.getStartTime();
-                LocalDateTime oldEnd = timeSlot.getEndTime();
-
-                ZonedDateTime oldStartZoned = oldStart.atZone(oldZone);
-                ZonedDateTime oldEndZoned = oldEnd.atZone(oldZone);
-
-                ZonedDateTime newStartZoned = oldStartZoned.withZoneSameInstant(newZone);
-                ZonedDateTime newEndZoned = oldEndZoned.withZoneSameInstant(newZone);
-
-                timeSlot.setStartTime(newStartZoned.toLocalDateTime());
-                timeSlot.setEndTime(newEndZoned.toLocalDateTime());
-
-                convertedCount++;
+            // Held until commit: item writes read the zone under a key-share lock on this row,
+            // so they wait for the change and then convert with the new zone
+            UserConstraints constraints = userConstraintsRepository.findByUserIdForUpdate(userId)
+                    .orElseGet(() -> UserConstraints.createDefault(userId));
+
+            // Items are stored in UTC, so a change is a metadata update
+            constraints.setTimezone(newZone.getId());
+            constraints.setUpdatedAt(LocalDateTime.now());
+            userConstraintsRepository.save(constraints);
+
+            userScheduleIndex.evict(userId);
+            freeBusyIndex.evict(userId);
+            // Items keep their UTC slots but fall on different local days
+            if (Boolean.TRUE.equals(constraints.getDailyUsageReady())) {
+                dailyUsageService.rebuildOnCommit(userId, newZone);
             }
 
-            calendarItemRepository.saveAll(items);
-
-            log.info(Constant.LOG_CONVERSION_SUCCESS, convertedCount, userId);
-            return new BaseResponse<>(1,
-                    String.format(Constant.MSG_CONVERSION_SUCCESS, convertedCount),
-                    null);
+            return new BaseResponse<>(1, String.format(Constant.MSG_TIMEZONE_UPDATED, newZone.getId()), null);
 
         } catch (Exception e) {
+            // Never commit a partial change
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             log.error(Constant.LOG_CONVERSION_FAILED, userId, e);
             return new BaseResponse<>(0, Constant.MSG_CONVERSION_FAILED, null);
         }
@@ -869,6 +849,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
             }
 
             CalendarItem item = itemOpt.get();
+            ItemStatus previousStatus = item.getStatus();
 
             // 2. Verify ownership
             if (!item.getUserId().equals(userId)) {
@@ -898,25 +879,13 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                 // ===== NEW VALIDATION STEP =====
                 // 3.5. Validate against existing scheduled routines
                 if (request.getTimeSlot() != null) {
-                    // Fetch all *existing* scheduled routines that have a pattern
-                    List<Routine> scheduledRoutines = calendarItemRepository.findAllByUserId(userId).stream()
-                            .filter(calendarItem -> calendarItem instanceof Routine)
-                            .map(calendarItem -> (Routine) calendarItem)
-                            .filter(routine -> routine.isScheduled() && routine.getPattern() != null &&
-                                    routine.getPattern().getDaysOfWeek() != null &&
-                                    !routine.getPattern().getDaysOfWeek().isEmpty())
-                            .collect(Collectors.toList());
-
-                    if (!scheduledRoutines.isEmpty()) {
-                        // Check for overlaps
-                        Optional<String> routineOverlapError = updateRequestFindRoutineOverlap(request, itemId,
-                                scheduledRoutines);
-                        if (routineOverlapError.isPresent()) {
-                            String errorMessage = routineOverlapError.get();
-                            log.warn("Routine overlap detected for userId={}: {}", userId, errorMessage);
-                            // Return a constraint violation response
-                            return new BaseResponse<>(0, Constant.MSG_CONSTRAINT_VIOLATIONS, List.of(errorMessage));
-                        }
+                    // Check for overlaps against the user's recurring routines
+                    Optional<String> routineOverlapError = updateRequestFindRoutineOverlap(userId, request, itemId);
+                    if (routineOverlapError.isPresent()) {
+                        String errorMessage = routineOverlapError.get();
+                        log.warn("Routine overlap detected for userId={}: {}", userId, errorMessage);
+                        // Return a constraint violation response
+                        return new BaseResponse<>(0, Constant.MSG_CONSTRAINT_VIOLATIONS, List.of(errorMessage));
                     }
                 }
                 // ===== END OF NEW VALIDATION STEP =====
@@ -944,6 +913,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                         Optional<PM_TasKDTO> pmTaskOpt = projectServiceClient.getProjectTaskById(pmTaskId);
                         if (pmTaskOpt.isPresent()) {
                             PM_TasKDTO pmTask = pmTaskOpt.get();
+                            projectTaskReplicaService.track(pmTask);
                             LocalDate scheduledDate = request.getTimeSlot().getStartTime().toLocalDate();
                             LocalDate taskStartDate = pmTask.getStartDate();
                             LocalDate taskEndDate = pmTask.getEndDate();
@@ -996,7 +966,8 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                 }
                 if (request.getTimeSlot() != null) {
                     TimeSlotDTO dto = request.getTimeSlot();
-                    TimeSlot timeSlot = new TimeSlot(dto.getStartTime(), dto.getEndTime());
+                    TimeSlot timeSlot = UserTimeZoneService.toStoredSlot(
+                            dto.getStartTime(), dto.getEndTime(), userTimeZoneService.zoneOf(userId));
                     item.setTimeSlot(timeSlot);
                 }
             }
@@ -1043,7 +1014,8 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                     }
                     if (request.getTimeSlot() != null) {
                         TimeSlotDTO dto = request.getTimeSlot();
-                        TimeSlot timeSlot = new TimeSlot(dto.getStartTime(), dto.getEndTime());
+                        TimeSlot timeSlot = UserTimeZoneService.toStoredSlot(
+                                dto.getStartTime(), dto.getEndTime(), userTimeZoneService.zoneOf(userId));
                         oldRoutine.setTimeSlot(timeSlot);
                     }
 
@@ -1084,6 +1056,8 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
                     // Save and return - standalone routine updated in place
                     CalendarItem updatedRoutine = calendarItemRepository.save(oldRoutine);
+                    // A pattern-only change does not fire the entity listener on the routine
+                    userScheduleIndex.onItemSaved(updatedRoutine);
                     log.info("Standalone routine ID={} updated successfully", updatedRoutine.getId());
                     return new BaseResponse<>(1, Constant.MSG_ITEM_UPDATE_SUCCESS, updatedRoutine.getId());
                 }
@@ -1093,15 +1067,18 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                 // one.
 
                 // 1. Determine Split Time
-                LocalDateTime splitTime;
+                ZoneId zone = userTimeZoneService.zoneOf(userId);
+                LocalDate splitDate;
                 if (request.getTimeSlot() != null) {
                     // Set end date to START of the split day to ensure the old routine
                     // does not generate an instance on this day.
-                    splitTime = request.getTimeSlot().getStartTime().toLocalDate().atStartOfDay();
+                    splitDate = request.getTimeSlot().getStartTime().toLocalDate();
                 } else {
-                    // Fallback using server time
-                    splitTime = LocalDateTime.now().toLocalDate().atStartOfDay();
+                    // Fallback using the user's current date
+                    splitDate = LocalDate.now(zone);
                 }
+                // Stored in UTC: the instant the user's local split day begins
+                LocalDateTime splitTime = UserTimeZoneService.startOfDayUtc(splitDate, zone);
 
                 // 2. Terminate Old Routine
                 // End date is set to the split time.
@@ -1126,8 +1103,8 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
                 // TimeSlot
                 if (request.getTimeSlot() != null) {
-                    newRoutine.setTimeSlot(
-                            new TimeSlot(request.getTimeSlot().getStartTime(), request.getTimeSlot().getEndTime()));
+                    newRoutine.setTimeSlot(UserTimeZoneService.toStoredSlot(
+                            request.getTimeSlot().getStartTime(), request.getTimeSlot().getEndTime(), zone));
                 } else {
                     newRoutine.setTimeSlot(oldRoutine.getTimeSlot());
                 }
@@ -1161,10 +1138,9 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                 // to the new routine (e.g., detached occurrences that were created before
                 // this update)
                 if (oldRoutine.getExceptions() != null && !oldRoutine.getExceptions().isEmpty()) {
-                    LocalDate splitDate = splitTime.toLocalDate();
                     for (LocalDateTime exceptionDate : oldRoutine.getExceptions()) {
                         // Only transfer exceptions that are on or after the split date
-                        if (!exceptionDate.toLocalDate().isBefore(splitDate)) {
+                        if (!UserTimeZoneService.toLocal(exceptionDate, zone).toLocalDate().isBefore(splitDate)) {
                             newRoutine.addException(exceptionDate);
                             log.info("Transferred exception {} from old routine {} to new routine",
                                     exceptionDate, oldRoutine.getId());
@@ -1182,6 +1158,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
             // 7. Save updated item
             CalendarItem updatedItem = calendarItemRepository.save(item);
+            bigTaskProgressService.onTaskStatusChanged(updatedItem, previousStatus);
 
             log.info(Constant.LOG_ITEM_UPDATED_SUCCESS, itemId);
             return new BaseResponse<>(1, Constant.MSG_ITEM_UPDATE_SUCCESS, updatedItem.getId());
@@ -1219,6 +1196,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
             // 3. Delete the item
             calendarItemRepository.delete(item);
+            bigTaskProgressService.onTaskRemoved(item);
 
             log.info(Constant.LOG_ITEM_DELETED_SUCCESS, itemId);
             return new BaseResponse<>(1, Constant.MSG_ITEM_DELETE_SUCCESS, null);
@@ -1274,6 +1252,20 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         // would incorrectly find an overlap with the item itself.
         List<String> violations = constraintValidationService.validateBaseConstraints(
                 userId, startTime, endTime, itemType);
+        violations.addAll(findStoredOverlapViolations(userId, Collections.singleton(itemId),
+                startTime, endTime, itemType, exceptionDate));
+        return violations;
+    }
+
+    /**
+     * Overlaps of a new slot with stored fixed items and recurring routines, excluding the
+     * given items (the item itself, or every item of a batch) and, when detaching, the parent
+     * routine on exceptionDate.
+     */
+    private List<String> findStoredOverlapViolations(Long userId, Collection<Long> excludeItemIds,
+            LocalDateTime startTime, LocalDateTime endTime,
+            ItemType itemType, LocalDate exceptionDate) {
+        List<String> violations = new ArrayList<>();
 
         // Formatter for user-friendly times
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
@@ -1281,21 +1273,22 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
         // --- 2. Check for Overlaps with FIXED Items (Tasks/Events) ---
 
-        // Find all fixed items that overlap using the JPA query
-        List<CalendarItem> overlappingFixedItems = calendarItemRepository
-                .findOverlappingItems(userId, startTime, endTime);
+        // Find all fixed items that overlap using the schedule index (which is keyed in UTC)
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        List<UserScheduleIndex.Entry> overlappingFixedItems = userScheduleIndex.findOverlapping(userId,
+                UserTimeZoneService.toUtc(startTime, zone), UserTimeZoneService.toUtc(endTime, zone));
 
         // Filter out the current item (self-overlap)
-        List<CalendarItem> actualFixedOverlaps = overlappingFixedItems.stream()
-                .filter(item -> !item.getId().equals(itemId)) // Exclude self
+        List<UserScheduleIndex.Entry> actualFixedOverlaps = overlappingFixedItems.stream()
+                .filter(item -> !excludeItemIds.contains(item.id())) // Exclude self
                 .collect(Collectors.toList());
 
         if (!actualFixedOverlaps.isEmpty()) {
             // Create a user-friendly list of overlapping items
             String itemNames = actualFixedOverlaps.stream()
                     .map(item -> {
-                        LocalDateTime itemStart = item.getTimeSlot().getStartTime();
-                        LocalDateTime itemEnd = item.getTimeSlot().getEndTime();
+                        LocalDateTime itemStart = UserTimeZoneService.toLocal(item.start(), zone);
+                        LocalDateTime itemEnd = UserTimeZoneService.toLocal(item.end(), zone);
                         String timeString;
                         if (itemStart.toLocalDate().isEqual(itemEnd.toLocalDate())) {
                             timeString = String.format("%s, %s - %s",
@@ -1307,7 +1300,7 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                                     itemStart.format(fullFormatter),
                                     itemEnd.format(fullFormatter));
                         }
-                        return String.format("'%s' (%s)", item.getName(), timeString);
+                        return String.format("'%s' (%s)", item.name(), timeString);
                     })
                     .limit(3)
                     .reduce((a, b) -> a + ", " + b)
@@ -1323,23 +1316,16 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         // When a ROUTINE is being created/detached, we need to check against other
         // routines too
 
-        // Get all existing recurring routines (with pattern)
-        List<Routine> scheduledRoutines = calendarItemRepository.findAllByUserId(userId).stream()
-                .filter(calItem -> calItem instanceof Routine)
-                .map(calItem -> (Routine) calItem)
-                .filter(Routine::isScheduled) // Has a pattern and timeslot
-                .collect(Collectors.toList());
-
         // Create a temporary TimeSlotDTO for the check
         TimeSlotDTO checkTimeSlot = new TimeSlotDTO(startTime, endTime);
 
         // REPLACED BLOCK: Use the unified helper with exception date support
         Optional<String> routineOverlapMsg = findRoutineOverlap(
+                userId,
                 itemType,
                 checkTimeSlot,
                 null, // treat as single occurrence check even if routine
-                itemId, // exclude self
-                scheduledRoutines,
+                excludeItemIds, // exclude self
                 exceptionDate); // exclude this date when checking parent routine
 
         if (routineOverlapMsg.isPresent()) {
@@ -1365,11 +1351,10 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         dto.setCreatedAt(item.getCreatedAt());
         dto.setUpdatedAt(item.getUpdatedAt());
 
-        // Time slot
+        // Time slot (stored in UTC, returned in the user's zone)
         if (item.getTimeSlot() != null) {
-            dto.setTimeSlot(new TimeSlotResponseDTO(
-                    item.getTimeSlot().getStartTime(),
-                    item.getTimeSlot().getEndTime()));
+            dto.setTimeSlot(UserTimeZoneService.toResponseSlot(
+                    item.getTimeSlot(), userTimeZoneService.zoneOf(item.getUserId())));
         }
 
         // Type-specific fields
@@ -1410,7 +1395,8 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                 dto.setPattern(new RecurringPatternResponseDTO(daysOfWeek));
             }
 
-            dto.setExceptions(routine.getExceptions());
+            dto.setExceptions(UserTimeZoneService.toLocal(routine.getExceptions(),
+                    userTimeZoneService.zoneOf(item.getUserId())));
 
         } else if (item instanceof Event) {
             // Event has no additional fields currently
@@ -1422,90 +1408,186 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
     @Override
     @Transactional(readOnly = true)
-    public BaseResponse<?> getItemsByDateRange(Long userId, String view, String date, List<Long> calendarIds) {
+    public BaseResponse<?> getItemsByDateRange(Long userId, String view, String date, List<Long> calendarIds,
+            boolean expand) {
         try {
-            // 1. Validate and parse date
-            LocalDate referenceDate;
-            try {
-                referenceDate = LocalDate.parse(date);
-            } catch (DateTimeParseException e) {
-                log.warn(Constant.LOG_INVALID_DATE_FORMAT, date);
-                return new BaseResponse<>(0, Constant.MSG_INVALID_DATE_FORMAT, null);
-            }
-
-            // 2. 5-year window validation
-            if (referenceDate.isAfter(LocalDate.now().plusYears(5))
-                    || referenceDate.isBefore(LocalDate.now().minusYears(5))) {
-                log.warn(Constant.LOG_DATE_OUTSIDE_WINDOW, referenceDate);
-                return new BaseResponse<>(0, Constant.MSG_DATE_OUTSIDE_WINDOW, null);
+            // 1-3. Validate the reference date and resolve the view window
+            BaseResponse<DateRangeDTO> rangeResult = resolveDateRange(view, date);
+            if (rangeResult.getStatus() != 1) {
+                return rangeResult;
             }
+            DateRangeDTO dateRange = rangeResult.getData();
 
-            // 3. Calculate date range based on view
-            DateRangeDTO dateRange = calculateDateRange(view, referenceDate);
-            if (dateRange == null) {
-                log.warn(Constant.LOG_INVALID_VIEW_TYPE, view);
-                return new BaseResponse<>(0, Constant.MSG_INVALID_VIEW_TYPE, null);
-            }
-
-            // 4. Initialize the final list
+            // 4-9. Merge every source in start-time order
             List<ScheduledItemDTO> finalItemList = new ArrayList<>();
+            mergedItemsByDateRange(userId, calendarIds, dateRange, expand).forEachRemaining(finalItemList::add);
 
-            // 5. --- FIX: FETCH NON-RECURRING ITEMS (TASKS/EVENTS) ---
-            // This gets all Tasks, Events, and non-recurring Routines
-            List<CalendarItem> nonRecurringItems = calendarItemRepository
-                    .findScheduledItemsExcludingRoutinesByDateRange(
-                            userId, calendarIds, dateRange.getStart(), dateRange.getEnd());
+            // 10. Build and return response
+            ItemsByDateRangeResponse response = new ItemsByDateRangeResponse(finalItemList, "startTime", dateRange);
+            return new BaseResponse<>(1, Constant.MSG_ITEMS_RETRIEVED_SUCCESS, response);
 
-            // 6. Add Task, Event items to the list
-            nonRecurringItems.stream()
-                    .map(this::mapToScheduledItemDTO)
-                    .forEach(finalItemList::add);
+        } catch (Exception e) {
+            log.error(Constant.LOG_GET_ITEMS_BY_DATE_RANGE_FAILED, userId, e);
+            return new BaseResponse<>(0, Constant.MSG_ITEMS_RETRIEVAL_FAILED, null);
+        }
+    }
 
-            // 7. Fetch data from repository (Recurring Routines)
-            // This gets all potentially active recurring routines
-            List<Routine> recurringRoutines = calendarItemRepository.findActiveRecurringRoutines(
-                    userId, calendarIds, dateRange.getStart(), dateRange.getEnd());
+    @Override
+    @Transactional(readOnly = true)
+    public void writeItemsByDateRange(Long userId, String view, String date, List<Long> calendarIds,
+            OutputStream out) throws IOException {
+        BaseResponse<DateRangeDTO> rangeResult = resolveDateRange(view, date);
+        if (rangeResult.getStatus() != 1) {
+            objectMapper.writeValue(out, rangeResult);
+            return;
+        }
+        DateRangeDTO dateRange = rangeResult.getData();
+
+        Iterator<ScheduledItemDTO> items = mergedItemsByDateRange(userId, calendarIds, dateRange, true);
+
+        // Same shape as getItemsByDateRange, but items are written as they come off the merge
+        // so a YEAR view never materializes every occurrence at once
+        int written = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("status", 1);
+            generator.writeStringField("msg", Constant.MSG_ITEMS_RETRIEVED_SUCCESS);
+            generator.writeObjectFieldStart("data");
+            generator.writeArrayFieldStart("items");
+            while (items.hasNext()) {
+                generator.writeObject(items.next());
+                written++;
+            }
+            generator.writeEndArray();
+            generator.writeStringField("sortedBy", "startTime");
+            generator.writeObjectField("dateRange", dateRange);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        log.debug("Streamed {} items for user {} ({} {})", written, userId, view, date);
+    }
 
-            // 8. Filter routines whose active month overlaps the date range
-            LocalDate rangeStartDate = dateRange.getStart().toLocalDate();
-            LocalDate rangeEndDate = dateRange.getEnd().toLocalDate();
+    /**
+     * Validates the reference date (5-year window) and turns the view into a date range.
+     * Status 1 carries the range, status 0 carries the error message.
+     */
+    private BaseResponse<DateRangeDTO> resolveDateRange(String view, String date) {
+        LocalDate referenceDate;
+        try {
+            referenceDate = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            log.warn(Constant.LOG_INVALID_DATE_FORMAT, date);
+            return new BaseResponse<>(0, Constant.MSG_INVALID_DATE_FORMAT, null);
+        }
 
-            List<Routine> activeRoutines = recurringRoutines.stream()
-                    .filter(routine -> {
-                        LocalDate routineActiveStartDate = routine.getTimeSlot().getStartTime().toLocalDate();
+        if (referenceDate.isAfter(LocalDate.now().plusYears(5))
+                || referenceDate.isBefore(LocalDate.now().minusYears(5))) {
+            log.warn(Constant.LOG_DATE_OUTSIDE_WINDOW, referenceDate);
+            return new BaseResponse<>(0, Constant.MSG_DATE_OUTSIDE_WINDOW, null);
+        }
 
-                        // Treat routine as infinite (no end date check)
-                        // It is active if it started on or before the range end date.
-                        boolean overlaps = (routineActiveStartDate.isBefore(rangeEndDate)
-                                || routineActiveStartDate.isEqual(rangeEndDate));
+        DateRangeDTO dateRange = calculateDateRange(view, referenceDate);
+        if (dateRange == null) {
+            log.warn(Constant.LOG_INVALID_VIEW_TYPE, view);
+            return new BaseResponse<>(0, Constant.MSG_INVALID_VIEW_TYPE, null);
+        }
+        return new BaseResponse<>(1, null, dateRange);
+    }
 
-                        return overlaps;
-                    })
-                    .collect(Collectors.toList());
+    /**
+     * One start-ordered iterator over one-off items, standalone routines and recurring routines.
+     * Every source is already ordered by start time (queries sort, occurrences are generated in
+     * order), so a k-way merge replaces sorting the combined list.
+     *
+     * @param expand true to emit each routine occurrence in the window, false to emit the
+     *               recurring routine once with its pattern and exceptions
+     */
+    private Iterator<ScheduledItemDTO> mergedItemsByDateRange(Long userId, List<Long> calendarIds,
+            DateRangeDTO dateRange, boolean expand) {
+        List<Iterator<ScheduledItemDTO>> sources = new ArrayList<>();
+
+        // The view window is local to the user; rows are stored in UTC
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        LocalDateTime utcStart = UserTimeZoneService.toUtc(dateRange.getStart(), zone);
+        LocalDateTime utcEnd = UserTimeZoneService.toUtc(dateRange.getEnd(), zone);
+
+        // Tasks and Events
+        List<CalendarItem> nonRecurringItems = calendarItemRepository
+                .findScheduledItemsExcludingRoutinesByDateRange(userId, calendarIds, utcStart, utcEnd);
+        // Standalone routines (detached single occurrences)
+        List<Routine> standaloneRoutines = calendarItemRepository.findStandaloneRoutines(
+                userId, calendarIds, utcStart, utcEnd);
+        // Recurring routines active in the range
+        List<Routine> recurringRoutines = calendarItemRepository.findActiveRecurringRoutines(
+                userId, calendarIds, utcStart, utcEnd);
+
+        // Linked big tasks and project tasks are resolved once for the whole result
+        DtoLookups lookups = resolveDtoLookups(nonRecurringItems);
+        sources.add(nonRecurringItems.stream().map(item -> mapToScheduledItemDTO(item, zone, lookups)).iterator());
+        sources.add(standaloneRoutines.stream().map(item -> mapToScheduledItemDTO(item, zone, lookups)).iterator());
+        if (expand) {
+            for (Routine routine : recurringRoutines) {
+                sources.add(recurrenceExpansionEngine.occurrences(
+                        routine, zone, dateRange.getStart(), dateRange.getEnd()));
+            }
+        } else {
+            sources.add(recurringRoutines.stream().map(item -> mapToScheduledItemDTO(item, zone, lookups)).iterator());
+        }
 
-            // 9. Add the *original* Routine objects (not expanded)
-            activeRoutines.stream()
-                    .map(this::mapToScheduledItemDTO)
-                    .forEach(finalItemList::add);
+        // Memorable events recur yearly; edited years come back with the one-off items above
+        sources.addAll(memorableEventOccurrences(userId, calendarIds, dateRange, zone));
 
-            // 9.5. Fetch and add Standalone Routines (detached single occurrences)
-            List<Routine> standaloneRoutines = calendarItemRepository.findStandaloneRoutines(
-                    userId, calendarIds, dateRange.getStart(), dateRange.getEnd());
-            standaloneRoutines.stream()
-                    .map(this::mapToScheduledItemDTO)
-                    .forEach(finalItemList::add);
+        return recurrenceExpansionEngine.merge(sources,
+                Comparator.comparing(dto -> dto.getTimeSlot().getStartTime()));
+    }
 
-            // 10. Sort the final combined list
-            finalItemList.sort(Comparator.comparing(dto -> dto.getTimeSlot().getStartTime()));
+    /**
+     * One ordered source per memorable event visible in the selected calendars, skipping
+     * the years that have a materialized override.
+     */
+    private List<Iterator<ScheduledItemDTO>> memorableEventOccurrences(Long userId, List<Long> calendarIds,
+            DateRangeDTO dateRange, ZoneId zone) {
+        List<MemorableEvent> events = memorableEventRepository.findByUserId(userId);
+        if (events.isEmpty()) {
+            return List.of();
+        }
 
-            // 11. Build and return response
-            ItemsByDateRangeResponse response = new ItemsByDateRangeResponse(finalItemList, "startTime", dateRange);
-            return new BaseResponse<>(1, Constant.MSG_ITEMS_RETRIEVED_SUCCESS, response);
+        // Events created before read-time expansion have no calendar and live in the personal one
+        Long personalCalendarId = events.stream().anyMatch(event -> event.getCalendarId() == null)
+                ? findPersonalCalendarId(userId)
+                : null;
+        List<MemorableEvent> visibleEvents = events.stream()
+                .filter(event -> calendarIds.contains(
+                        event.getCalendarId() != null ? event.getCalendarId() : personalCalendarId))
+                .collect(Collectors.toList());
+        if (visibleEvents.isEmpty()) {
+            return List.of();
+        }
 
-        } catch (Exception e) {
-            log.error(Constant.LOG_GET_ITEMS_BY_DATE_RANGE_FAILED, userId, e);
-            return new BaseResponse<>(0, Constant.MSG_ITEMS_RETRIEVAL_FAILED, null);
+        Map<Long, Set<Integer>> overriddenYears = new HashMap<>();
+        List<Long> eventIds = visibleEvents.stream().map(MemorableEvent::getId).collect(Collectors.toList());
+        for (MemorableEventCalendarItem override : calendarItemRepository.findMemorableEventOverrides(userId, eventIds)) {
+            if (override.isScheduled()) {
+                overriddenYears.computeIfAbsent(override.getMemorableEventId(), id -> new HashSet<>())
+                        .add(UserTimeZoneService.toLocal(override.getTimeSlot().getStartTime(), zone).getYear());
+            }
         }
+
+        List<Iterator<ScheduledItemDTO>> sources = new ArrayList<>(visibleEvents.size());
+        for (MemorableEvent event : visibleEvents) {
+            sources.add(recurrenceExpansionEngine.yearlyOccurrences(event,
+                    overriddenYears.getOrDefault(event.getId(), Set.of()),
+                    dateRange.getStart(), dateRange.getEnd()));
+        }
+        return sources;
+    }
+
+    private Long findPersonalCalendarId(Long userId) {
+        return calendarRepository.findByUserId(userId).stream()
+                .filter(cal -> cal.getType().toString().equals("PERSONAL"))
+                .map(Calendar::getId)
+                .findFirst()
+                .orElse(null);
     }
 
     // Private helper methods for the new logic
@@ -1534,7 +1616,33 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         return new DateRangeDTO(start, end);
     }
 
-    private ScheduledItemDTO mapToScheduledItemDTO(CalendarItem item) {
+    /**
+     * Names of the parent big tasks and the linked project tasks of the given items, fetched
+     * with one query each; project tasks come from the local replica.
+     */
+    private DtoLookups resolveDtoLookups(Collection<? extends CalendarItem> items) {
+        Set<Long> bigTaskIds = new HashSet<>();
+        Set<Long> pmTaskIds = new HashSet<>();
+        for (CalendarItem item : items) {
+            if (item instanceof Task task && task.getParentBigTaskId() != null) {
+                bigTaskIds.add(task.getParentBigTaskId());
+            } else if (item instanceof ProjectTask projectTask && projectTask.getPmTaskId() != null) {
+                pmTaskIds.add(projectTask.getPmTaskId());
+            }
+        }
+
+        Map<Long, String> bigTaskNames = new HashMap<>();
+        if (!bigTaskIds.isEmpty()) {
+            bigTaskRepository.findAllById(bigTaskIds)
+                    .forEach(bigTask -> bigTaskNames.put(bigTask.getId(), bigTask.getName()));
+        }
+        return new DtoLookups(bigTaskNames, projectTaskReplicaService.getTasks(pmTaskIds));
+    }
+
+    private record DtoLookups(Map<Long, String> bigTaskNames, Map<Long, PM_TasKDTO> projectTasks) {
+    }
+
+    private ScheduledItemDTO mapToScheduledItemDTO(CalendarItem item, ZoneId zone, DtoLookups lookups) {
         ScheduledItemDTO dto = new ScheduledItemDTO();
         dto.setId(item.getId());
         dto.setType(item.getType().name());
@@ -1542,25 +1650,27 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         dto.setColor(item.getColor());
         dto.setStatus(item.getStatus().name());
         if (item.getTimeSlot() != null) {
-            dto.setTimeSlot(new TimeSlotResponseDTO(
-                    item.getTimeSlot().getStartTime(),
-                    item.getTimeSlot().getEndTime()));
+            dto.setTimeSlot(UserTimeZoneService.toResponseSlot(item.getTimeSlot(), zone));
         }
         if (item instanceof Routine) {
             Routine routine = (Routine) item;
             dto.setPattern(routine.getPattern());
-            dto.setExceptions(routine.getExceptions());
-            dto.setEndDate(routine.getEndDate());
+            dto.setExceptions(UserTimeZoneService.toLocal(routine.getExceptions(), zone));
+            dto.setEndDate(UserTimeZoneService.toLocal(routine.getEndDate(), zone));
         }
+        dto.setMemorableEventId(item.getMemorableEventId());
         // Populate parentBigTaskId and parentBigTaskName for Task items
         if (item instanceof Task) {
             Task task = (Task) item;
             dto.setParentBigTaskId(task.getParentBigTaskId());
-
-            // Look up the parent big task name
-            if (task.getParentBigTaskId() != null) {
-                bigTaskRepository.findById(task.getParentBigTaskId())
-                        .ifPresent(bigTask -> dto.setParentBigTaskName(bigTask.getName()));
+            dto.setParentBigTaskName(lookups.bigTaskNames().get(task.getParentBigTaskId()));
+        }
+        if (item instanceof ProjectTask projectTask) {
+            dto.setPmTaskId(projectTask.getPmTaskId());
+            PM_TasKDTO pmTask = lookups.projectTasks().get(projectTask.getPmTaskId());
+            if (pmTask != null) {
+                dto.setPmTaskKey(pmTask.getKey());
+                dto.setPmTaskStatus(pmTask.getStatus());
             }
         }
         return dto;
@@ -1575,58 +1685,139 @@ public class CalendarItemServiceImpl implements CalendarItemService {
         return dto;
     }
 
+    /**
+     * Schedules many items in one pass: the items are loaded with one query, every slot is
+     * validated against stored items and against the slots accepted earlier in the same batch,
+     * and the accepted items are written together at the end (JDBC-batched by Hibernate).
+     */
     @Override
     @Transactional
     public BaseResponse<?> batchScheduleItems(Long userId, BatchScheduleRequest request) {
-        int scheduledCount = 0;
+        List<BatchScheduleRequest.ItemToSchedule> requested = request.getItems() != null
+                ? request.getItems()
+                : List.of();
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+
+        // 1. Load every requested item at once
+        Set<Long> itemIds = requested.stream()
+                .map(BatchScheduleRequest.ItemToSchedule::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, CalendarItem> itemsById = calendarItemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(CalendarItem::getId, item -> item));
+        // Batch items are checked at their new slots, not at the stored slots they move away from
+        Set<Long> batchItemIds = itemsById.values().stream()
+                .filter(item -> item.getUserId().equals(userId))
+                .map(CalendarItem::getId)
+                .collect(Collectors.toSet());
+
+        // 2. Validate every slot; nothing is modified until all items are checked
+        ConstraintValidationService.BatchContext context = constraintValidationService.openBatch(userId);
+        List<BatchScheduleResponse.ItemResult> results = new ArrayList<>();
         List<String> constraintViolations = new ArrayList<>();
-        List<CalendarItem> itemsToUpdate = new ArrayList<>();
-
-        for (BatchScheduleRequest.ItemToSchedule itemToSchedule : request.getItems()) {
-            Optional<CalendarItem> itemOpt = calendarItemRepository.findById(itemToSchedule.getItemId());
-
-            if (itemOpt.isEmpty()) {
-                constraintViolations.add("Item with ID " + itemToSchedule.getItemId() + " not found.");
-                continue;
-            }
-
-            CalendarItem item = itemOpt.get();
-
-            if (!item.getUserId().equals(userId)) {
-                constraintViolations.add("Unauthorized access to item with ID " + itemToSchedule.getItemId() + ".");
-                continue;
-            }
+        // Accepted slots by item id, in request order
+        Map<Long, TimeSlotDTO> accepted = new LinkedHashMap<>();
 
+        for (BatchScheduleRequest.ItemToSchedule itemToSchedule : requested) {
+            Long itemId = itemToSchedule.getItemId();
+            CalendarItem item = itemId != null ? itemsById.get(itemId) : null;
             TimeSlotDTO timeSlotDTO = itemToSchedule.getTimeSlot();
-            if (timeSlotDTO.getEndTime().isBefore(timeSlotDTO.getStartTime()) ||
-                    timeSlotDTO.getEndTime().isEqual(timeSlotDTO.getStartTime())) {
-                constraintViolations.add("Invalid time slot for item with ID " + itemToSchedule.getItemId() + ".");
-                continue;
+            List<String> violations = new ArrayList<>();
+
+            if (item == null) {
+                violations.add("Item with ID " + itemId + " not found.");
+            } else if (!item.getUserId().equals(userId)) {
+                violations.add("Unauthorized access to item with ID " + itemId + ".");
+            } else if (timeSlotDTO == null || timeSlotDTO.getStartTime() == null || timeSlotDTO.getEndTime() == null
+                    || !timeSlotDTO.getEndTime().isAfter(timeSlotDTO.getStartTime())) {
+                violations.add("Invalid time slot for item with ID " + itemId + ".");
+            } else if (accepted.containsKey(itemId)) {
+                violations.add("Item with ID " + itemId + " appears more than once in the batch.");
+            } else {
+                violations.addAll(context.validate(
+                        timeSlotDTO.getStartTime(), timeSlotDTO.getEndTime(), item.getType()));
+                violations.addAll(findStoredOverlapViolations(userId, batchItemIds,
+                        timeSlotDTO.getStartTime(), timeSlotDTO.getEndTime(), item.getType(), null));
             }
 
-            List<String> violations = validateConstraintsForUpdate(
-                    userId,
-                    itemToSchedule.getItemId(),
-                    timeSlotDTO.getStartTime(),
-                    timeSlotDTO.getEndTime(),
-                    item.getType());
-
-            if (!violations.isEmpty()) {
+            if (violations.isEmpty()) {
+                context.accept(item.getName(), timeSlotDTO.getStartTime(), timeSlotDTO.getEndTime(), item.getType());
+                accepted.put(itemId, timeSlotDTO);
+            } else {
                 constraintViolations.addAll(violations);
-                continue;
             }
-
-            item.setTimeSlot(new TimeSlot(timeSlotDTO.getStartTime(), timeSlotDTO.getEndTime()));
-            itemsToUpdate.add(item);
-            scheduledCount++;
+            results.add(new BatchScheduleResponse.ItemResult(itemId, violations.isEmpty(), violations));
         }
-
+        rejectOverlapsWithStayingItems(batchItemIds, itemsById, accepted, results, constraintViolations, zone);
+
+        // 3. Apply and write the accepted items together
+        List<CalendarItem> itemsToUpdate = new ArrayList<>(accepted.size());
+        accepted.forEach((itemId, timeSlotDTO) -> {
+            CalendarItem item = itemsById.get(itemId);
+            item.setTimeSlot(UserTimeZoneService.toStoredSlot(
+                    timeSlotDTO.getStartTime(), timeSlotDTO.getEndTime(), zone));
+            itemsToUpdate.add(item);
+        });
         if (!itemsToUpdate.isEmpty()) {
             calendarItemRepository.saveAll(itemsToUpdate);
         }
 
         return new BaseResponse<>(1, "Batch schedule operation completed.",
-                new BatchScheduleResponse(true, scheduledCount, constraintViolations));
+                new BatchScheduleResponse(true, accepted.size(), constraintViolations, results));
+    }
+
+    /**
+     * A batch item that was rejected keeps its stored slot, which the accepted items were not
+     * checked against. Rejects accepted items overlapping such a slot, until none do (each
+     * rejection can leave another stored slot in place).
+     */
+    private void rejectOverlapsWithStayingItems(Set<Long> batchItemIds, Map<Long, CalendarItem> itemsById,
+            Map<Long, TimeSlotDTO> accepted, List<BatchScheduleResponse.ItemResult> results,
+            List<String> constraintViolations, ZoneId zone) {
+        List<CalendarItem> staying = batchItemIds.stream()
+                .filter(id -> !accepted.containsKey(id))
+                .map(itemsById::get)
+                .filter(CalendarItemServiceImpl::hasStoredSlot)
+                .collect(Collectors.toList());
+
+        boolean changed = !staying.isEmpty();
+        while (changed) {
+            changed = false;
+            Iterator<Map.Entry<Long, TimeSlotDTO>> iterator = accepted.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, TimeSlotDTO> entry = iterator.next();
+                LocalDateTime start = UserTimeZoneService.toUtc(entry.getValue().getStartTime(), zone);
+                LocalDateTime end = UserTimeZoneService.toUtc(entry.getValue().getEndTime(), zone);
+                Optional<CalendarItem> blocker = staying.stream()
+                        .filter(other -> start.isBefore(other.getTimeSlot().getEndTime())
+                                && other.getTimeSlot().getStartTime().isBefore(end))
+                        .findFirst();
+                if (blocker.isEmpty()) {
+                    continue;
+                }
+
+                String violation = String.format("Time slot overlaps with existing calendar items: '%s', "
+                        + "which was not rescheduled in this batch", blocker.get().getName());
+                iterator.remove();
+                constraintViolations.add(violation);
+                results.stream()
+                        .filter(result -> result.isScheduled() && entry.getKey().equals(result.getItemId()))
+                        .findFirst()
+                        .ifPresent(result -> {
+                            result.setScheduled(false);
+                            result.getViolations().add(violation);
+                        });
+                CalendarItem rejected = itemsById.get(entry.getKey());
+                if (hasStoredSlot(rejected)) {
+                    staying.add(rejected);
+                }
+                changed = true;
+            }
+        }
+    }
+
+    private static boolean hasStoredSlot(CalendarItem item) {
+        return item.isScheduled() && item.getTimeSlot().getEndTime() != null;
     }
 
     @Override
@@ -1703,32 +1894,12 @@ public class CalendarItemServiceImpl implements CalendarItemService {
                     && "ROUTINE".equalsIgnoreCase(request.getNewDetails().getType())) {
 
                 // Find existing standalone routines (no pattern) for the same user, at the same
-                // time
-                List<CalendarItem> existingStandaloneRoutines = calendarItemRepository.findAllByUserId(userId).stream()
-                        .filter(calItem -> calItem instanceof Routine)
-                        .map(calItem -> (Routine) calItem)
-                        .filter(r -> {
-                            // Must be a standalone routine (no pattern or empty pattern)
-                            boolean isStandalone = r.getPattern() == null
-                                    || r.getPattern().getDaysOfWeek() == null
-                                    || r.getPattern().getDaysOfWeek().isEmpty();
-                            if (!isStandalone)
-                                return false;
-
-                            // Must have the same start time as the exception date
-                            if (r.getTimeSlot() == null || r.getTimeSlot().getStartTime() == null)
-                                return false;
-
-                            // Compare start time (date and hour/minute)
-                            LocalDateTime routineStart = r.getTimeSlot().getStartTime();
-                            boolean sameDateTime = routineStart.toLocalDate().equals(exceptionDate.toLocalDate())
-                                    && routineStart.toLocalTime().getHour() == exceptionDate.toLocalTime().getHour()
-                                    && routineStart.toLocalTime().getMinute() == exceptionDate.toLocalTime()
-                                            .getMinute();
-
-                            return sameDateTime;
-                        })
-                        .collect(java.util.stream.Collectors.toList());
+                // time (same date, hour and minute as the exception date, which is local)
+                LocalDateTime occurrenceMinute = UserTimeZoneService.toUtc(
+                        exceptionDate.truncatedTo(java.time.temporal.ChronoUnit.MINUTES),
+                        userTimeZoneService.zoneOf(userId));
+                List<Routine> existingStandaloneRoutines = calendarItemRepository
+                        .findStandaloneRoutinesStartingBetween(userId, occurrenceMinute, occurrenceMinute.plusMinutes(1));
 
                 // Delete any existing standalone routines found for this occurrence
                 if (!existingStandaloneRoutines.isEmpty()) {
@@ -1743,8 +1914,11 @@ public class CalendarItemServiceImpl implements CalendarItemService {
             }
 
             // 6. NOW add exception to the original routine (after validation passed)
-            routine.addException(request.getExceptionDate());
+            routine.addException(UserTimeZoneService.toUtc(request.getExceptionDate(),
+                    userTimeZoneService.zoneOf(userId)));
             calendarItemRepository.save(routine);
+            // Only the exception collection changed, which does not fire the entity listener
+            userScheduleIndex.onItemSaved(routine);
 
             // 7. Create the new standalone item DIRECTLY (skip createItem's overlap check
             // since we already validated with the exception date context)
@@ -1761,7 +1935,8 @@ public class CalendarItemServiceImpl implements CalendarItemService {
 
             if (newDetails.getTimeSlot() != null) {
                 TimeSlotDTO dto = newDetails.getTimeSlot();
-                TimeSlot timeSlot = new TimeSlot(dto.getStartTime(), dto.getEndTime());
+                TimeSlot timeSlot = UserTimeZoneService.toStoredSlot(
+                        dto.getStartTime(), dto.getEndTime(), userTimeZoneService.zoneOf(userId));
                 standaloneRoutine.setTimeSlot(timeSlot);
             }
 
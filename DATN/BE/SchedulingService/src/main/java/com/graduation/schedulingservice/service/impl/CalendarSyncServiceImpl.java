@@ -0,0 +1,303 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.graduation.schedulingservice.constant.Constant;
+import com.graduation.schedulingservice.model.Calendar;
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.MemorableEvent;
+import com.graduation.schedulingservice.model.MemorableEventCalendarItem;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.Task;
+import com.graduation.schedulingservice.model.enums.CalendarType;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.payload.response.CalendarChangesResponse;
+import com.graduation.schedulingservice.payload.response.ScheduledItemDTO;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.CalendarItemTombstoneRepository;
+import com.graduation.schedulingservice.repository.CalendarRepository;
+import com.graduation.schedulingservice.repository.MemorableEventRepository;
+import com.graduation.schedulingservice.service.CalendarSyncService;
+import com.graduation.schedulingservice.service.CalendarTombstoneService;
+import com.graduation.schedulingservice.service.ICalendarWriter;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Calendar export for external clients: an iCalendar feed tagged with an ETag, and an
+ * incremental changes endpoint driven by item modification times and deletion tombstones.
+ * <p>
+ * Sync tokens carry a point in time on the server clock (the clock of updatedAt). The token
+ * handed out lags the current time by the commit lag, so a write that was flushed before the
+ * response but committed after it is still returned by the next request; some items may be
+ * returned twice, none are missed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CalendarSyncServiceImpl implements CalendarSyncService {
+
+    private static final String TOKEN_PREFIX = "v1:";
+
+    private final CalendarRepository calendarRepository;
+    private final CalendarItemRepository calendarItemRepository;
+    private final CalendarItemTombstoneRepository calendarItemTombstoneRepository;
+    private final MemorableEventRepository memorableEventRepository;
+    private final CalendarTombstoneService calendarTombstoneService;
+    private final UserTimeZoneService userTimeZoneService;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.calendar-sync.feed-batch-size:500}")
+    private int feedBatchSize;
+
+    @Value("${app.calendar-sync.max-changes:1000}")
+    private int maxChanges;
+
+    @Value("${app.calendar-sync.commit-lag-ms:30000}")
+    private long commitLagMs;
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getFeedETag(Long userId, Long calendarId) {
+        Optional<Calendar> calendar = calendarRepository.findByIdAndUserId(calendarId, userId);
+        if (calendar.isEmpty()) {
+            return null;
+        }
+        CalendarItemRepository.CalendarStampView stamp = calendarItemRepository.findCalendarStamp(calendarId);
+        StringBuilder state = new StringBuilder()
+                .append(calendar.get().getName()).append('|')
+                .append(userTimeZoneService.zoneOf(userId).getId()).append('|')
+                .append(stamp.getItemCount()).append('|')
+                .append(stamp.getLastUpdatedAt()).append('|')
+                .append(calendarItemTombstoneRepository.findLastDeletedAt(calendarId));
+        // Memorable events are not calendar items, so their rows take part directly
+        for (MemorableEvent event : memorableEvents(userId, calendar.get())) {
+            state.append('|').append(event.getId()).append(':').append(event.getTitle())
+                    .append(':').append(event.getMonth()).append(':').append(event.getDay());
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Each batch is read and written in its own short read-only transaction and then evicted,
+     * so memory stays bounded however large the calendar is and no connection is held while
+     * the client reads.
+     */
+    @Override
+    public void writeFeed(Long userId, Long calendarId, OutputStream out) throws IOException {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        Calendar calendar = template.execute(status ->
+                calendarRepository.findByIdAndUserId(calendarId, userId).orElse(null));
+        if (calendar == null) {
+            return;
+        }
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ICalendarWriter ical = new ICalendarWriter(writer, zone);
+        ical.begin(calendar.getName());
+
+        try {
+            long afterId = 0;
+            Long lastId;
+            do {
+                long from = afterId;
+                lastId = template.execute(status -> {
+                    List<CalendarItem> batch = calendarItemRepository.findFeedBatch(calendarId, from,
+                            PageRequest.of(0, feedBatchSize));
+                    fetchRoutineCollections(batch);
+                    for (CalendarItem item : batch) {
+                        writeItem(ical, item);
+                    }
+                    entityManager.clear();
+                    return batch.size() == feedBatchSize ? batch.get(batch.size() - 1).getId() : null;
+                });
+                if (lastId != null) {
+                    afterId = lastId;
+                }
+                writer.flush();
+            } while (lastId != null);
+
+            template.executeWithoutResult(status -> writeMemorableEvents(ical, userId, calendar, zone));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ical.end();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BaseResponse<?> getChanges(Long userId, Long calendarId, String syncToken) {
+        if (!calendarRepository.existsByIdAndUserId(calendarId, userId)) {
+            return new BaseResponse<>(0, Constant.MSG_CALENDAR_NOT_FOUND, null);
+        }
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        LocalDateTime nextSince = LocalDateTime.now().minusNanos(commitLagMs * 1_000_000);
+        String nextToken = encodeToken(nextSince);
+
+        LocalDateTime since = decodeToken(syncToken);
+        if (since != null && !since.isBefore(calendarTombstoneService.retentionCutoff())) {
+            List<CalendarItem> changed = calendarItemRepository.findChangedSince(calendarId, since,
+                    PageRequest.of(0, maxChanges + 1));
+            if (changed.size() <= maxChanges) {
+                fetchRoutineCollections(changed);
+                List<ScheduledItemDTO> scheduled = new ArrayList<>();
+                List<Long> deletedIds = new ArrayList<>(
+                        calendarItemTombstoneRepository.findDeletedItemIdsSince(calendarId, since));
+                for (CalendarItem item : changed) {
+                    if (item.isScheduled()) {
+                        scheduled.add(toDto(item, zone));
+                    } else {
+                        // An item taken off the calendar is gone from the client's point of view
+                        deletedIds.add(item.getId());
+                    }
+                }
+                return new BaseResponse<>(1, Constant.MSG_CALENDAR_CHANGES_RETRIEVED,
+                        new CalendarChangesResponse(nextToken, false, scheduled, deletedIds));
+            }
+            log.info("Calendar {} has more than {} changes since the sync token, sending a full sync",
+                    calendarId, maxChanges);
+        }
+
+        List<ScheduledItemDTO> all = new ArrayList<>();
+        long afterId = 0;
+        List<CalendarItem> batch;
+        do {
+            batch = calendarItemRepository.findFeedBatch(calendarId, afterId, PageRequest.of(0, feedBatchSize));
+            fetchRoutineCollections(batch);
+            for (CalendarItem item : batch) {
+                all.add(toDto(item, zone));
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == feedBatchSize);
+        return new BaseResponse<>(1, Constant.MSG_CALENDAR_CHANGES_RETRIEVED,
+                new CalendarChangesResponse(nextToken, true, all, List.of()));
+    }
+
+    /**
+     * Initialize the pattern days and exception dates of the routines in a batch with two
+     * queries, instead of one lazy load per routine while it is written.
+     */
+    private void fetchRoutineCollections(List<CalendarItem> items) {
+        List<Long> routineIds = items.stream()
+                .filter(Routine.class::isInstance)
+                .map(CalendarItem::getId)
+                .collect(Collectors.toList());
+        if (!routineIds.isEmpty()) {
+            calendarItemRepository.fetchRoutinePatterns(routineIds);
+            calendarItemRepository.fetchRoutineExceptions(routineIds);
+        }
+    }
+
+    private static void writeItem(ICalendarWriter ical, CalendarItem item) {
+        try {
+            ical.writeItem(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeMemorableEvents(ICalendarWriter ical, Long userId, Calendar calendar, ZoneId zone) {
+        List<MemorableEvent> events = memorableEvents(userId, calendar);
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Integer>> overriddenYears = new HashMap<>();
+        List<Long> eventIds = events.stream().map(MemorableEvent::getId).collect(Collectors.toList());
+        for (MemorableEventCalendarItem override : calendarItemRepository.findMemorableEventOverrides(userId, eventIds)) {
+            if (override.isScheduled()) {
+                overriddenYears.computeIfAbsent(override.getMemorableEventId(), id -> new TreeSet<>())
+                        .add(UserTimeZoneService.toLocal(override.getTimeSlot().getStartTime(), zone).getYear());
+            }
+        }
+        try {
+            for (MemorableEvent event : events) {
+                ical.writeMemorableEvent(event, overriddenYears.getOrDefault(event.getId(), Set.of()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Memorable events shown in the calendar. Events without a calendar belong to the
+     * personal one.
+     */
+    private List<MemorableEvent> memorableEvents(Long userId, Calendar calendar) {
+        boolean personal = calendar.getType() == CalendarType.PERSONAL;
+        return memorableEventRepository.findByUserId(userId).stream()
+                .filter(event -> calendar.getId().equals(event.getCalendarId())
+                        || (personal && event.getCalendarId() == null))
+                .sorted(Comparator.comparing(MemorableEvent::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static ScheduledItemDTO toDto(CalendarItem item, ZoneId zone) {
+        ScheduledItemDTO dto = new ScheduledItemDTO();
+        dto.setId(item.getId());
+        dto.setType(item.getType().name());
+        dto.setName(item.getName());
+        dto.setColor(item.getColor());
+        dto.setStatus(item.getStatus().name());
+        dto.setTimeSlot(UserTimeZoneService.toResponseSlot(item.getTimeSlot(), zone));
+        if (item instanceof Routine routine) {
+            dto.setPattern(routine.getPattern());
+            dto.setExceptions(UserTimeZoneService.toLocal(routine.getExceptions(), zone));
+            dto.setEndDate(UserTimeZoneService.toLocal(routine.getEndDate(), zone));
+        }
+        dto.setMemorableEventId(item.getMemorableEventId());
+        if (item instanceof Task task) {
+            dto.setParentBigTaskId(task.getParentBigTaskId());
+        }
+        return dto;
+    }
+
+    private static String encodeToken(LocalDateTime since) {
+        long millis = since.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + millis).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LocalDateTime decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(TOKEN_PREFIX)) {
+                return null;
+            }
+            long millis = Long.parseLong(decoded.substring(TOKEN_PREFIX.length()));
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.graduation.schedulingservice.constant.Constant;
+import com.graduation.schedulingservice.payload.request.FreeSlotsRequest;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.payload.response.FreeSlotsResponse;
+import com.graduation.schedulingservice.payload.response.TimeSlotResponseDTO;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
+import com.graduation.schedulingservice.service.FreeBusyService;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Free time of one or more users from the busy bitmaps of {@link FreeBusyIndex}.
+ * <p>
+ * A slot is free for the group when it is free for every member: the AND of the free bitmaps,
+ * computed as the complement of the OR of the busy ones, one word at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FreeBusyServiceImpl implements FreeBusyService {
+
+    private final FreeBusyIndex freeBusyIndex;
+    private final UserTimeZoneService userTimeZoneService;
+
+    @Value("${app.free-busy.max-days:62}")
+    private int maxDays;
+
+    @Value("${app.free-busy.max-users-per-query:100}")
+    private int maxUsersPerQuery;
+
+    @Override
+    public BaseResponse<?> getFreeSlots(Long userId, String from, Integer days, Integer minMinutes) {
+        log.info(Constant.LOG_GET_FREE_SLOTS, userId, from, days);
+        return freeSlots(List.of(userId), from, days, userTimeZoneService.zoneOf(userId), minMinutes);
+    }
+
+    @Override
+    public BaseResponse<?> getCommonFreeSlots(FreeSlotsRequest request) {
+        log.info(Constant.LOG_GET_COMMON_FREE_SLOTS, request.getUserIds(), request.getFrom(), request.getDays());
+        ZoneId zone;
+        try {
+            zone = request.getTimezone() == null || request.getTimezone().isBlank()
+                    ? ZoneOffset.UTC
+                    : ZoneId.of(request.getTimezone());
+        } catch (DateTimeException e) {
+            return new BaseResponse<>(0, Constant.MSG_INVALID_TIMEZONE_FORMAT, null);
+        }
+        return freeSlots(request.getUserIds(), request.getFrom(), request.getDays(), zone, request.getMinMinutes());
+    }
+
+    private BaseResponse<?> freeSlots(List<Long> requestedUserIds, String from, Integer days, ZoneId zone,
+                                      Integer minMinutes) {
+        if (requestedUserIds == null || requestedUserIds.isEmpty()) {
+            return new BaseResponse<>(0, Constant.MSG_FREE_SLOTS_NO_USERS, null);
+        }
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(requestedUserIds));
+        if (userIds.size() > maxUsersPerQuery) {
+            return new BaseResponse<>(0, String.format(Constant.MSG_FREE_SLOTS_TOO_MANY_USERS, maxUsersPerQuery), null);
+        }
+        if (days == null || days < 1 || days > maxDays) {
+            return new BaseResponse<>(0, String.format(Constant.MSG_FREE_SLOTS_INVALID_DAYS, maxDays), null);
+        }
+        LocalDate fromDate;
+        try {
+            fromDate = LocalDate.parse(from);
+        } catch (DateTimeParseException | NullPointerException e) {
+            return new BaseResponse<>(0, Constant.MSG_INVALID_DATE_FORMAT, null);
+        }
+
+        try {
+            LocalDateTime utcStart = UserTimeZoneService.startOfDayUtc(fromDate, zone);
+            LocalDateTime utcEnd = UserTimeZoneService.startOfDayUtc(fromDate.plusDays(days), zone);
+            int length = (int) (Duration.between(utcStart, utcEnd).toMinutes() / FreeBusyIndex.SLOT_MINUTES);
+
+            BitSet busy = new BitSet(length);
+            for (Long userId : userIds) {
+                busy.or(freeBusyIndex.busySlots(userId, utcStart, utcEnd));
+                if (busy.cardinality() == length) {
+                    break;
+                }
+            }
+
+            int minSlots = minMinutes == null || minMinutes <= FreeBusyIndex.SLOT_MINUTES
+                    ? 1
+                    : (minMinutes + FreeBusyIndex.SLOT_MINUTES - 1) / FreeBusyIndex.SLOT_MINUTES;
+            List<TimeSlotResponseDTO> freeSlots = new ArrayList<>();
+            int start = busy.nextClearBit(0);
+            while (start < length) {
+                int nextBusy = busy.nextSetBit(start);
+                int end = nextBusy < 0 || nextBusy > length ? length : nextBusy;
+                if (end - start >= minSlots) {
+                    freeSlots.add(new TimeSlotResponseDTO(toLocal(utcStart, start, zone), toLocal(utcStart, end, zone)));
+                }
+                start = busy.nextClearBit(end);
+            }
+
+            FreeSlotsResponse response = new FreeSlotsResponse(userIds, fromDate, days, zone.getId(),
+                    FreeBusyIndex.SLOT_MINUTES, freeSlots);
+            return new BaseResponse<>(1, Constant.MSG_FREE_SLOTS_RETRIEVED, response);
+        } catch (Exception e) {
+            log.error(Constant.LOG_GET_FREE_SLOTS_FAILED, userIds, e);
+            return new BaseResponse<>(0, Constant.MSG_FREE_SLOTS_FAILED, null);
+        }
+    }
+
+    private static LocalDateTime toLocal(LocalDateTime utcStart, int slot, ZoneId zone) {
+        return UserTimeZoneService.toLocal(utcStart.plusMinutes((long) slot * FreeBusyIndex.SLOT_MINUTES), zone);
+    }
+}
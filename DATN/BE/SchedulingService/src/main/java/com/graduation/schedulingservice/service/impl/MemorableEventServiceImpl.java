@@ -1,5 +1,6 @@
 package com.graduation.schedulingservice.service.impl;
 
+import com.graduation.schedulingservice.constant.Constant;
 import com.graduation.schedulingservice.model.*;
 import com.graduation.schedulingservice.model.enums.ItemStatus;
 import com.graduation.schedulingservice.payload.request.MemorableEventDTO;
@@ -13,16 +14,21 @@ import com.graduation.schedulingservice.repository.CalendarItemRepository;
 import com.graduation.schedulingservice.repository.CalendarRepository;
 import com.graduation.schedulingservice.repository.MemorableEventRepository;
 import com.graduation.schedulingservice.service.MemorableEventService;
+import com.graduation.schedulingservice.service.RecurrenceExpansionEngine;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,6 +39,7 @@ public class MemorableEventServiceImpl implements MemorableEventService {
     private final MemorableEventRepository memorableEventRepository;
     private final CalendarItemRepository calendarItemRepository;
     private final CalendarRepository calendarRepository;
+    private final UserTimeZoneService userTimeZoneService;
 
     @Override
     public BaseResponse<?> getMemorableEvents(Long userId) {
@@ -71,92 +78,163 @@ public class MemorableEventServiceImpl implements MemorableEventService {
                     userId, request.getEvents().size());
 
             // Step 1: Get user's private calendar
-            Calendar privateCalendar = calendarRepository.findByUserId(userId).stream()
-                    .filter(cal -> cal.getType().toString().equals("PERSONAL"))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Private calendar not found for user"));
+            Calendar privateCalendar = findPrivateCalendar(userId);
 
-            // Step 2: Delete all old memorable events and their linked calendar items
+            // Step 2: Diff the new list against the stored one. Occurrences are expanded at read
+            // time, so unchanged events are left alone and only added/removed events are written.
             List<MemorableEvent> oldEvents = memorableEventRepository.findByUserId(userId);
-            List<Long> oldEventIds = oldEvents.stream()
-                    .map(MemorableEvent::getId)
-                    .collect(Collectors.toList());
-
-            // Delete calendar items linked to old memorable events
-            if (!oldEventIds.isEmpty()) {
-                calendarItemRepository.deleteByMemorableEventIdIn(oldEventIds);
-                log.info("Deleted calendar items linked to {} memorable events", oldEventIds.size());
+            Map<String, MemorableEvent> remaining = new HashMap<>();
+            for (MemorableEvent event : oldEvents) {
+                remaining.putIfAbsent(keyOf(event.getTitle(), event.getDay(), event.getMonth()), event);
             }
 
-            // Delete old memorable events
-            memorableEventRepository.deleteByUserId(userId);
-            log.info("Deleted {} old memorable events for userId={}", oldEvents.size(), userId);
-
-            // Step 3: Create new memorable events
             List<MemorableEvent> newEvents = new ArrayList<>();
+            List<MemorableEvent> keptEvents = new ArrayList<>();
             for (MemorableEventDTO dto : request.getEvents()) {
+                MemorableEvent kept = remaining.remove(keyOf(dto.getTitle(), dto.getDay(), dto.getMonth()));
+                if (kept != null) {
+                    keptEvents.add(kept);
+                    continue;
+                }
                 MemorableEvent event = new MemorableEvent();
                 event.setUserId(userId);
                 event.setTitle(dto.getTitle());
                 event.setDay(dto.getDay());
                 event.setMonth(dto.getMonth());
+                event.setCalendarId(privateCalendar.getId());
                 newEvents.add(event);
             }
 
-            List<MemorableEvent> savedEvents = memorableEventRepository.saveAll(newEvents);
-            log.info("Created {} new memorable events for userId={}", savedEvents.size(), userId);
-
-            // Step 4: Generate calendar Event items for next 5 years
-            int calendarItemsGenerated = 0;
-            int currentYear = LocalDate.now().getYear();
-
-            for (MemorableEvent memorableEvent : savedEvents) {
-                for (int yearOffset = 0; yearOffset < 5; yearOffset++) {
-                    int targetYear = currentYear + yearOffset;
-
-                    // CREATE MemorableEventCalendarItem instead of Event
-                    MemorableEventCalendarItem calendarEvent = new MemorableEventCalendarItem();
-                    calendarEvent.setUserId(userId);
-                    calendarEvent.setCalendarId(privateCalendar.getId());
-                    calendarEvent.setName(memorableEvent.getTitle());
-                    calendarEvent.setMemorableEventId(memorableEvent.getId());
-                    calendarEvent.setStatus(ItemStatus.INCOMPLETE);
-                    calendarEvent.setColor("#FF6B9D"); // Pink color for memorable events
-
-                    // Create TimeSlot for the event (all-day event)
-                    LocalDateTime startDateTime = LocalDateTime.of(
-                            targetYear,
-                            memorableEvent.getMonth(),
-                            memorableEvent.getDay(),
-                            0, 0
-                    );
-                    LocalDateTime endDateTime = startDateTime.plusDays(1);
-
-                    TimeSlot timeSlot = new TimeSlot();
-                    timeSlot.setStartTime(startDateTime);
-                    timeSlot.setEndTime(endDateTime);
-//                    timeSlot.setTimezone("UTC+07:00"); // Default timezone, should be from user settings
-
-                    calendarEvent.setTimeSlot(timeSlot);
-
-                    calendarItemRepository.save(calendarEvent);
-                    calendarItemsGenerated++;
-                }
+            // Step 3: Delete removed events together with their per-year overrides
+            if (!remaining.isEmpty()) {
+                List<Long> removedIds = remaining.values().stream()
+                        .map(MemorableEvent::getId)
+                        .collect(Collectors.toList());
+                calendarItemRepository.deleteByMemorableEventIdIn(removedIds);
+                memorableEventRepository.deleteAll(remaining.values());
+                log.info("Deleted {} memorable events for userId={}", removedIds.size(), userId);
             }
 
-            log.info("Generated {} calendar items for {} memorable events over 5 years",
-                    calendarItemsGenerated, savedEvents.size());
+            // Step 4: Move kept legacy events onto read-time expansion
+            compactLegacyEvents(userId, privateCalendar, keptEvents);
+
+            List<MemorableEvent> savedEvents = memorableEventRepository.saveAll(newEvents);
+            log.info("Created {} new memorable events for userId={}", savedEvents.size(), userId);
 
             UpdateMemorableEventsResponse response = UpdateMemorableEventsResponse.builder()
                     .eventsCreated(savedEvents.size())
-                    .calendarItemsGenerated(calendarItemsGenerated)
+                    .calendarItemsGenerated(0)
                     .build();
 
-            return new BaseResponse<>(1, "Memorable events updated, calendar events generated", response);
+            return new BaseResponse<>(1, "Memorable events updated", response);
 
         } catch (Exception e) {
             log.error("Failed to update memorable events for userId={}", userId, e);
             return new BaseResponse<>(0, "Failed to update memorable events", null);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public BaseResponse<?> materializeOccurrence(Long userId, Long memorableEventId, int year) {
+        try {
+            Optional<MemorableEvent> eventOpt = memorableEventRepository.findById(memorableEventId)
+                    .filter(event -> event.getUserId().equals(userId));
+            if (eventOpt.isEmpty()) {
+                log.warn("Memorable event not found or unauthorized: memorableEventId={}, userId={}",
+                        memorableEventId, userId);
+                return new BaseResponse<>(0, "Memorable event not found", null);
+            }
+            MemorableEvent event = eventOpt.get();
+            ZoneId zone = userTimeZoneService.zoneOf(userId);
+
+            // Already edited this year: hand back the existing override
+            Optional<MemorableEventCalendarItem> existing = calendarItemRepository
+                    .findMemorableEventOverrides(userId, List.of(memorableEventId)).stream()
+                    .filter(item -> item.isScheduled()
+                            && UserTimeZoneService.toLocal(item.getTimeSlot().getStartTime(), zone).getYear() == year)
+                    .findFirst();
+            if (existing.isPresent()) {
+                return new BaseResponse<>(1, "Memorable event occurrence already exists", existing.get().getId());
+            }
+
+            Long calendarId = event.getCalendarId() != null
+                    ? event.getCalendarId()
+                    : findPrivateCalendar(userId).getId();
+            MemorableEventCalendarItem saved = calendarItemRepository.save(
+                    toCalendarItem(event, calendarId, year, zone));
+            log.info("Materialized memorable event occurrence: memorableEventId={}, year={}, itemId={}",
+                    memorableEventId, year, saved.getId());
+            return new BaseResponse<>(1, "Memorable event occurrence created", saved.getId());
+
+        } catch (Exception e) {
+            log.error("Failed to materialize memorable event occurrence: memorableEventId={}, year={}",
+                    memorableEventId, year, e);
+            return new BaseResponse<>(0, "Failed to create memorable event occurrence", null);
+        }
+    }
+
+    /**
+     * Events created before occurrences were expanded at read time carry five pre-generated
+     * calendar items. Drop the ones that still match the rule untouched, so only real edits
+     * remain as overrides, and record the calendar on the event.
+     */
+    private void compactLegacyEvents(Long userId, Calendar privateCalendar, List<MemorableEvent> keptEvents) {
+        List<MemorableEvent> legacyEvents = keptEvents.stream()
+                .filter(event -> event.getCalendarId() == null)
+                .collect(Collectors.toList());
+        if (legacyEvents.isEmpty()) {
+            return;
+        }
+
+        ZoneId zone = userTimeZoneService.zoneOf(userId);
+        Map<Long, MemorableEvent> byId = legacyEvents.stream()
+                .collect(Collectors.toMap(MemorableEvent::getId, event -> event));
+        List<MemorableEventCalendarItem> untouched = calendarItemRepository
+                .findMemorableEventOverrides(userId, byId.keySet()).stream()
+                .filter(item -> isUntouchedOccurrence(item, byId.get(item.getMemorableEventId()), zone))
+                .collect(Collectors.toList());
+        calendarItemRepository.deleteAll(untouched);
+
+        legacyEvents.forEach(event -> event.setCalendarId(privateCalendar.getId()));
+        memorableEventRepository.saveAll(legacyEvents);
+        log.info("Compacted {} legacy memorable events for userId={}, removed {} generated items",
+                legacyEvents.size(), userId, untouched.size());
+    }
+
+    private boolean isUntouchedOccurrence(MemorableEventCalendarItem item, MemorableEvent event, ZoneId zone) {
+        if (event == null || !item.isScheduled() || item.getStatus() != ItemStatus.INCOMPLETE
+                || !event.getTitle().equals(item.getName()) || item.getNote() != null) {
+            return false;
+        }
+        LocalDateTime start = UserTimeZoneService.toLocal(item.getTimeSlot().getStartTime(), zone);
+        return start.toLocalTime().equals(LocalTime.MIDNIGHT)
+                && start.toLocalDate().equals(RecurrenceExpansionEngine.yearlyOccurrenceDate(event, start.getYear()));
+    }
+
+    private MemorableEventCalendarItem toCalendarItem(MemorableEvent event, Long calendarId, int year, ZoneId zone) {
+        MemorableEventCalendarItem calendarEvent = new MemorableEventCalendarItem();
+        calendarEvent.setUserId(event.getUserId());
+        calendarEvent.setCalendarId(calendarId);
+        calendarEvent.setName(event.getTitle());
+        calendarEvent.setMemorableEventId(event.getId());
+        calendarEvent.setStatus(ItemStatus.INCOMPLETE);
+        calendarEvent.setColor(Constant.MEMORABLE_EVENT_COLOR);
+
+        // All-day: local midnight to midnight, stored in UTC
+        LocalDateTime startDateTime = RecurrenceExpansionEngine.yearlyOccurrenceDate(event, year).atStartOfDay();
+        calendarEvent.setTimeSlot(UserTimeZoneService.toStoredSlot(startDateTime, startDateTime.plusDays(1), zone));
+        return calendarEvent;
+    }
+
+    private Calendar findPrivateCalendar(Long userId) {
+        return calendarRepository.findByUserId(userId).stream()
+                .filter(cal -> cal.getType().toString().equals("PERSONAL"))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Private calendar not found for user"));
+    }
+
+    private static String keyOf(String title, Integer day, Integer month) {
+        return title + "|" + day + "|" + month;
+    }
+}
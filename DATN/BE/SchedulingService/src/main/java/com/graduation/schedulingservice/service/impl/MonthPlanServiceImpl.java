@@ -9,22 +9,32 @@ import com.graduation.schedulingservice.payload.request.*;
 import com.graduation.schedulingservice.payload.request.UnscheduledTaskDTO;
 import com.graduation.schedulingservice.payload.response.*;
 import com.graduation.schedulingservice.repository.*;
+import com.graduation.schedulingservice.service.BigTaskProgressService;
 import com.graduation.schedulingservice.service.ConstraintValidationService;
 import com.graduation.schedulingservice.service.MonthPlanService;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -38,6 +48,8 @@ public class MonthPlanServiceImpl implements MonthPlanService {
     private final CalendarItemRepository calendarItemRepository;
     private final BigTaskRepository bigTaskRepository;
     private final CalendarRepository calendarRepository;
+    private final UserTimeZoneService userTimeZoneService;
+    private final BigTaskProgressService bigTaskProgressService;
 
     @Override
     @Transactional
@@ -81,6 +93,12 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             log.info("Month plan created successfully: monthPlanId={}", savedMonthPlan.getId());
             return new BaseResponse<>(1, "Month plan created successfully", response);
 
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request created the same month after the check; the unique key rejected this one
+            log.warn("Month plan created concurrently: userId={}, year={}, month={}",
+                    userId, request.getYear(), request.getMonth());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new BaseResponse<>(0, "Month plan already exists for this period", null);
         } catch (Exception e) {
             log.error("Failed to create month plan: userId={}, year={}, month={}",
                     userId, request.getYear(), request.getMonth(), e);
@@ -88,6 +106,195 @@ public class MonthPlanServiceImpl implements MonthPlanService {
         }
     }
 
+    /**
+     * All new rows are collected first and written with one saveAll per entity type, in a
+     * single transaction; nothing is written if any big task is invalid. A month created by a
+     * concurrent request between the load and the insert trips the unique key on
+     * (user_id, year, month) and rolls the whole batch back.
+     */
+    @Override
+    @Transactional
+    public BaseResponse<?> bulkCreateMonthPlans(Long userId, BulkCreateMonthPlansRequest request) {
+        try {
+            // 1. Deduplicate and order the requested months
+            TreeMap<YearMonth, BulkCreateMonthPlansRequest.MonthToCreate> requested = new TreeMap<>();
+            for (BulkCreateMonthPlansRequest.MonthToCreate month : request.getMonths()) {
+                requested.putIfAbsent(YearMonth.of(month.getYear(), month.getMonth()), month);
+            }
+            log.info("Bulk creating month plans: userId={}, months={}", userId, requested.keySet());
+
+            // 2. Validate every big task before writing anything
+            for (Map.Entry<YearMonth, BulkCreateMonthPlansRequest.MonthToCreate> entry : requested.entrySet()) {
+                String error = validateBigTasks(entry.getKey(), entry.getValue().getBigTasks());
+                if (error != null) {
+                    return new BaseResponse<>(0, error, null);
+                }
+            }
+
+            // 2.5. Unscheduled tasks and routines need the default calendar, resolved once
+            boolean needsCalendar = requested.values().stream().anyMatch(month ->
+                    (month.getApprovedRoutineNames() != null && !month.getApprovedRoutineNames().isEmpty())
+                            || (month.getBigTasks() != null && month.getBigTasks().stream()
+                            .anyMatch(bigTask -> bigTask.getUnscheduledTasks() != null
+                                    && !bigTask.getUnscheduledTasks().isEmpty())));
+            Long defaultCalendarId = null;
+            if (needsCalendar) {
+                List<Calendar> userCalendars = calendarRepository.findByUserId(userId);
+                if (userCalendars.isEmpty()) {
+                    log.warn("No calendars found for user: userId={}", userId);
+                    return new BaseResponse<>(0, "No calendar found for this user. Cannot create tasks.", null);
+                }
+                defaultCalendarId = userCalendars.get(0).getId();
+            }
+
+            // 3. Load the existing plans of those years, and of the month before the first, in one query
+            Set<Integer> years = new HashSet<>();
+            requested.keySet().forEach(yearMonth -> years.add(yearMonth.getYear()));
+            years.add(requested.firstKey().minusMonths(1).getYear());
+            Map<YearMonth, MonthPlan> plans = new HashMap<>();
+            for (MonthPlan existing : monthPlanRepository.findByUserIdAndYearIn(userId, years)) {
+                plans.putIfAbsent(YearMonth.of(existing.getYear(), existing.getMonth()), existing);
+            }
+
+            // 4. Build the missing month plans in order, each carrying over the previous month's routines
+            Map<YearMonth, MonthPlan> created = new TreeMap<>();
+            for (Map.Entry<YearMonth, BulkCreateMonthPlansRequest.MonthToCreate> entry : requested.entrySet()) {
+                YearMonth yearMonth = entry.getKey();
+                if (plans.containsKey(yearMonth)) {
+                    continue;
+                }
+                MonthPlan previous = plans.get(yearMonth.minusMonths(1));
+                List<String> routines = entry.getValue().getApprovedRoutineNames() != null
+                        ? new ArrayList<>(new LinkedHashSet<>(entry.getValue().getApprovedRoutineNames()))
+                        : previous != null ? new ArrayList<>(previous.getApprovedRoutineNames()) : new ArrayList<>();
+
+                MonthPlan monthPlan = new MonthPlan();
+                monthPlan.setUserId(userId);
+                monthPlan.setYear(yearMonth.getYear());
+                monthPlan.setMonth(yearMonth.getMonthValue());
+                monthPlan.setStatus(PlanStatus.DRAFT);
+                monthPlan.setApprovedRoutineNames(routines);
+                plans.put(yearMonth, monthPlan);
+                created.put(yearMonth, monthPlan);
+            }
+            monthPlanRepository.saveAll(created.values());
+
+            // 5. Week plans of every new month
+            Map<Long, List<Long>> weekPlanIds = new HashMap<>();
+            List<WeekPlan> weekPlans = new ArrayList<>();
+            for (MonthPlan monthPlan : created.values()) {
+                weekPlans.addAll(buildWeekPlans(monthPlan.getId(), monthPlan.getYear(), monthPlan.getMonth()));
+            }
+            weekPlanRepository.saveAll(weekPlans);
+
+            // 6. Big tasks, with their derived task counts set up front
+            Map<Long, List<Long>> bigTaskIds = new HashMap<>();
+            List<BigTask> bigTasks = new ArrayList<>();
+            List<List<UnscheduledTaskDTO>> bigTaskTasks = new ArrayList<>();
+            for (Map.Entry<YearMonth, MonthPlan> entry : created.entrySet()) {
+                List<AddBigTaskRequest> specs = requested.get(entry.getKey()).getBigTasks();
+                if (specs == null) {
+                    continue;
+                }
+                for (AddBigTaskRequest spec : specs) {
+                    List<UnscheduledTaskDTO> tasks = spec.getUnscheduledTasks() != null
+                            ? spec.getUnscheduledTasks()
+                            : List.of();
+                    BigTask bigTask = new BigTask();
+                    bigTask.setName(spec.getName());
+                    bigTask.setDescription(spec.getDescription());
+                    bigTask.setEstimatedStartDate(spec.getEstimatedStartDate());
+                    bigTask.setEstimatedEndDate(spec.getEstimatedEndDate());
+                    bigTask.setStatus(TaskStatus.NOT_STARTED);
+                    bigTask.setMonthPlan(entry.getValue());
+                    bigTask.setDerivedTasksCount(tasks.size());
+                    bigTask.setCompletedTasksCount(0);
+                    bigTasks.add(bigTask);
+                    bigTaskTasks.add(tasks);
+                }
+            }
+            bigTaskRepository.saveAll(bigTasks);
+
+            // 7. Unscheduled tasks of the big tasks and routines of explicitly approved names
+            List<CalendarItem> items = new ArrayList<>();
+            for (int i = 0; i < bigTasks.size(); i++) {
+                BigTask bigTask = bigTasks.get(i);
+                bigTaskIds.computeIfAbsent(bigTask.getMonthPlanId(), id -> new ArrayList<>()).add(bigTask.getId());
+                for (UnscheduledTaskDTO dto : bigTaskTasks.get(i)) {
+                    Task task = new Task();
+                    task.setName(dto.getName());
+                    task.setNote(dto.getNote());
+                    task.setUserId(userId);
+                    task.setCalendarId(defaultCalendarId);
+                    task.setMonthPlanId(bigTask.getMonthPlanId());
+                    task.setParentBigTaskId(bigTask.getId());
+                    task.setStatus(ItemStatus.INCOMPLETE);
+                    items.add(task);
+                }
+            }
+            for (Map.Entry<YearMonth, MonthPlan> entry : created.entrySet()) {
+                if (requested.get(entry.getKey()).getApprovedRoutineNames() == null) {
+                    continue;
+                }
+                for (String routineName : entry.getValue().getApprovedRoutineNames()) {
+                    Routine routine = new Routine();
+                    routine.setUserId(userId);
+                    routine.setMonthPlanId(entry.getValue().getId());
+                    routine.setName(routineName);
+                    routine.setCalendarId(defaultCalendarId);
+                    routine.setStatus(ItemStatus.INCOMPLETE);
+                    items.add(routine);
+                }
+            }
+            calendarItemRepository.saveAll(items);
+
+            // 8. Week plans of the months that already existed, in one query
+            for (WeekPlan weekPlan : weekPlans) {
+                weekPlanIds.computeIfAbsent(weekPlan.getMonthPlanId(), id -> new ArrayList<>()).add(weekPlan.getId());
+            }
+            List<Long> existingIds = requested.keySet().stream()
+                    .filter(yearMonth -> !created.containsKey(yearMonth))
+                    .map(yearMonth -> plans.get(yearMonth).getId())
+                    .collect(Collectors.toList());
+            if (!existingIds.isEmpty()) {
+                for (WeekPlan weekPlan : weekPlanRepository.findByMonthPlanIdInOrderByWeekNumberAsc(existingIds)) {
+                    weekPlanIds.computeIfAbsent(weekPlan.getMonthPlanId(), id -> new ArrayList<>()).add(weekPlan.getId());
+                }
+            }
+
+            // 9. Build response
+            List<BulkCreateMonthPlansResponse.MonthResult> results = new ArrayList<>();
+            for (YearMonth yearMonth : requested.keySet()) {
+                MonthPlan monthPlan = plans.get(yearMonth);
+                boolean isNew = created.containsKey(yearMonth);
+                results.add(new BulkCreateMonthPlansResponse.MonthResult(
+                        yearMonth.getYear(),
+                        yearMonth.getMonthValue(),
+                        monthPlan.getId(),
+                        isNew,
+                        new ArrayList<>(monthPlan.getApprovedRoutineNames()),
+                        weekPlanIds.getOrDefault(monthPlan.getId(), List.of()),
+                        isNew ? bigTaskIds.getOrDefault(monthPlan.getId(), List.of()) : null));
+            }
+
+            log.info("Bulk month plan creation done: userId={}, created={}, existing={}, weekPlans={}, bigTasks={}, items={}",
+                    userId, created.size(), existingIds.size(), weekPlans.size(), bigTasks.size(), items.size());
+            return new BaseResponse<>(1, "Month plans created successfully",
+                    new BulkCreateMonthPlansResponse(created.size(), results));
+
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request created one of the months after they were loaded; a retry reports it as existing
+            log.warn("Month plans created concurrently: userId={}", userId);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new BaseResponse<>(0, "Some of these month plans were just created by another request, please retry", null);
+        } catch (Exception e) {
+            log.error("Failed to bulk create month plans: userId={}", userId, e);
+            // The error is returned rather than thrown, so roll back the months written so far
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new BaseResponse<>(0, "Failed to create month plans", null);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BaseResponse<?> getMonthPlan(Long userId, Long monthPlanId) {
@@ -104,10 +311,6 @@ public class MonthPlanServiceImpl implements MonthPlanService {
 
             MonthPlan monthPlan = monthPlanOpt.get();
 
-            // --- OPTIMIZATION ---
-            // 1.5. Get all calendar items for this user ONCE to avoid multiple DB calls
-            List<CalendarItem> allUserItems = calendarItemRepository.findAllByUserId(userId);
-
             // 2. Build response
             MonthPlanResponse response = new MonthPlanResponse();
             response.setId(monthPlan.getId());
@@ -115,28 +318,26 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             response.setMonth(monthPlan.getMonth());
             response.setStatus(monthPlan.getStatus().name());
 
-            // --- MODIFIED LOGIC ---
-            // 2.5. Get unscheduled routines for this month
-            // This now filters all user items for Routines that match this monthPlanId and
-            // are unscheduled (no time slot)
-            List<String> unscheduledRoutineNames = allUserItems.stream()
-                    .filter(item -> item instanceof Routine) // Filter for Routine type
-                    .filter(item -> item.getMonthPlanId() != null && item.getMonthPlanId().equals(monthPlanId)) // Filter
-                                                                                                                // for
-                                                                                                                // this
-                                                                                                                // month
-                                                                                                                // plan
-                    .map(item -> (Routine) item) // Cast to Routine
-                    // .filter(routine -> routine.getTimeSlot() == null ||
-                    // routine.getTimeSlot().getStartTime() == null) // Filter
-                    // for
-                    // unscheduled
-                    .map(Routine::getName) // Get the name
-                    .collect(Collectors.toList());
+            // 2.5. Get routine names for this month plan
+            List<String> unscheduledRoutineNames = calendarItemRepository.findRoutineNamesByMonthPlan(userId,
+                    monthPlanId);
 
             response.setApprovedRoutineNames(unscheduledRoutineNames);
 
             // 3. Get big tasks with derived tasks count and completion percentage
+            // Counts are maintained on the big task; only rows the checker has not built yet
+            // fall back to a grouped query
+            List<Long> unbuiltBigTaskIds = monthPlan.getBigTasks().stream()
+                    .filter(bigTask -> bigTask.getDerivedTasksCount() == null
+                            || bigTask.getCompletedTasksCount() == null)
+                    .map(BigTask::getId)
+                    .toList();
+            Map<Long, CalendarItemRepository.BigTaskProgressView> progressByBigTask = unbuiltBigTaskIds.isEmpty()
+                    ? Map.of()
+                    : calendarItemRepository.findBigTaskProgress(userId, unbuiltBigTaskIds).stream()
+                            .collect(Collectors.toMap(CalendarItemRepository.BigTaskProgressView::getBigTaskId,
+                                    progress -> progress));
+
             List<BigTaskDTO> bigTaskDTOs = monthPlan.getBigTasks().stream()
                     .map(bigTask -> {
                         BigTaskDTO dto = new BigTaskDTO();
@@ -146,24 +347,26 @@ public class MonthPlanServiceImpl implements MonthPlanService {
                         dto.setEstimatedEndDate(bigTask.getEstimatedEndDate());
 
                         // Count derived tasks (Tasks with parentBigTaskId = bigTask.id)
-                        // Use the prefetched allUserItems list
-                        List<CalendarItem> derivedTasks = allUserItems.stream()
-                                .filter(item -> item instanceof Task)
-                                .filter(item -> ((Task) item).getParentBigTaskId() != null)
-                                .filter(item -> ((Task) item).getParentBigTaskId().equals(bigTask.getId()))
-                                .collect(Collectors.toList());
+                        long total;
+                        long completedCount;
+                        if (bigTask.getDerivedTasksCount() != null && bigTask.getCompletedTasksCount() != null) {
+                            total = bigTask.getDerivedTasksCount();
+                            completedCount = bigTask.getCompletedTasksCount();
+                        } else {
+                            CalendarItemRepository.BigTaskProgressView progress = progressByBigTask.get(bigTask.getId());
+                            total = progress != null ? progress.getTotal() : 0;
+                            completedCount = progress != null && progress.getCompleted() != null
+                                    ? progress.getCompleted()
+                                    : 0;
+                        }
 
-                        dto.setDerivedTasksCount(derivedTasks.size());
+                        dto.setDerivedTasksCount((int) total);
 
                         // Calculate completion percentage
-                        if (derivedTasks.isEmpty()) {
+                        if (total == 0) {
                             dto.setCompletionPercentage(0);
                         } else {
-                            long completedCount = derivedTasks.stream()
-                                    .map(item -> (Task) item)
-                                    .filter(task -> task.getStatus().name().equals("COMPLETE"))
-                                    .count();
-                            dto.setCompletionPercentage((int) ((completedCount * 100) / derivedTasks.size()));
+                            dto.setCompletionPercentage((int) ((completedCount * 100) / total));
                         }
 
                         return dto;
@@ -173,22 +376,20 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             response.setBigTasks(bigTaskDTOs);
 
             // 4. Get events for this month (Events with monthPlanId = this monthPlan.id)
-            // Use the prefetched allUserItems list
-            List<EventDTO> eventDTOs = allUserItems.stream()
-                    .filter(item -> item instanceof Event)
-                    .filter(item -> item.getMonthPlanId() != null)
-                    .filter(item -> item.getMonthPlanId().equals(monthPlanId))
-                    .map(item -> {
-                        Event event = (Event) item;
+            ZoneId zone = userTimeZoneService.zoneOf(userId);
+            List<EventDTO> eventDTOs = calendarItemRepository.findEventsByMonthPlan(userId, monthPlanId).stream()
+                    .map(event -> {
                         EventDTO dto = new EventDTO();
                         dto.setId(event.getId());
                         dto.setName(event.getName());
 
-                        // Get specific date from timeSlot
+                        // Get specific date from timeSlot (stored in UTC, shown in the user's zone)
                         if (event.getTimeSlot() != null && event.getTimeSlot().getStartTime() != null) {
-                            dto.setSpecificDate(event.getTimeSlot().getStartTime().toLocalDate());
-                            dto.setStartTime(event.getTimeSlot().getStartTime().toLocalTime());
-                            dto.setEndTime(event.getTimeSlot().getEndTime().toLocalTime());
+                            LocalDateTime start = UserTimeZoneService.toLocal(event.getTimeSlot().getStartTime(), zone);
+                            LocalDateTime end = UserTimeZoneService.toLocal(event.getTimeSlot().getEndTime(), zone);
+                            dto.setSpecificDate(start.toLocalDate());
+                            dto.setStartTime(start.toLocalTime());
+                            dto.setEndTime(end.toLocalTime());
                             dto.setIsScheduled(true);
                         } else {
                             dto.setIsScheduled(false);
@@ -330,6 +531,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
                     unscheduledTasks.add(task);
                 }
                 savedUnscheduledTasks = calendarItemRepository.saveAll(unscheduledTasks);
+                savedUnscheduledTasks.forEach(bigTaskProgressService::onTaskAdded);
                 log.info("Created {} unscheduled tasks for bigTaskId={}", unscheduledTasks.size(),
                         savedBigTask.getId());
             }
@@ -396,25 +598,21 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             }
 
             // 4. Fetch derived tasks (both scheduled and unscheduled)
-            List<Task> derivedTasks = calendarItemRepository.findAllByUserId(userId).stream()
-                    .filter(item -> item instanceof Task)
-                    .map(item -> (Task) item) // Cast to Task
-                    .filter(task -> task.getParentBigTaskId() != null
-                            && task.getParentBigTaskId().equals(bigTask.getId()))
-                    .collect(Collectors.toList());
+            List<Task> derivedTasks = calendarItemRepository.findTasksByParentBigTaskId(userId, bigTask.getId());
 
             // 5. Build BigTaskDTO
             BigTaskDTO bigTaskDTO = mapToBigTaskDTO(bigTask, derivedTasks);
 
             // 6. Build Scheduled Tasks List
+            ZoneId zone = userTimeZoneService.zoneOf(userId);
             List<ScheduledTaskResponseDTO> scheduledTasks = derivedTasks.stream()
                     .filter(Task::isScheduled) // Filter for scheduled
                     .map(task -> new ScheduledTaskResponseDTO(
                             task.getId(),
                             task.getName(),
                             task.getNote(),
-                            task.getTimeSlot().getStartTime(),
-                            task.getTimeSlot().getEndTime()))
+                            UserTimeZoneService.toLocal(task.getTimeSlot().getStartTime(), zone),
+                            UserTimeZoneService.toLocal(task.getTimeSlot().getEndTime(), zone)))
                     .collect(Collectors.toList());
 
             // 7. Build Unscheduled Tasks List
@@ -500,12 +698,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
 
             // 9. Build response DTO
             // We need to fetch the derived tasks to build the DTO correctly
-            List<Task> derivedTasks = calendarItemRepository.findAllByUserId(userId).stream()
-                    .filter(item -> item instanceof Task)
-                    .map(item -> (Task) item)
-                    .filter(task -> task.getParentBigTaskId() != null
-                            && task.getParentBigTaskId().equals(savedBigTask.getId()))
-                    .collect(Collectors.toList());
+            List<Task> derivedTasks = calendarItemRepository.findTasksByParentBigTaskId(userId, savedBigTask.getId());
 
             // Validate new date range against *scheduled* derived tasks
             List<Task> scheduledDerivedTasks = derivedTasks.stream()
@@ -516,8 +709,10 @@ public class MonthPlanServiceImpl implements MonthPlanService {
                 LocalDate newBigTaskStart = request.getEstimatedStartDate();
                 LocalDate newBigTaskEnd = request.getEstimatedEndDate();
 
+                ZoneId zone = userTimeZoneService.zoneOf(userId);
                 for (Task scheduledTask : scheduledDerivedTasks) {
-                    LocalDate taskDate = scheduledTask.getTimeSlot().getStartTime().toLocalDate();
+                    LocalDate taskDate = UserTimeZoneService.toLocal(
+                            scheduledTask.getTimeSlot().getStartTime(), zone).toLocalDate();
 
                     // Check if the scheduled task's date is outside the new proposed range
                     if (taskDate.isBefore(newBigTaskStart) || taskDate.isAfter(newBigTaskEnd)) {
@@ -587,6 +782,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
 
             // 5. Save task
             Task savedTask = calendarItemRepository.save(unscheduledTask);
+            bigTaskProgressService.onTaskAdded(savedTask);
 
             // 6. Build response
             UnscheduledTaskResponseDTO responseDTO = new UnscheduledTaskResponseDTO(
@@ -711,12 +907,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             }
 
             // 4. Find all derived tasks (scheduled and unscheduled)
-            List<Task> derivedTasks = calendarItemRepository.findAllByUserId(userId).stream()
-                    .filter(item -> item instanceof Task)
-                    .map(item -> (Task) item)
-                    .filter(task -> task.getParentBigTaskId() != null
-                            && task.getParentBigTaskId().equals(bigTask.getId()))
-                    .collect(Collectors.toList());
+            List<Task> derivedTasks = calendarItemRepository.findTasksByParentBigTaskId(userId, bigTask.getId());
 
             // 5. Delete all derived tasks
             if (!derivedTasks.isEmpty()) {
@@ -788,28 +979,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
                 return new BaseResponse<>(0, "Unauthorized access to calendar", null);
             }
 
-            // // 6. Check for duplicate event on the same date in this month plan
-            // boolean duplicateExists =
-            // calendarItemRepository.findAllByUserId(userId).stream()
-            // .filter(item -> item instanceof Event)
-            // .filter(item -> item.getMonthPlanId() != null)
-            // .filter(item -> item.getMonthPlanId().equals(monthPlanId))
-            // .filter(item -> item.getTimeSlot() != null &&
-            // item.getTimeSlot().getStartTime() != null)
-            // .anyMatch(item ->
-            // item.getTimeSlot().getStartTime().toLocalDate().equals(request.getSpecificDate()));
-            //
-            // if (duplicateExists) {
-            // log.warn("Event already exists on this date in month plan: date={},
-            // monthPlanId={}",
-            // request.getSpecificDate(), monthPlanId);
-            // return new BaseResponse<>(0,
-            // "An event already exists on " + request.getSpecificDate() + " in this month
-            // plan",
-            // null);
-            // }
-
-            // 7. Find the week plan that contains this date
+            // 6. Find the week plan that contains this date
             Optional<WeekPlan> weekPlanOpt = weekPlanRepository.findByMonthPlanIdAndDateWithin(
                     monthPlanId,
                     request.getSpecificDate());
@@ -822,7 +992,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
 
             WeekPlan weekPlan = weekPlanOpt.get();
 
-            // 8. Create Event entity
+            // 7. Create Event entity
             Event event = new Event();
             event.setUserId(userId);
             event.setCalendarId(request.getCalendarId());
@@ -832,7 +1002,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             event.setNote(request.getNote());
             event.setStatus(ItemStatus.INCOMPLETE);
 
-            // 9. Create TimeSlot (auto-schedule)
+            // 8. Create TimeSlot (auto-schedule)
             LocalDateTime startDateTime = LocalDateTime.of(request.getSpecificDate(), request.getStartTime());
             LocalDateTime endDateTime = LocalDateTime.of(request.getSpecificDate(), request.getEndTime());
 
@@ -847,13 +1017,14 @@ public class MonthPlanServiceImpl implements MonthPlanService {
                 return new BaseResponse<>(0, "Constraint violations", violations);
             }
 
-            TimeSlot timeSlot = new TimeSlot(startDateTime, endDateTime);
+            TimeSlot timeSlot = UserTimeZoneService.toStoredSlot(
+                    startDateTime, endDateTime, userTimeZoneService.zoneOf(userId));
             event.setTimeSlot(timeSlot);
 
-            // 10. Save event
+            // 9. Save event
             Event savedEvent = calendarItemRepository.save(event);
 
-            // 11. Build response
+            // 10. Build response
             AddEventResponse response = new AddEventResponse(
                     savedEvent.getId(),
                     savedEvent.getId(), // calendarItemId is same as eventId
@@ -906,12 +1077,8 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             // 4a. Handle removed routines: Delete them
             if (!removedRoutines.isEmpty()) {
                 // Find all routines for this user and month plan that match the removed names
-                List<Routine> routinesToDelete = calendarItemRepository.findAllByUserId(userId).stream()
-                        .filter(item -> item instanceof Routine) // Is a Routine
-                        .map(item -> (Routine) item)
-                        .filter(item -> monthPlanId.equals(item.getMonthPlanId())) // Belongs to this month
-                        .filter(item -> removedRoutines.contains(item.getName())) // Name is in the removed list
-                        .collect(Collectors.toList());
+                List<Routine> routinesToDelete = calendarItemRepository.findRoutinesByMonthPlanAndNameIn(userId,
+                        monthPlanId, removedRoutines);
 
                 if (!routinesToDelete.isEmpty()) {
                     calendarItemRepository.deleteAll(routinesToDelete);
@@ -1012,7 +1179,16 @@ public class MonthPlanServiceImpl implements MonthPlanService {
      * @return A list of IDs for the newly created WeekPlan entities.
      */
     private List<Long> createWeekPlans(Long monthPlanId, Integer year, Integer month) {
-        List<Long> weekPlanIds = new ArrayList<>();
+        return weekPlanRepository.saveAll(buildWeekPlans(monthPlanId, year, month)).stream()
+                .map(WeekPlan::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds (without saving) the week plans of a month, as described on {@link #createWeekPlans}.
+     */
+    private List<WeekPlan> buildWeekPlans(Long monthPlanId, Integer year, Integer month) {
+        List<WeekPlan> weekPlans = new ArrayList<>();
         int weekNumber = 1;
 
         // 1. Define the calendar boundaries of the month.
@@ -1029,18 +1205,16 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             // The end of the current week is always 6 days after the start (Sunday).
             LocalDate currentWeekEnd = currentWeekStart.plusDays(6);
 
-            // 4. Create and save the WeekPlan entity.
+            // 4. Create the WeekPlan entity.
             WeekPlan weekPlan = new WeekPlan();
             weekPlan.setMonthPlanId(monthPlanId);
             weekPlan.setWeekNumber(weekNumber);
             weekPlan.setStartDate(currentWeekStart);
             weekPlan.setEndDate(currentWeekEnd);
             weekPlan.setStatus(PlanStatus.DRAFT);
+            weekPlans.add(weekPlan);
 
-            WeekPlan saved = weekPlanRepository.save(weekPlan);
-            weekPlanIds.add(saved.getId());
-
-            log.info("Created week plan: weekNumber={}, startDate={}, endDate={}",
+            log.debug("Built week plan: weekNumber={}, startDate={}, endDate={}",
                     weekNumber, currentWeekStart, currentWeekEnd);
 
             // 5. Move to the start of the next week and increment the counter.
@@ -1048,7 +1222,7 @@ public class MonthPlanServiceImpl implements MonthPlanService {
             weekNumber++;
         }
 
-        return weekPlanIds;
+        return weekPlans;
     }
 
     /**
@@ -1083,6 +1257,30 @@ public class MonthPlanServiceImpl implements MonthPlanService {
         return dto;
     }
 
+    /**
+     * Applies addBigTask's date checks to the big tasks of one month.
+     *
+     * @return The error message of the first invalid big task, or null if all are valid
+     */
+    private String validateBigTasks(YearMonth yearMonth, List<AddBigTaskRequest> bigTasks) {
+        if (bigTasks == null) {
+            return null;
+        }
+        LocalDate[] monthRange = getMonthDateRange(yearMonth.getYear(), yearMonth.getMonthValue());
+        for (AddBigTaskRequest bigTask : bigTasks) {
+            if (bigTask.getEstimatedStartDate().isAfter(bigTask.getEstimatedEndDate())) {
+                return String.format("Big task '%s': start date must be before or equal to end date",
+                        bigTask.getName());
+            }
+            if (bigTask.getEstimatedStartDate().isBefore(monthRange[0])
+                    || bigTask.getEstimatedEndDate().isAfter(monthRange[1])) {
+                return String.format("Big task '%s' dates must be within month range: %s to %s",
+                        bigTask.getName(), monthRange[0], monthRange[1]);
+            }
+        }
+        return null;
+    }
+
     /**
      * Calculates the full date range for a month's plan.
      * The range starts on the Monday of the week containing the 1st of the month
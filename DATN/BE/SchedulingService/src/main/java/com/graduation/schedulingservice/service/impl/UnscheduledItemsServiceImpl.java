@@ -1,18 +1,21 @@
 package com.graduation.schedulingservice.service.impl;
 
 import com.graduation.schedulingservice.model.*;
+import com.graduation.schedulingservice.model.enums.ItemType;
 import com.graduation.schedulingservice.payload.response.*;
 import com.graduation.schedulingservice.repository.BigTaskRepository;
 import com.graduation.schedulingservice.repository.CalendarItemRepository;
 import com.graduation.schedulingservice.repository.MonthPlanRepository;
 import com.graduation.schedulingservice.service.UnscheduledItemsService;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
-import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,66 +27,99 @@ public class UnscheduledItemsServiceImpl implements UnscheduledItemsService {
     private final MonthPlanRepository monthPlanRepository;
     private final CalendarItemRepository calendarItemRepository;
     private final BigTaskRepository bigTaskRepository;
+    private final UserTimeZoneService userTimeZoneService;
 
     @Override
     @Transactional(readOnly = true)
     public BaseResponse<?> getUnscheduledItemsGroupedByMonth(Long userId) {
         try {
             // 1. Calculate 6-month window
-            LocalDate currentDate = LocalDate.now();
-            int currentYear = currentDate.getYear();
-            int currentMonth = currentDate.getMonthValue();
-
-            List<MonthGroupDTO> monthGroups = new ArrayList<>();
-
-            // 2. Query all month plans within 6-month window
+            YearMonth firstMonth = YearMonth.now();
+            List<YearMonth> window = new ArrayList<>();
             for (int i = 0; i < 6; i++) {
-                int targetMonth = currentMonth + i;
-                int targetYear = currentYear;
+                window.add(firstMonth.plusMonths(i));
+            }
 
-                // Handle year overflow
-                while (targetMonth > 12) {
-                    targetMonth -= 12;
-                    targetYear++;
-                }
+            // 2. Load the month plans of the window, and of the month before it for previous timings
+            YearMonth previousMonth = firstMonth.minusMonths(1);
+            Set<Integer> years = new HashSet<>();
+            years.add(previousMonth.getYear());
+            window.forEach(yearMonth -> years.add(yearMonth.getYear()));
 
-                // 3. Find month plan for this period
-                Optional<MonthPlan> monthPlanOpt = monthPlanRepository
-                        .findByUserIdAndYearAndMonth(userId, targetYear, targetMonth);
+            Map<YearMonth, MonthPlan> plansByMonth = new HashMap<>();
+            for (MonthPlan plan : monthPlanRepository.findWithRoutinesByUserIdAndYearIn(userId, years)) {
+                plansByMonth.putIfAbsent(YearMonth.of(plan.getYear(), plan.getMonth()), plan);
+            }
 
-                if (monthPlanOpt.isEmpty()) {
-                    log.info("No month plan found for userId={}, year={}, month={}",
-                            userId, targetYear, targetMonth);
-                    continue;
+            List<MonthPlan> monthPlans = window.stream()
+                    .map(plansByMonth::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            // 3. Unscheduled rows, big tasks and scheduled routines of all those plans, one query each
+            List<Long> monthPlanIds = monthPlans.stream().map(MonthPlan::getId).toList();
+            List<CalendarItemRepository.UnscheduledItemView> unscheduledRows = monthPlanIds.isEmpty()
+                    ? Collections.emptyList()
+                    : calendarItemRepository.findUnscheduledItemsByMonthPlanIdIn(userId, monthPlanIds);
+
+            Map<Long, List<BigTask>> bigTasksByPlan = monthPlanIds.isEmpty()
+                    ? Collections.emptyMap()
+                    : bigTaskRepository.findByMonthPlan_IdInOrderByIdAsc(monthPlanIds).stream()
+                    .collect(Collectors.groupingBy(BigTask::getMonthPlanId));
+
+            Set<Long> routinePlanIds = new HashSet<>(monthPlanIds);
+            MonthPlan previousPlan = plansByMonth.get(previousMonth);
+            if (previousPlan != null) {
+                routinePlanIds.add(previousPlan.getId());
+            }
+            Map<Long, List<Routine>> scheduledRoutinesByPlan = routinePlanIds.isEmpty()
+                    ? Collections.emptyMap()
+                    : calendarItemRepository.findScheduledRoutinesByMonthPlanIdIn(userId, routinePlanIds).stream()
+                    .collect(Collectors.groupingBy(Routine::getMonthPlanId));
+
+            Map<Long, List<CalendarItemRepository.UnscheduledItemView>> routineRowsByPlan = new HashMap<>();
+            Map<Long, List<CalendarItemRepository.UnscheduledItemView>> taskRowsByBigTask = new HashMap<>();
+            for (CalendarItemRepository.UnscheduledItemView row : unscheduledRows) {
+                if (ItemType.ROUTINE.name().equals(row.getType())) {
+                    routineRowsByPlan.computeIfAbsent(row.getMonthPlanId(), id -> new ArrayList<>()).add(row);
+                } else {
+                    taskRowsByBigTask.computeIfAbsent(row.getParentBigTaskId(), id -> new ArrayList<>()).add(row);
                 }
+            }
 
-                MonthPlan monthPlan = monthPlanOpt.get();
-
-                // 4. Find unscheduled routines
-                List<UnscheduledRoutineDTO> unscheduledRoutines =
-                        findUnscheduledRoutines(userId, monthPlan, targetYear, targetMonth);
-
-                // 5. Find unscheduled tasks
-                List<UnscheduledTaskDTO> unscheduledTasks =
-                        findUnscheduledTasks(userId, monthPlan);
+            // 4. Group by month
+            ZoneId zone = userTimeZoneService.zoneOf(userId);
+            List<MonthGroupDTO> monthGroups = new ArrayList<>();
+            for (MonthPlan monthPlan : monthPlans) {
+                MonthPlan planBefore = plansByMonth.get(YearMonth.of(monthPlan.getYear(), monthPlan.getMonth())
+                        .minusMonths(1));
+                List<Routine> previousRoutines = planBefore != null
+                        ? scheduledRoutinesByPlan.getOrDefault(planBefore.getId(), Collections.emptyList())
+                        : Collections.emptyList();
 
-                // 6. Create month group
                 MonthGroupDTO monthGroup = new MonthGroupDTO();
                 monthGroup.setMonthPlanId(monthPlan.getId());
-                monthGroup.setYear(targetYear);
-                monthGroup.setMonth(targetMonth);
-                monthGroup.setUnscheduledRoutines(unscheduledRoutines);
-                monthGroup.setUnscheduledTasks(unscheduledTasks);
+                monthGroup.setYear(monthPlan.getYear());
+                monthGroup.setMonth(monthPlan.getMonth());
+                monthGroup.setUnscheduledRoutines(buildUnscheduledRoutines(
+                        monthPlan,
+                        routineRowsByPlan.getOrDefault(monthPlan.getId(), Collections.emptyList()),
+                        scheduledRoutinesByPlan.getOrDefault(monthPlan.getId(), Collections.emptyList()),
+                        previousRoutines,
+                        zone));
+                monthGroup.setUnscheduledTasks(buildUnscheduledTasks(
+                        bigTasksByPlan.getOrDefault(monthPlan.getId(), Collections.emptyList()),
+                        taskRowsByBigTask));
 
                 monthGroups.add(monthGroup);
             }
 
-            // 7. Build response
+            // 5. Build response
             UnscheduledItemsGroupedResponse response = new UnscheduledItemsGroupedResponse();
             response.setMonthGroups(monthGroups);
 
-            log.info("Retrieved unscheduled items for {} months for userId={}",
-                    monthGroups.size(), userId);
+            log.info("Retrieved unscheduled items for {} months for userId={} ({} unscheduled rows)",
+                    monthGroups.size(), userId, unscheduledRows.size());
 
             return new BaseResponse<>(1, "Unscheduled items retrieved successfully", response);
 
@@ -94,49 +130,41 @@ public class UnscheduledItemsServiceImpl implements UnscheduledItemsService {
     }
 
     /**
-     * Find unscheduled routines for a month plan
+     * Unscheduled routines of a month plan, skipping names that already have a scheduled routine
      */
-    private List<UnscheduledRoutineDTO> findUnscheduledRoutines(
-            Long userId, MonthPlan monthPlan, int year, int month) {
+    private List<UnscheduledRoutineDTO> buildUnscheduledRoutines(
+            MonthPlan monthPlan,
+            List<CalendarItemRepository.UnscheduledItemView> unscheduledRows,
+            List<Routine> scheduledRoutines,
+            List<Routine> previousMonthRoutines,
+            ZoneId zone) {
 
         List<UnscheduledRoutineDTO> unscheduledRoutines = new ArrayList<>();
 
-        // Get approved routine names from month plan
-        Set<String> approvedRoutineNames = new HashSet<>(monthPlan.getApprovedRoutineNames());
-
-        if (approvedRoutineNames.isEmpty()) {
+        // Only months with approved routines list them
+        if (monthPlan.getApprovedRoutineNames().isEmpty()) {
             return unscheduledRoutines;
         }
 
-        // Find all scheduled routines in this month plan
-        List<CalendarItem> allItems = calendarItemRepository.findAllByUserId(userId);
-
-        Set<String> scheduledRoutineNames = allItems.stream()
-                .filter(item -> item instanceof Routine)
-                .filter(item -> item.getMonthPlanId() != null)
-                .filter(item -> item.getMonthPlanId().equals(monthPlan.getId()))
-                .filter(item -> item.getTimeSlot() != null && item.getTimeSlot().getStartTime() != null)
+        Set<String> scheduledRoutineNames = scheduledRoutines.stream()
                 .map(CalendarItem::getName)
                 .collect(Collectors.toSet());
 
-        List<CalendarItem> unscheduledItems = allItems.stream()
-                .filter(item -> item instanceof Routine)
-                .filter(item -> item.getMonthPlanId() != null)
-                .filter(item -> item.getMonthPlanId().equals(monthPlan.getId()))
-                .filter(item -> item.getTimeSlot() == null || item.getTimeSlot().getStartTime() == null)
-                .filter(item -> !scheduledRoutineNames.contains(item.getName()))
-                .toList();
+        // First scheduled routine of each name in the previous month
+        Map<String, Routine> previousByName = new HashMap<>();
+        previousMonthRoutines.forEach(routine -> previousByName.putIfAbsent(routine.getName(), routine));
 
-        // For each unscheduled routine, query previous month's timing
-        for (CalendarItem unscheduledItem : unscheduledItems) {
+        for (CalendarItemRepository.UnscheduledItemView row : unscheduledRows) {
+            if (scheduledRoutineNames.contains(row.getName())) {
+                continue;
+            }
             UnscheduledRoutineDTO dto = new UnscheduledRoutineDTO();
-            dto.setId(unscheduledItem.getId());
-            dto.setName(unscheduledItem.getName());
+            dto.setId(row.getId());
+            dto.setName(row.getName());
             dto.setSource("MONTH_PLAN");
             dto.setNeedsScheduling(true);
 
-            // Query previous month for timing
-            PreviousTimingDTO previousTiming = getPreviousRoutineTiming(userId, unscheduledItem.getName(), year, month);
+            PreviousTimingDTO previousTiming = toPreviousTiming(previousByName.get(row.getName()), zone);
             dto.setPreviousTiming(previousTiming);
             dto.setCanUsePreviousTiming(previousTiming != null);
 
@@ -147,44 +175,13 @@ public class UnscheduledItemsServiceImpl implements UnscheduledItemsService {
     }
 
     /**
-     * Get previous month's timing for a routine
+     * Previous month's timing of a routine, in the user's local time
      */
-    private PreviousTimingDTO getPreviousRoutineTiming(
-            Long userId, String routineName, int currentYear, int currentMonth) {
-
-        // Calculate previous month
-        int prevMonth = currentMonth - 1;
-        int prevYear = currentYear;
-
-        if (prevMonth == 0) {
-            prevMonth = 12;
-            prevYear = currentYear - 1;
-        }
-
-        // Find previous month plan
-        Optional<MonthPlan> prevMonthPlanOpt = monthPlanRepository
-                .findByUserIdAndYearAndMonth(userId, prevYear, prevMonth);
-
-        if (prevMonthPlanOpt.isEmpty()) {
-            return null;
-        }
-
-        // Find routine in previous month
-        List<CalendarItem> allItems = calendarItemRepository.findAllByUserId(userId);
-
-        Optional<CalendarItem> prevRoutineOpt = allItems.stream()
-                .filter(item -> item instanceof Routine)
-                .filter(item -> item.getName().equals(routineName))
-                .filter(item -> item.getMonthPlanId() != null)
-                .filter(item -> item.getMonthPlanId().equals(prevMonthPlanOpt.get().getId()))
-                .filter(item -> item.getTimeSlot() != null && item.getTimeSlot().getStartTime() != null)
-                .findFirst();
-
-        if (prevRoutineOpt.isEmpty()) {
+    private PreviousTimingDTO toPreviousTiming(Routine prevRoutine, ZoneId zone) {
+        if (prevRoutine == null) {
             return null;
         }
 
-        Routine prevRoutine = (Routine) prevRoutineOpt.get();
         TimeSlot timeSlot = prevRoutine.getTimeSlot();
         RecurringPattern pattern = prevRoutine.getPattern();
 
@@ -192,10 +189,9 @@ public class UnscheduledItemsServiceImpl implements UnscheduledItemsService {
             return null;
         }
 
-        // Build previous timing DTO
         PreviousTimingDTO dto = new PreviousTimingDTO();
-        dto.setStartTime(timeSlot.getStartTime().toLocalTime());
-        dto.setEndTime(timeSlot.getEndTime().toLocalTime());
+        dto.setStartTime(UserTimeZoneService.toLocal(timeSlot.getStartTime(), zone).toLocalTime());
+        dto.setEndTime(UserTimeZoneService.toLocal(timeSlot.getEndTime(), zone).toLocalTime());
 
         List<String> daysOfWeek = pattern.getDaysOfWeek().stream()
                 .map(DayOfWeek::name)
@@ -206,35 +202,15 @@ public class UnscheduledItemsServiceImpl implements UnscheduledItemsService {
     }
 
     /**
-     * Find unscheduled tasks for a month plan
+     * One entry per big task of a month plan, with its unscheduled tasks as suggested subtasks
      */
-    private List<UnscheduledTaskDTO> findUnscheduledTasks(Long userId, MonthPlan monthPlan) {
-        List<UnscheduledTaskDTO> unscheduledTasks = new ArrayList<>();
-
-        // 1. Find all big tasks for this month plan
-        List<BigTask> bigTasks = bigTaskRepository.findByMonthPlan_Id(monthPlan.getId());
+    private List<UnscheduledTaskDTO> buildUnscheduledTasks(
+            List<BigTask> bigTasks,
+            Map<Long, List<CalendarItemRepository.UnscheduledItemView>> taskRowsByBigTask) {
 
-        // Create a map of bigTaskId -> BigTask for quick lookup
-        Map<Long, BigTask> bigTaskMap = bigTasks.stream()
-                .collect(Collectors.toMap(BigTask::getId, bt -> bt));
-
-        // 2. Find all unscheduled tasks (derived from big tasks)
-        List<Task> unscheduledDerivedTasks = calendarItemRepository.findUnscheduledByUserId(userId)
-                .stream()
-                .filter(item -> item instanceof Task)
-                .map(item -> (Task) item)
-                .filter(task -> task.getParentBigTaskId() != null)
-                .filter(task -> bigTaskMap.containsKey(task.getParentBigTaskId())) // Only tasks from this month's big tasks
-                .collect(Collectors.toList());
-
-        // 3. Group unscheduled tasks by their parent big task ID
-        Map<Long, List<Task>> tasksByBigTaskId = unscheduledDerivedTasks.stream()
-                .collect(Collectors.groupingBy(Task::getParentBigTaskId));
+        List<UnscheduledTaskDTO> unscheduledTasks = new ArrayList<>();
 
-        // 4. Create DTOs for ALL big tasks in this month plan
         for (BigTask bigTask : bigTasks) {
-            List<Task> unscheduledTasksForBigTask = tasksByBigTaskId.getOrDefault(bigTask.getId(), Collections.emptyList());
-
             UnscheduledTaskDTO dto = new UnscheduledTaskDTO();
             dto.setBigTaskId(bigTask.getId());
             dto.setBigTaskName(bigTask.getName());
@@ -243,7 +219,8 @@ public class UnscheduledItemsServiceImpl implements UnscheduledItemsService {
             dto.setEstimatedEndDate(bigTask.getEstimatedEndDate());
 
             // Convert unscheduled tasks to suggested subtasks
-            List<SuggestedSubtaskDTO> suggestedSubtasks = unscheduledTasksForBigTask.stream()
+            List<SuggestedSubtaskDTO> suggestedSubtasks = taskRowsByBigTask
+                    .getOrDefault(bigTask.getId(), Collections.emptyList()).stream()
                     .map(task -> {
                         SuggestedSubtaskDTO subtask = new SuggestedSubtaskDTO();
                         subtask.setId(task.getId());
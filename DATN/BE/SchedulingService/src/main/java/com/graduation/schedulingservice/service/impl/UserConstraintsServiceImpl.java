@@ -6,13 +6,17 @@ import com.graduation.schedulingservice.payload.request.UpdateDailyLimitsRequest
 import com.graduation.schedulingservice.payload.request.UpdateSleepHoursRequest;
 import com.graduation.schedulingservice.payload.response.*;
 import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import com.graduation.schedulingservice.service.DailyUsageService;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
 import com.graduation.schedulingservice.service.UserConstraintsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -27,10 +31,13 @@ import java.util.stream.Collectors;
 public class UserConstraintsServiceImpl implements UserConstraintsService {
 
     private final UserConstraintsRepository userConstraintsRepository;
+    private final DailyUsageService dailyUsageService;
+    private final FreeBusyIndex freeBusyIndex;
 
     // TODO: Define these constants in your SchedulingService Constant file
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     private static final List<String> VALID_ITEM_TYPES = List.of("TASK", "ROUTINE");
+    private static final int MAX_USAGE_RANGE_DAYS = 366;
 
     @Override
     @Transactional(readOnly = true)
@@ -76,6 +83,7 @@ public class UserConstraintsServiceImpl implements UserConstraintsService {
 
             constraints.updateSleepHours(timeRanges);
             userConstraintsRepository.save(constraints);
+            freeBusyIndex.evict(userId);
 
             return new BaseResponse<>(1, "Sleep hours updated successfully", null);
         } catch (Exception e) {
@@ -136,6 +144,43 @@ public class UserConstraintsServiceImpl implements UserConstraintsService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BaseResponse<?> getDailyUsage(Long userId, String from, String to) {
+        try {
+            LocalDate fromDate;
+            LocalDate toDate;
+            try {
+                fromDate = LocalDate.parse(from);
+                toDate = LocalDate.parse(to);
+            } catch (DateTimeParseException e) {
+                return new BaseResponse<>(0, "Invalid date format. Please use YYYY-MM-DD.", null);
+            }
+            if (toDate.isBefore(fromDate) || ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_USAGE_RANGE_DAYS) {
+                return new BaseResponse<>(0, "Date range must be between 1 and " + MAX_USAGE_RANGE_DAYS + " days", null);
+            }
+
+            UserConstraints constraints = userConstraintsRepository.findByUserId(userId).orElse(null);
+
+            List<DailyUsageResponse.DayUsage> days = new ArrayList<>();
+            dailyUsageService.usageBetween(userId, constraints, fromDate, toDate).forEach((date, byType) -> {
+                Map<String, Integer> minutesByType = new HashMap<>();
+                byType.forEach((type, minutes) -> minutesByType.put(type.name(), minutes));
+                days.add(new DailyUsageResponse.DayUsage(date, minutesByType));
+            });
+
+            DailyUsageResponse response = new DailyUsageResponse(
+                    constraints != null && Boolean.TRUE.equals(constraints.getDailyLimitFeatureEnabled()),
+                    constraints != null ? new HashMap<>(constraints.getDailyLimits()) : Map.of(),
+                    days
+            );
+            return new BaseResponse<>(1, "Daily usage retrieved successfully", response);
+        } catch (Exception e) {
+            log.error("Failed to get daily usage for user {}", userId, e);
+            return new BaseResponse<>(0, "Failed to get daily usage", null);
+        }
+    }
+
     private TimeRangeDto convertToDto(TimeRange timeRange) {
         return new TimeRangeDto(
                 timeRange.getStartTime().format(TIME_FORMATTER),
@@ -0,0 +1,9 @@
+-- Composite indexes behind the typed month plan, week plan and big task queries.
+CREATE INDEX IF NOT EXISTS idx_calendar_items_user_type_month_plan
+    ON calendar_items (user_id, type, month_plan_id);
+CREATE INDEX IF NOT EXISTS idx_calendar_items_user_start
+    ON calendar_items (user_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_calendar_items_user_week_plan
+    ON calendar_items (user_id, week_plan_id);
+CREATE INDEX IF NOT EXISTS idx_calendar_items_user_big_task
+    ON calendar_items (user_id, parent_big_task_id);
@@ -0,0 +1,3 @@
+-- IANA zone of the user. Null marks legacy accounts whose calendar times are still
+-- local wall-clock times; they are migrated to UTC on their first timezone change.
+ALTER TABLE user_constraints ADD COLUMN IF NOT EXISTS timezone VARCHAR(255);
@@ -0,0 +1,5 @@
+-- Calendar the yearly occurrences of a memorable event show up in. Null on events created
+-- before occurrences were expanded at read time; those belong to the personal calendar.
+ALTER TABLE memorable_events ADD COLUMN IF NOT EXISTS calendar_id BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_memorable_events_user_id ON memorable_events (user_id);
@@ -0,0 +1,19 @@
+-- Derived task counters maintained by BigTaskProgressService.
+ALTER TABLE big_tasks ADD COLUMN IF NOT EXISTS derived_tasks_count INTEGER;
+ALTER TABLE big_tasks ADD COLUMN IF NOT EXISTS completed_tasks_count INTEGER;
+
+-- Backfill rows created before the counters existed, so they are correct from the first
+-- read instead of after the nightly consistency check.
+UPDATE big_tasks b
+SET derived_tasks_count = counts.total,
+    completed_tasks_count = counts.completed
+FROM (
+    SELECT bt.id,
+           COUNT(t.id) AS total,
+           COUNT(t.id) FILTER (WHERE t.status = 'COMPLETE') AS completed
+    FROM big_tasks bt
+    LEFT JOIN calendar_items t ON t.parent_big_task_id = bt.id AND t.type = 'TASK'
+    WHERE bt.derived_tasks_count IS NULL OR bt.completed_tasks_count IS NULL
+    GROUP BY bt.id
+) counts
+WHERE b.id = counts.id;
@@ -0,0 +1,11 @@
+-- Minutes of scheduled items per user, local date and item type, kept by DailyUsageService.
+CREATE TABLE IF NOT EXISTS user_daily_usage (
+    user_id    BIGINT       NOT NULL,
+    usage_date DATE         NOT NULL,
+    item_type  VARCHAR(255) NOT NULL,
+    minutes    INTEGER      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_user_daily_usage PRIMARY KEY (user_id, usage_date, item_type)
+);
+
+-- Null until the user's counters are first built from their items.
+ALTER TABLE user_constraints ADD COLUMN IF NOT EXISTS daily_usage_ready BOOLEAN;
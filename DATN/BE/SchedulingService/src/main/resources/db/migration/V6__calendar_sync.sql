@@ -0,0 +1,15 @@
+-- Deleted calendar items, kept for the incremental changes endpoint until the retention purge.
+CREATE TABLE IF NOT EXISTS calendar_item_tombstones (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id     BIGINT       NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    calendar_id BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_calendar_item_tombstones_calendar_deleted
+    ON calendar_item_tombstones (calendar_id, deleted_at);
+
+-- Changes since a sync token, and the feed ETag's last modification.
+CREATE INDEX IF NOT EXISTS idx_calendar_items_calendar_updated
+    ON calendar_items (calendar_id, updated_at);
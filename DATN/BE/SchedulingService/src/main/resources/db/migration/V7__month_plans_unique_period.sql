@@ -0,0 +1,46 @@
+-- One month plan per user and month. Duplicates left by concurrent creates are merged into
+-- the oldest plan of their month before the unique key is added.
+CREATE TEMPORARY TABLE month_plan_duplicates ON COMMIT DROP AS
+SELECT id AS duplicate_id, keeper_id
+FROM (SELECT id, MIN(id) OVER (PARTITION BY user_id, year, month) AS keeper_id
+      FROM month_plans) plans
+WHERE id <> keeper_id;
+
+-- Week plans of a duplicate map to the keeper's week of the same number, when it has one
+CREATE TEMPORARY TABLE week_plan_duplicates ON COMMIT DROP AS
+SELECT w.id AS duplicate_id, k.id AS keeper_id
+FROM week_plans w
+JOIN month_plan_duplicates d ON d.duplicate_id = w.month_plan_id
+JOIN week_plans k ON k.month_plan_id = d.keeper_id AND k.week_number = w.week_number;
+
+UPDATE calendar_items c SET week_plan_id = d.keeper_id
+FROM week_plan_duplicates d
+WHERE c.week_plan_id = d.duplicate_id;
+
+DELETE FROM week_plans w USING week_plan_duplicates d WHERE w.id = d.duplicate_id;
+
+UPDATE week_plans w SET month_plan_id = d.keeper_id
+FROM month_plan_duplicates d
+WHERE w.month_plan_id = d.duplicate_id;
+
+UPDATE big_tasks b SET month_plan_id = d.keeper_id
+FROM month_plan_duplicates d
+WHERE b.month_plan_id = d.duplicate_id;
+
+UPDATE calendar_items c SET month_plan_id = d.keeper_id
+FROM month_plan_duplicates d
+WHERE c.month_plan_id = d.duplicate_id;
+
+INSERT INTO month_plan_approved_routines (month_plan_id, routine_name)
+SELECT DISTINCT d.keeper_id, r.routine_name
+FROM month_plan_approved_routines r
+JOIN month_plan_duplicates d ON d.duplicate_id = r.month_plan_id
+WHERE NOT EXISTS (SELECT 1 FROM month_plan_approved_routines k
+                  WHERE k.month_plan_id = d.keeper_id AND k.routine_name = r.routine_name);
+
+DELETE FROM month_plan_approved_routines r USING month_plan_duplicates d WHERE r.month_plan_id = d.duplicate_id;
+
+DELETE FROM month_plans m USING month_plan_duplicates d WHERE m.id = d.duplicate_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_month_plans_user_year_month
+    ON month_plans (user_id, year, month);
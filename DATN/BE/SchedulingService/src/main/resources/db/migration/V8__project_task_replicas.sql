@@ -0,0 +1,17 @@
+-- Local copy of the ProjectService tasks that calendar items link to, kept by ProjectTaskReplicaService.
+CREATE TABLE IF NOT EXISTS project_task_replicas (
+    pm_task_id        BIGINT                      NOT NULL PRIMARY KEY,
+    project_id        BIGINT,
+    phase_id          BIGINT,
+    name              VARCHAR(255),
+    task_key          VARCHAR(255),
+    status            VARCHAR(255),
+    priority          VARCHAR(255),
+    start_date        DATE,
+    end_date          DATE,
+    source_updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Snapshot events prune the rows of one project.
+CREATE INDEX IF NOT EXISTS idx_project_task_replicas_project
+    ON project_task_replicas (project_id);
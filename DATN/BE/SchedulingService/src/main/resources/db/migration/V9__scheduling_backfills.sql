@@ -0,0 +1,5 @@
+-- One-time data backfills that already ran, e.g. the conversion of wall-clock calendar times to UTC.
+CREATE TABLE IF NOT EXISTS scheduling_backfills (
+    name       VARCHAR(100) NOT NULL PRIMARY KEY,
+    applied_at TIMESTAMP    NOT NULL DEFAULT now()
+);
@@ -0,0 +1,145 @@
+package com.graduation.schedulingservice.repository;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Event;
+import com.graduation.schedulingservice.model.RecurringPattern;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.Task;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.service.CalendarTombstoneService;
+import com.graduation.schedulingservice.service.DailyUsageService;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
+import com.graduation.schedulingservice.service.UserScheduleIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+class CalendarItemRepositoryTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long OTHER_USER_ID = 8L;
+
+    @Autowired
+    private CalendarItemRepository calendarItemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // Collaborators of the calendar item entity listeners
+    @MockitoBean
+    private UserScheduleIndex userScheduleIndex;
+
+    @MockitoBean
+    private DailyUsageService dailyUsageService;
+
+    @MockitoBean
+    private FreeBusyIndex freeBusyIndex;
+
+    @MockitoBean
+    private CalendarTombstoneService calendarTombstoneService;
+
+    @Test
+    void routinesByMonthPlanOnlyReturnRoutinesOfThatUserAndPlan() {
+        Routine kept = persist(routine(USER_ID, 1L, "Gym", null));
+        persist(routine(USER_ID, 2L, "Gym", null));
+        persist(routine(OTHER_USER_ID, 1L, "Gym", null));
+        persist(event(USER_ID, 1L));
+
+        assertEquals(List.of(kept.getId()), ids(calendarItemRepository.findRoutinesByMonthPlan(USER_ID, 1L)));
+    }
+
+    @Test
+    void routinesByNameAreSplitIntoScheduledAndUnscheduled() {
+        Routine unscheduled = persist(routine(USER_ID, 1L, "Gym", null));
+        Routine scheduled = persist(routine(USER_ID, 1L, "Gym", LocalDateTime.of(2025, 6, 2, 9, 0)));
+        persist(routine(USER_ID, 1L, "Read", null));
+
+        assertEquals(List.of(unscheduled.getId()),
+                ids(calendarItemRepository.findUnscheduledRoutinesByMonthPlanAndName(USER_ID, 1L, "Gym")));
+        assertEquals(List.of(scheduled.getId()),
+                ids(calendarItemRepository.findScheduledRoutinesByMonthPlanAndName(USER_ID, 1L, "Gym")));
+        assertEquals(2, calendarItemRepository.findRoutinesByMonthPlanAndNameIn(USER_ID, 1L, Set.of("Gym")).size());
+    }
+
+    @Test
+    void standaloneRoutinesExcludeRecurringOnes() {
+        LocalDateTime nine = LocalDateTime.of(2025, 6, 2, 9, 0);
+        Routine standalone = persist(routine(USER_ID, 1L, "Gym", nine));
+        Routine recurring = routine(USER_ID, 1L, "Gym", nine);
+        RecurringPattern pattern = new RecurringPattern();
+        pattern.setDaysOfWeek(new ArrayList<>(List.of(DayOfWeek.MONDAY)));
+        recurring.setPattern(pattern);
+        persist(recurring);
+
+        assertEquals(List.of(standalone.getId()), ids(calendarItemRepository
+                .findStandaloneRoutinesStartingBetween(USER_ID, nine, nine.plusMinutes(1))));
+    }
+
+    @Test
+    void tasksAreFoundThroughTheirBigTask() {
+        Task scheduled = persist(task(USER_ID, 10L, LocalDateTime.of(2025, 6, 2, 9, 0)));
+        Task unscheduled = persist(task(USER_ID, 10L, null));
+        persist(task(USER_ID, 11L, null));
+
+        assertEquals(List.of(scheduled.getId(), unscheduled.getId()),
+                ids(calendarItemRepository.findTasksByParentBigTaskId(USER_ID, 10L)));
+        assertEquals(List.of(unscheduled.getId()),
+                ids(calendarItemRepository.findUnscheduledTasksByParentBigTaskIdIn(USER_ID, Set.of(10L))));
+    }
+
+    private <T> T persist(T entity) {
+        T saved = entityManager.persist(entity);
+        entityManager.flush();
+        return saved;
+    }
+
+    private static List<Long> ids(List<? extends CalendarItem> items) {
+        return items.stream().map(CalendarItem::getId).toList();
+    }
+
+    private static Routine routine(Long userId, Long monthPlanId, String name, LocalDateTime start) {
+        Routine routine = new Routine();
+        routine.setUserId(userId);
+        routine.setCalendarId(1L);
+        routine.setMonthPlanId(monthPlanId);
+        routine.setName(name);
+        if (start != null) {
+            routine.setTimeSlot(new TimeSlot(start, start.plusHours(1)));
+        }
+        return routine;
+    }
+
+    private static Task task(Long userId, Long bigTaskId, LocalDateTime start) {
+        Task task = new Task();
+        task.setUserId(userId);
+        task.setCalendarId(1L);
+        task.setName("Task");
+        task.setParentBigTaskId(bigTaskId);
+        if (start != null) {
+            task.setTimeSlot(new TimeSlot(start, start.plusHours(1)));
+        }
+        return task;
+    }
+
+    private static Event event(Long userId, Long monthPlanId) {
+        Event event = new Event();
+        event.setUserId(userId);
+        event.setCalendarId(1L);
+        event.setMonthPlanId(monthPlanId);
+        event.setName("Event");
+        return event;
+    }
+}
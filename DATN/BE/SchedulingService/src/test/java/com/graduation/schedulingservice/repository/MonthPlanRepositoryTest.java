@@ -0,0 +1,60 @@
+package com.graduation.schedulingservice.repository;
+
+import com.graduation.schedulingservice.model.MonthPlan;
+import com.graduation.schedulingservice.service.CalendarTombstoneService;
+import com.graduation.schedulingservice.service.DailyUsageService;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
+import com.graduation.schedulingservice.service.UserScheduleIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+class MonthPlanRepositoryTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Autowired
+    private MonthPlanRepository monthPlanRepository;
+
+    // Collaborators of the calendar item entity listeners
+    @MockitoBean
+    private UserScheduleIndex userScheduleIndex;
+    @MockitoBean
+    private DailyUsageService dailyUsageService;
+    @MockitoBean
+    private FreeBusyIndex freeBusyIndex;
+    @MockitoBean
+    private CalendarTombstoneService calendarTombstoneService;
+
+    @Test
+    void secondPlanForTheSameMonthIsRejected() {
+        monthPlanRepository.saveAndFlush(monthPlan(USER_ID, 2025, 6));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> monthPlanRepository.saveAndFlush(monthPlan(USER_ID, 2025, 6)));
+    }
+
+    @Test
+    void otherMonthsAndUsersAreAllowed() {
+        monthPlanRepository.saveAndFlush(monthPlan(USER_ID, 2025, 6));
+
+        assertDoesNotThrow(() -> monthPlanRepository.saveAndFlush(monthPlan(USER_ID, 2025, 7)));
+        assertDoesNotThrow(() -> monthPlanRepository.saveAndFlush(monthPlan(8L, 2025, 6)));
+    }
+
+    private static MonthPlan monthPlan(Long userId, int year, int month) {
+        MonthPlan monthPlan = new MonthPlan();
+        monthPlan.setUserId(userId);
+        monthPlan.setYear(year);
+        monthPlan.setMonth(month);
+        return monthPlan;
+    }
+}
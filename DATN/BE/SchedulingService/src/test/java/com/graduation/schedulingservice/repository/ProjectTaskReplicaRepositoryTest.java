@@ -0,0 +1,61 @@
+package com.graduation.schedulingservice.repository;
+
+import com.graduation.schedulingservice.model.ProjectTaskReplica;
+import com.graduation.schedulingservice.service.CalendarTombstoneService;
+import com.graduation.schedulingservice.service.DailyUsageService;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
+import com.graduation.schedulingservice.service.UserScheduleIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+class ProjectTaskReplicaRepositoryTest {
+
+    @Autowired
+    private ProjectTaskReplicaRepository replicaRepository;
+
+    // Collaborators of the calendar item entity listeners
+    @MockitoBean
+    private UserScheduleIndex userScheduleIndex;
+    @MockitoBean
+    private DailyUsageService dailyUsageService;
+    @MockitoBean
+    private FreeBusyIndex freeBusyIndex;
+    @MockitoBean
+    private CalendarTombstoneService calendarTombstoneService;
+
+    @Test
+    void projectPruneKeepsListedTasksAndOtherProjects() {
+        replicaRepository.saveAllAndFlush(List.of(row(1L, 3L), row(2L, 3L), row(3L, 3L), row(4L, 4L)));
+
+        assertEquals(2, replicaRepository.deleteByProjectIdExcept(3L, List.of(1L)));
+
+        assertEquals(List.of(1L, 4L), replicaRepository.findAllPmTaskIds().stream().sorted().toList());
+    }
+
+    @Test
+    void emptySnapshotDropsTheWholeProject() {
+        replicaRepository.saveAllAndFlush(List.of(row(1L, 3L), row(2L, 4L)));
+
+        assertEquals(1, replicaRepository.deleteByProjectId(3L));
+
+        assertEquals(List.of(2L), replicaRepository.findAllPmTaskIds());
+    }
+
+    private static ProjectTaskReplica row(Long id, Long projectId) {
+        ProjectTaskReplica row = new ProjectTaskReplica(id);
+        row.setProjectId(projectId);
+        row.setName("Task " + id);
+        row.setSourceUpdatedAt(Instant.parse("2025-06-02T09:00:00Z"));
+        return row;
+    }
+}
@@ -0,0 +1,139 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.BigTask;
+import com.graduation.schedulingservice.model.Task;
+import com.graduation.schedulingservice.model.enums.ItemStatus;
+import com.graduation.schedulingservice.repository.BigTaskRepository;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BigTaskProgressServiceTest {
+
+    @Mock
+    private BigTaskRepository bigTaskRepository;
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BigTaskProgressService progressService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        ReflectionTestUtils.setField(progressService, "checkBatchSize", 2);
+    }
+
+    @Test
+    void addingACompletedTaskShiftsBothCounters() {
+        progressService.onTaskAdded(task(7L, ItemStatus.COMPLETE));
+
+        verify(bigTaskRepository).addTaskCounts(7L, 1, 1);
+    }
+
+    @Test
+    void removingAnOpenTaskOnlyShiftsTheTotal() {
+        progressService.onTaskRemoved(task(7L, ItemStatus.INCOMPLETE));
+
+        verify(bigTaskRepository).addTaskCounts(7L, -1, 0);
+    }
+
+    @Test
+    void statusChangeWithoutCompletionChangeWritesNothing() {
+        progressService.onTaskStatusChanged(task(7L, ItemStatus.INCOMPLETE), ItemStatus.INCOMPLETE);
+        progressService.onTaskAdded(task(null, ItemStatus.COMPLETE));
+
+        verifyNoInteractions(bigTaskRepository);
+    }
+
+    @Test
+    void reopeningATaskDecrementsCompleted() {
+        progressService.onTaskStatusChanged(task(7L, ItemStatus.INCOMPLETE), ItemStatus.COMPLETE);
+
+        verify(bigTaskRepository).addTaskCounts(7L, 0, -1);
+    }
+
+    @Test
+    void rebuildLocksTheRowsBeforeRecounting() {
+        when(bigTaskRepository.rebuildTaskCounts(List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(2, progressService.rebuild(List.of(1L, 2L)));
+
+        InOrder inOrder = inOrder(transactionManager, bigTaskRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(bigTaskRepository).lockForRecount(List.of(1L, 2L));
+        inOrder.verify(bigTaskRepository).rebuildTaskCounts(List.of(1L, 2L));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void checkerRebuildsOnlyDriftedAndUnbuiltRows() {
+        BigTask matching = bigTask(1L, 2, 1);
+        BigTask drifted = bigTask(2L, 5, 0);
+        BigTask unbuilt = bigTask(3L, null, null);
+        when(bigTaskRepository.findBatchAfter(eq(0L), any())).thenReturn(List.of(matching, drifted));
+        when(bigTaskRepository.findBatchAfter(eq(2L), any())).thenReturn(List.of(unbuilt));
+        when(calendarItemRepository.findBigTaskProgressByIds(List.of(1L, 2L)))
+                .thenReturn(List.of(progress(1L, 2, 1), progress(2L, 4, 0)));
+        when(calendarItemRepository.findBigTaskProgressByIds(List.of(3L))).thenReturn(List.of());
+
+        progressService.checkAndRepair();
+
+        verify(bigTaskRepository).rebuildTaskCounts(List.of(2L));
+        verify(bigTaskRepository).rebuildTaskCounts(List.of(3L));
+        verify(bigTaskRepository, never()).rebuildTaskCounts(argThat(ids -> ids.contains(1L)));
+    }
+
+    private static Task task(Long bigTaskId, ItemStatus status) {
+        Task task = new Task();
+        task.setParentBigTaskId(bigTaskId);
+        task.setStatus(status);
+        return task;
+    }
+
+    private static BigTask bigTask(Long id, Integer total, Integer completed) {
+        BigTask bigTask = new BigTask();
+        bigTask.setId(id);
+        bigTask.setDerivedTasksCount(total);
+        bigTask.setCompletedTasksCount(completed);
+        return bigTask;
+    }
+
+    private static CalendarItemRepository.BigTaskProgressView progress(Long bigTaskId, long total, long completed) {
+        return new CalendarItemRepository.BigTaskProgressView() {
+            @Override
+            public Long getBigTaskId() {
+                return bigTaskId;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public Long getCompleted() {
+                return completed;
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.Task;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import com.graduation.schedulingservice.repository.UserDailyUsageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyUsageServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+
+    @Mock
+    private UserDailyUsageRepository userDailyUsageRepository;
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+
+    @Mock
+    private UserConstraintsRepository userConstraintsRepository;
+
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DailyUsageService dailyUsageService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(userTimeZoneService.zoneOf(anyLong())).thenReturn(ZoneOffset.UTC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void overnightSlotIsSplitAtLocalMidnight() {
+        Map<LocalDate, Long> minutes = DailyUsageService.minutesByLocalDay(
+                LocalDateTime.of(2025, 6, 2, 22, 0), LocalDateTime.of(2025, 6, 3, 1, 30), ZoneOffset.UTC);
+
+        assertEquals(Map.of(MONDAY, 120L, MONDAY.plusDays(1), 90L), minutes);
+    }
+
+    @Test
+    void shortDaylightSavingDayHasTwentyThreeHours() {
+        // 23:00 New York on 2025-03-08 to 01:00 on 2025-03-10; clocks spring forward on 2025-03-09
+        Map<LocalDate, Long> minutes = DailyUsageService.minutesByLocalDay(
+                LocalDateTime.of(2025, 3, 9, 4, 0), LocalDateTime.of(2025, 3, 10, 5, 0),
+                ZoneId.of("America/New_York"));
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 8), LocalDate.of(2025, 3, 9), LocalDate.of(2025, 3, 10)),
+                List.copyOf(minutes.keySet()));
+        assertEquals(List.of(60L, 1380L, 60L), List.copyOf(minutes.values()));
+    }
+
+    @Test
+    void emptyOrInvertedSlotHasNoMinutes() {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+        assertTrue(DailyUsageService.minutesByLocalDay(start, start, ZoneOffset.UTC).isEmpty());
+        assertTrue(DailyUsageService.minutesByLocalDay(start, start.minusHours(1), ZoneOffset.UTC).isEmpty());
+        assertTrue(DailyUsageService.minutesByLocalDay(null, start, ZoneOffset.UTC).isEmpty());
+    }
+
+    @Test
+    void moveToAnotherDayShiftsMinutesBetweenDays() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dailyUsageService.onSlotChanged(task(5L), slot(MONDAY, 9, 10), slot(MONDAY.plusDays(1), 9, 11));
+        commit();
+
+        verify(userDailyUsageRepository).addMinutes(5L, MONDAY, "TASK", -60);
+        verify(userDailyUsageRepository).addMinutes(5L, MONDAY.plusDays(1), "TASK", 120);
+    }
+
+    @Test
+    void resizeWithinADayAddsOnlyTheDifference() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dailyUsageService.onSlotChanged(task(5L), slot(MONDAY, 9, 10), new TimeSlot(
+                MONDAY.atTime(9, 0), MONDAY.atTime(10, 30)));
+        commit();
+
+        verify(userDailyUsageRepository).addMinutes(5L, MONDAY, "TASK", 30);
+        verify(userDailyUsageRepository, times(1)).addMinutes(anyLong(), any(), anyString(), anyInt());
+    }
+
+    @Test
+    void deleteRemovesTheSlotMinutes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dailyUsageService.onSlotChanged(task(5L), slot(MONDAY, 9, 10), null);
+        commit();
+
+        verify(userDailyUsageRepository).addMinutes(5L, MONDAY, "TASK", -60);
+    }
+
+    @Test
+    void changesThatCancelOutWriteNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dailyUsageService.onSlotChanged(task(5L), null, slot(MONDAY, 9, 10));
+        dailyUsageService.onSlotChanged(task(5L), slot(MONDAY, 9, 10), null);
+        commit();
+
+        verify(userDailyUsageRepository, never()).addMinutes(anyLong(), any(), anyString(), anyInt());
+    }
+
+    @Test
+    void usersAreLockedInIdOrderBeforeTheirCountersChange() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dailyUsageService.onSlotChanged(task(9L), null, slot(MONDAY, 9, 10));
+        dailyUsageService.onSlotChanged(task(5L), null, slot(MONDAY, 9, 10));
+        commit();
+
+        InOrder inOrder = inOrder(userConstraintsRepository, userDailyUsageRepository);
+        inOrder.verify(userConstraintsRepository).lockDailyUsage(5L);
+        inOrder.verify(userDailyUsageRepository).addMinutes(5L, MONDAY, "TASK", 60);
+        inOrder.verify(userConstraintsRepository).lockDailyUsage(9L);
+        inOrder.verify(userDailyUsageRepository).addMinutes(9L, MONDAY, "TASK", 60);
+    }
+
+    @Test
+    void firstBuildCountsUnderTheLockAndWritesAbsoluteMinutes() {
+        UserConstraints constraints = constraints(5L);
+        CalendarItemRepository.ScheduledSlotView view = slotView(MONDAY.atTime(9, 0), MONDAY.atTime(10, 30));
+        when(calendarItemRepository.findScheduledSlotsByUserId(5L)).thenReturn(List.of(view));
+
+        dailyUsageService.ensureBuilt(constraints);
+
+        InOrder inOrder = inOrder(userConstraintsRepository, calendarItemRepository, userDailyUsageRepository);
+        inOrder.verify(userConstraintsRepository, atLeastOnce()).lockDailyUsage(5L);
+        inOrder.verify(calendarItemRepository).findScheduledSlotsByUserId(5L);
+        inOrder.verify(userDailyUsageRepository).deleteByUserId(5L);
+        inOrder.verify(userDailyUsageRepository).setMinutes(5L, MONDAY, "TASK", 90);
+        inOrder.verify(userConstraintsRepository).markDailyUsageReady(5L);
+        verify(userDailyUsageRepository, never()).addMinutes(anyLong(), any(), anyString(), anyInt());
+        assertTrue(constraints.getDailyUsageReady());
+    }
+
+    @Test
+    void buildIsSkippedWhenAConcurrentCallerFinishedItFirst() {
+        UserConstraints constraints = constraints(5L);
+        when(userConstraintsRepository.lockDailyUsage(5L)).thenReturn(Optional.of(true));
+
+        dailyUsageService.ensureBuilt(constraints);
+
+        verify(calendarItemRepository, never()).findScheduledSlotsByUserId(anyLong());
+        verify(userDailyUsageRepository, never()).deleteByUserId(anyLong());
+        verify(userConstraintsRepository, never()).markDailyUsageReady(anyLong());
+        assertTrue(constraints.getDailyUsageReady());
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+    }
+
+    private static Task task(Long userId) {
+        Task task = new Task();
+        task.setId(userId * 100);
+        task.setUserId(userId);
+        task.setType(ItemType.TASK);
+        return task;
+    }
+
+    private static TimeSlot slot(LocalDate date, int startHour, int endHour) {
+        return new TimeSlot(date.atTime(startHour, 0), date.atTime(endHour, 0));
+    }
+
+    private static UserConstraints constraints(Long userId) {
+        UserConstraints constraints = new UserConstraints();
+        constraints.setUserId(userId);
+        return constraints;
+    }
+
+    private static CalendarItemRepository.ScheduledSlotView slotView(LocalDateTime start, LocalDateTime end) {
+        return new CalendarItemRepository.ScheduledSlotView() {
+            @Override
+            public ItemType getType() {
+                return ItemType.TASK;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return end;
+            }
+        };
+    }
+}
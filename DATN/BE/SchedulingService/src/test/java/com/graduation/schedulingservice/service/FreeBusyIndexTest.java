@@ -0,0 +1,245 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Event;
+import com.graduation.schedulingservice.model.MemorableEventCalendarItem;
+import com.graduation.schedulingservice.model.RecurringPattern;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeRange;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FreeBusyIndexTest {
+
+    private static final Long USER_ID = 7L;
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 6, 2, 0, 0);
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+
+    @Mock
+    private UserConstraintsRepository userConstraintsRepository;
+
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FreeBusyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(userTimeZoneService.zoneOf(USER_ID)).thenReturn(ZoneOffset.UTC);
+
+        index = new FreeBusyIndex(calendarItemRepository, userConstraintsRepository, userTimeZoneService,
+                new RecurrenceExpansionEngine(), transactionManager);
+        ReflectionTestUtils.setField(index, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(index, "maxUsers", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void itemMarksEveryQuarterHourItTouches() {
+        // 09:00-10:20 touches the 09:00, 09:15, ..., 10:15 slots
+        loadItems(event(1L, MONDAY.plusHours(9), MONDAY.plusHours(10).plusMinutes(20)));
+
+        BitSet busy = index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        assertEquals(range(36, 42), busy);
+    }
+
+    @Test
+    void windowAcrossMidnightCombinesBothDays() {
+        loadItems(event(1L, MONDAY.plusHours(23), MONDAY.plusDays(1).plusHours(1)));
+
+        BitSet busy = index.busySlots(USER_ID, MONDAY.plusHours(22), MONDAY.plusDays(1).plusHours(2));
+
+        // Window starts at 22:00, so 23:00-01:00 is bits 4..11
+        assertEquals(range(4, 12), busy);
+    }
+
+    @Test
+    void recurringRoutineIsMarkedFromItsOccurrences() {
+        when(calendarItemRepository.findScheduledRecurringRoutinesByUserId(USER_ID))
+                .thenReturn(List.of(routine(1L, MONDAY.plusHours(9), MONDAY.plusHours(10), DayOfWeek.MONDAY)));
+
+        BitSet busy = index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(8));
+
+        BitSet expected = range(36, 40);
+        expected.or(range(7 * 96 + 36, 7 * 96 + 40));
+        assertEquals(expected, busy);
+    }
+
+    @Test
+    void overnightSleepHoursAreMarkedInTheUserZone() {
+        // 22:00-06:00 in Ho Chi Minh City (UTC+7) is 15:00-23:00 UTC
+        when(userTimeZoneService.zoneOf(USER_ID)).thenReturn(ZoneId.of("Asia/Ho_Chi_Minh"));
+        UserConstraints constraints = new UserConstraints();
+        constraints.setUserId(USER_ID);
+        constraints.setSleepHours(new ArrayList<>(List.of(new TimeRange(LocalTime.of(22, 0), LocalTime.of(6, 0)))));
+        when(userConstraintsRepository.findByUserId(USER_ID)).thenReturn(Optional.of(constraints));
+
+        BitSet busy = index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        assertEquals(range(60, 92), busy);
+    }
+
+    @Test
+    void newItemIsPatchedIntoTheCachedDayWithoutReload() {
+        loadItems(event(1L, MONDAY.plusHours(9), MONDAY.plusHours(10)));
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        TimeSlot slot = new TimeSlot(MONDAY.plusHours(14), MONDAY.plusHours(15));
+        index.onSlotChanged(event(2L, slot.getStartTime(), slot.getEndTime()), null, slot);
+        BitSet busy = index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        BitSet expected = range(36, 40);
+        expected.or(range(56, 60));
+        assertEquals(expected, busy);
+        verify(calendarItemRepository, times(1)).findOverlappingItems(eq(USER_ID), any(), any());
+    }
+
+    @Test
+    void changeIsOnlyAppliedAfterCommit() {
+        loadItems();
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TimeSlot slot = new TimeSlot(MONDAY.plusHours(14), MONDAY.plusHours(15));
+        index.onSlotChanged(event(2L, slot.getStartTime(), slot.getEndTime()), null, slot);
+
+        assertTrue(index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1)).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(range(56, 60), index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1)));
+    }
+
+    @Test
+    void movedItemDropsTheDaysItCovered() {
+        CalendarItem event = event(1L, MONDAY.plusHours(9), MONDAY.plusHours(10));
+        loadItems(event);
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        index.onSlotChanged(event, event.getTimeSlot(), new TimeSlot(MONDAY.plusHours(11), MONDAY.plusHours(12)));
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        verify(calendarItemRepository, times(2)).findOverlappingItems(eq(USER_ID), any(), any());
+    }
+
+    @Test
+    void buildRacingWithACommittedWriteIsNotCached() {
+        CalendarItem moved = event(1L, MONDAY.plusHours(9), MONDAY.plusHours(10));
+        when(calendarItemRepository.findOverlappingItems(eq(USER_ID), any(), any()))
+                .thenAnswer(invocation -> {
+                    // The item moves while its old slot is being read
+                    index.onSlotChanged(moved, moved.getTimeSlot(),
+                            new TimeSlot(MONDAY.plusHours(11), MONDAY.plusHours(12)));
+                    return new ArrayList<>(List.of(moved));
+                })
+                .thenReturn(new ArrayList<>(List.of(event(1L, MONDAY.plusHours(11), MONDAY.plusHours(12)))));
+
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+        BitSet busy = index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        assertEquals(range(44, 48), busy);
+        verify(calendarItemRepository, times(2)).findOverlappingItems(eq(USER_ID), any(), any());
+    }
+
+    @Test
+    void memorableEventsDoNotTouchTheCache() {
+        loadItems();
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        MemorableEventCalendarItem memorable = new MemorableEventCalendarItem();
+        memorable.setUserId(USER_ID);
+        TimeSlot slot = new TimeSlot(MONDAY, MONDAY.plusDays(1));
+        index.onSlotChanged(memorable, null, slot);
+
+        assertTrue(index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1)).isEmpty());
+        verify(calendarItemRepository, times(1)).findOverlappingItems(eq(USER_ID), any(), any());
+    }
+
+    @Test
+    void routineWriteDropsTheWholeUser() {
+        loadItems();
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        Routine routine = routine(1L, MONDAY.plusHours(9), MONDAY.plusHours(10), DayOfWeek.MONDAY);
+        index.onSlotChanged(routine, routine.getTimeSlot(), routine.getTimeSlot());
+        index.busySlots(USER_ID, MONDAY, MONDAY.plusDays(1));
+
+        verify(calendarItemRepository, times(2)).findOverlappingItems(eq(USER_ID), any(), any());
+    }
+
+    private void loadItems(CalendarItem... items) {
+        when(calendarItemRepository.findOverlappingItems(eq(USER_ID), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(items)));
+    }
+
+    private static BitSet range(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to);
+        return bits;
+    }
+
+    private static Event event(Long id, LocalDateTime utcStart, LocalDateTime utcEnd) {
+        Event event = new Event();
+        event.setId(id);
+        event.setUserId(USER_ID);
+        event.setName("Event " + id);
+        event.setType(ItemType.EVENT);
+        event.setTimeSlot(new TimeSlot(utcStart, utcEnd));
+        return event;
+    }
+
+    private static Routine routine(Long id, LocalDateTime utcStart, LocalDateTime utcEnd, DayOfWeek... days) {
+        RecurringPattern pattern = new RecurringPattern();
+        pattern.setDaysOfWeek(new ArrayList<>(List.of(days)));
+
+        Routine routine = new Routine();
+        routine.setId(id);
+        routine.setUserId(USER_ID);
+        routine.setName("Routine " + id);
+        routine.setType(ItemType.ROUTINE);
+        routine.setTimeSlot(new TimeSlot(utcStart, utcEnd));
+        routine.setPattern(pattern);
+        return routine;
+    }
+}
@@ -0,0 +1,137 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.Event;
+import com.graduation.schedulingservice.model.MemorableEvent;
+import com.graduation.schedulingservice.model.RecurringPattern;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ICalendarWriterTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    void oneOffItemIsWrittenInUtc() throws IOException {
+        Event event = new Event();
+        event.setId(7L);
+        event.setName("Review");
+        event.setType(ItemType.EVENT);
+        event.setTimeSlot(new TimeSlot(LocalDateTime.of(2025, 6, 2, 13, 0), LocalDateTime.of(2025, 6, 2, 14, 0)));
+
+        List<String> lines = write(NEW_YORK, ical -> ical.writeItem(event));
+
+        assertTrue(lines.contains("UID:item-7@scheduling-service"));
+        assertTrue(lines.contains("DTSTART:20250602T130000Z"));
+        assertTrue(lines.contains("DTEND:20250602T140000Z"));
+        assertTrue(lines.contains("CATEGORIES:EVENT"));
+    }
+
+    @Test
+    void routineIsWrittenInLocalTimeWithRuleUntilAndExceptions() throws IOException {
+        // 09:00-10:00 New York from Monday 2025-03-03 (EST); the skipped 2025-03-10 is in EDT
+        Routine routine = new Routine();
+        routine.setId(8L);
+        routine.setName("Standup");
+        routine.setTimeSlot(new TimeSlot(LocalDateTime.of(2025, 3, 3, 14, 0), LocalDateTime.of(2025, 3, 3, 15, 0)));
+        RecurringPattern pattern = new RecurringPattern();
+        pattern.setDaysOfWeek(new ArrayList<>(List.of(DayOfWeek.WEDNESDAY, DayOfWeek.MONDAY)));
+        routine.setPattern(pattern);
+        routine.setEndDate(LocalDateTime.of(2025, 4, 1, 4, 0));
+        routine.addException(LocalDateTime.of(2025, 3, 10, 13, 0));
+
+        List<String> lines = write(NEW_YORK, ical -> ical.writeItem(routine));
+
+        assertTrue(lines.contains("DTSTART;TZID=America/New_York:20250303T090000"));
+        assertTrue(lines.contains("DTEND;TZID=America/New_York:20250303T100000"));
+        assertTrue(lines.contains("RRULE:FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20250401T035959Z"));
+        assertTrue(lines.contains("EXDATE;TZID=America/New_York:20250310T090000"));
+    }
+
+    @Test
+    void timeZoneBlocksFollowTheYearlyTransitionRules() throws IOException {
+        List<String> lines = write(NEW_YORK, ical -> {
+        });
+
+        assertTrue(lines.contains("TZID:America/New_York"));
+        int daylight = lines.indexOf("BEGIN:DAYLIGHT");
+        int standard = lines.indexOf("BEGIN:STANDARD");
+        assertTrue(daylight >= 0 && standard >= 0);
+        assertEquals("TZOFFSETFROM:-0500", lines.get(daylight + 2));
+        assertEquals("TZOFFSETTO:-0400", lines.get(daylight + 3));
+        assertEquals("RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=2SU", lines.get(daylight + 4));
+        assertEquals("RRULE:FREQ=YEARLY;BYMONTH=11;BYDAY=1SU", lines.get(standard + 4));
+    }
+
+    @Test
+    void legacyUtcZoneIsNamedUtc() throws IOException {
+        List<String> lines = write(ZoneOffset.UTC, ical -> {
+        });
+
+        assertTrue(lines.contains("X-WR-TIMEZONE:UTC"));
+        assertTrue(lines.contains("TZOFFSETTO:+0000"));
+    }
+
+    @Test
+    void memorableEventRecursYearlyAndSkipsOverriddenYears() throws IOException {
+        MemorableEvent event = new MemorableEvent();
+        event.setId(3L);
+        event.setTitle("Birthday");
+        event.setDay(29);
+        event.setMonth(2);
+        event.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        List<String> lines = write(ZoneOffset.UTC, ical -> ical.writeMemorableEvent(event, Set.of(2025)));
+
+        assertTrue(lines.contains("DTSTART;VALUE=DATE:20240229"));
+        assertTrue(lines.contains("RRULE:FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=29"));
+        assertTrue(lines.contains("EXDATE;VALUE=DATE:20250228"));
+    }
+
+    @Test
+    void textIsEscapedAndLongLinesAreFolded() throws IOException {
+        Event event = new Event();
+        event.setId(9L);
+        event.setName("Plan; budget, review\n" + "é".repeat(60));
+        event.setTimeSlot(new TimeSlot(LocalDateTime.of(2025, 6, 2, 13, 0), LocalDateTime.of(2025, 6, 2, 14, 0)));
+
+        StringWriter out = new StringWriter();
+        ICalendarWriter ical = new ICalendarWriter(out, ZoneOffset.UTC);
+        ical.writeItem(event);
+        String raw = out.toString();
+
+        for (String physical : raw.split("\r\n")) {
+            assertTrue(physical.getBytes(StandardCharsets.UTF_8).length <= 75, physical);
+        }
+        String unfolded = raw.replace("\r\n ", "");
+        assertTrue(unfolded.contains("SUMMARY:Plan\\; budget\\, review\\n" + "é".repeat(60) + "\r\n"));
+    }
+
+    private interface Body {
+        void write(ICalendarWriter ical) throws IOException;
+    }
+
+    private static List<String> write(ZoneId zone, Body body) throws IOException {
+        StringWriter out = new StringWriter();
+        ICalendarWriter ical = new ICalendarWriter(out, zone);
+        ical.begin("Work");
+        body.write(ical);
+        ical.end();
+        // Unfold continuation lines before splitting
+        return List.of(out.toString().replace("\r\n ", "").split("\r\n"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.graduation.schedulingservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void overlapIsHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 10, 20, "a");
+
+        assertEquals(List.of("a"), overlapping(tree, 19, 25));
+        assertEquals(List.of("a"), overlapping(tree, 5, 11));
+        assertTrue(overlapping(tree, 20, 30).isEmpty());
+        assertTrue(overlapping(tree, 0, 10).isEmpty());
+    }
+
+    @Test
+    void identicalIntervalsAreKeptApartById() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 10, 20, "a");
+        tree.insert(2, 10, 20, "b");
+
+        assertTrue(tree.remove(1, 10));
+
+        assertEquals(1, tree.size());
+        assertEquals(List.of("b"), overlapping(tree, 0, 100));
+    }
+
+    @Test
+    void removeOfUnknownIntervalIsANoOp() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 10, 20, "a");
+
+        assertFalse(tree.remove(1, 11));
+        assertFalse(tree.remove(2, 10));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void longIntervalIsFoundUnderShorterLaterOnes() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 0, 1000, "long");
+        for (int i = 2; i < 50; i++) {
+            tree.insert(i, i * 10L, i * 10L + 5, "short" + i);
+        }
+
+        List<String> found = overlapping(tree, 996, 999);
+
+        assertEquals(List.of("long"), found);
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        IntervalTree<long[]> tree = new IntervalTree<>();
+        List<long[]> live = new ArrayList<>();
+
+        for (int id = 0; id < 2000; id++) {
+            long start = random.nextInt(10_000);
+            long[] interval = {id, start, start + 1 + random.nextInt(500)};
+            tree.insert(interval[0], interval[1], interval[2], interval);
+            live.add(interval);
+
+            if (random.nextInt(3) == 0) {
+                long[] removed = live.remove(random.nextInt(live.size()));
+                assertTrue(tree.remove(removed[0], removed[1]));
+            }
+        }
+        assertEquals(live.size(), tree.size());
+
+        for (int q = 0; q < 500; q++) {
+            long from = random.nextInt(10_500);
+            long to = from + 1 + random.nextInt(300);
+
+            List<Long> expected = live.stream()
+                    .filter(i -> i[1] < to && i[2] > from)
+                    .map(i -> i[0])
+                    .sorted()
+                    .toList();
+            List<long[]> out = new ArrayList<>();
+            tree.collectOverlapping(from, to, out);
+
+            assertEquals(expected, out.stream().map(i -> i[0]).sorted().toList());
+        }
+    }
+
+    private static <V> List<V> overlapping(IntervalTree<V> tree, long from, long to) {
+        List<V> out = new ArrayList<>();
+        tree.collectOverlapping(from, to, out);
+        return out;
+    }
+}
@@ -0,0 +1,204 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.client.ProjectServiceClient;
+import com.graduation.schedulingservice.event.TaskLifecycleEvent;
+import com.graduation.schedulingservice.model.ProjectTaskReplica;
+import com.graduation.schedulingservice.payload.response.PM_TasKDTO;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.ProjectTaskReplicaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectTaskReplicaServiceTest {
+
+    private static final Long PROJECT_ID = 3L;
+    private static final Instant T1 = Instant.parse("2025-06-02T09:00:00Z");
+    private static final Instant T2 = Instant.parse("2025-06-02T10:00:00Z");
+
+    @Mock
+    private ProjectTaskReplicaRepository replicaRepository;
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+
+    @Mock
+    private ProjectServiceClient projectServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ProjectTaskReplicaService replicaService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        ReflectionTestUtils.setField(replicaService, "rebuildBatchSize", 2);
+    }
+
+    @Test
+    void trackSeedsTheRowWithTheSourceTimeAndProject() {
+        when(replicaRepository.findById(10L)).thenReturn(Optional.empty());
+
+        replicaService.track(task(10L, "Design", T1));
+
+        ArgumentCaptor<ProjectTaskReplica> saved = ArgumentCaptor.forClass(ProjectTaskReplica.class);
+        verify(replicaRepository).save(saved.capture());
+        assertEquals(PROJECT_ID, saved.getValue().getProjectId());
+        assertEquals(T1, saved.getValue().getSourceUpdatedAt());
+    }
+
+    @Test
+    void trackDoesNotOverwriteANewerEventState() {
+        when(replicaRepository.findById(10L)).thenReturn(Optional.of(row(10L, "Renamed", T2)));
+
+        replicaService.track(task(10L, "Design", T1));
+
+        verify(replicaRepository, never()).save(any());
+    }
+
+    @Test
+    void undatedReadIsOlderThanAnyDatedState() {
+        when(replicaRepository.findById(10L)).thenReturn(Optional.empty());
+
+        replicaService.track(task(10L, "Design", null));
+
+        ArgumentCaptor<ProjectTaskReplica> saved = ArgumentCaptor.forClass(ProjectTaskReplica.class);
+        verify(replicaRepository).save(saved.capture());
+        assertEquals(Instant.EPOCH, saved.getValue().getSourceUpdatedAt());
+    }
+
+    @Test
+    void eventIsOrderedByTheTaskWriteTimeNotTheEventTime() {
+        ProjectTaskReplica row = row(10L, "Design", T2);
+        when(replicaRepository.findAllById(anyCollection())).thenReturn(List.of(row));
+
+        // Published after the read, but describing an older write of the task
+        replicaService.apply(event(TaskLifecycleEvent.TYPE_UPSERT, T2.plusSeconds(60), snapshot(10L, "Old", T1)));
+
+        assertEquals("Design", row.getName());
+        verify(replicaRepository).saveAll(List.of());
+    }
+
+    @Test
+    void newerEventReplacesTheRow() {
+        ProjectTaskReplica row = row(10L, "Design", T1);
+        when(replicaRepository.findAllById(anyCollection())).thenReturn(List.of(row));
+
+        replicaService.apply(event(TaskLifecycleEvent.TYPE_UPSERT, T2, snapshot(10L, "Renamed", T2)));
+
+        assertEquals("Renamed", row.getName());
+        assertEquals(T2, row.getSourceUpdatedAt());
+        verify(replicaRepository).saveAll(List.of(row));
+    }
+
+    @Test
+    void undatedSnapshotFallsBackToTheEventTime() {
+        ProjectTaskReplica row = row(10L, "Design", T1);
+        when(replicaRepository.findAllById(anyCollection())).thenReturn(List.of(row));
+
+        replicaService.apply(event(TaskLifecycleEvent.TYPE_UPSERT, T2, snapshot(10L, "Renamed", null)));
+
+        assertEquals("Renamed", row.getName());
+        assertEquals(T2, row.getSourceUpdatedAt());
+    }
+
+    @Test
+    void snapshotPrunesTheProjectTasksItDoesNotList() {
+        when(replicaRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        replicaService.apply(event(TaskLifecycleEvent.TYPE_SNAPSHOT, T2, snapshot(10L, "Design", T1)));
+
+        verify(replicaRepository).deleteByProjectIdExcept(PROJECT_ID, List.of(10L));
+    }
+
+    @Test
+    void rebuildIsSkippedWhileAnotherInstanceHoldsTheLock() {
+        when(replicaRepository.tryLockRebuild()).thenReturn(false);
+
+        assertEquals(ProjectTaskReplicaService.REBUILD_RUNNING, replicaService.rebuild());
+
+        verifyNoInteractions(projectServiceClient, calendarItemRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildKeepsNewerRowsAndDropsGoneAndUnlinkedTasks() {
+        when(replicaRepository.tryLockRebuild()).thenReturn(true);
+        when(calendarItemRepository.findAllLinkedPmTaskIds()).thenReturn(List.of(10L, 11L));
+        ProjectTaskReplica newer = row(10L, "Renamed", T2);
+        ProjectTaskReplica gone = row(11L, "Removed", T1);
+        when(replicaRepository.findAllById(anyCollection())).thenReturn(List.of(newer, gone));
+        when(projectServiceClient.getProjectTasksByIds(anyCollection()))
+                .thenReturn(Optional.of(List.of(task(10L, "Design", T1))));
+        when(replicaRepository.findAllPmTaskIds()).thenReturn(List.of(10L, 12L));
+
+        assertEquals(1, replicaService.rebuild());
+
+        assertEquals("Renamed", newer.getName());
+        verify(replicaRepository).saveAll(List.of());
+        ArgumentCaptor<Collection<Long>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(replicaRepository, times(2)).deleteAllByIdInBatch(deleted.capture());
+        assertEquals(List.of(11L), new ArrayList<>(deleted.getAllValues().get(0)));
+        assertEquals(List.of(12L), new ArrayList<>(deleted.getAllValues().get(1)));
+    }
+
+    @Test
+    void rebuildStopsWithoutDeletingWhenProjectServiceIsDown() {
+        when(replicaRepository.tryLockRebuild()).thenReturn(true);
+        when(calendarItemRepository.findAllLinkedPmTaskIds()).thenReturn(List.of(10L));
+        when(projectServiceClient.getProjectTasksByIds(anyCollection())).thenReturn(Optional.empty());
+
+        assertEquals(ProjectTaskReplicaService.REBUILD_UNAVAILABLE, replicaService.rebuild());
+
+        verify(replicaRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private static PM_TasKDTO task(Long id, String name, Instant updatedAt) {
+        PM_TasKDTO task = new PM_TasKDTO();
+        task.setId(id);
+        task.setName(name);
+        task.setProjectId(PROJECT_ID);
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+
+    private static ProjectTaskReplica row(Long id, String name, Instant sourceUpdatedAt) {
+        ProjectTaskReplica row = new ProjectTaskReplica(id);
+        row.setProjectId(PROJECT_ID);
+        row.setName(name);
+        row.setSourceUpdatedAt(sourceUpdatedAt);
+        return row;
+    }
+
+    private static TaskLifecycleEvent.TaskSnapshot snapshot(Long id, String name, Instant updatedAt) {
+        TaskLifecycleEvent.TaskSnapshot snapshot = new TaskLifecycleEvent.TaskSnapshot();
+        snapshot.setTaskId(id);
+        snapshot.setName(name);
+        snapshot.setUpdatedAt(updatedAt);
+        return snapshot;
+    }
+
+    private static TaskLifecycleEvent event(String type, Instant occurredAt, TaskLifecycleEvent.TaskSnapshot... tasks) {
+        return new TaskLifecycleEvent(PROJECT_ID, type, List.of(tasks), List.of(), occurredAt);
+    }
+}
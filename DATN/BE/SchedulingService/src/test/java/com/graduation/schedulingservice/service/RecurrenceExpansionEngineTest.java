@@ -0,0 +1,165 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.MemorableEvent;
+import com.graduation.schedulingservice.model.RecurringPattern;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.payload.response.ScheduledItemDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceExpansionEngineTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private final RecurrenceExpansionEngine engine = new RecurrenceExpansionEngine();
+
+    @Test
+    void routineRecursOnPatternDaysOnly() {
+        // Monday 2025-06-02 09:00-10:00, Mondays and Wednesdays
+        Routine routine = routine(LocalDateTime.of(2025, 6, 2, 9, 0), LocalDateTime.of(2025, 6, 2, 10, 0),
+                DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY);
+
+        List<LocalDate> dates = occurrenceDates(routine, ZoneOffset.UTC,
+                LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 15, 0, 0));
+
+        assertEquals(List.of(LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 4),
+                LocalDate.of(2025, 6, 9), LocalDate.of(2025, 6, 11)), dates);
+    }
+
+    @Test
+    void exceptionsRemoveSingleDates() {
+        Routine routine = routine(LocalDateTime.of(2025, 6, 2, 9, 0), LocalDateTime.of(2025, 6, 2, 10, 0),
+                DayOfWeek.MONDAY);
+        routine.addException(LocalDateTime.of(2025, 6, 9, 9, 0));
+
+        List<LocalDate> dates = occurrenceDates(routine, ZoneOffset.UTC,
+                LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 20, 0, 0));
+
+        assertEquals(List.of(LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 16)), dates);
+    }
+
+    @Test
+    void endDateIsExclusive() {
+        Routine routine = routine(LocalDateTime.of(2025, 6, 2, 9, 0), LocalDateTime.of(2025, 6, 2, 10, 0),
+                DayOfWeek.MONDAY);
+        routine.setEndDate(LocalDateTime.of(2025, 6, 16, 0, 0));
+
+        List<LocalDate> dates = occurrenceDates(routine, ZoneOffset.UTC,
+                LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 30, 0, 0));
+
+        assertEquals(List.of(LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 9)), dates);
+    }
+
+    @Test
+    void overnightOccurrenceFromTheDayBeforeRunsIntoTheWindow() {
+        Routine routine = routine(LocalDateTime.of(2025, 6, 2, 23, 0), LocalDateTime.of(2025, 6, 3, 1, 0),
+                DayOfWeek.MONDAY);
+
+        List<ScheduledItemDTO> items = occurrences(routine, ZoneOffset.UTC,
+                LocalDateTime.of(2025, 6, 10, 0, 0), LocalDateTime.of(2025, 6, 11, 0, 0));
+
+        assertEquals(1, items.size());
+        assertEquals(LocalDateTime.of(2025, 6, 9, 23, 0), items.get(0).getTimeSlot().getStartTime());
+        assertEquals(LocalDateTime.of(2025, 6, 10, 1, 0), items.get(0).getTimeSlot().getEndTime());
+    }
+
+    @Test
+    void localTimeOfDayIsKeptAcrossDaylightSavingChange() {
+        // 09:00 New York on Monday 2025-03-03 is 14:00 UTC; clocks spring forward on 2025-03-09
+        Routine routine = routine(LocalDateTime.of(2025, 3, 3, 14, 0), LocalDateTime.of(2025, 3, 3, 15, 0),
+                DayOfWeek.MONDAY);
+
+        List<ScheduledItemDTO> items = occurrences(routine, NEW_YORK,
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 15, 0, 0));
+
+        assertEquals(2, items.size());
+        assertEquals(LocalDateTime.of(2025, 3, 3, 9, 0), items.get(0).getTimeSlot().getStartTime());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), items.get(1).getTimeSlot().getStartTime());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 10, 0), items.get(1).getTimeSlot().getEndTime());
+    }
+
+    @Test
+    void routineWithoutDaysHasNoOccurrences() {
+        Routine routine = routine(LocalDateTime.of(2025, 6, 2, 9, 0), LocalDateTime.of(2025, 6, 2, 10, 0));
+
+        assertTrue(occurrences(routine, ZoneOffset.UTC,
+                LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 30, 0, 0)).isEmpty());
+    }
+
+    @Test
+    void leapDayEventFallsOnLastDayOfFebruaryOutsideLeapYears() {
+        MemorableEvent event = new MemorableEvent();
+        event.setDay(29);
+        event.setMonth(2);
+
+        assertEquals(LocalDate.of(2024, 2, 29), RecurrenceExpansionEngine.yearlyOccurrenceDate(event, 2024));
+        assertEquals(LocalDate.of(2025, 2, 28), RecurrenceExpansionEngine.yearlyOccurrenceDate(event, 2025));
+    }
+
+    @Test
+    void yearlyOccurrencesSkipOverriddenYears() {
+        MemorableEvent event = new MemorableEvent();
+        event.setId(5L);
+        event.setTitle("Birthday");
+        event.setDay(10);
+        event.setMonth(1);
+
+        List<ScheduledItemDTO> items = new ArrayList<>();
+        engine.yearlyOccurrences(event, Set.of(2025),
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2027, 1, 1, 0, 0))
+                .forEachRemaining(items::add);
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 10), LocalDate.of(2026, 1, 10)),
+                items.stream().map(ScheduledItemDTO::getOccurrenceDate).toList());
+    }
+
+    @Test
+    void mergeInterleavesSourcesInOrderAndKeepsSourceOrderOnTies() {
+        Iterator<String> merged = engine.merge(List.of(
+                List.of("a1", "c1").iterator(),
+                List.of("a2", "b2").iterator(),
+                Collections.<String>emptyIterator()), Comparator.comparing(s -> s.charAt(0)));
+
+        List<String> result = new ArrayList<>();
+        merged.forEachRemaining(result::add);
+
+        assertEquals(List.of("a1", "a2", "b2", "c1"), result);
+    }
+
+    private List<LocalDate> occurrenceDates(Routine routine, ZoneId zone,
+                                            LocalDateTime windowStart, LocalDateTime windowEnd) {
+        return occurrences(routine, zone, windowStart, windowEnd).stream()
+                .map(ScheduledItemDTO::getOccurrenceDate)
+                .toList();
+    }
+
+    private List<ScheduledItemDTO> occurrences(Routine routine, ZoneId zone,
+                                               LocalDateTime windowStart, LocalDateTime windowEnd) {
+        List<ScheduledItemDTO> items = new ArrayList<>();
+        engine.occurrences(routine, zone, windowStart, windowEnd).forEachRemaining(items::add);
+        return items;
+    }
+
+    private static Routine routine(LocalDateTime utcStart, LocalDateTime utcEnd, DayOfWeek... days) {
+        RecurringPattern pattern = new RecurringPattern();
+        pattern.setDaysOfWeek(new ArrayList<>(List.of(days)));
+
+        Routine routine = new Routine();
+        routine.setId(1L);
+        routine.setName("Routine");
+        routine.setType(ItemType.ROUTINE);
+        routine.setTimeSlot(new TimeSlot(utcStart, utcEnd));
+        routine.setPattern(pattern);
+        return routine;
+    }
+}
@@ -0,0 +1,116 @@
+package com.graduation.schedulingservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSolverTest {
+
+    private static final int SLOTS = 4;
+    private static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final ScheduleSolver solver = new ScheduleSolver();
+
+    @Test
+    void greedyPlacesItemsAtTheEarliestFreeSlot() {
+        ScheduleSolver.Problem problem = problem(new int[]{NO_LIMIT, NO_LIMIT}, busy(0, 1), busy());
+
+        ScheduleSolver.Solution solution = solver.solve(problem, List.of(
+                new ScheduleSolver.Item(1L, 2, 0, 1),
+                new ScheduleSolver.Item(2L, 2, 0, 1)), 4, 1000);
+
+        assertEquals(List.of(
+                new ScheduleSolver.Placement(1L, 0, 2, 2),
+                new ScheduleSolver.Placement(2L, 1, 0, 2)), solution.placed());
+        assertTrue(solution.unplaced().isEmpty());
+        assertTrue(solution.exhaustive());
+    }
+
+    @Test
+    void earlierDeadlineIsPlacedFirst() {
+        ScheduleSolver.Problem problem = problem(new int[]{NO_LIMIT, NO_LIMIT}, busy(), busy(0, 1, 2, 3));
+
+        ScheduleSolver.Solution solution = solver.solve(problem, List.of(
+                new ScheduleSolver.Item(1L, 4, 0, 1),
+                new ScheduleSolver.Item(2L, 4, 0, 0)), 4, 1000);
+
+        assertEquals(List.of(new ScheduleSolver.Placement(2L, 0, 0, 4)), solution.placed());
+        assertEquals(List.of(1L), solution.unplaced());
+    }
+
+    @Test
+    void backtrackingMovesAnItemToFitOneMore() {
+        // Greedy puts the short item on day 0, where the only four free slots are
+        ScheduleSolver.Problem problem = problem(new int[]{NO_LIMIT, NO_LIMIT, NO_LIMIT},
+                busy(), busy(1, 2, 3), busy(0, 1, 2, 3));
+
+        ScheduleSolver.Solution solution = solver.solve(problem, List.of(
+                new ScheduleSolver.Item(1L, 1, 0, 1),
+                new ScheduleSolver.Item(2L, 4, 0, 2)), 4, 1000);
+
+        assertEquals(List.of(
+                new ScheduleSolver.Placement(2L, 0, 0, 4),
+                new ScheduleSolver.Placement(1L, 1, 0, 1)), solution.placed());
+        assertTrue(solution.unplaced().isEmpty());
+    }
+
+    @Test
+    void outOfBudgetReturnsTheGreedySchedule() {
+        ScheduleSolver.Problem problem = problem(new int[]{NO_LIMIT, NO_LIMIT, NO_LIMIT},
+                busy(), busy(1, 2, 3), busy(0, 1, 2, 3));
+
+        ScheduleSolver.Solution solution = solver.solve(problem, List.of(
+                new ScheduleSolver.Item(1L, 1, 0, 1),
+                new ScheduleSolver.Item(2L, 4, 0, 2)), 4, 1);
+
+        assertEquals(List.of(new ScheduleSolver.Placement(1L, 0, 0, 1)), solution.placed());
+        assertEquals(List.of(2L), solution.unplaced());
+        assertFalse(solution.exhaustive());
+    }
+
+    @Test
+    void dailyCapacityAndItemWindowAreRespected() {
+        ScheduleSolver.Problem problem = problem(new int[]{1, NO_LIMIT, NO_LIMIT}, busy(), busy(), busy());
+
+        ScheduleSolver.Solution solution = solver.solve(problem, List.of(
+                new ScheduleSolver.Item(1L, 2, 0, 1),
+                new ScheduleSolver.Item(2L, 1, 2, 5)), 4, 1000);
+
+        assertEquals(List.of(
+                new ScheduleSolver.Placement(1L, 1, 0, 2),
+                new ScheduleSolver.Placement(2L, 2, 0, 1)), solution.placed());
+    }
+
+    @Test
+    void callerBitmapsAndCapacityAreLeftUntouched() {
+        BitSet day = busy(0);
+        int[] capacity = {3};
+        ScheduleSolver.Problem problem = problem(capacity, day);
+
+        solver.solve(problem, List.of(new ScheduleSolver.Item(1L, 2, 0, 0)), 4, 1000);
+
+        assertEquals(busy(0), day);
+        assertArrayEquals(new int[]{3}, capacity);
+    }
+
+    private static ScheduleSolver.Problem problem(int[] capacity, BitSet... busy) {
+        List<LocalDate> days = new ArrayList<>();
+        for (int i = 0; i < busy.length; i++) {
+            days.add(LocalDate.of(2025, 6, 2).plusDays(i));
+        }
+        return new ScheduleSolver.Problem(days, List.of(busy), SLOTS, capacity);
+    }
+
+    private static BitSet busy(int... slots) {
+        BitSet bits = new BitSet(SLOTS);
+        for (int slot : slots) {
+            bits.set(slot);
+        }
+        return bits;
+    }
+}
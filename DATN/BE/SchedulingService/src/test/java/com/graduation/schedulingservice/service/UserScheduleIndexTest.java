@@ -0,0 +1,196 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Event;
+import com.graduation.schedulingservice.model.RecurringPattern;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserScheduleIndexTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+
+    private UserScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(userTimeZoneService.zoneOf(USER_ID)).thenReturn(ZoneOffset.UTC);
+
+        index = new UserScheduleIndex(calendarItemRepository, transactionManager, userTimeZoneService);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(index, "maxUsers", 100);
+        ReflectionTestUtils.setField(index, "maxItemsPerUser", 100);
+    }
+
+    @Test
+    void weekdayBitmapHasOneBitPerPatternDay() {
+        UserScheduleIndex.Entry entry = UserScheduleIndex.Entry.of(routine(1L, LocalTime.of(9, 0), LocalTime.of(10, 0),
+                DayOfWeek.MONDAY, DayOfWeek.SUNDAY));
+
+        assertEquals(0b1000001, entry.dayMask());
+        assertTrue(entry.recursOn(DayOfWeek.MONDAY));
+        assertTrue(entry.recursOn(DayOfWeek.SUNDAY));
+        assertFalse(entry.recursOn(DayOfWeek.TUESDAY));
+    }
+
+    @Test
+    void routineWithoutPatternDoesNotRecur() {
+        Routine routine = routine(1L, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        routine.setPattern(null);
+
+        UserScheduleIndex.Entry entry = UserScheduleIndex.Entry.of(routine);
+
+        assertEquals(0, entry.dayMask());
+        assertFalse(entry.isRecurring());
+    }
+
+    @Test
+    void exceptionDatesAreComparedByLocalDate() {
+        Routine routine = routine(1L, LocalTime.of(9, 0), LocalTime.of(10, 0), DayOfWeek.MONDAY);
+        // 2025-06-09 00:30 in Ho Chi Minh City (UTC+7)
+        routine.addException(LocalDateTime.of(2025, 6, 8, 17, 30));
+
+        UserScheduleIndex.Entry local = UserScheduleIndex.Entry.of(routine, ZoneId.of("Asia/Ho_Chi_Minh"));
+        UserScheduleIndex.Entry utc = UserScheduleIndex.Entry.of(routine, ZoneOffset.UTC);
+
+        assertEquals(Set.of(LocalDate.of(2025, 6, 9)), local.exceptionDays());
+        assertTrue(local.hasExceptionOn(LocalDate.of(2025, 6, 9)));
+        assertFalse(local.hasExceptionOn(LocalDate.of(2025, 6, 8)));
+        assertTrue(utc.hasExceptionOn(LocalDate.of(2025, 6, 8)));
+        // Not loaded into a schedule yet
+        assertFalse(UserScheduleIndex.Entry.of(routine).hasExceptionOn(LocalDate.of(2025, 6, 8)));
+    }
+
+    @Test
+    void routineCandidatesMatchOnWeekdayAndTimeOfDay() {
+        Routine morning = routine(1L, LocalTime.of(9, 0), LocalTime.of(10, 0), DayOfWeek.MONDAY);
+        Routine evening = routine(2L, LocalTime.of(18, 0), LocalTime.of(19, 0), DayOfWeek.MONDAY);
+        Routine tuesday = routine(3L, LocalTime.of(9, 0), LocalTime.of(10, 0), DayOfWeek.TUESDAY);
+        loadItems(morning, evening, tuesday);
+
+        List<UserScheduleIndex.Entry> found = index.findRoutineCandidates(USER_ID, List.of(DayOfWeek.MONDAY),
+                LocalTime.of(9, 30), LocalTime.of(11, 0));
+
+        assertEquals(List.of(1L), found.stream().map(UserScheduleIndex.Entry::id).toList());
+        verify(calendarItemRepository).fetchRoutinePatterns(List.of(1L, 2L, 3L));
+        verify(calendarItemRepository).fetchRoutineExceptions(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void routineCrossingMidnightIsAlwaysACandidate() {
+        Routine overnight = routine(1L, LocalTime.of(23, 0), LocalTime.of(1, 0), DayOfWeek.FRIDAY);
+        loadItems(overnight);
+
+        List<UserScheduleIndex.Entry> found = index.findRoutineCandidates(USER_ID, List.of(DayOfWeek.FRIDAY),
+                LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+        assertEquals(1, found.size());
+    }
+
+    @Test
+    void overlappingUsesTheLoadedIndex() {
+        Event event = new Event();
+        event.setId(5L);
+        event.setUserId(USER_ID);
+        event.setName("Meeting");
+        event.setType(ItemType.EVENT);
+        event.setTimeSlot(new TimeSlot(LocalDateTime.of(2025, 6, 2, 9, 0), LocalDateTime.of(2025, 6, 2, 10, 0)));
+        loadItems(event);
+
+        assertEquals(1, index.findOverlapping(USER_ID,
+                LocalDateTime.of(2025, 6, 2, 9, 30), LocalDateTime.of(2025, 6, 2, 11, 0)).size());
+        assertTrue(index.findOverlapping(USER_ID,
+                LocalDateTime.of(2025, 6, 2, 10, 0), LocalDateTime.of(2025, 6, 2, 11, 0)).isEmpty());
+        verify(calendarItemRepository, never()).findOverlappingItems(anyLong(), any(), any());
+    }
+
+    @Test
+    void loadRacingWithACommittedWriteIsNotPublished() {
+        Routine routine = routine(1L, LocalTime.of(9, 0), LocalTime.of(10, 0), DayOfWeek.MONDAY);
+        when(calendarItemRepository.findScheduledItemsForIndex(eq(USER_ID), any()))
+                .thenAnswer(invocation -> {
+                    // A write commits while the index is reading
+                    index.onItemSaved(routine(2L, LocalTime.of(9, 0), LocalTime.of(10, 0), DayOfWeek.MONDAY));
+                    return new ArrayList<>(List.of(routine));
+                })
+                .thenReturn(new ArrayList<>(List.of(routine)));
+        when(calendarItemRepository.findScheduledRecurringRoutinesByUserId(USER_ID)).thenReturn(List.of(routine));
+
+        index.findRoutineCandidates(USER_ID, List.of(DayOfWeek.MONDAY), LocalTime.of(9, 0), LocalTime.of(10, 0));
+        index.findRoutineCandidates(USER_ID, List.of(DayOfWeek.MONDAY), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        // The raced load fell back to the database; the next check loaded the index again
+        verify(calendarItemRepository, times(1)).findScheduledRecurringRoutinesByUserId(USER_ID);
+        verify(calendarItemRepository, times(2)).findScheduledItemsForIndex(eq(USER_ID), any());
+    }
+
+    @Test
+    void committedWriteIsAppliedToTheLoadedIndex() {
+        loadItems(routine(1L, LocalTime.of(9, 0), LocalTime.of(10, 0), DayOfWeek.MONDAY));
+        index.findRoutineCandidates(USER_ID, List.of(DayOfWeek.MONDAY), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        index.onItemSaved(routine(2L, LocalTime.of(9, 30), LocalTime.of(10, 30), DayOfWeek.MONDAY));
+        List<UserScheduleIndex.Entry> found = index.findRoutineCandidates(USER_ID, List.of(DayOfWeek.MONDAY),
+                LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertEquals(List.of(1L, 2L), found.stream().map(UserScheduleIndex.Entry::id).toList());
+        verify(calendarItemRepository, times(1)).findScheduledItemsForIndex(eq(USER_ID), any());
+    }
+
+    private void loadItems(CalendarItem... items) {
+        when(calendarItemRepository.findScheduledItemsForIndex(eq(USER_ID), any()))
+                .thenReturn(new ArrayList<>(List.of(items)));
+    }
+
+    private static Routine routine(Long id, LocalTime start, LocalTime end, DayOfWeek... days) {
+        RecurringPattern pattern = new RecurringPattern();
+        pattern.setDaysOfWeek(new ArrayList<>(List.of(days)));
+
+        LocalDate firstDay = LocalDate.of(2025, 6, 2);
+        Routine routine = new Routine();
+        routine.setId(id);
+        routine.setUserId(USER_ID);
+        routine.setName("Routine " + id);
+        routine.setType(ItemType.ROUTINE);
+        routine.setTimeSlot(new TimeSlot(firstDay.atTime(start),
+                end.isAfter(start) ? firstDay.atTime(end) : firstDay.plusDays(1).atTime(end)));
+        routine.setPattern(pattern);
+        return routine;
+    }
+}
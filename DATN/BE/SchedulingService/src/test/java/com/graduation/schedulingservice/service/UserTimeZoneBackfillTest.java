@@ -0,0 +1,141 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.client.UserServiceClient;
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Event;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserTimeZoneBackfillTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String MARKER_INSERT = "INSERT INTO scheduling_backfills (name) VALUES (:name) ON CONFLICT DO NOTHING";
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+    @Mock
+    private UserConstraintsRepository userConstraintsRepository;
+    @Mock
+    private UserServiceClient userServiceClient;
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private UserTimeZoneBackfill backfill;
+
+    private final Query query = mock(Query.class, RETURNS_SELF);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        lenient().when(query.getResultList()).thenReturn(List.of());
+        lenient().when(userTimeZoneService.defaultZone()).thenReturn(ZoneId.of("Asia/Ho_Chi_Minh"));
+    }
+
+    @Test
+    void legacyRowsAreConvertedToUtcAcrossTheDstChangeUnderTheRowLock() {
+        UserConstraints constraints = UserConstraints.createDefault(USER_ID);
+        when(calendarItemRepository.findUserIdsWithoutTimezone()).thenReturn(List.of(USER_ID));
+        when(userServiceClient.getTimezonesByIds(List.of(USER_ID)))
+                .thenReturn(Optional.of(Map.of(USER_ID, "America/New_York")));
+        when(userConstraintsRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(constraints));
+
+        // Wall-clock New York times: EST (UTC-5) before 2025-03-09, EDT (UTC-4) after
+        Routine routine = new Routine();
+        routine.setTimeSlot(new TimeSlot(LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 10, 0)));
+        routine.setEndDate(LocalDateTime.of(2025, 4, 1, 0, 0));
+        routine.addException(LocalDateTime.of(2025, 3, 10, 9, 0));
+        Event event = new Event();
+        event.setTimeSlot(new TimeSlot(LocalDateTime.of(2025, 3, 10, 9, 0), LocalDateTime.of(2025, 3, 10, 10, 0)));
+        Event unscheduled = new Event();
+        when(calendarItemRepository.findAllByUserId(USER_ID)).thenReturn(List.<CalendarItem>of(routine, event, unscheduled));
+
+        assertTrue(backfill.backfill());
+
+        assertEquals(LocalDateTime.of(2025, 3, 3, 14, 0), routine.getTimeSlot().getStartTime());
+        assertEquals(LocalDateTime.of(2025, 4, 1, 4, 0), routine.getEndDate());
+        assertEquals(List.of(LocalDateTime.of(2025, 3, 10, 13, 0)), routine.getExceptions());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 13, 0), event.getTimeSlot().getStartTime());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 14, 0), event.getTimeSlot().getEndTime());
+        assertEquals("America/New_York", constraints.getTimezone());
+        verify(userConstraintsRepository).saveAndFlush(constraints);
+        verify(entityManager).createNativeQuery(MARKER_INSERT);
+    }
+
+    @Test
+    void userUnknownToUserServiceGetsTheDefaultZone() {
+        when(calendarItemRepository.findUserIdsWithoutTimezone()).thenReturn(List.of(USER_ID));
+        when(userServiceClient.getTimezonesByIds(List.of(USER_ID))).thenReturn(Optional.of(Map.of()));
+        when(userConstraintsRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.empty());
+
+        assertTrue(backfill.backfill());
+
+        verify(userConstraintsRepository).saveAndFlush(argThat(saved ->
+                USER_ID.equals(saved.getUserId()) && "Asia/Ho_Chi_Minh".equals(saved.getTimezone())));
+    }
+
+    @Test
+    void userWhoseZoneWasStoredMeanwhileIsLeftAlone() {
+        UserConstraints constraints = UserConstraints.createDefault(USER_ID);
+        constraints.setTimezone("Europe/Paris");
+        when(calendarItemRepository.findUserIdsWithoutTimezone()).thenReturn(List.of(USER_ID));
+        when(userServiceClient.getTimezonesByIds(List.of(USER_ID)))
+                .thenReturn(Optional.of(Map.of(USER_ID, "America/New_York")));
+        when(userConstraintsRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(constraints));
+
+        assertTrue(backfill.backfill());
+
+        assertEquals("Europe/Paris", constraints.getTimezone());
+        verify(calendarItemRepository, never()).findAllByUserId(anyLong());
+    }
+
+    @Test
+    void unreachableUserServiceStopsBeforeAnyConversionAndIsNotRecorded() {
+        when(calendarItemRepository.findUserIdsWithoutTimezone()).thenReturn(List.of(USER_ID));
+        when(userServiceClient.getTimezonesByIds(List.of(USER_ID))).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> backfill.backfill());
+
+        verifyNoInteractions(userConstraintsRepository);
+        verify(entityManager, never()).createNativeQuery(MARKER_INSERT);
+    }
+
+    @Test
+    void recordedBackfillDoesNotRunAgain() {
+        when(query.getResultList()).thenReturn(List.of(1));
+
+        assertFalse(backfill.backfill());
+
+        verify(calendarItemRepository, never()).findUserIdsWithoutTimezone();
+        verifyNoInteractions(userServiceClient);
+    }
+}
@@ -0,0 +1,118 @@
+package com.graduation.schedulingservice.service;
+
+import com.graduation.schedulingservice.repository.UserConstraintsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserTimeZoneServiceTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Mock
+    private UserConstraintsRepository userConstraintsRepository;
+
+    @InjectMocks
+    private UserTimeZoneService userTimeZoneService;
+
+    @BeforeEach
+    void setDefaultZone() {
+        ReflectionTestUtils.setField(userTimeZoneService, "defaultZone", ZoneId.of("Asia/Ho_Chi_Minh"));
+    }
+
+    @AfterEach
+    void clearTransactionState() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void localTimeInSpringForwardGapMovesForwardByTheGap() {
+        // 2025-03-09 02:30 does not exist in New York; it becomes 03:30 EDT (UTC-4)
+        assertEquals(LocalDateTime.of(2025, 3, 9, 7, 30),
+                UserTimeZoneService.toUtc(LocalDateTime.of(2025, 3, 9, 2, 30), NEW_YORK));
+    }
+
+    @Test
+    void localTimeInFallBackOverlapUsesTheEarlierOffset() {
+        // 2025-11-02 01:30 happens twice in New York; the first one is EDT (UTC-4)
+        assertEquals(LocalDateTime.of(2025, 11, 2, 5, 30),
+                UserTimeZoneService.toUtc(LocalDateTime.of(2025, 11, 2, 1, 30), NEW_YORK));
+    }
+
+    @Test
+    void sameLocalTimeMapsToDifferentUtcAcrossTheTransition() {
+        assertEquals(LocalDateTime.of(2025, 3, 8, 14, 0),
+                UserTimeZoneService.toUtc(LocalDateTime.of(2025, 3, 8, 9, 0), NEW_YORK));
+        assertEquals(LocalDateTime.of(2025, 3, 10, 13, 0),
+                UserTimeZoneService.toUtc(LocalDateTime.of(2025, 3, 10, 9, 0), NEW_YORK));
+    }
+
+    @Test
+    void utcRoundTripsToTheSameLocalTimeOutsideTransitions() {
+        LocalDateTime local = LocalDateTime.of(2025, 7, 1, 18, 45);
+
+        assertEquals(local, UserTimeZoneService.toLocal(UserTimeZoneService.toUtc(local, NEW_YORK), NEW_YORK));
+    }
+
+    @Test
+    void startOfDayOnTransitionDayUsesThatDaysOffset() {
+        assertEquals(LocalDateTime.of(2025, 3, 9, 5, 0),
+                UserTimeZoneService.startOfDayUtc(LocalDate.of(2025, 3, 9), NEW_YORK));
+        assertEquals(LocalDateTime.of(2025, 3, 10, 4, 0),
+                UserTimeZoneService.startOfDayUtc(LocalDate.of(2025, 3, 10), NEW_YORK));
+    }
+
+    @Test
+    void zoneIsReadOnEveryCall() {
+        when(userConstraintsRepository.findTimezoneByUserId(1L))
+                .thenReturn(Optional.of("Asia/Ho_Chi_Minh"))
+                .thenReturn(Optional.of("Europe/Paris"));
+
+        assertEquals(ZoneId.of("Asia/Ho_Chi_Minh"), userTimeZoneService.zoneOf(1L));
+        assertEquals(ZoneId.of("Europe/Paris"), userTimeZoneService.zoneOf(1L));
+    }
+
+    @Test
+    void missingOrInvalidZoneResolvesToTheDefaultZone() {
+        when(userConstraintsRepository.findTimezoneByUserId(1L)).thenReturn(Optional.empty());
+        when(userConstraintsRepository.findTimezoneByUserId(2L)).thenReturn(Optional.of("Mars/Olympus"));
+
+        assertEquals(ZoneId.of("Asia/Ho_Chi_Minh"), userTimeZoneService.zoneOf(1L));
+        assertEquals(ZoneId.of("Asia/Ho_Chi_Minh"), userTimeZoneService.zoneOf(2L));
+    }
+
+    @Test
+    void writeTransactionReadsTheZoneUnderAKeyShareLock() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(userConstraintsRepository.findTimezoneByUserIdForKeyShare(1L)).thenReturn(Optional.of("Europe/Paris"));
+
+        assertEquals(ZoneId.of("Europe/Paris"), userTimeZoneService.zoneOf(1L));
+        verify(userConstraintsRepository, never()).findTimezoneByUserId(anyLong());
+    }
+
+    @Test
+    void readOnlyTransactionReadsTheZoneWithoutLocking() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(userConstraintsRepository.findTimezoneByUserId(1L)).thenReturn(Optional.of("Europe/Paris"));
+
+        assertEquals(ZoneId.of("Europe/Paris"), userTimeZoneService.zoneOf(1L));
+        verify(userConstraintsRepository, never()).findTimezoneByUserIdForKeyShare(anyLong());
+    }
+}
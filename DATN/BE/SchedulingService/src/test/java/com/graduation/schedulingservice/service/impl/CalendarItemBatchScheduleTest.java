@@ -0,0 +1,164 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graduation.schedulingservice.client.ProjectServiceClient;
+import com.graduation.schedulingservice.model.CalendarItem;
+import com.graduation.schedulingservice.model.Event;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.payload.request.BatchScheduleRequest;
+import com.graduation.schedulingservice.payload.request.TimeSlotDTO;
+import com.graduation.schedulingservice.payload.response.BatchScheduleResponse;
+import com.graduation.schedulingservice.repository.*;
+import com.graduation.schedulingservice.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batch scheduling checks every item at its new slot: items of the same batch do not block
+ * each other with the stored slots they move away from, unless they end up staying there.
+ */
+@ExtendWith(MockitoExtension.class)
+class CalendarItemBatchScheduleTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    @Mock
+    private ConstraintValidationService constraintValidationService;
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+    @Mock
+    private CalendarRepository calendarRepository;
+    @Mock
+    private BigTaskRepository bigTaskRepository;
+    @Mock
+    private MonthPlanRepository monthPlanRepository;
+    @Mock
+    private WeekPlanRepository weekPlanRepository;
+    @Mock
+    private ProjectServiceClient projectServiceClient;
+    @Mock
+    private ProjectTaskReplicaService projectTaskReplicaService;
+    @Mock
+    private RecurrenceExpansionEngine recurrenceExpansionEngine;
+    @Mock
+    private UserScheduleIndex userScheduleIndex;
+    @Mock
+    private FreeBusyIndex freeBusyIndex;
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+    @Mock
+    private UserConstraintsRepository userConstraintsRepository;
+    @Mock
+    private MemorableEventRepository memorableEventRepository;
+    @Mock
+    private BigTaskProgressService bigTaskProgressService;
+    @Mock
+    private DailyUsageService dailyUsageService;
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @InjectMocks
+    private CalendarItemServiceImpl calendarItemService;
+
+    private Event first;
+    private Event second;
+
+    @BeforeEach
+    void setUp() {
+        when(userTimeZoneService.zoneOf(USER_ID)).thenReturn(ZoneOffset.UTC);
+        when(constraintValidationService.openBatch(USER_ID))
+                .thenReturn(mock(ConstraintValidationService.BatchContext.class));
+
+        first = event(10L, "First", NINE, NINE.plusHours(1));
+        second = event(20L, "Second", NINE.plusHours(1), NINE.plusHours(2));
+        when(calendarItemRepository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+    }
+
+    @Test
+    void itemsOfTheBatchCanSwapSlots() {
+        when(userScheduleIndex.findOverlapping(eq(USER_ID), any(), any()))
+                .thenReturn(List.of(entry(first), entry(second)));
+
+        BatchScheduleResponse response = schedule(
+                item(10L, NINE.plusHours(1), NINE.plusHours(2)),
+                item(20L, NINE, NINE.plusHours(1)));
+
+        assertEquals(2, response.getScheduledCount());
+        assertTrue(response.getConstraintViolations().isEmpty());
+        assertEquals(NINE.plusHours(1), first.getTimeSlot().getStartTime());
+        assertEquals(NINE, second.getTimeSlot().getStartTime());
+        verify(calendarItemRepository).saveAll(List.of(first, second));
+    }
+
+    @Test
+    void rejectedItemStillBlocksTheSlotItKeeps() {
+        lenient().when(userScheduleIndex.findOverlapping(eq(USER_ID), any(), any()))
+                .thenReturn(List.of(entry(first)));
+
+        // The first item's new slot is invalid, so it stays at 09:00-10:00
+        BatchScheduleResponse response = schedule(
+                item(10L, NINE.plusHours(3), NINE.plusHours(2)),
+                item(20L, NINE.plusMinutes(30), NINE.plusMinutes(90)));
+
+        assertEquals(0, response.getScheduledCount());
+        BatchScheduleResponse.ItemResult secondResult = response.getResults().get(1);
+        assertFalse(secondResult.isScheduled());
+        assertTrue(secondResult.getViolations().get(0).contains("'First'"));
+        assertEquals(NINE.plusHours(1), second.getTimeSlot().getStartTime());
+        verify(calendarItemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void storedItemOutsideTheBatchStillBlocks() {
+        Event other = event(30L, "Other", NINE, NINE.plusHours(1));
+        when(userScheduleIndex.findOverlapping(eq(USER_ID), any(), any())).thenReturn(List.of(entry(other)));
+
+        BatchScheduleResponse response = schedule(item(20L, NINE.plusMinutes(30), NINE.plusMinutes(90)));
+
+        assertEquals(0, response.getScheduledCount());
+        assertTrue(response.getResults().get(0).getViolations().get(0).contains("'Other'"));
+    }
+
+    private BatchScheduleResponse schedule(BatchScheduleRequest.ItemToSchedule... items) {
+        BatchScheduleRequest request = new BatchScheduleRequest();
+        request.setItems(List.of(items));
+        return (BatchScheduleResponse) calendarItemService.batchScheduleItems(USER_ID, request).getData();
+    }
+
+    private static BatchScheduleRequest.ItemToSchedule item(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BatchScheduleRequest.ItemToSchedule item = new BatchScheduleRequest.ItemToSchedule();
+        item.setItemId(itemId);
+        item.setTimeSlot(new TimeSlotDTO(start, end));
+        return item;
+    }
+
+    private static Event event(Long id, String name, LocalDateTime start, LocalDateTime end) {
+        Event event = new Event();
+        event.setId(id);
+        event.setUserId(USER_ID);
+        event.setName(name);
+        event.setType(ItemType.EVENT);
+        event.setTimeSlot(new TimeSlot(start, end));
+        return event;
+    }
+
+    private static UserScheduleIndex.Entry entry(CalendarItem item) {
+        return new UserScheduleIndex.Entry(item.getId(), item.getName(), item.getType(),
+                item.getTimeSlot().getStartTime(), item.getTimeSlot().getEndTime(), null, 0, List.of(), Set.of());
+    }
+}
@@ -0,0 +1,131 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graduation.schedulingservice.client.ProjectServiceClient;
+import com.graduation.schedulingservice.model.BigTask;
+import com.graduation.schedulingservice.model.MonthPlan;
+import com.graduation.schedulingservice.model.Task;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.payload.response.ItemsByDateRangeResponse;
+import com.graduation.schedulingservice.payload.response.ScheduledItemDTO;
+import com.graduation.schedulingservice.repository.*;
+import com.graduation.schedulingservice.service.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The date-range read resolves the parent big tasks of its items with one query, however
+ * many items and big tasks the range holds.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("jpatest")
+class CalendarItemDateRangeQueryCountTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long CALENDAR_ID = 1L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private CalendarItemRepository calendarItemRepository;
+    @Autowired
+    private CalendarRepository calendarRepository;
+    @Autowired
+    private BigTaskRepository bigTaskRepository;
+    @Autowired
+    private MonthPlanRepository monthPlanRepository;
+    @Autowired
+    private WeekPlanRepository weekPlanRepository;
+    @Autowired
+    private UserConstraintsRepository userConstraintsRepository;
+    @Autowired
+    private MemorableEventRepository memorableEventRepository;
+
+    // Collaborators of the calendar item entity listeners
+    @MockitoBean
+    private UserScheduleIndex userScheduleIndex;
+    @MockitoBean
+    private DailyUsageService dailyUsageService;
+    @MockitoBean
+    private FreeBusyIndex freeBusyIndex;
+    @MockitoBean
+    private CalendarTombstoneService calendarTombstoneService;
+
+    private CalendarItemServiceImpl calendarItemService;
+
+    @BeforeEach
+    void setUp() {
+        UserTimeZoneService userTimeZoneService = mock(UserTimeZoneService.class);
+        when(userTimeZoneService.zoneOf(USER_ID)).thenReturn(ZoneOffset.UTC);
+
+        calendarItemService = new CalendarItemServiceImpl(mock(ConstraintValidationService.class),
+                calendarItemRepository, calendarRepository, bigTaskRepository, monthPlanRepository,
+                weekPlanRepository, mock(ProjectServiceClient.class), mock(ProjectTaskReplicaService.class),
+                new RecurrenceExpansionEngine(), userScheduleIndex, freeBusyIndex, userTimeZoneService,
+                userConstraintsRepository, memorableEventRepository, mock(BigTaskProgressService.class),
+                dailyUsageService, new ObjectMapper());
+    }
+
+    @Test
+    void parentBigTasksAreResolvedWithOneQuery() {
+        LocalDate today = LocalDate.now();
+        MonthPlan monthPlan = new MonthPlan();
+        monthPlan.setUserId(USER_ID);
+        monthPlan.setYear(today.getYear());
+        monthPlan.setMonth(today.getMonthValue());
+        entityManager.persist(monthPlan);
+
+        List<BigTask> bigTasks = List.of(bigTask(monthPlan, "A"), bigTask(monthPlan, "B"), bigTask(monthPlan, "C"));
+        bigTasks.forEach(entityManager::persist);
+        for (int i = 0; i < 30; i++) {
+            LocalDateTime start = today.atStartOfDay().plusMinutes(20L * i);
+            Task task = new Task();
+            task.setUserId(USER_ID);
+            task.setCalendarId(CALENDAR_ID);
+            task.setName("Task " + i);
+            task.setParentBigTaskId(bigTasks.get(i % 3).getId());
+            task.setTimeSlot(new TimeSlot(start, start.plusMinutes(10)));
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BaseResponse<?> response = calendarItemService.getItemsByDateRange(USER_ID, "DAY", today.toString(),
+                List.of(CALENDAR_ID), false);
+
+        assertEquals(1, response.getStatus());
+        List<ScheduledItemDTO> items = ((ItemsByDateRangeResponse) response.getData()).getItems();
+        assertEquals(30, items.size());
+        assertTrue(items.stream().allMatch(item -> item.getParentBigTaskName() != null));
+        // Tasks and events, standalone routines, recurring routines, big tasks, memorable events
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    private static BigTask bigTask(MonthPlan monthPlan, String name) {
+        BigTask bigTask = new BigTask();
+        bigTask.setMonthPlan(monthPlan);
+        bigTask.setName(name);
+        return bigTask;
+    }
+}
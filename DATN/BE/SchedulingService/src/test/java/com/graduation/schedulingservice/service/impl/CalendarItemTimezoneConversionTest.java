@@ -0,0 +1,94 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graduation.schedulingservice.client.ProjectServiceClient;
+import com.graduation.schedulingservice.model.UserConstraints;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.repository.*;
+import com.graduation.schedulingservice.service.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Timezone changes only store the new zone: items are already stored in UTC.
+ */
+@ExtendWith(MockitoExtension.class)
+class CalendarItemTimezoneConversionTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private ConstraintValidationService constraintValidationService;
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+    @Mock
+    private CalendarRepository calendarRepository;
+    @Mock
+    private BigTaskRepository bigTaskRepository;
+    @Mock
+    private MonthPlanRepository monthPlanRepository;
+    @Mock
+    private WeekPlanRepository weekPlanRepository;
+    @Mock
+    private ProjectServiceClient projectServiceClient;
+    @Mock
+    private ProjectTaskReplicaService projectTaskReplicaService;
+    @Mock
+    private RecurrenceExpansionEngine recurrenceExpansionEngine;
+    @Mock
+    private UserScheduleIndex userScheduleIndex;
+    @Mock
+    private FreeBusyIndex freeBusyIndex;
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+    @Mock
+    private UserConstraintsRepository userConstraintsRepository;
+    @Mock
+    private MemorableEventRepository memorableEventRepository;
+    @Mock
+    private BigTaskProgressService bigTaskProgressService;
+    @Mock
+    private DailyUsageService dailyUsageService;
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @InjectMocks
+    private CalendarItemServiceImpl calendarItemService;
+
+    @Test
+    void userAlreadyInUtcOnlyChangesTheZone() {
+        UserConstraints constraints = UserConstraints.createDefault(USER_ID);
+        constraints.setTimezone("America/New_York");
+        when(userConstraintsRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(constraints));
+
+        BaseResponse<?> response = calendarItemService.convertUserTimezone(USER_ID, "America/New_York", "Asia/Tokyo");
+
+        assertEquals(1, response.getStatus());
+        assertEquals("Asia/Tokyo", constraints.getTimezone());
+        verify(calendarItemRepository, never()).findAllByUserId(anyLong());
+        verify(userScheduleIndex).evict(USER_ID);
+    }
+
+    @Test
+    void userWithoutAZoneOnlyStoresTheNewOne() {
+        UserConstraints constraints = UserConstraints.createDefault(USER_ID);
+        when(userConstraintsRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(constraints));
+
+        BaseResponse<?> response = calendarItemService.convertUserTimezone(USER_ID, "Asia/Ho_Chi_Minh", "Asia/Tokyo");
+
+        assertEquals(1, response.getStatus());
+        assertEquals("Asia/Tokyo", constraints.getTimezone());
+        verify(calendarItemRepository, never()).findAllByUserId(anyLong());
+        verify(calendarItemRepository, never()).saveAll(any());
+    }
+}
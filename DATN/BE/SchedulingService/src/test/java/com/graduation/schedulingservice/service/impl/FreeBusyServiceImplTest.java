@@ -0,0 +1,148 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.graduation.schedulingservice.constant.Constant;
+import com.graduation.schedulingservice.payload.request.FreeSlotsRequest;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.payload.response.FreeSlotsResponse;
+import com.graduation.schedulingservice.payload.response.TimeSlotResponseDTO;
+import com.graduation.schedulingservice.service.FreeBusyIndex;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FreeBusyServiceImplTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 6, 2, 0, 0);
+
+    @Mock
+    private FreeBusyIndex freeBusyIndex;
+
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+
+    @InjectMocks
+    private FreeBusyServiceImpl freeBusyService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(freeBusyService, "maxDays", 62);
+        ReflectionTestUtils.setField(freeBusyService, "maxUsersPerQuery", 3);
+    }
+
+    @Test
+    void commonFreeTimeIsWhereNoMemberIsBusy() {
+        // User 1 is busy until 09:00, user 2 from 12:00
+        when(freeBusyIndex.busySlots(1L, MONDAY, MONDAY.plusDays(1))).thenReturn(range(0, 36));
+        when(freeBusyIndex.busySlots(2L, MONDAY, MONDAY.plusDays(1))).thenReturn(range(48, 96));
+
+        FreeSlotsResponse response = data(freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L, 2L), "2025-06-02", 1, null, null)));
+
+        assertEquals(List.of(slot(MONDAY.plusHours(9), MONDAY.plusHours(12))), response.getFreeSlots());
+        assertEquals(FreeBusyIndex.SLOT_MINUTES, response.getSlotMinutes());
+    }
+
+    @Test
+    void gapsShorterThanTheMinimumAreSkipped() {
+        // Free 00:00-00:30 and 01:00-03:00
+        BitSet busy = range(2, 4);
+        busy.or(range(12, 96));
+        when(freeBusyIndex.busySlots(1L, MONDAY, MONDAY.plusDays(1))).thenReturn(busy);
+
+        FreeSlotsResponse response = data(freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L), "2025-06-02", 1, null, 45)));
+
+        assertEquals(List.of(slot(MONDAY.plusHours(1), MONDAY.plusHours(3))), response.getFreeSlots());
+    }
+
+    @Test
+    void slotsAreReturnedInTheRequestedZone() {
+        // Local day 2025-06-02 in Ho Chi Minh City (UTC+7) starts at 17:00 UTC the day before
+        LocalDateTime utcStart = MONDAY.minusHours(7);
+        when(freeBusyIndex.busySlots(1L, utcStart, utcStart.plusDays(1))).thenReturn(range(0, 4));
+
+        FreeSlotsResponse response = data(freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L), "2025-06-02", 1, "Asia/Ho_Chi_Minh", null)));
+
+        assertEquals(List.of(slot(MONDAY.plusHours(1), MONDAY.plusDays(1))), response.getFreeSlots());
+        assertEquals("Asia/Ho_Chi_Minh", response.getTimezone());
+    }
+
+    @Test
+    void singleUserQueryUsesTheirOwnZone() {
+        when(userTimeZoneService.zoneOf(1L)).thenReturn(ZoneOffset.ofHours(-5));
+        LocalDateTime utcStart = MONDAY.plusHours(5);
+        when(freeBusyIndex.busySlots(1L, utcStart, utcStart.plusDays(2))).thenReturn(new BitSet());
+
+        FreeSlotsResponse response = data(freeBusyService.getFreeSlots(1L, "2025-06-02", 2, null));
+
+        assertEquals(List.of(slot(MONDAY, MONDAY.plusDays(2))), response.getFreeSlots());
+    }
+
+    @Test
+    void duplicateUsersAreQueriedOnce() {
+        when(freeBusyIndex.busySlots(eq(1L), any(), any())).thenReturn(new BitSet());
+
+        FreeSlotsResponse response = data(freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L, 1L, 1L, 1L), "2025-06-02", 1, null, null)));
+
+        assertEquals(List.of(1L), response.getUserIds());
+        verify(freeBusyIndex, times(1)).busySlots(eq(1L), any(), any());
+    }
+
+    @Test
+    void remainingMembersAreSkippedOnceTheWindowIsFull() {
+        when(freeBusyIndex.busySlots(1L, MONDAY, MONDAY.plusDays(1))).thenReturn(range(0, 96));
+
+        FreeSlotsResponse response = data(freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L, 2L), "2025-06-02", 1, null, null)));
+
+        assertTrue(response.getFreeSlots().isEmpty());
+        verify(freeBusyIndex, never()).busySlots(eq(2L), any(), any());
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertEquals(Constant.MSG_FREE_SLOTS_NO_USERS, freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(), "2025-06-02", 1, null, null)).getMsg());
+        assertEquals(String.format(Constant.MSG_FREE_SLOTS_TOO_MANY_USERS, 3), freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L, 2L, 3L, 4L), "2025-06-02", 1, null, null)).getMsg());
+        assertEquals(String.format(Constant.MSG_FREE_SLOTS_INVALID_DAYS, 62), freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L), "2025-06-02", 63, null, null)).getMsg());
+        assertEquals(Constant.MSG_INVALID_DATE_FORMAT, freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L), "02/06/2025", 1, null, null)).getMsg());
+        assertEquals(Constant.MSG_INVALID_TIMEZONE_FORMAT, freeBusyService.getCommonFreeSlots(
+                new FreeSlotsRequest(List.of(1L), "2025-06-02", 1, "Mars/Olympus", null)).getMsg());
+        verifyNoInteractions(freeBusyIndex);
+    }
+
+    private static FreeSlotsResponse data(BaseResponse<?> response) {
+        assertEquals(1, response.getStatus(), response.getMsg());
+        return (FreeSlotsResponse) response.getData();
+    }
+
+    private static BitSet range(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to);
+        return bits;
+    }
+
+    private static TimeSlotResponseDTO slot(LocalDateTime start, LocalDateTime end) {
+        return new TimeSlotResponseDTO(start, end);
+    }
+}
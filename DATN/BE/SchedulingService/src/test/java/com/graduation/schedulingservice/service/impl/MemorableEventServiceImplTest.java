@@ -0,0 +1,176 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.graduation.schedulingservice.model.Calendar;
+import com.graduation.schedulingservice.model.MemorableEvent;
+import com.graduation.schedulingservice.model.MemorableEventCalendarItem;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.payload.request.MemorableEventDTO;
+import com.graduation.schedulingservice.payload.request.UpdateMemorableEventsRequest;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.CalendarRepository;
+import com.graduation.schedulingservice.repository.MemorableEventRepository;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemorableEventServiceImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long CALENDAR_ID = 10L;
+
+    @Mock
+    private MemorableEventRepository memorableEventRepository;
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+
+    @Mock
+    private CalendarRepository calendarRepository;
+
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+
+    @InjectMocks
+    private MemorableEventServiceImpl memorableEventService;
+
+    @BeforeEach
+    void setUp() {
+        Calendar personal = new Calendar();
+        personal.setId(CALENDAR_ID);
+        personal.setUserId(USER_ID);
+        lenient().when(calendarRepository.findByUserId(USER_ID)).thenReturn(List.of(personal));
+        lenient().when(userTimeZoneService.zoneOf(USER_ID)).thenReturn(ZoneOffset.UTC);
+        lenient().when(memorableEventRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<MemorableEvent> saved = new ArrayList<>();
+            ((Iterable<MemorableEvent>) invocation.getArgument(0)).forEach(saved::add);
+            return saved;
+        });
+    }
+
+    @Test
+    void updateOnlyInsertsAddedEventsAndDeletesRemovedOnes() {
+        MemorableEvent kept = event(1L, "Anniversary", 5, 6, CALENDAR_ID);
+        MemorableEvent removed = event(2L, "Old", 1, 1, CALENDAR_ID);
+        when(memorableEventRepository.findByUserId(USER_ID)).thenReturn(List.of(kept, removed));
+
+        BaseResponse<?> response = memorableEventService.updateMemorableEvents(USER_ID, request(
+                new MemorableEventDTO("Anniversary", 5, 6),
+                new MemorableEventDTO("Birthday", 29, 2)));
+
+        assertEquals(1, response.getStatus());
+        verify(calendarItemRepository).deleteByMemorableEventIdIn(List.of(2L));
+        verify(memorableEventRepository).deleteAll(argThat((Collection<MemorableEvent> events) ->
+                events.size() == 1 && events.contains(removed)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MemorableEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(memorableEventRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals("Birthday", saved.getValue().get(0).getTitle());
+        assertEquals(CALENDAR_ID, saved.getValue().get(0).getCalendarId());
+        // No calendar items are generated any more
+        verify(calendarItemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void keptLegacyEventDropsOnlyItsUntouchedGeneratedRows() {
+        MemorableEvent legacy = event(1L, "Anniversary", 5, 6, null);
+        when(memorableEventRepository.findByUserId(USER_ID)).thenReturn(List.of(legacy));
+        MemorableEventCalendarItem untouched = occurrence(100L, legacy, LocalDateTime.of(2024, 6, 5, 0, 0));
+        MemorableEventCalendarItem renamed = occurrence(101L, legacy, LocalDateTime.of(2025, 6, 5, 0, 0));
+        renamed.setName("Anniversary dinner");
+        MemorableEventCalendarItem moved = occurrence(102L, legacy, LocalDateTime.of(2026, 6, 6, 0, 0));
+        when(calendarItemRepository.findMemorableEventOverrides(eq(USER_ID), any()))
+                .thenReturn(List.of(untouched, renamed, moved));
+
+        memorableEventService.updateMemorableEvents(USER_ID, request(new MemorableEventDTO("Anniversary", 5, 6)));
+
+        verify(calendarItemRepository).deleteAll(List.of(untouched));
+        assertEquals(CALENDAR_ID, legacy.getCalendarId());
+    }
+
+    @Test
+    void materializingAnEditedYearReturnsTheExistingOverride() {
+        MemorableEvent event = event(1L, "Anniversary", 5, 6, CALENDAR_ID);
+        when(memorableEventRepository.findById(1L)).thenReturn(Optional.of(event));
+        MemorableEventCalendarItem existing = occurrence(100L, event, LocalDateTime.of(2025, 6, 5, 0, 0));
+        when(calendarItemRepository.findMemorableEventOverrides(USER_ID, List.of(1L))).thenReturn(List.of(existing));
+
+        BaseResponse<?> response = memorableEventService.materializeOccurrence(USER_ID, 1L, 2025);
+
+        assertEquals(100L, response.getData());
+        verify(calendarItemRepository, never()).save(any());
+    }
+
+    @Test
+    void materializedLeapDayFallsOnTheLastDayOfFebruary() {
+        MemorableEvent event = event(1L, "Birthday", 29, 2, CALENDAR_ID);
+        when(memorableEventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(calendarItemRepository.findMemorableEventOverrides(USER_ID, List.of(1L))).thenReturn(List.of());
+        when(calendarItemRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        memorableEventService.materializeOccurrence(USER_ID, 1L, 2025);
+
+        ArgumentCaptor<MemorableEventCalendarItem> saved = ArgumentCaptor.forClass(MemorableEventCalendarItem.class);
+        verify(calendarItemRepository).save(saved.capture());
+        assertEquals(LocalDateTime.of(2025, 2, 28, 0, 0), saved.getValue().getTimeSlot().getStartTime());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0), saved.getValue().getTimeSlot().getEndTime());
+        assertEquals(CALENDAR_ID, saved.getValue().getCalendarId());
+    }
+
+    @Test
+    void otherUsersEventCannotBeMaterialized() {
+        MemorableEvent event = event(1L, "Anniversary", 5, 6, CALENDAR_ID);
+        event.setUserId(2L);
+        when(memorableEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        BaseResponse<?> response = memorableEventService.materializeOccurrence(USER_ID, 1L, 2025);
+
+        assertEquals(0, response.getStatus());
+        assertNull(response.getData());
+    }
+
+    private static UpdateMemorableEventsRequest request(MemorableEventDTO... events) {
+        return new UpdateMemorableEventsRequest(List.of(events));
+    }
+
+    private static MemorableEvent event(Long id, String title, int day, int month, Long calendarId) {
+        MemorableEvent event = new MemorableEvent();
+        event.setId(id);
+        event.setUserId(USER_ID);
+        event.setTitle(title);
+        event.setDay(day);
+        event.setMonth(month);
+        event.setCalendarId(calendarId);
+        return event;
+    }
+
+    private static MemorableEventCalendarItem occurrence(Long id, MemorableEvent event, LocalDateTime start) {
+        MemorableEventCalendarItem item = new MemorableEventCalendarItem();
+        item.setId(id);
+        item.setUserId(USER_ID);
+        item.setCalendarId(CALENDAR_ID);
+        item.setMemorableEventId(event.getId());
+        item.setName(event.getTitle());
+        item.setTimeSlot(new TimeSlot(start, start.plusDays(1)));
+        return item;
+    }
+}
@@ -0,0 +1,140 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.graduation.schedulingservice.model.MonthPlan;
+import com.graduation.schedulingservice.payload.request.BulkCreateMonthPlansRequest;
+import com.graduation.schedulingservice.payload.request.CreateMonthPlanRequest;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.payload.response.BulkCreateMonthPlansResponse;
+import com.graduation.schedulingservice.repository.MonthPlanRepository;
+import com.graduation.schedulingservice.repository.WeekPlanRepository;
+import com.graduation.schedulingservice.service.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Month plan creation when a concurrent request creates the same month between the existence
+ * check and the insert. The repository stands in for the unique key rejecting the insert.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@Import(MonthPlanServiceImpl.class)
+class MonthPlanServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Autowired
+    private MonthPlanService monthPlanService;
+    @Autowired
+    private WeekPlanRepository weekPlanRepository;
+
+    @MockitoBean
+    private MonthPlanRepository monthPlanRepository;
+    @MockitoBean
+    private ConstraintValidationService constraintValidationService;
+    @MockitoBean
+    private UserTimeZoneService userTimeZoneService;
+    @MockitoBean
+    private BigTaskProgressService bigTaskProgressService;
+
+    // Collaborators of the calendar item entity listeners
+    @MockitoBean
+    private UserScheduleIndex userScheduleIndex;
+    @MockitoBean
+    private DailyUsageService dailyUsageService;
+    @MockitoBean
+    private FreeBusyIndex freeBusyIndex;
+    @MockitoBean
+    private CalendarTombstoneService calendarTombstoneService;
+
+    @Test
+    void bulkCreateRacingAConcurrentCreateRollsBack() {
+        when(monthPlanRepository.findByUserIdAndYearIn(eq(USER_ID), anyCollection())).thenReturn(List.of());
+        when(monthPlanRepository.saveAll(anyCollection()))
+                .thenThrow(new DataIntegrityViolationException("uk_month_plans_user_year_month"));
+
+        BaseResponse<?> response = monthPlanService.bulkCreateMonthPlans(USER_ID, bulkRequest(2025, 6, 7));
+
+        assertEquals(0, response.getStatus());
+        assertTrue(response.getMsg().contains("retry"));
+        assertEquals(0, weekPlanRepository.count());
+        assertRolledBack();
+    }
+
+    @Test
+    void createRacingAConcurrentCreateReportsTheExistingMonth() {
+        when(monthPlanRepository.existsByUserIdAndYearAndMonth(USER_ID, 2025, 6)).thenReturn(false);
+        when(monthPlanRepository.save(any(MonthPlan.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_month_plans_user_year_month"));
+        CreateMonthPlanRequest request = new CreateMonthPlanRequest();
+        request.setYear(2025);
+        request.setMonth(6);
+
+        BaseResponse<?> response = monthPlanService.createMonthPlan(USER_ID, request);
+
+        assertEquals(0, response.getStatus());
+        assertEquals("Month plan already exists for this period", response.getMsg());
+        assertRolledBack();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void existingMonthsAreReportedWithoutBeingCreated() {
+        MonthPlan june = new MonthPlan();
+        june.setId(1L);
+        june.setUserId(USER_ID);
+        june.setYear(2025);
+        june.setMonth(6);
+        when(monthPlanRepository.findByUserIdAndYearIn(eq(USER_ID), anyCollection())).thenReturn(List.of(june));
+        when(monthPlanRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            List<MonthPlan> saved = new ArrayList<>((Collection<MonthPlan>) invocation.getArgument(0));
+            saved.forEach(monthPlan -> monthPlan.setId(2L));
+            return saved;
+        });
+
+        BaseResponse<?> response = monthPlanService.bulkCreateMonthPlans(USER_ID, bulkRequest(2025, 6, 7));
+
+        assertEquals(1, response.getStatus(), response.getMsg());
+        BulkCreateMonthPlansResponse data = (BulkCreateMonthPlansResponse) response.getData();
+        assertEquals(1, data.getCreatedCount());
+        assertFalse(data.getMonths().get(0).getCreated());
+        assertTrue(data.getMonths().get(1).getCreated());
+        verify(monthPlanRepository).saveAll(argThat(plans ->
+                ((Collection<MonthPlan>) plans).stream().allMatch(plan -> plan.getMonth() == 7)));
+    }
+
+    /**
+     * The service returned its error without throwing; committing must still roll back.
+     */
+    private static void assertRolledBack() {
+        TestTransaction.flagForCommit();
+        assertThrows(UnexpectedRollbackException.class, TestTransaction::end);
+    }
+
+    private static BulkCreateMonthPlansRequest bulkRequest(int year, int... months) {
+        List<BulkCreateMonthPlansRequest.MonthToCreate> toCreate = new ArrayList<>();
+        for (int month : months) {
+            BulkCreateMonthPlansRequest.MonthToCreate entry = new BulkCreateMonthPlansRequest.MonthToCreate();
+            entry.setYear(year);
+            entry.setMonth(month);
+            toCreate.add(entry);
+        }
+        BulkCreateMonthPlansRequest request = new BulkCreateMonthPlansRequest();
+        request.setMonths(toCreate);
+        return request;
+    }
+}
@@ -0,0 +1,222 @@
+package com.graduation.schedulingservice.service.impl;
+
+import com.graduation.schedulingservice.model.BigTask;
+import com.graduation.schedulingservice.model.MonthPlan;
+import com.graduation.schedulingservice.model.RecurringPattern;
+import com.graduation.schedulingservice.model.Routine;
+import com.graduation.schedulingservice.model.TimeSlot;
+import com.graduation.schedulingservice.model.enums.ItemType;
+import com.graduation.schedulingservice.payload.response.BaseResponse;
+import com.graduation.schedulingservice.payload.response.MonthGroupDTO;
+import com.graduation.schedulingservice.payload.response.PreviousTimingDTO;
+import com.graduation.schedulingservice.payload.response.SuggestedSubtaskDTO;
+import com.graduation.schedulingservice.payload.response.UnscheduledRoutineDTO;
+import com.graduation.schedulingservice.payload.response.UnscheduledTaskDTO;
+import com.graduation.schedulingservice.payload.response.UnscheduledItemsGroupedResponse;
+import com.graduation.schedulingservice.repository.BigTaskRepository;
+import com.graduation.schedulingservice.repository.CalendarItemRepository;
+import com.graduation.schedulingservice.repository.MonthPlanRepository;
+import com.graduation.schedulingservice.service.UserTimeZoneService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnscheduledItemsServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private MonthPlanRepository monthPlanRepository;
+
+    @Mock
+    private CalendarItemRepository calendarItemRepository;
+
+    @Mock
+    private BigTaskRepository bigTaskRepository;
+
+    @Mock
+    private UserTimeZoneService userTimeZoneService;
+
+    @InjectMocks
+    private UnscheduledItemsServiceImpl unscheduledItemsService;
+
+    private final YearMonth now = YearMonth.now();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userTimeZoneService.zoneOf(USER_ID)).thenReturn(ZoneOffset.ofHours(7));
+    }
+
+    @Test
+    void onlyPlansInsideTheWindowAreGroupedInMonthOrder() {
+        MonthPlan previous = monthPlan(1L, now.minusMonths(1));
+        MonthPlan current = monthPlan(2L, now);
+        MonthPlan later = monthPlan(3L, now.plusMonths(2));
+        MonthPlan outside = monthPlan(4L, now.plusMonths(6));
+        when(monthPlanRepository.findWithRoutinesByUserIdAndYearIn(eq(USER_ID), anyCollection()))
+                .thenReturn(List.of(outside, later, previous, current));
+
+        List<MonthGroupDTO> groups = groups(unscheduledItemsService.getUnscheduledItemsGroupedByMonth(USER_ID));
+
+        assertEquals(List.of(2L, 3L), groups.stream().map(MonthGroupDTO::getMonthPlanId).toList());
+        verify(calendarItemRepository).findUnscheduledItemsByMonthPlanIdIn(USER_ID, List.of(2L, 3L));
+        verify(bigTaskRepository).findByMonthPlan_IdInOrderByIdAsc(List.of(2L, 3L));
+        // The month before the window is read for previous timings only
+        verify(calendarItemRepository).findScheduledRoutinesByMonthPlanIdIn(USER_ID, Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void noPlansInTheWindowRunNoItemQueries() {
+        when(monthPlanRepository.findWithRoutinesByUserIdAndYearIn(eq(USER_ID), anyCollection()))
+                .thenReturn(List.of());
+
+        assertTrue(groups(unscheduledItemsService.getUnscheduledItemsGroupedByMonth(USER_ID)).isEmpty());
+        verifyNoInteractions(calendarItemRepository, bigTaskRepository);
+    }
+
+    @Test
+    void scheduledRoutineNamesAreSkippedAndPreviousTimingIsLocal() {
+        MonthPlan previous = monthPlan(1L, now.minusMonths(1));
+        MonthPlan current = monthPlan(2L, now);
+        current.setApprovedRoutineNames(new ArrayList<>(List.of("Gym", "Read")));
+        when(monthPlanRepository.findWithRoutinesByUserIdAndYearIn(eq(USER_ID), anyCollection()))
+                .thenReturn(List.of(previous, current));
+        when(calendarItemRepository.findUnscheduledItemsByMonthPlanIdIn(USER_ID, List.of(2L))).thenReturn(List.of(
+                row(10L, ItemType.ROUTINE, 2L, null, "Gym", null),
+                row(11L, ItemType.ROUTINE, 2L, null, "Read", null)));
+        // 02:00-03:00 UTC is 09:00-10:00 at UTC+7
+        when(calendarItemRepository.findScheduledRoutinesByMonthPlanIdIn(USER_ID, Set.of(1L, 2L))).thenReturn(List.of(
+                scheduledRoutine(20L, 1L, "Gym", LocalTime.of(2, 0), LocalTime.of(3, 0)),
+                scheduledRoutine(21L, 2L, "Read", LocalTime.of(20, 0), LocalTime.of(21, 0))));
+
+        List<UnscheduledRoutineDTO> routines =
+                groups(unscheduledItemsService.getUnscheduledItemsGroupedByMonth(USER_ID)).get(0).getUnscheduledRoutines();
+
+        assertEquals(1, routines.size());
+        UnscheduledRoutineDTO gym = routines.get(0);
+        assertEquals(10L, gym.getId());
+        assertTrue(gym.isCanUsePreviousTiming());
+        PreviousTimingDTO timing = gym.getPreviousTiming();
+        assertEquals(LocalTime.of(9, 0), timing.getStartTime());
+        assertEquals(LocalTime.of(10, 0), timing.getEndTime());
+        assertEquals(List.of("MONDAY", "WEDNESDAY"), timing.getDaysOfWeek());
+    }
+
+    @Test
+    void unscheduledTasksAreListedUnderTheirBigTask() {
+        MonthPlan current = monthPlan(2L, now);
+        when(monthPlanRepository.findWithRoutinesByUserIdAndYearIn(eq(USER_ID), anyCollection()))
+                .thenReturn(List.of(current));
+        when(bigTaskRepository.findByMonthPlan_IdInOrderByIdAsc(List.of(2L)))
+                .thenReturn(List.of(bigTask(5L, current, "Thesis"), bigTask(6L, current, "Move")));
+        when(calendarItemRepository.findUnscheduledItemsByMonthPlanIdIn(USER_ID, List.of(2L))).thenReturn(List.of(
+                row(30L, ItemType.TASK, 2L, 5L, "Outline", 3),
+                row(31L, ItemType.TASK, 2L, 5L, "Draft", null)));
+
+        List<UnscheduledTaskDTO> tasks =
+                groups(unscheduledItemsService.getUnscheduledItemsGroupedByMonth(USER_ID)).get(0).getUnscheduledTasks();
+
+        assertEquals(List.of(5L, 6L), tasks.stream().map(UnscheduledTaskDTO::getBigTaskId).toList());
+        List<SuggestedSubtaskDTO> subtasks = tasks.get(0).getSuggestedSubtasks();
+        assertEquals(List.of(30L, 31L), subtasks.stream().map(SuggestedSubtaskDTO::getId).toList());
+        assertEquals("3h", subtasks.get(0).getEstimated());
+        assertNull(subtasks.get(1).getEstimated());
+        assertTrue(tasks.get(1).getSuggestedSubtasks().isEmpty());
+    }
+
+    private static List<MonthGroupDTO> groups(BaseResponse<?> response) {
+        assertEquals(1, response.getStatus(), response.getMsg());
+        return ((UnscheduledItemsGroupedResponse) response.getData()).getMonthGroups();
+    }
+
+    private static MonthPlan monthPlan(Long id, YearMonth yearMonth) {
+        MonthPlan monthPlan = new MonthPlan();
+        monthPlan.setId(id);
+        monthPlan.setUserId(USER_ID);
+        monthPlan.setYear(yearMonth.getYear());
+        monthPlan.setMonth(yearMonth.getMonthValue());
+        return monthPlan;
+    }
+
+    private static BigTask bigTask(Long id, MonthPlan monthPlan, String name) {
+        BigTask bigTask = new BigTask();
+        bigTask.setId(id);
+        bigTask.setName(name);
+        bigTask.setMonthPlan(monthPlan);
+        return bigTask;
+    }
+
+    private static Routine scheduledRoutine(Long id, Long monthPlanId, String name, LocalTime utcStart, LocalTime utcEnd) {
+        RecurringPattern pattern = new RecurringPattern();
+        pattern.setDaysOfWeek(new ArrayList<>(List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY)));
+
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 0, 0);
+        Routine routine = new Routine();
+        routine.setId(id);
+        routine.setUserId(USER_ID);
+        routine.setMonthPlanId(monthPlanId);
+        routine.setName(name);
+        routine.setType(ItemType.ROUTINE);
+        routine.setTimeSlot(new TimeSlot(day.with(utcStart), day.with(utcEnd)));
+        routine.setPattern(pattern);
+        return routine;
+    }
+
+    private static CalendarItemRepository.UnscheduledItemView row(Long id, ItemType type, Long monthPlanId,
+                                                                   Long parentBigTaskId, String name,
+                                                                   Integer estimatedHours) {
+        return new CalendarItemRepository.UnscheduledItemView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getType() {
+                return type.name();
+            }
+
+            @Override
+            public Long getMonthPlanId() {
+                return monthPlanId;
+            }
+
+            @Override
+            public Long getParentBigTaskId() {
+                return parentBigTaskId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getNote() {
+                return null;
+            }
+
+            @Override
+            public Integer getEstimatedHours() {
+                return estimatedHours;
+            }
+        };
+    }
+}
@@ -44,6 +44,13 @@ public class InternalUserController {
         return ResponseEntity.ok(users);
     }
 
+    @PostMapping("/timezones-by-ids")
+    public ResponseEntity<Map<Long, String>> getTimezonesByIds(@RequestBody List<Long> userIds) {
+        log.info("Internal API: Fetching timezones of {} users", userIds.size());
+
+        return ResponseEntity.ok(internalUserService.findTimezonesByIds(userIds));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserBatchDTO> getUserById(@PathVariable Long id) {
         log.info("Internal API: Finding user by ID: {}", id);
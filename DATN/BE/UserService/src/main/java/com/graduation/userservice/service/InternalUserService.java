@@ -14,6 +14,11 @@ public interface InternalUserService {
 
     List<UserBatchDTO> findUsersByIds(List<Long> userIds);
 
+    /**
+     * Preferred IANA zone of each user; ids without a user are absent from the map
+     */
+    Map<Long, String> findTimezonesByIds(List<Long> userIds);
+
     void sendInvitationEmail(Long userId, Long projectId, String projectName, String token);
 
     String createInvitationToken(Long userId, Long projectId, String projectName);
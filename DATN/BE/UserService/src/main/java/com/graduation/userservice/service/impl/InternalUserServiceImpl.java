@@ -61,6 +61,13 @@ public class InternalUserServiceImpl implements InternalUserService {
                                 .collect(Collectors.toList());
         }
 
+        @Override
+        public Map<Long, String> findTimezonesByIds(List<Long> userIds) {
+                return userRepository.findAllById(userIds).stream()
+                                .filter(user -> user.getPreferredTimezone() != null)
+                                .collect(Collectors.toMap(User::getId, User::getPreferredTimezone));
+        }
+
         @Override
         public void sendInvitationEmail(Long userId, Long projectId, String projectName, String token) {
                 User user = userRepository.findById(userId)